@@ -0,0 +1,86 @@
+package me.darkeyedragon.randomtp.api.config;
+
+import me.darkeyedragon.randomtp.api.world.RandomBiome;
+import me.darkeyedragon.randomtp.api.world.RandomBlockType;
+
+import java.util.BitSet;
+
+/**
+ * The blacklist of a single {@link Dimension}, compiled into bit sets indexed by material and biome id.
+ * Checking a block type or biome is a single bit lookup without any allocation.
+ * A matcher is immutable, so it can be shared between threads.
+ */
+public final class BlacklistMatcher {
+
+    private final BitSet blockTypes;
+    private final BitSet dimensionBlockTypes;
+    private final BitSet biomes;
+
+    private BlacklistMatcher(BitSet blockTypes, BitSet dimensionBlockTypes, BitSet biomes) {
+        this.blockTypes = blockTypes;
+        this.dimensionBlockTypes = dimensionBlockTypes;
+        this.biomes = biomes;
+    }
+
+    /**
+     * @param global    the {@link RandomDimensionData} that applies to every dimension, may be null
+     * @param dimension the {@link RandomDimensionData} of the dimension itself, may be null
+     * @return the compiled {@link BlacklistMatcher}
+     */
+    public static BlacklistMatcher compile(RandomDimensionData global, RandomDimensionData dimension) {
+        BitSet dimensionBlockTypes = new BitSet();
+        BitSet biomes = new BitSet();
+        if (dimension != null) {
+            addBlockTypes(dimensionBlockTypes, dimension);
+            addBiomes(biomes, dimension);
+        }
+        BitSet blockTypes = (BitSet) dimensionBlockTypes.clone();
+        if (global != null) {
+            addBlockTypes(blockTypes, global);
+            addBiomes(biomes, global);
+        }
+        return new BlacklistMatcher(blockTypes, dimensionBlockTypes, biomes);
+    }
+
+    private static void addBlockTypes(BitSet bitSet, RandomDimensionData dimensionData) {
+        for (RandomBlockType blockType : dimensionData.getBlockTypes()) {
+            int id = blockType.getType().getId();
+            if (id >= 0) bitSet.set(id);
+        }
+    }
+
+    private static void addBiomes(BitSet bitSet, RandomDimensionData dimensionData) {
+        for (RandomBiome biome : dimensionData.getBiomes()) {
+            int id = biome.getId();
+            if (id >= 0) bitSet.set(id);
+        }
+    }
+
+    /**
+     * @param blockType the {@link RandomBlockType} to check
+     * @return true if the block type is on the global or the dimension blacklist
+     */
+    public boolean isBlacklisted(RandomBlockType blockType) {
+        return contains(blockTypes, blockType.getType().getId());
+    }
+
+    /**
+     * @param blockType the {@link RandomBlockType} to check
+     * @return true if the block type is on the dimension blacklist, the global blacklist is ignored
+     */
+    public boolean isBlacklistedInDimension(RandomBlockType blockType) {
+        return contains(dimensionBlockTypes, blockType.getType().getId());
+    }
+
+    /**
+     * @param biome the {@link RandomBiome} to check
+     * @return true if the biome is on the global or the dimension blacklist
+     */
+    public boolean isBlacklisted(RandomBiome biome) {
+        return contains(biomes, biome.getId());
+    }
+
+    private static boolean contains(BitSet bitSet, int id) {
+        return id >= 0 && bitSet.get(id);
+    }
+}
@@ -8,4 +8,10 @@ public interface RandomBlacklist {
     RandomDimensionData getDimensionData(Dimension dimension);
 
     void addDimensionData(Dimension dimension, RandomDimensionData dimensionData);
+
+    /**
+     * @param dimension the {@link Dimension} to get the matcher for
+     * @return the compiled {@link BlacklistMatcher} of the dimension, including the global blacklist
+     */
+    BlacklistMatcher getMatcher(Dimension dimension);
 }
@@ -13,9 +13,18 @@ public interface RandomConfigHandler {
 
     SectionBlacklist getSectionBlacklist();
 
+    SectionMetrics getSectionMetrics();
+
+    SectionSearch getSectionSearch();
+
     void populateWorldConfigSection();
 
     void saveConfig();
 
     boolean reload();
+
+    /**
+     * @return a hash of the config file as it was last loaded, used to detect config changes between restarts
+     */
+    long getConfigHash();
 }
@@ -21,6 +21,11 @@ public interface SectionMessage {
 
     Component getEmptyQueue();
 
+    /**
+     * @return the message sent when several queued locations in a row were no longer safe
+     */
+    Component getNoSafeLocation();
+
     SubSectionEconomy getSubSectionEconomy();
 
     SubSectionSign getSubSectionSign();
@@ -0,0 +1,29 @@
+package me.darkeyedragon.randomtp.api.config.section;
+
+public interface SectionMetrics {
+
+    /**
+     * @return the port to serve the metrics on, 0 if they should not be served
+     */
+    int getPort();
+
+    /**
+     * @return the address the metrics are served on
+     */
+    String getBindAddress();
+
+    /**
+     * @return the file to write the metrics to, relative to the data folder. Empty if they should not be written.
+     */
+    String getTextfile();
+
+    /**
+     * @return the interval in ticks at which the metrics are refreshed
+     */
+    long getInterval();
+
+    /**
+     * @return true if the metrics are either served or written to a file
+     */
+    boolean isEnabled();
+}
@@ -5,4 +5,29 @@ public interface SectionQueue {
     int getSize();
     long getInitDelay();
 
+    /**
+     * @return the maximum amount of searches that can run at the same time for a single world
+     */
+    int getMaxSearchesPerWorld();
+
+    /**
+     * @return the maximum amount of searches that can run at the same time across all worlds
+     */
+    int getMaxSearches();
+
+    /**
+     * @return the smallest size a queue can shrink to when its world is barely used
+     */
+    int getMinSize();
+
+    /**
+     * @return the largest size a queue can grow to when its world is used a lot
+     */
+    int getMaxSize();
+
+    /**
+     * @return the time window in seconds over which the demand of a world is averaged
+     */
+    long getDemandWindow();
+
 }
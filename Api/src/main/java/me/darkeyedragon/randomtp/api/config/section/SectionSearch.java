@@ -0,0 +1,49 @@
+package me.darkeyedragon.randomtp.api.config.section;
+
+public interface SectionSearch {
+
+    /**
+     * @return the maximum amount of rejected chunks to remember per world, 0 if they should not be remembered
+     */
+    int getRejectedChunks();
+
+    /**
+     * @return the time in seconds a rejected chunk is remembered
+     */
+    long getRejectedChunkExpiry();
+
+    /**
+     * @return true if the rejected chunks are kept when the server restarts
+     */
+    boolean isPersistRejectedChunks();
+
+    /**
+     * @return true if chunks are picked more often in parts of the world where safe locations were found before
+     */
+    boolean isAdaptiveSampling();
+
+    /**
+     * @return the minimum chance a chunk is picked with when adaptive sampling is used, between 0 and 1
+     */
+    double getExplorationRate();
+
+    /**
+     * @return the maximum amount of locations taken from a single chunk when several are needed, 1 to take only one
+     */
+    int getHarvestSize();
+
+    /**
+     * @return the minimum horizontal distance in blocks between locations taken from the same chunk
+     */
+    int getHarvestSpacing();
+
+    /**
+     * @return the distance in chunks new locations are kept away from queued and recently used ones, 0 to disable
+     */
+    int getDispersionRadius();
+
+    /**
+     * @return the time in seconds a used location keeps new locations away
+     */
+    long getDispersionTime();
+}
@@ -5,6 +5,14 @@ import me.darkeyedragon.randomtp.api.world.RandomParticle;
 public interface SectionTeleport {
     long getCooldown();
     void setCooldown(long cooldown);
+
+    /**
+     * @return true if the cooldowns should be stored, so they survive restarts
+     */
+    boolean isPersistCooldowns();
+
+    void setPersistCooldowns(boolean persistCooldowns);
+
     long getDelay();
     void setDelay(long delay);
     boolean isCancelOnMove();
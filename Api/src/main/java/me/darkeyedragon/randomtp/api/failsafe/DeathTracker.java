@@ -1,21 +1,25 @@
 package me.darkeyedragon.randomtp.api.failsafe;
 
-import me.darkeyedragon.randomtp.api.world.player.RandomPlayer;
+import java.util.UUID;
 
 public interface DeathTracker {
 
     /**
-     * @param player the player to add
-     * @param time   the time in milliseconds it should be tracked.
-     * @return true if added successfully.
+     * @param playerUUID the UUID of the player to add
+     * @param ticks      the time in ticks the player should be tracked.
+     * @return the time the previous tracking would have expired at, null if the player wasn't tracked.
      */
-    Long add(RandomPlayer player, long time);
+    Long add(UUID playerUUID, long ticks);
 
-    boolean contains(RandomPlayer player);
+    /**
+     * @param playerUUID the UUID of the player
+     * @return true if the player is tracked and the tracking hasn't expired yet.
+     */
+    boolean contains(UUID playerUUID);
 
     /**
-     * @param player remove the player from the tracker.
-     * @return true if the player is removed. False if non existent or couldn't be removed.
+     * @param playerUUID remove the player from the tracker.
+     * @return the time the tracking would have expired at, null if the player wasn't tracked.
      */
-    Long remove(RandomPlayer player);
+    Long remove(UUID playerUUID);
 }
@@ -17,4 +17,9 @@ public interface MessageHandler {
     void sendDebugMessage(String message);
 
     void sendDebugMessage(Component message);
+
+    /**
+     * @return true if debug messages are shown, guard every debug message that has to be built with this
+     */
+    boolean isDebugEnabled();
 }
@@ -0,0 +1,132 @@
+package me.darkeyedragon.randomtp.api.metric;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock free histogram of durations in nanoseconds.
+ * Every power of two is split into {@value #SUB_BUCKETS} buckets, so percentiles are accurate to about 12%
+ * while the histogram always takes the same small amount of memory.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts;
+    private final LongAdder count;
+    private final LongAdder sum;
+    private final LongAccumulator max;
+
+    public LatencyHistogram() {
+        this.counts = new AtomicLongArray(BUCKETS);
+        this.count = new LongAdder();
+        this.sum = new LongAdder();
+        this.max = new LongAccumulator(Math::max, 0);
+    }
+
+    /**
+     * @param nanos the duration to record, negative durations count as 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketOf(value));
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * @param percentile the percentile between 0 and 100
+     * @return the upper bound of the bucket the percentile falls in, 0 if nothing was recorded
+     */
+    public long getPercentile(double percentile) {
+        long total = count.sum();
+        if (total == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts.get(bucket);
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(bucket), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Counts the recorded durations below every bound, in a single pass so the counts are consistent with each other.
+     * A bucket only counts towards a bound when its whole range is below it, so durations close to a bound may be counted towards the next one.
+     *
+     * @param bounds the upper bounds in nanoseconds, in ascending order
+     * @return the cumulative count for every bound, followed by the total count
+     */
+    public long[] getCumulativeCounts(long[] bounds) {
+        long[] cumulative = new long[bounds.length + 1];
+        long seen = 0;
+        int bound = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            long bucketCount = counts.get(bucket);
+            if (bucketCount == 0) continue;
+            while (bound < bounds.length && upperBoundOf(bucket) > bounds[bound]) {
+                cumulative[bound++] = seen;
+            }
+            seen += bucketCount;
+        }
+        while (bound <= bounds.length) {
+            cumulative[bound++] = seen;
+        }
+        return cumulative;
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getSum() {
+        return sum.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * @return the average duration, 0 if nothing was recorded
+     */
+    public double getMean() {
+        long total = count.sum();
+        return total == 0 ? 0 : sum.sum() / (double) total;
+    }
+
+    public void reset() {
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            counts.set(bucket, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    /* Values below SUB_BUCKETS get a bucket each, above that the top bits pick the power of two and the sub bucket */
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = bucket % SUB_BUCKETS;
+        long lowerBound = (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+        return lowerBound + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+}
@@ -0,0 +1,34 @@
+package me.darkeyedragon.randomtp.api.metric;
+
+/**
+ * The reasons a search can end without a location, counted by {@link SearchMetrics}.
+ */
+public enum SearchFailure {
+
+    /**
+     * Neither the random chunk nor its neighbours passed the biome check
+     */
+    NO_SAFE_CHUNK("no safe chunk"),
+    /**
+     * The chunk had no column with a safe block to stand on
+     */
+    NO_SAFE_LOCATION("no safe location"),
+    /**
+     * All safe locations in the chunk were rejected by an addon
+     */
+    REJECTED_BY_ADDON("rejected by addon"),
+    /**
+     * The search threw an exception
+     */
+    ERROR("error");
+
+    private final String displayName;
+
+    SearchFailure(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
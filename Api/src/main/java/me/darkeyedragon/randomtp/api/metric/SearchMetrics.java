@@ -0,0 +1,172 @@
+package me.darkeyedragon.randomtp.api.metric;
+
+import me.darkeyedragon.randomtp.api.world.RandomEnvironment;
+import me.darkeyedragon.randomtp.api.world.RandomWorld;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Times every {@link Stage} of the search and teleport pipeline, per world and per environment.
+ * Recording is lock free and can be done from any thread.
+ */
+public class SearchMetrics {
+
+    private final Map<String, StageHistograms> worlds;
+    private final Map<RandomEnvironment, StageHistograms> environments;
+
+    public SearchMetrics() {
+        this.worlds = new ConcurrentHashMap<>();
+        this.environments = new EnumMap<>(RandomEnvironment.class);
+        for (RandomEnvironment environment : RandomEnvironment.values()) {
+            environments.put(environment, new StageHistograms());
+        }
+    }
+
+    /**
+     * @param stage the {@link Stage} that was timed
+     * @param world the {@link RandomWorld} it was timed in
+     * @param nanos the time it took in nanoseconds
+     */
+    public void record(Stage stage, RandomWorld world, long nanos) {
+        if (world == null) return;
+        getWorld(world.getName()).get(stage).record(nanos);
+        RandomEnvironment environment = world.getEnvironment();
+        if (environment != null) {
+            environments.get(environment).get(stage).record(nanos);
+        }
+    }
+
+    /**
+     * Counts a completed search.
+     *
+     * @param world the {@link RandomWorld} that was searched
+     * @param found true if the search found a location
+     */
+    public void recordSearch(RandomWorld world, boolean found) {
+        if (world == null) return;
+        StageHistograms histograms = getWorld(world.getName());
+        histograms.attempts.increment();
+        if (found) {
+            histograms.successes.increment();
+        }
+    }
+
+    /**
+     * Counts why a search did not find a location. The search itself is still counted by {@link #recordSearch(RandomWorld, boolean)}.
+     *
+     * @param world   the {@link RandomWorld} that was searched
+     * @param failure the {@link SearchFailure} reason
+     */
+    public void recordFailure(RandomWorld world, SearchFailure failure) {
+        if (world == null) return;
+        getWorld(world.getName()).failures[failure.ordinal()].increment();
+    }
+
+    /**
+     * @return the names of all worlds that have metrics, sorted
+     */
+    public Set<String> getWorldNames() {
+        return Collections.unmodifiableSet(new TreeSet<>(worlds.keySet()));
+    }
+
+    /**
+     * @param stage     the {@link Stage}
+     * @param worldName the name of the world
+     * @return the {@link LatencyHistogram} of the stage in the world
+     */
+    public LatencyHistogram getHistogram(Stage stage, String worldName) {
+        return getWorld(worldName).get(stage);
+    }
+
+    /**
+     * @param stage       the {@link Stage}
+     * @param environment the {@link RandomEnvironment}
+     * @return the {@link LatencyHistogram} of the stage across all worlds of the environment
+     */
+    public LatencyHistogram getHistogram(Stage stage, RandomEnvironment environment) {
+        return environments.get(environment).get(stage);
+    }
+
+    /**
+     * @param worldName the name of the world
+     * @return the amount of searches that were completed in the world
+     */
+    public long getAttempts(String worldName) {
+        return getWorld(worldName).attempts.sum();
+    }
+
+    /**
+     * @param worldName the name of the world
+     * @return the amount of searches that found a location in the world
+     */
+    public long getSuccesses(String worldName) {
+        return getWorld(worldName).successes.sum();
+    }
+
+    /**
+     * @param worldName the name of the world
+     * @param failure   the {@link SearchFailure} reason
+     * @return the amount of searches in the world that failed for the reason
+     */
+    public long getFailures(String worldName, SearchFailure failure) {
+        return getWorld(worldName).failures[failure.ordinal()].sum();
+    }
+
+    /**
+     * Clears all metrics.
+     */
+    public void reset() {
+        worlds.values().forEach(StageHistograms::reset);
+        environments.values().forEach(StageHistograms::reset);
+    }
+
+    private StageHistograms getWorld(String worldName) {
+        StageHistograms histograms = worlds.get(worldName);
+        if (histograms == null) {
+            histograms = worlds.computeIfAbsent(worldName, name -> new StageHistograms());
+        }
+        return histograms;
+    }
+
+    private static final class StageHistograms {
+
+        private final LatencyHistogram[] histograms;
+        private final LongAdder attempts;
+        private final LongAdder successes;
+        private final LongAdder[] failures;
+
+        private StageHistograms() {
+            this.histograms = new LatencyHistogram[Stage.values().length];
+            for (int i = 0; i < histograms.length; i++) {
+                histograms[i] = new LatencyHistogram();
+            }
+            this.attempts = new LongAdder();
+            this.successes = new LongAdder();
+            this.failures = new LongAdder[SearchFailure.values().length];
+            for (int i = 0; i < failures.length; i++) {
+                failures[i] = new LongAdder();
+            }
+        }
+
+        private LatencyHistogram get(Stage stage) {
+            return histograms[stage.ordinal()];
+        }
+
+        private void reset() {
+            for (LatencyHistogram histogram : histograms) {
+                histogram.reset();
+            }
+            attempts.reset();
+            successes.reset();
+            for (LongAdder failure : failures) {
+                failure.reset();
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package me.darkeyedragon.randomtp.api.metric;
+
+/**
+ * The stages of finding a location and teleporting to it that are timed by {@link SearchMetrics}.
+ */
+public enum Stage {
+
+    /**
+     * Picking a random chunk within the search area
+     */
+    CHUNK_PICK("chunk pick"),
+    /**
+     * Loading a chunk, from the request until the snapshot is available
+     */
+    CHUNK_LOAD("chunk load"),
+    /**
+     * Checking the biomes of a chunk against the blacklist
+     */
+    BIOME_CHECK("biome check"),
+    /**
+     * Scanning the columns of a chunk for safe blocks
+     */
+    COLUMN_SCAN("column scan"),
+    /**
+     * Asking the addons whether the safe blocks are valid
+     */
+    ADDON_VALIDATION("addon validation"),
+    /**
+     * Waiting for a free search slot before a search can start
+     */
+    QUEUE_WAIT("queue wait"),
+    /**
+     * Moving the player to the location
+     */
+    TELEPORT("teleport");
+
+    private final String displayName;
+
+    Stage(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+}
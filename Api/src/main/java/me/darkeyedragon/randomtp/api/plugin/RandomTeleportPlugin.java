@@ -8,8 +8,10 @@ import me.darkeyedragon.randomtp.api.failsafe.DeathTracker;
 import me.darkeyedragon.randomtp.api.logging.PluginLogger;
 import me.darkeyedragon.randomtp.api.message.MessageHandler;
 import me.darkeyedragon.randomtp.api.metric.Metric;
+import me.darkeyedragon.randomtp.api.metric.SearchMetrics;
 import me.darkeyedragon.randomtp.api.scheduler.Scheduler;
 import me.darkeyedragon.randomtp.api.teleport.CooldownHandler;
+import me.darkeyedragon.randomtp.api.teleport.PendingTeleportHandler;
 import me.darkeyedragon.randomtp.api.world.PlayerHandler;
 import me.darkeyedragon.randomtp.api.world.RandomMaterialHandler;
 import me.darkeyedragon.randomtp.api.world.RandomWorldHandler;
@@ -55,8 +57,12 @@ public interface RandomTeleportPlugin<T> {
 
     Metric getStats();
 
+    SearchMetrics getSearchMetrics();
+
     CooldownHandler getCooldownHandler();
 
+    PendingTeleportHandler getPendingTeleportHandler();
+
     Scheduler getScheduler();
 
     RandomAddonManager getAddonManager();
@@ -1,56 +1,258 @@
 package me.darkeyedragon.randomtp.api.queue;
 
+import me.darkeyedragon.randomtp.api.config.section.SectionQueue;
 import me.darkeyedragon.randomtp.api.plugin.RandomTeleportPlugin;
+import me.darkeyedragon.randomtp.api.world.RandomWorld;
+import me.darkeyedragon.randomtp.api.world.location.PackedLocation;
 import me.darkeyedragon.randomtp.api.world.location.RandomLocation;
 import me.darkeyedragon.randomtp.api.world.location.search.LocationDataProvider;
 import me.darkeyedragon.randomtp.api.world.location.search.LocationSearcher;
 
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.ArrayList;
+import java.util.List;
 
-public class LocationQueue extends ObservableQueue<RandomLocation> {
+/**
+ * The safe locations of a single world, waiting for players to be teleported to them.
+ * The locations are stored packed by {@link PackedLocation} in a primitive ring buffer, the world is kept once for the whole queue.
+ * They only become {@link RandomLocation}s again when they are polled or handed to a {@link QueueListener}.
+ * <p>
+ * The locations can be read from any thread, for example by the metrics exporter. Every access to the buffer holds its monitor,
+ * nothing else locks it. The listeners, the demand controller and the search bookkeeping are only accessed from the main thread.
+ */
+public class LocationQueue {
 
     private final RandomTeleportPlugin<?> plugin;
+    private final RandomWorld world;
     private final int capacity;
+    private final LongRingBuffer locations; //Guarded by itself
+    private final List<QueueListener<RandomLocation>> listeners;
     private final LocationSearcher baseLocationSearcher;
+    private final LocationSearchEngine searchEngine;
+    private final QueueDemandController demandController;
 
-    public LocationQueue(RandomTeleportPlugin<?> plugin, int capacity, LocationSearcher baseLocationSearcher) {
-        super(capacity);
+    //Only accessed from the main thread
+    private LocationDataProvider dataProvider;
+    private int pendingSearches;
+    private int searchesInFlight;
+    private long waitingSince; //When the oldest pending search started waiting for a free slot
+    private boolean populated;
+    private boolean cancelled;
+
+    /**
+     * @param plugin               the {@link RandomTeleportPlugin} instance
+     * @param world                the {@link RandomWorld} the locations are in
+     * @param capacity             the maximum amount of locations the queue can ever hold
+     * @param baseLocationSearcher the {@link LocationSearcher} that finds the locations
+     * @param searchEngine         the {@link LocationSearchEngine} that runs the searches
+     */
+    public LocationQueue(RandomTeleportPlugin<?> plugin, RandomWorld world, int capacity, LocationSearcher baseLocationSearcher, LocationSearchEngine searchEngine) {
         this.plugin = plugin;
+        this.world = world;
         this.capacity = capacity;
+        this.locations = new LongRingBuffer(capacity);
+        this.listeners = new ArrayList<>();
         this.baseLocationSearcher = baseLocationSearcher;
+        this.searchEngine = searchEngine;
+        SectionQueue sectionQueue = plugin.getConfigHandler().getSectionQueue();
+        this.demandController = new QueueDemandController(sectionQueue.getSize(), sectionQueue.getMinSize(), Math.min(capacity, sectionQueue.getMaxSize()), sectionQueue.getDemandWindow(), plugin.getScheduler()::currentTimeMillis);
     }
 
     /**
      * Generates locations based on the {@link LocationDataProvider}.
+     * The searches are run by the {@link LocationSearchEngine}, which limits how many run at the same time.
+     * Never generates more than needed to reach the target size.
+     * Only the initial population waits for the init delay, refills are added right away.
      *
      * @param dataProvider the {@link LocationDataProvider}
+     * @param amount       the amount of locations to generate
      */
     public void generate(LocationDataProvider dataProvider, int amount) {
-        AtomicBoolean isSearching = new AtomicBoolean(false);
-        AtomicInteger count = new AtomicInteger(amount);
-        plugin.getScheduler().runTaskTimer(task -> {
-            if (isSearching.get()) return;
-            if (count.get() <= 0) {
-                task.cancel();
-                return;
-            }
-            isSearching.set(true);
-            baseLocationSearcher.getRandom(dataProvider).thenAccept(location -> {
-                if (location == null) {
-                    //plugin.getLogger().warn("Could not find location for " + dataProvider.getWorld().getName() + "! Retrying...");
-                    isSearching.set(false);
-                    return;
-                } else {
-                    isSearching.set(false);
-                    count.getAndDecrement();
-                }
-                offer(location);
-            });
-        }, plugin.getConfigHandler().getSectionQueue().getInitDelay(), 1);
+        if (populated) {
+            addSearches(dataProvider, amount);
+            return;
+        }
+        plugin.getScheduler().runTaskLater(() -> {
+            populated = true;
+            addSearches(dataProvider, amount);
+        }, plugin.getConfigHandler().getSectionQueue().getInitDelay());
+    }
+
+    private void addSearches(LocationDataProvider dataProvider, int amount) {
+        if (cancelled) return;
+        this.dataProvider = dataProvider;
+        addPendingSearches(amount);
+        searchEngine.schedule(this);
+    }
+
+    /* Searches that are already running will fill some of the free slots, so never more are pending than the rest */
+    private void addPendingSearches(int amount) {
+        if (pendingSearches == 0) {
+            waitingSince = System.nanoTime();
+        }
+        int free = Math.min(remainingCapacity(), getTargetSize() - size()) - searchesInFlight;
+        pendingSearches = Math.max(0, Math.min(pendingSearches + amount, free));
+    }
+
+    /**
+     * Stops all further generation for this queue. Searches that are already running will still complete.
+     */
+    public void cancelGeneration() {
+        cancelled = true;
+        pendingSearches = 0;
+    }
+
+    /**
+     * @param amount the amount of pending locations the search will try to find
+     */
+    void searchStarted(int amount) {
+        pendingSearches -= amount;
+        searchesInFlight++;
+    }
+
+    /**
+     * @param locations    the locations that were found, fewer than were searched for if the search fell short
+     * @param amount       the amount of locations that were searched for
+     * @param elapsedNanos the time the search took
+     */
+    void searchCompleted(List<RandomLocation> locations, int amount, long elapsedNanos) {
+        searchesInFlight--;
+        demandController.recordSearch(!locations.isEmpty(), elapsedNanos);
+        for (RandomLocation location : locations) {
+            offer(location);
+        }
+        int missing = amount - locations.size();
+        if (missing > 0 && !cancelled) {
+            //Not everything was found, try again unless we're no longer interested
+            addPendingSearches(missing);
+        }
+    }
+
+    public void subscribe(QueueListener<RandomLocation> listener) {
+        listeners.add(listener);
+    }
+
+    public void unsubscribe(QueueListener<RandomLocation> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @param location the {@link RandomLocation} to add
+     * @return true if it was added, false if the queue is full or the location is not in the world of this queue
+     */
+    public boolean offer(RandomLocation location) {
+        if (location == null || !world.equals(location.getWorld())) return false;
+        int x = location.getBlockX();
+        int y = location.getBlockY();
+        int z = location.getBlockZ();
+        if (!PackedLocation.isPackable(x, y, z)) return false;
+        synchronized (locations) {
+            if (!locations.offer(PackedLocation.pack(x, y, z))) return false;
+        }
+        listeners.forEach(listener -> listener.onAdd(location));
+        return true;
+    }
+
+    /**
+     * Every poll counts as demand, also when the queue is empty.
+     *
+     * @return the oldest {@link RandomLocation}, null if the queue is empty
+     */
+    public RandomLocation poll() {
+        demandController.recordPoll();
+        long packed;
+        boolean empty;
+        synchronized (locations) {
+            empty = locations.size() == 0;
+            packed = empty ? 0 : locations.remove();
+        }
+        if (empty) {
+            listeners.forEach(QueueListener::onEmpty);
+            return null;
+        }
+        RandomLocation location = plugin.getWorldHandler().createLocation(world, PackedLocation.getX(packed), PackedLocation.getY(packed), PackedLocation.getZ(packed));
+        listeners.forEach(listener -> listener.onRemove(location));
+        return location;
+    }
+
+    /**
+     * @return the locations from oldest to newest, packed by {@link PackedLocation}
+     */
+    public long[] toPackedArray() {
+        synchronized (locations) {
+            return locations.toArray();
+        }
+    }
+
+    public int size() {
+        synchronized (locations) {
+            return locations.size();
+        }
+    }
+
+    public int remainingCapacity() {
+        return locations.capacity() - size();
+    }
+
+    public RandomWorld getWorld() {
+        return world;
+    }
+
+    /**
+     * @return the amount of locations this queue currently aims to hold
+     */
+    public int getTargetSize() {
+        return demandController.getTargetSize();
+    }
+
+    /**
+     * @return the size below which the queue should be refilled
+     */
+    public int getRefillThreshold() {
+        return demandController.getRefillThreshold(getSearchLimit());
+    }
+
+    /**
+     * @return the amount of searches this queue may run at the same time
+     */
+    public int getSearchLimit() {
+        return demandController.getSearchLimit(size(), plugin.getConfigHandler().getSectionQueue().getMaxSearchesPerWorld());
+    }
+
+    public QueueDemandController getDemandController() {
+        return demandController;
+    }
+
+    LocationDataProvider getDataProvider() {
+        return dataProvider;
+    }
+
+    long getWaitingSince() {
+        return waitingSince;
+    }
+
+    void setWaitingSince(long waitingSince) {
+        this.waitingSince = waitingSince;
+    }
+
+    LocationSearcher getLocationSearcher() {
+        return baseLocationSearcher;
+    }
+
+    /**
+     * @return the amount of searches that still have to be started
+     */
+    public int getPendingSearches() {
+        return pendingSearches;
+    }
+
+    /**
+     * @return the amount of searches that are currently running
+     */
+    public int getSearchesInFlight() {
+        return searchesInFlight;
     }
 
     public int getCapacity() {
         return capacity;
     }
-}
\ No newline at end of file
+}
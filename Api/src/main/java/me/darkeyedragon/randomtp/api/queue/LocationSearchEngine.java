@@ -0,0 +1,106 @@
+package me.darkeyedragon.randomtp.api.queue;
+
+import me.darkeyedragon.randomtp.api.config.section.SectionQueue;
+import me.darkeyedragon.randomtp.api.config.section.SectionSearch;
+import me.darkeyedragon.randomtp.api.metric.SearchFailure;
+import me.darkeyedragon.randomtp.api.metric.Stage;
+import me.darkeyedragon.randomtp.api.plugin.RandomTeleportPlugin;
+import me.darkeyedragon.randomtp.api.world.RandomWorld;
+import me.darkeyedragon.randomtp.api.world.location.RandomLocation;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Runs the location searches of all {@link LocationQueue}s.
+ * Every world can have a limited amount of searches in flight, based on its demand, and there is a global limit across all worlds.
+ * A new search is started as soon as a previous one completes, so no time is spent polling.
+ * All bookkeeping is done on the main thread.
+ */
+public class LocationSearchEngine {
+
+    private final RandomTeleportPlugin<?> plugin;
+    private final Deque<LocationQueue> waitingQueues;
+    private int searchesInFlight;
+
+    public LocationSearchEngine(RandomTeleportPlugin<?> plugin) {
+        this.plugin = plugin;
+        this.waitingQueues = new ArrayDeque<>();
+    }
+
+    /**
+     * Starts searching for the pending locations of the {@link LocationQueue}.
+     * Has to be called from the main thread.
+     *
+     * @param locationQueue the {@link LocationQueue} that needs locations
+     */
+    void schedule(LocationQueue locationQueue) {
+        if (!waitingQueues.contains(locationQueue)) {
+            waitingQueues.add(locationQueue);
+        }
+        startSearches();
+    }
+
+    /* Hands out the free search slots round-robin over all queues that still need locations */
+    private void startSearches() {
+        SectionQueue sectionQueue = plugin.getConfigHandler().getSectionQueue();
+        int maxSearches = Math.max(1, sectionQueue.getMaxSearches());
+        int skipped = 0;
+        while (searchesInFlight < maxSearches && skipped < waitingQueues.size()) {
+            LocationQueue locationQueue = waitingQueues.poll();
+            if (locationQueue.getPendingSearches() <= 0) {
+                //Nothing left to search for, drop it until it gets scheduled again
+                continue;
+            }
+            waitingQueues.add(locationQueue);
+            if (locationQueue.getSearchesInFlight() >= locationQueue.getSearchLimit()) {
+                skipped++;
+                continue;
+            }
+            skipped = 0;
+            startSearch(locationQueue);
+        }
+    }
+
+    private void startSearch(LocationQueue locationQueue) {
+        //After a burst several locations are pending, a single chunk can then fill a few of them at once
+        SectionSearch sectionSearch = plugin.getConfigHandler().getSectionSearch();
+        int amount = Math.max(1, Math.min(sectionSearch.getHarvestSize(), locationQueue.getPendingSearches()));
+        searchesInFlight++;
+        locationQueue.searchStarted(amount);
+        long startTime = System.nanoTime();
+        RandomWorld world = locationQueue.getDataProvider().getWorld();
+        //The next pending search only waits from here on
+        plugin.getSearchMetrics().record(Stage.QUEUE_WAIT, world, startTime - locationQueue.getWaitingSince());
+        locationQueue.setWaitingSince(startTime);
+        CompletableFuture<List<RandomLocation>> search;
+        try {
+            search = locationQueue.getLocationSearcher().getRandom(locationQueue.getDataProvider(), amount, sectionSearch.getHarvestSpacing());
+        } catch (RuntimeException ex) {
+            search = new CompletableFuture<>();
+            search.completeExceptionally(ex);
+        }
+        search.whenCompleteAsync((locations, throwable) -> {
+            searchesInFlight--;
+            if (throwable != null) {
+                plugin.getLogger().warn("Location search for " + world.getName() + " failed: " + throwable.getMessage());
+                plugin.getSearchMetrics().recordFailure(world, SearchFailure.ERROR);
+            }
+            List<RandomLocation> found = locations == null ? Collections.emptyList() : locations;
+            plugin.getSearchMetrics().recordSearch(world, !found.isEmpty());
+            locationQueue.searchCompleted(found, amount, System.nanoTime() - startTime);
+            //Whatever was not found is pending again, so the queue might have to be picked up again
+            schedule(locationQueue);
+        }, plugin.getScheduler().getMainThreadExecutor());
+    }
+
+    /**
+     * @return the amount of searches that are currently running across all worlds
+     */
+    public int getSearchesInFlight() {
+        return searchesInFlight;
+    }
+}
@@ -0,0 +1,60 @@
+package me.darkeyedragon.randomtp.api.queue;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A first in, first out queue of primitive longs with a fixed capacity. Nothing is allocated after construction.
+ * Not thread safe, the owner has to guard it.
+ */
+final class LongRingBuffer {
+
+    private final long[] elements;
+    private int head; //Index of the oldest element
+    private int size;
+
+    LongRingBuffer(int capacity) {
+        this.elements = new long[Math.max(1, capacity)];
+    }
+
+    /**
+     * @param element the element to add
+     * @return true if it was added, false if the buffer is full
+     */
+    boolean offer(long element) {
+        if (size == elements.length) return false;
+        elements[(head + size) % elements.length] = element;
+        size++;
+        return true;
+    }
+
+    /**
+     * @return the oldest element, which is removed
+     * @throws NoSuchElementException when the buffer is empty
+     */
+    long remove() {
+        if (size == 0) throw new NoSuchElementException();
+        long element = elements[head];
+        head = (head + 1) % elements.length;
+        size--;
+        return element;
+    }
+
+    /**
+     * @return the elements from oldest to newest
+     */
+    long[] toArray() {
+        long[] copy = new long[size];
+        int first = Math.min(size, elements.length - head);
+        System.arraycopy(elements, head, copy, 0, first);
+        System.arraycopy(elements, 0, copy, first, size - first);
+        return copy;
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return elements.length;
+    }
+}
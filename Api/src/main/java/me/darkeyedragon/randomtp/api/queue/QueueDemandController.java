@@ -0,0 +1,131 @@
+package me.darkeyedragon.randomtp.api.queue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Sizes a {@link LocationQueue} to the demand of its world.
+ * The poll rate is tracked as an exponentially weighted moving average over the demand window, following the clock of the scheduler,
+ * the time it takes to find a location as a moving average over the completed searches.
+ * From those it decides how many locations to keep, when to start refilling and how many searches to run at the same time.
+ * Only accessed from the main thread.
+ */
+public class QueueDemandController {
+
+    private static final double SEARCH_TIME_WEIGHT = 0.2; //How much a single search counts towards the average search time
+
+    private final int minSize;
+    private final int maxSize;
+    private final LongSupplier clock;
+    private final double windowMillis;
+    private double demand; //Exponentially decaying amount of polls, divided by the window this is the poll rate
+    private long lastUpdate;
+    private double searchNanos;
+    private long failedSearchNanos;
+
+    /**
+     * @param initialSize   the size to start with, before any demand has been seen
+     * @param minSize       the smallest size the queue can shrink to
+     * @param maxSize       the largest size the queue can grow to
+     * @param windowSeconds the time window over which the demand is averaged
+     * @param clock         the current time in milliseconds
+     */
+    public QueueDemandController(int initialSize, int minSize, int maxSize, long windowSeconds, LongSupplier clock) {
+        this.minSize = Math.max(0, minSize);
+        this.maxSize = Math.max(this.minSize, maxSize);
+        this.clock = clock;
+        this.windowMillis = TimeUnit.SECONDS.toMillis(Math.max(1, windowSeconds));
+        //Pretend the initial size was used up over the last window, so it slowly shrinks when nobody uses it
+        this.demand = Math.max(0, initialSize);
+        this.lastUpdate = clock.getAsLong();
+    }
+
+    /**
+     * Registers that a location was requested from the queue, whether the queue could provide it or not.
+     */
+    public void recordPoll() {
+        decay();
+        demand++;
+    }
+
+    /**
+     * Registers a finished search. The time of failed searches is added to the next successful one.
+     *
+     * @param found        true if the search found a location
+     * @param elapsedNanos the time the search took in nanoseconds
+     */
+    public void recordSearch(boolean found, long elapsedNanos) {
+        if (!found) {
+            failedSearchNanos += elapsedNanos;
+            return;
+        }
+        double sample = elapsedNanos + failedSearchNanos;
+        failedSearchNanos = 0;
+        searchNanos = searchNanos == 0 ? sample : searchNanos + SEARCH_TIME_WEIGHT * (sample - searchNanos);
+    }
+
+    /**
+     * @return the average amount of polls per second
+     */
+    public double getPollRate() {
+        decay();
+        return demand / (windowMillis / TimeUnit.SECONDS.toMillis(1));
+    }
+
+    /**
+     * @return the average time it takes to find a location in seconds, 0 if none have been found yet
+     */
+    public double getSearchSeconds() {
+        return searchNanos / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    /**
+     * @return the amount of locations to keep, enough to cover the demand of one window
+     */
+    public int getTargetSize() {
+        decay();
+        return clamp((int) Math.ceil(demand), minSize, maxSize);
+    }
+
+    /**
+     * The queue should be refilled once it drops below this size.
+     * This is at least half of the target, more if the demand is so high the queue would run dry while searching.
+     *
+     * @param searchLimit the amount of searches that can run at the same time
+     * @return the size below which the queue should be refilled
+     */
+    public int getRefillThreshold(int searchLimit) {
+        int targetSize = getTargetSize();
+        double refillSeconds = getSearchSeconds() / Math.max(1, searchLimit);
+        int needed = (int) Math.ceil(getPollRate() * refillSeconds) + 1;
+        return Math.min(targetSize, Math.max((targetSize + 1) / 2, needed));
+    }
+
+    /**
+     * Finds enough locations to keep up with twice the demand, or everything at once when the queue ran dry.
+     *
+     * @param queueSize           the current size of the queue
+     * @param maxSearchesPerWorld the configured maximum
+     * @return the amount of searches to run at the same time
+     */
+    public int getSearchLimit(int queueSize, int maxSearchesPerWorld) {
+        int max = Math.max(1, maxSearchesPerWorld);
+        if (queueSize == 0) {
+            return max;
+        }
+        return clamp((int) Math.ceil(getPollRate() * getSearchSeconds() * 2), 1, max);
+    }
+
+    private void decay() {
+        long now = clock.getAsLong();
+        long elapsed = now - lastUpdate;
+        if (elapsed > 0) {
+            demand *= Math.exp(-elapsed / windowMillis);
+            lastUpdate = now;
+        }
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
@@ -3,4 +3,10 @@ package me.darkeyedragon.randomtp.api.queue;
 public interface QueueListener<T> {
     void onAdd(T element);
     void onRemove(T element);
+
+    /**
+     * Called when an element was requested but the queue was empty.
+     */
+    default void onEmpty() {
+    }
 }
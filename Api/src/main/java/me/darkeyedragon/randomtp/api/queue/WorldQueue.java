@@ -20,7 +20,11 @@ public class WorldQueue {
     }
 
     public LocationQueue remove(RandomWorld world) {
-        return worldQueueMap.remove(world);
+        LocationQueue locationQueue = worldQueueMap.remove(world);
+        if (locationQueue != null) {
+            locationQueue.cancelGeneration();
+        }
+        return locationQueue;
     }
 
     public LocationQueue get(RandomWorld world) {
@@ -28,6 +32,7 @@ public class WorldQueue {
     }
 
     public void clear() {
+        worldQueueMap.values().forEach(LocationQueue::cancelGeneration);
         worldQueueMap.clear();
     }
 
@@ -39,6 +44,21 @@ public class WorldQueue {
         return locationQueue.poll();
     }
 
+    /**
+     * Puts back a location that was popped but never used, for example because the teleport got cancelled.
+     *
+     * @param world    the {@link RandomWorld} the location was popped from
+     * @param location the unused {@link RandomLocation}
+     * @return true if the location was added back, false if the world has no queue or it is full
+     */
+    public boolean pushLocation(RandomWorld world, RandomLocation location) {
+        LocationQueue locationQueue = get(world);
+        if (locationQueue == null) {
+            return false;
+        }
+        return locationQueue.offer(location);
+    }
+
     public Map<RandomWorld, LocationQueue> getWorldQueueMap() {
         return worldQueueMap;
     }
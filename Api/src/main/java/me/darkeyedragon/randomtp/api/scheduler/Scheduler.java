@@ -13,4 +13,14 @@ public interface Scheduler {
     void cancelTask(TaskIdentifier<?> taskIdentifier);
 
     Executor getMainThreadExecutor();
+
+    /**
+     * The clock everything that expires or decays over time is measured with, like cooldowns and the queue demand.
+     * Platforms that don't run in real time can follow their own ticks instead.
+     *
+     * @return the current time in milliseconds since the epoch
+     */
+    default long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
 }
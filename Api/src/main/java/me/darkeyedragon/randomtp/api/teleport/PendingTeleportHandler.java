@@ -0,0 +1,44 @@
+package me.darkeyedragon.randomtp.api.teleport;
+
+import java.util.UUID;
+
+/**
+ * Keeps track of the teleports that are waiting for their delay and get cancelled when the player moves.
+ * The platform reports player movement through {@link #onMove(UUID, int, int, int)}, so no task has to poll the players.
+ */
+public interface PendingTeleportHandler {
+
+    /**
+     * Registers a pending teleport. A teleport the player still had pending gets cancelled.
+     *
+     * @param playerUUID the UUID of the player
+     * @param blockX     the X coordinate of the block the player stands in
+     * @param blockY     the Y coordinate of the block the player stands in
+     * @param blockZ     the Z coordinate of the block the player stands in
+     * @param onCancel   runs when the teleport gets cancelled
+     */
+    void add(UUID playerUUID, int blockX, int blockY, int blockZ, Runnable onCancel);
+
+    /**
+     * Removes the pending teleport without cancelling it, for when its delay is over.
+     *
+     * @param playerUUID the UUID of the player
+     * @return true if the player had a pending teleport
+     */
+    boolean remove(UUID playerUUID);
+
+    /**
+     * Cancels the pending teleport of a player that moved to another block.
+     *
+     * @param playerUUID the UUID of the player that moved
+     * @param blockX     the X coordinate of the block the player moved to
+     * @param blockY     the Y coordinate of the block the player moved to
+     * @param blockZ     the Z coordinate of the block the player moved to
+     */
+    void onMove(UUID playerUUID, int blockX, int blockY, int blockZ);
+
+    /**
+     * @return true if no teleports are pending, so move events can be skipped right away
+     */
+    boolean isEmpty();
+}
@@ -1,6 +1,14 @@
 package me.darkeyedragon.randomtp.api.teleport;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface TeleportHandler {
 
-    TeleportResponse toRandomLocation(TeleportProperty property);
+    /**
+     * Teleports the target of the {@link TeleportProperty} to a random location.
+     *
+     * @param property the {@link TeleportProperty} of the teleport
+     * @return a future that completes once the teleport finished, failed or got cancelled
+     */
+    CompletableFuture<TeleportResponse> toRandomLocation(TeleportProperty property);
 }
@@ -1,5 +1,5 @@
 package me.darkeyedragon.randomtp.api.teleport;
 
 public enum TeleportType {
-    SUCCESS, FAIL, UNKNOWN, COOLDOWN, INSUFFICIENT_FUNDS
+    SUCCESS, FAIL, UNKNOWN, COOLDOWN, INSUFFICIENT_FUNDS, CANCELLED, UNSAFE
 }
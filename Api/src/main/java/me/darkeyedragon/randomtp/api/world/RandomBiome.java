@@ -2,4 +2,10 @@ package me.darkeyedragon.randomtp.api.world;
 
 public interface RandomBiome {
     String getName();
+
+    /**
+     * @return a small, non-negative number that is unique for this biome while the server is running.
+     * Used to store biomes in compact lookup tables.
+     */
+    int getId();
 }
@@ -22,4 +22,54 @@ public interface RandomChunkSnapshot extends Iterable<CompletableFuture<RandomCh
     int getHighestBlockYAt(int x, int z);
 
     RandomBiome getBiome(int x, int y, int z);
+
+    /**
+     * Gets the captured block type at the given coordinates.
+     * Coordinates outside the world height are treated as air.
+     *
+     * @param x X-coordinate of the block (0-15)
+     * @param y Y-coordinate of the block
+     * @param z Z-coordinate of the block (0-15)
+     * @return the {@link RandomBlockType} at the given coordinates
+     */
+    RandomBlockType getBlockType(int x, int y, int z);
+
+    /**
+     * @param x X-coordinate of the block (0-15)
+     * @param y Y-coordinate of the block
+     * @param z Z-coordinate of the block (0-15)
+     * @return true if an entity can move through the block at the given coordinates
+     */
+    boolean isPassable(int x, int y, int z);
+
+    /**
+     * @param x X-coordinate of the block (0-15)
+     * @param y Y-coordinate of the block
+     * @param z Z-coordinate of the block (0-15)
+     * @return true if the block at the given coordinates is a liquid
+     */
+    boolean isLiquid(int x, int y, int z);
+
+    /**
+     * Lets a search skip a section of 16 blocks high without reading its blocks.
+     * Implementations that can't tell cheaply always return false.
+     *
+     * @param sectionY the Y-coordinate of the section in the world, the block Y-coordinate shifted by {@link #CHUNK_SHIFT}.
+     *                 Negative below Y 0, implementations that index their sections from the bottom of the world have to convert it
+     * @return true if every block in the section is known to be air
+     */
+    default boolean isSectionEmpty(int sectionY) {
+        return false;
+    }
+
+    /**
+     * Lets a search skip a section of 16 blocks high that has no room to stand in, without reading its blocks.
+     * Implementations that can't tell cheaply always return false.
+     *
+     * @param sectionY the Y-coordinate of the section in the world, see {@link #isSectionEmpty(int)}
+     * @return true if every block in the section is known to be solid
+     */
+    default boolean isSectionSolid(int sectionY) {
+        return false;
+    }
 }
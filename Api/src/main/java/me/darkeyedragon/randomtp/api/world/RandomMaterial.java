@@ -7,4 +7,10 @@ public interface RandomMaterial {
     String getName();
 
     boolean isAir();
+
+    /**
+     * @return a small, non-negative number that is unique for this material while the server is running.
+     * Used to store materials in compact lookup tables.
+     */
+    int getId();
 }
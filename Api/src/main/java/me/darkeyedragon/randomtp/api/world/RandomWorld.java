@@ -3,6 +3,7 @@ package me.darkeyedragon.randomtp.api.world;
 import me.darkeyedragon.randomtp.api.world.block.RandomBlock;
 import me.darkeyedragon.randomtp.api.world.location.RandomLocation;
 
+import java.nio.file.Path;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
@@ -34,5 +35,10 @@ public interface RandomWorld {
 
     boolean isChunkLoaded(int x, int z);
 
+    /**
+     * @return the folder holding the region files of the world, null if the world is not stored on disk
+     */
+    Path getRegionFolder();
+
     void spawnParticle(String particleId, RandomLocation spawnLoc, int amount);
 }
@@ -2,6 +2,8 @@ package me.darkeyedragon.randomtp.api.world;
 
 import me.darkeyedragon.randomtp.api.config.datatype.ConfigWorld;
 import me.darkeyedragon.randomtp.api.queue.WorldQueue;
+import me.darkeyedragon.randomtp.api.world.location.RandomLocation;
+import me.darkeyedragon.randomtp.api.world.location.search.LocationSearcher;
 
 /**
  * An interface designed to handle a queue to a single world
@@ -13,6 +15,11 @@ public interface RandomWorldHandler {
 
     void populateWorldQueue();
 
+    /**
+     * Stores the locations of all queues, so they can be restored by {@link #populateWorldQueue()} after a restart or reload.
+     */
+    void saveWorldQueue();
+
     void populateWorld(ConfigWorld world);
 
     RandomWorld getWorld(String worldName);
@@ -22,4 +29,19 @@ public interface RandomWorldHandler {
     void generate(ConfigWorld configWorld, RandomWorld world);
 
     void generate(ConfigWorld configWorld, RandomWorld world, int amount);
+
+    /**
+     * @param world the {@link RandomWorld} the location is in
+     * @param x     the X coordinate of the block
+     * @param y     the Y coordinate of the block
+     * @param z     the Z coordinate of the block
+     * @return a new {@link RandomLocation} at the block, without touching the world
+     */
+    RandomLocation createLocation(RandomWorld world, int x, int y, int z);
+
+    /**
+     * @param environment the {@link RandomEnvironment} of the world
+     * @return the {@link LocationSearcher} registered for the environment, null if there is none
+     */
+    LocationSearcher getLocationSearcher(RandomEnvironment environment);
 }
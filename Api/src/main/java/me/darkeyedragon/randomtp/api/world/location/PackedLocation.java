@@ -0,0 +1,51 @@
+package me.darkeyedragon.randomtp.api.world.location;
+
+/**
+ * Packs the block coordinates of a location into a single long, the same layout Minecraft uses for block positions:
+ * 26 bits for X, 26 bits for Z and 12 bits for Y, all signed. The world is not part of it, whoever stores
+ * packed locations keeps track of the world they belong to.
+ */
+public final class PackedLocation {
+
+    private static final int HORIZONTAL_BITS = 26;
+    private static final int VERTICAL_BITS = 12;
+    private static final int MAX_HORIZONTAL = (1 << (HORIZONTAL_BITS - 1)) - 1;
+    private static final int MAX_VERTICAL = (1 << (VERTICAL_BITS - 1)) - 1;
+
+    private PackedLocation() {
+    }
+
+    /**
+     * @param x the X coordinate of the block
+     * @param y the Y coordinate of the block
+     * @param z the Z coordinate of the block
+     * @return true if the coordinates fit in a packed location
+     */
+    public static boolean isPackable(int x, int y, int z) {
+        return Math.abs(x) <= MAX_HORIZONTAL && Math.abs(z) <= MAX_HORIZONTAL && y >= -MAX_VERTICAL - 1 && y <= MAX_VERTICAL;
+    }
+
+    /**
+     * @param x the X coordinate of the block
+     * @param y the Y coordinate of the block
+     * @param z the Z coordinate of the block
+     * @return the coordinates packed into a long, only valid if {@link #isPackable(int, int, int)}
+     */
+    public static long pack(int x, int y, int z) {
+        return ((long) x << (HORIZONTAL_BITS + VERTICAL_BITS))
+                | ((z & ((1L << HORIZONTAL_BITS) - 1)) << VERTICAL_BITS)
+                | (y & ((1L << VERTICAL_BITS) - 1));
+    }
+
+    public static int getX(long packed) {
+        return (int) (packed >> (HORIZONTAL_BITS + VERTICAL_BITS));
+    }
+
+    public static int getY(long packed) {
+        return (int) (packed << (64 - VERTICAL_BITS) >> (64 - VERTICAL_BITS));
+    }
+
+    public static int getZ(long packed) {
+        return (int) (packed << (64 - HORIZONTAL_BITS - VERTICAL_BITS) >> (64 - HORIZONTAL_BITS));
+    }
+}
@@ -3,12 +3,27 @@ package me.darkeyedragon.randomtp.api.world.location.search;
 
 import me.darkeyedragon.randomtp.api.world.location.RandomLocation;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 public interface LocationSearcher {
 
     CompletableFuture<RandomLocation> getRandom(LocationDataProvider dataProvider);
 
+    /**
+     * Harvests several safe locations from a single search, so one chunk load can fill multiple queue entries.
+     * Searchers that can't harvest find a single location.
+     *
+     * @param dataProvider the data required to find a random location
+     * @param amount       the maximum amount of locations to find
+     * @param spacing      the minimum horizontal distance in blocks between the locations
+     * @return a future holding the locations, empty if none were found
+     */
+    default CompletableFuture<List<RandomLocation>> getRandom(LocationDataProvider dataProvider, int amount, int spacing) {
+        return getRandom(dataProvider).thenApply(location -> location == null ? Collections.<RandomLocation>emptyList() : Collections.singletonList(location));
+    }
+
     boolean isSafe(RandomLocation location);
 
     boolean isSafeForPlugins(RandomLocation location);
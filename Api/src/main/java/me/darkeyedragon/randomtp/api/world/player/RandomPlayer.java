@@ -6,7 +6,7 @@ import me.darkeyedragon.randomtp.api.world.RandomWorld;
 import me.darkeyedragon.randomtp.api.world.location.RandomLocation;
 
 import java.util.UUID;
-import java.util.concurrent.Future;
+import java.util.concurrent.CompletableFuture;
 
 public interface RandomPlayer {
 
@@ -20,7 +20,7 @@ public interface RandomPlayer {
 
     RandomLocation getEyeLocation();
 
-    Future<TeleportResponse> teleportAsync(RandomLocation location);
+    CompletableFuture<TeleportResponse> teleportAsync(RandomLocation location);
 
     RandomCooldown getCooldown();
 
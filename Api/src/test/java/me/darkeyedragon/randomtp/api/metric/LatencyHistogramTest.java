@@ -0,0 +1,117 @@
+package me.darkeyedragon.randomtp.api.metric;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    private static final int LAST_BUCKET = LatencyHistogram.bucketOf(Long.MAX_VALUE);
+
+    @Test
+    void givesSmallValuesABucketEach() {
+        for (int value = 0; value < 8; value++) {
+            assertEquals(value, LatencyHistogram.bucketOf(value));
+            assertEquals(value, LatencyHistogram.upperBoundOf(value));
+        }
+        assertEquals(8, LatencyHistogram.bucketOf(8));
+        assertEquals(8, LatencyHistogram.upperBoundOf(8));
+    }
+
+    @Test
+    void coversEveryValueWithoutGaps() {
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.upperBoundOf(LAST_BUCKET));
+        for (int bucket = 0; bucket < LAST_BUCKET; bucket++) {
+            long upperBound = LatencyHistogram.upperBoundOf(bucket);
+            assertEquals(bucket, LatencyHistogram.bucketOf(upperBound), "Upper bound of bucket " + bucket);
+            assertEquals(bucket + 1, LatencyHistogram.bucketOf(upperBound + 1), "Value above bucket " + bucket);
+        }
+    }
+
+    @Test
+    void startsABucketAtEveryPowerOfTwo() {
+        for (int exponent = 3; exponent < 63; exponent++) {
+            long power = 1L << exponent;
+            assertNotEquals(LatencyHistogram.bucketOf(power - 1), LatencyHistogram.bucketOf(power));
+            assertEquals(power - 1, LatencyHistogram.upperBoundOf(LatencyHistogram.bucketOf(power - 1)));
+        }
+    }
+
+    @Test
+    void staysWithinAnEighthOfTheValue() {
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            long value = 8 + (random.nextLong() >>> random.nextInt(60) + 4);
+            long upperBound = LatencyHistogram.upperBoundOf(LatencyHistogram.bucketOf(value));
+            assertTrue(upperBound >= value && upperBound - value <= value / 8, "Upper bound " + upperBound + " of " + value);
+        }
+    }
+
+    @Test
+    void recordsNegativeDurationsAsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.getSum());
+        assertEquals(0, histogram.getMax());
+        assertArrayEquals(new long[]{1, 1}, histogram.getCumulativeCounts(new long[]{0}));
+    }
+
+    @Test
+    void keepsTheExtremes() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(0);
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, histogram.getMax());
+        assertEquals(0, histogram.getPercentile(50));
+        assertEquals(Long.MAX_VALUE, histogram.getPercentile(100));
+        assertArrayEquals(new long[]{1, 1, 2, 2}, histogram.getCumulativeCounts(new long[]{0, Long.MAX_VALUE - 1, Long.MAX_VALUE}));
+    }
+
+    @Test
+    void findsPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentile(50));
+        for (int value = 1; value <= 100; value++) {
+            histogram.record(value);
+        }
+        assertEquals(100, histogram.getCount());
+        assertEquals(5050, histogram.getSum());
+        assertEquals(50.5, histogram.getMean());
+        long median = histogram.getPercentile(50);
+        assertTrue(median >= 50 && median <= 50 + 50 / 8, "Median " + median);
+        assertEquals(1, histogram.getPercentile(0));
+        assertEquals(100, histogram.getPercentile(100));
+    }
+
+    @Test
+    void countsOnlyWholeBucketsBelowABound() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertArrayEquals(new long[]{0, 0, 0}, histogram.getCumulativeCounts(new long[]{10, 1000}));
+        histogram.record(0);
+        histogram.record(5);
+        histogram.record(100);
+        histogram.record(1000);
+        histogram.record(1_000_000);
+        //1000 falls in the bucket from 960 to 1023, so it only counts towards the bounds from 1023 up
+        assertArrayEquals(new long[]{1, 2, 3, 3, 4, 4, 5, 5, 5}, histogram.getCumulativeCounts(new long[]{0, 10, 1000, 1022, 1023, 1024, 1L << 20, Long.MAX_VALUE}));
+        assertArrayEquals(new long[]{5}, histogram.getCumulativeCounts(new long[0]));
+    }
+
+    @Test
+    void forgetsEverythingOnReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1234);
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getSum());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0.0, histogram.getMean());
+        assertArrayEquals(new long[]{0, 0}, histogram.getCumulativeCounts(new long[]{Long.MAX_VALUE}));
+    }
+}
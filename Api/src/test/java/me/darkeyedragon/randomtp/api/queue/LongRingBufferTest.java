@@ -0,0 +1,85 @@
+package me.darkeyedragon.randomtp.api.queue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongRingBufferTest {
+
+    @Test
+    void holdsAtLeastOneElement() {
+        assertEquals(1, new LongRingBuffer(0).capacity());
+        assertEquals(1, new LongRingBuffer(-5).capacity());
+        LongRingBuffer buffer = new LongRingBuffer(0);
+        assertTrue(buffer.offer(7));
+        assertFalse(buffer.offer(8));
+        assertEquals(7, buffer.remove());
+    }
+
+    @Test
+    void refusesElementsWhenFull() {
+        LongRingBuffer buffer = new LongRingBuffer(3);
+        assertTrue(buffer.offer(1));
+        assertTrue(buffer.offer(2));
+        assertTrue(buffer.offer(3));
+        assertFalse(buffer.offer(4));
+        assertEquals(3, buffer.size());
+        assertArrayEquals(new long[]{1, 2, 3}, buffer.toArray());
+    }
+
+    @Test
+    void keepsTheOrderWhenWrappingAround() {
+        LongRingBuffer buffer = new LongRingBuffer(4);
+        for (long element = 0; element < 4; element++) {
+            buffer.offer(element);
+        }
+        for (long element = 4; element < 1000; element++) {
+            assertEquals(element - 4, buffer.remove());
+            assertTrue(buffer.offer(element));
+            assertArrayEquals(new long[]{element - 3, element - 2, element - 1, element}, buffer.toArray());
+        }
+        assertEquals(4, buffer.size());
+    }
+
+    @Test
+    void copiesAPartiallyFilledBuffer() {
+        LongRingBuffer buffer = new LongRingBuffer(4);
+        assertArrayEquals(new long[0], buffer.toArray());
+        buffer.offer(1);
+        buffer.offer(2);
+        buffer.offer(3);
+        buffer.remove();
+        buffer.remove();
+        buffer.offer(4);
+        buffer.offer(5);
+        //The head is at the end of the array, so the copy comes from both ends
+        assertArrayEquals(new long[]{3, 4, 5}, buffer.toArray());
+    }
+
+    @Test
+    void storesEveryLongValue() {
+        LongRingBuffer buffer = new LongRingBuffer(3);
+        buffer.offer(Long.MIN_VALUE);
+        buffer.offer(0);
+        buffer.offer(Long.MAX_VALUE);
+        assertEquals(Long.MIN_VALUE, buffer.remove());
+        assertEquals(0, buffer.remove());
+        assertEquals(Long.MAX_VALUE, buffer.remove());
+    }
+
+    @Test
+    void throwsWhenEmpty() {
+        LongRingBuffer buffer = new LongRingBuffer(2);
+        assertThrows(NoSuchElementException.class, buffer::remove);
+        buffer.offer(1);
+        buffer.remove();
+        assertThrows(NoSuchElementException.class, buffer::remove);
+        assertEquals(0, buffer.size());
+    }
+}
@@ -0,0 +1,111 @@
+package me.darkeyedragon.randomtp.api.queue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class QueueDemandControllerTest {
+
+    private static final long WINDOW_SECONDS = 60;
+    private static final long WINDOW_MILLIS = TimeUnit.SECONDS.toMillis(WINDOW_SECONDS);
+    private static final long SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong time = new AtomicLong(1_000_000);
+
+    private QueueDemandController controller(int initialSize, int minSize, int maxSize) {
+        return new QueueDemandController(initialSize, minSize, maxSize, WINDOW_SECONDS, time::get);
+    }
+
+    @Test
+    void startsAtTheInitialSizeWithinTheBounds() {
+        assertEquals(10, controller(10, 2, 50).getTargetSize());
+        assertEquals(50, controller(100, 2, 50).getTargetSize());
+        assertEquals(2, controller(0, 2, 50).getTargetSize());
+        assertEquals(0, controller(-1, -1, -1).getTargetSize());
+        //A maximum below the minimum is raised to it
+        assertEquals(5, controller(10, 5, 1).getTargetSize());
+    }
+
+    @Test
+    void growsWithThePolls() {
+        QueueDemandController controller = controller(10, 2, 50);
+        for (int i = 0; i < 20; i++) {
+            controller.recordPoll();
+        }
+        assertEquals(30, controller.getTargetSize());
+        for (int i = 0; i < 100; i++) {
+            controller.recordPoll();
+        }
+        assertEquals(50, controller.getTargetSize());
+    }
+
+    @Test
+    void shrinksWhenNobodyPolls() {
+        QueueDemandController controller = controller(10, 2, 50);
+        time.addAndGet(WINDOW_MILLIS);
+        //10 / e
+        assertEquals(4, controller.getTargetSize());
+        time.addAndGet(10 * WINDOW_MILLIS);
+        assertEquals(2, controller.getTargetSize());
+    }
+
+    @Test
+    void ignoresAClockGoingBack() {
+        QueueDemandController controller = controller(10, 2, 50);
+        time.addAndGet(-WINDOW_MILLIS);
+        assertEquals(10, controller.getTargetSize());
+        time.addAndGet(WINDOW_MILLIS);
+        assertEquals(10, controller.getTargetSize());
+    }
+
+    @Test
+    void averagesThePollsOverTheWindow() {
+        assertEquals(1.0, controller(60, 0, 100).getPollRate(), 1e-9);
+        assertEquals(0.0, controller(0, 0, 100).getPollRate(), 1e-9);
+    }
+
+    @Test
+    void addsFailedSearchesToTheNextFoundLocation() {
+        QueueDemandController controller = controller(10, 2, 50);
+        assertEquals(0.0, controller.getSearchSeconds(), 1e-9);
+        controller.recordSearch(false, SECOND_NANOS);
+        assertEquals(0.0, controller.getSearchSeconds(), 1e-9);
+        controller.recordSearch(true, SECOND_NANOS);
+        assertEquals(2.0, controller.getSearchSeconds(), 1e-9);
+        controller.recordSearch(true, 0);
+        assertEquals(1.6, controller.getSearchSeconds(), 1e-9);
+    }
+
+    @Test
+    void searchesEverythingAtOnceWhenTheQueueRanDry() {
+        QueueDemandController controller = controller(60, 0, 100);
+        assertEquals(8, controller.getSearchLimit(0, 8));
+        assertEquals(1, controller.getSearchLimit(0, 0));
+        //Nothing was found yet, so a single search keeps up
+        assertEquals(1, controller.getSearchLimit(5, 8));
+        controller.recordSearch(true, 2 * SECOND_NANOS);
+        //One poll per second and two seconds per location, twice over
+        assertEquals(4, controller.getSearchLimit(5, 8));
+        assertEquals(3, controller.getSearchLimit(5, 3));
+    }
+
+    @Test
+    void refillsBeforeTheQueueRunsDry() {
+        QueueDemandController slow = controller(60, 0, 100);
+        slow.recordSearch(true, 2 * SECOND_NANOS);
+        assertEquals(30, slow.getRefillThreshold(1));
+        assertEquals(30, slow.getRefillThreshold(0));
+
+        QueueDemandController busy = new QueueDemandController(60, 0, 100, 1, time::get);
+        busy.recordSearch(true, 2 * SECOND_NANOS);
+        //60 polls per second would empty the queue long before a refill completes
+        assertEquals(60, busy.getRefillThreshold(1));
+        assertEquals(60, busy.getRefillThreshold(2));
+        //Eight searches at the same time refill fast enough again
+        assertEquals(30, busy.getRefillThreshold(8));
+        assertEquals(0, controller(0, 0, 100).getRefillThreshold(1));
+    }
+}
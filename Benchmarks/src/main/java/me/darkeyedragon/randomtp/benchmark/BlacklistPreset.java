@@ -0,0 +1,56 @@
+package me.darkeyedragon.randomtp.benchmark;
+
+import me.darkeyedragon.randomtp.api.config.Dimension;
+import me.darkeyedragon.randomtp.api.config.RandomDimensionData;
+import me.darkeyedragon.randomtp.common.config.datatype.Blacklist;
+import me.darkeyedragon.randomtp.common.config.datatype.DimensionData;
+import me.darkeyedragon.randomtp.headless.world.SyntheticBiome;
+import me.darkeyedragon.randomtp.headless.world.SyntheticMaterial;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * The blacklist configurations the searchers are benchmarked with.
+ */
+public enum BlacklistPreset {
+    /**
+     * Nothing is blacklisted, only the basic safety checks apply
+     */
+    NONE,
+    /**
+     * Mirrors the blacklist of the default config
+     */
+    DEFAULT,
+    /**
+     * A blacklist that rejects most of the terrain, so many chunks have to be searched
+     */
+    STRICT;
+
+    /**
+     * @return a new {@link Blacklist} holding this preset
+     */
+    public Blacklist create() {
+        Map<Dimension, RandomDimensionData> dimensions = new EnumMap<>(Dimension.class);
+        for (Dimension dimension : Dimension.values()) {
+            dimensions.put(dimension, new DimensionData());
+        }
+        if (this == NONE) {
+            return new Blacklist(dimensions);
+        }
+        RandomDimensionData global = dimensions.get(Dimension.GLOBAL);
+        global.addBlockType(SyntheticMaterial.LAVA.getBlockType());
+        global.addBlockType(SyntheticMaterial.CACTUS.getBlockType());
+        global.addBlockType(SyntheticMaterial.MAGMA_BLOCK.getBlockType());
+        dimensions.get(Dimension.OVERWORLD).addBiome(SyntheticBiome.OCEAN);
+        if (this == STRICT) {
+            global.addBlockType(SyntheticMaterial.SAND.getBlockType());
+            global.addBlockType(SyntheticMaterial.OAK_LEAVES.getBlockType());
+            global.addBlockType(SyntheticMaterial.SOUL_SAND.getBlockType());
+            dimensions.get(Dimension.OVERWORLD).addBiome(SyntheticBiome.DESERT);
+            dimensions.get(Dimension.NETHER).addBiome(SyntheticBiome.SOUL_SAND_VALLEY);
+            dimensions.get(Dimension.END).addBiome(SyntheticBiome.SMALL_END_ISLANDS);
+        }
+        return new Blacklist(dimensions);
+    }
+}
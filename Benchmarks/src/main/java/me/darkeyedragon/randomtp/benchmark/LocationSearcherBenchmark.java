@@ -0,0 +1,202 @@
+package me.darkeyedragon.randomtp.benchmark;
+
+import me.darkeyedragon.randomtp.api.world.RandomEnvironment;
+import me.darkeyedragon.randomtp.api.world.location.RandomLocation;
+import me.darkeyedragon.randomtp.api.world.location.search.LocationDataProvider;
+import me.darkeyedragon.randomtp.common.config.datatype.Offset;
+import me.darkeyedragon.randomtp.common.world.location.search.BaseLocationSearcher;
+import me.darkeyedragon.randomtp.common.world.location.search.CommonLocationDataProvider;
+import me.darkeyedragon.randomtp.headless.HeadlessPlatform;
+import me.darkeyedragon.randomtp.headless.world.HeadlessWorld;
+import me.darkeyedragon.randomtp.headless.world.SyntheticChunkSnapshot;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures the location searchers of every dimension against synthetic terrain, for each {@link BlacklistPreset}.
+ * <ul>
+ *     <li>{@code checkCandidates} reports the time per candidate block of {@link BaseLocationSearcher#isSafe(me.darkeyedragon.randomtp.api.world.RandomChunkSnapshot, int, int, int)}</li>
+ *     <li>{@code scanChunk} reports the time to find a location in a single chunk</li>
+ *     <li>{@code getRandom} reports the time of the whole future chain, including rejected chunks and their neighbours</li>
+ * </ul>
+ * The {@code found} and {@code missed} counters of the last two give the success rate.
+ * The searchers run on a {@link HeadlessPlatform} whose chunks load without latency.
+ * Run with {@code java -jar Benchmarks/target/benchmarks.jar -prof gc} to also see the allocations per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LocationSearcherBenchmark {
+
+    private static final long SEED = 0x5EEDL;
+    private static final int CHUNK_POOL_SIZE = 1024; //Power of two, the cursor wraps around with a mask
+    private static final int CANDIDATES_PER_CHUNK = 12 * 12; //The searchers skip the outer 2 blocks of a chunk
+
+    @Param({"OVERWORLD", "NETHER", "THE_END"})
+    public RandomEnvironment environment;
+
+    @Param({"NONE", "DEFAULT", "STRICT"})
+    public BlacklistPreset blacklist;
+
+    @Param({"496"}) //The whole search area fits in the chunk cache of a HeadlessWorld
+    public int radius;
+
+    private Path dataFolder;
+    private BaseLocationSearcher searcher;
+    private LocationDataProvider dataProvider;
+    private SyntheticChunkSnapshot[] chunks;
+    private int[] candidateHeights;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        int chunkRadius = radius >> 4;
+        int side = chunkRadius * 2 + 1;
+        if (side * side > HeadlessWorld.CACHE_SIZE) {
+            throw new IllegalStateException("A radius of " + radius + " does not fit in the chunk cache");
+        }
+        //A new platform every trial, its queues are never populated so the search memory is left unconfigured
+        dataFolder = Files.createTempDirectory("randomtp-benchmark");
+        HeadlessPlatform platform = new HeadlessPlatform(dataFolder.toFile(), SEED, 0, 0, blacklist.create());
+        platform.init();
+        HeadlessWorld world = platform.getWorldHandler().getWorlds().stream()
+                .filter(headlessWorld -> headlessWorld.getEnvironment() == environment)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No world for " + environment));
+        searcher = (BaseLocationSearcher) platform.getWorldHandler().getLocationSearcher(environment);
+        dataProvider = new CommonLocationDataProvider(world, new Offset(0, 0), radius);
+        //Generate the whole search area up front, so getRandom never measures terrain generation
+        for (int x = -chunkRadius; x <= chunkRadius; x++) {
+            for (int z = -chunkRadius; z <= chunkRadius; z++) {
+                world.getChunk(x, z);
+            }
+        }
+        Random random = new Random(SEED);
+        chunks = new SyntheticChunkSnapshot[CHUNK_POOL_SIZE];
+        candidateHeights = new int[CHUNK_POOL_SIZE * CANDIDATES_PER_CHUNK];
+        for (int i = 0; i < CHUNK_POOL_SIZE; i++) {
+            SyntheticChunkSnapshot chunk = world.getChunk(random.nextInt(side) - chunkRadius, random.nextInt(side) - chunkRadius);
+            chunks[i] = chunk;
+            int index = i * CANDIDATES_PER_CHUNK;
+            for (int x = 2; x < 14; x++) {
+                for (int z = 2; z < 14; z++) {
+                    candidateHeights[index++] = getCandidateHeight(chunk, x, z);
+                }
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        //The platform saved its default config in there
+        try (Stream<Path> paths = Files.walk(dataFolder)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /* The block a searcher would look at first in this column. In the nether the highest block is the roof, so take the lowest floor instead */
+    private int getCandidateHeight(SyntheticChunkSnapshot chunk, int x, int z) {
+        if (environment != RandomEnvironment.NETHER) {
+            return chunk.getHighestBlockYAt(x, z);
+        }
+        for (int y = 1; y < SyntheticChunkSnapshot.HEIGHT - 1; y++) {
+            if (!chunk.isPassable(x, y, z) && chunk.isPassable(x, y + 1, z)) {
+                return y;
+            }
+        }
+        return 0;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CANDIDATES_PER_CHUNK)
+    public int checkCandidates(ChunkCursor cursor) {
+        int chunkIndex = cursor.next();
+        SyntheticChunkSnapshot chunk = chunks[chunkIndex];
+        int index = chunkIndex * CANDIDATES_PER_CHUNK;
+        int safe = 0;
+        for (int x = 2; x < 14; x++) {
+            for (int z = 2; z < 14; z++) {
+                if (searcher.isSafe(chunk, x, candidateHeights[index++], z)) {
+                    safe++;
+                }
+            }
+        }
+        return safe;
+    }
+
+    @Benchmark
+    public RandomLocation scanChunk(ChunkCursor cursor, Outcome outcome) {
+        RandomLocation location = searcher.getRandomLocationFromChunk(chunks[cursor.next()]);
+        outcome.record(location);
+        return location;
+    }
+
+    @Benchmark
+    public RandomLocation getRandom(Outcome outcome) {
+        RandomLocation location = searcher.getRandom(dataProvider).join();
+        outcome.record(location);
+        return location;
+    }
+
+    /**
+     * Walks through the chunk pool, every thread at its own pace.
+     */
+    @State(Scope.Thread)
+    public static class ChunkCursor {
+
+        private int index;
+
+        int next() {
+            index = (index + 1) & (CHUNK_POOL_SIZE - 1);
+            return index;
+        }
+    }
+
+    /**
+     * Counts how many searches found a location. Reported next to the timings.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcome {
+
+        public long found;
+        public long missed;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            found = 0;
+            missed = 0;
+        }
+
+        void record(RandomLocation location) {
+            if (location == null) {
+                missed++;
+            } else {
+                found++;
+            }
+        }
+    }
+}
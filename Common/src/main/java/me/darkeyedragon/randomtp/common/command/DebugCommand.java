@@ -7,10 +7,15 @@ import co.aikar.commands.annotation.CommandPermission;
 import co.aikar.commands.annotation.Subcommand;
 import me.darkeyedragon.randomtp.api.config.RandomConfigHandler;
 import me.darkeyedragon.randomtp.api.config.section.subsection.SubSection;
+import me.darkeyedragon.randomtp.api.metric.LatencyHistogram;
+import me.darkeyedragon.randomtp.api.metric.SearchMetrics;
+import me.darkeyedragon.randomtp.api.metric.Stage;
 import me.darkeyedragon.randomtp.api.plugin.RandomTeleportPlugin;
 import me.darkeyedragon.randomtp.api.queue.LocationQueue;
 import me.darkeyedragon.randomtp.api.queue.WorldQueue;
+import me.darkeyedragon.randomtp.api.world.RandomEnvironment;
 import me.darkeyedragon.randomtp.api.world.RandomWorld;
+import me.darkeyedragon.randomtp.api.world.location.PackedLocation;
 import me.darkeyedragon.randomtp.api.world.location.RandomLocation;
 import me.darkeyedragon.randomtp.common.util.ComponentUtil;
 import net.kyori.adventure.text.Component;
@@ -124,12 +129,13 @@ public class DebugCommand extends BaseCommand {
         WorldQueue worldQueue = plugin.getWorldHandler().getWorldQueue();
         Component component = ComponentUtil.toComponent("<aqua>=============== [ Queue ] ==============");
         for (RandomWorld world : worldQueue.getWorldQueueMap().keySet()) {
-            component = component.append(Component.text("\n" + world.getName()));
             LocationQueue locationQueue = worldQueue.get(world);
-            RandomLocation[] locations = locationQueue.toArray(new RandomLocation[0]);
-            for (int i = 0; i < configHandler.getSectionQueue().getSize(); i++) {
+            component = component.append(Component.text("\n" + world.getName()))
+                    .append(ComponentUtil.toComponent(String.format(" <gray>(target %d, refill below %d, %.2f/min)", locationQueue.getTargetSize(), locationQueue.getRefillThreshold(), locationQueue.getDemandController().getPollRate() * 60)));
+            long[] locations = locationQueue.toPackedArray();
+            for (int i = 0; i < Math.max(locations.length, locationQueue.getTargetSize()); i++) {
                 if (locations.length > i) {
-                    RandomLocation randomLocation = locations[i];
+                    RandomLocation randomLocation = plugin.getWorldHandler().createLocation(world, PackedLocation.getX(locations[i]), PackedLocation.getY(locations[i]), PackedLocation.getZ(locations[i]));
                     component = component
                             .append(ComponentUtil.toComponent("\n     \u2514<green>" + randomLocation.getBlockX() + "x " + randomLocation.getBlockY() + "y " + randomLocation.getBlockZ() + "z"))
                             .append(ComponentUtil.toComponent(" <gold>[" + randomLocation.getBlock().getBiome().getName() + "]"));
@@ -142,4 +148,58 @@ public class DebugCommand extends BaseCommand {
         plugin.getMessageHandler().sendMessage(sender, component);
     }
 
+    @Subcommand("stats")
+    @CommandPermission("rtp.debug.stats")
+    public void showStats(CommandIssuer sender) {
+        SearchMetrics metrics = plugin.getSearchMetrics();
+        Component component = ComponentUtil.toComponent("<aqua>=============== [ Stats ] ==============");
+        for (RandomEnvironment environment : RandomEnvironment.values()) {
+            if (metrics.getHistogram(Stage.TELEPORT, environment).getCount() == 0 && metrics.getHistogram(Stage.COLUMN_SCAN, environment).getCount() == 0) {
+                continue;
+            }
+            component = component.append(ComponentUtil.toComponent("\n<yellow>" + environment.name().toLowerCase()));
+            for (Stage stage : Stage.values()) {
+                component = component.append(stageComponent(stage, metrics.getHistogram(stage, environment)));
+            }
+        }
+        for (String worldName : metrics.getWorldNames()) {
+            long attempts = metrics.getAttempts(worldName);
+            long successes = metrics.getSuccesses(worldName);
+            String ratio = successes == 0 ? "-" : String.format("%.2f", (double) attempts / successes);
+            component = component.append(Component.text("\n" + worldName))
+                    .append(ComponentUtil.toComponent(String.format(" <gray>(%d searches, %s per location)", attempts, ratio)));
+            for (Stage stage : Stage.values()) {
+                component = component.append(stageComponent(stage, metrics.getHistogram(stage, worldName)));
+            }
+        }
+        component = component.append(ComponentUtil.toComponent("\n<aqua>======================================"));
+        plugin.getMessageHandler().sendMessage(sender, component);
+    }
+
+    @Subcommand("stats reset")
+    @CommandPermission("rtp.debug.stats.reset")
+    public void resetStats(CommandIssuer sender) {
+        plugin.getSearchMetrics().reset();
+        plugin.getMessageHandler().sendMessage(sender, ComponentUtil.toComponent("<green>Stats have been reset."));
+    }
+
+    private Component stageComponent(Stage stage, LatencyHistogram histogram) {
+        if (histogram.getCount() == 0) {
+            return Component.empty();
+        }
+        return ComponentUtil.toComponent(String.format("\n     \u2514<green>%s <gray>n=%d p50 %s p95 %s p99 %s",
+                stage.getDisplayName(),
+                histogram.getCount(),
+                formatNanos(histogram.getPercentile(50)),
+                formatNanos(histogram.getPercentile(95)),
+                formatNanos(histogram.getPercentile(99))));
+    }
+
+    private static String formatNanos(long nanos) {
+        if (nanos < 1_000_000) {
+            return String.format("%.1f\u00b5s", nanos / 1_000.0);
+        }
+        return String.format("%.2fms", nanos / 1_000_000.0);
+    }
+
 }
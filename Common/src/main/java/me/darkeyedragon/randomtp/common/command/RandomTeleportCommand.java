@@ -27,17 +27,28 @@ import me.darkeyedragon.randomtp.api.teleport.TeleportProperty;
 import me.darkeyedragon.randomtp.api.teleport.TeleportResponse;
 import me.darkeyedragon.randomtp.api.teleport.TeleportType;
 import me.darkeyedragon.randomtp.api.world.RandomWorld;
+import me.darkeyedragon.randomtp.api.world.location.search.LocationSearcher;
 import me.darkeyedragon.randomtp.api.world.player.RandomPlayer;
 import me.darkeyedragon.randomtp.common.command.context.PlayerWorldContext;
 import me.darkeyedragon.randomtp.common.teleport.BasicTeleportHandler;
 import me.darkeyedragon.randomtp.common.teleport.BasicTeleportResponse;
 import me.darkeyedragon.randomtp.common.teleport.CommonTeleportPropertyBuilder;
 import me.darkeyedragon.randomtp.common.util.ComponentUtil;
+import me.darkeyedragon.randomtp.common.world.WorldHandler;
+import me.darkeyedragon.randomtp.common.world.atlas.AtlasBuilder;
+import me.darkeyedragon.randomtp.common.world.atlas.AtlasStore;
+import me.darkeyedragon.randomtp.common.world.atlas.LocationAtlas;
+import me.darkeyedragon.randomtp.common.world.location.search.BaseLocationSearcher;
 import net.kyori.adventure.text.Component;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 @CommandAlias("rtp|randomtp|randomteleport")
 public class RandomTeleportCommand extends BaseCommand {
@@ -46,6 +57,7 @@ public class RandomTeleportCommand extends BaseCommand {
     private final RandomTeleportPlugin<?> plugin;
     //private BaseLocationSearcher locationHelper;
     private final CooldownHandler cooldownHandler;
+    private final Set<UUID> atlasBuilds; //Worlds whose atlas is being built
     private RandomConfigHandler configHandler;
     private WorldQueue worldQueue;
     private long timeSpan;
@@ -59,6 +71,7 @@ public class RandomTeleportCommand extends BaseCommand {
         this.plugin = plugin;
         messageHandler = plugin.getMessageHandler();
         cooldownHandler = plugin.getCooldownHandler();
+        atlasBuilds = ConcurrentHashMap.newKeySet();
         setConfigs();
     }
 
@@ -162,7 +175,7 @@ public class RandomTeleportCommand extends BaseCommand {
         }
     }
 
-    private TeleportResponse teleport(CommandIssuer sender, RandomPlayer player, RandomWorld world) {
+    private CompletableFuture<TeleportResponse> teleport(CommandIssuer sender, RandomPlayer player, RandomWorld world) {
         setConfigs();
         final ConfigWorld worldDetail = plugin.getConfigHandler().getSectionWorld().getConfigWorld(world.getName());
         double price = 0;
@@ -187,7 +200,7 @@ public class RandomTeleportCommand extends BaseCommand {
         RandomCooldown cooldown = cooldownHandler.getCooldown(player);
         if (!bypassCooldown && cooldown != null && cooldown.getRemainingTime() > 0) {
             plugin.getMessageHandler().sendMessage(player, configHandler.getSectionMessage().getCountdown(cooldown.getRemainingTime() / 50));
-            return new BasicTeleportResponse(TeleportType.COOLDOWN);
+            return CompletableFuture.completedFuture(new BasicTeleportResponse(TeleportType.COOLDOWN));
         }
         TeleportProperty teleportProperty = new CommonTeleportPropertyBuilder()
                 .commandIssuer(sender)
@@ -203,11 +216,16 @@ public class RandomTeleportCommand extends BaseCommand {
                 .world(world)
                 .build();
         BasicTeleportHandler teleportHandler = new BasicTeleportHandler(plugin);
-        TeleportResponse response = teleportHandler.toRandomLocation(teleportProperty);
-        if (timeSpan != 0 && configHandler.getSectionDebug().isShowExecutionTimes()) {
-            long totalTime = System.currentTimeMillis() - timeSpan;
-            plugin.getLogger().info("Debug: Teleport request took: " + totalTime + "ms");
-        }
+        CompletableFuture<TeleportResponse> response = teleportHandler.toRandomLocation(teleportProperty);
+        response.whenComplete((teleportResponse, throwable) -> {
+            if (throwable != null) {
+                plugin.getLogger().warn("Teleport of " + player.getName() + " failed: " + throwable.getMessage());
+            }
+            if (timeSpan != 0 && configHandler.getSectionDebug().isShowExecutionTimes()) {
+                long totalTime = System.currentTimeMillis() - timeSpan;
+                plugin.getLogger().info("Debug: Teleport request took: " + totalTime + "ms");
+            }
+        });
         return response;
     }
 
@@ -216,6 +234,8 @@ public class RandomTeleportCommand extends BaseCommand {
     @Description("Reload the rtp config")
     public void onReload(CommandIssuer sender) {
         messageHandler.sendMessage(sender, "<green>Reloading config...");
+        //Keep the locations that are still valid under the new config
+        plugin.getWorldHandler().saveWorldQueue();
         plugin.reloadConfig();
         //Set the new config object references
         setConfigs();
@@ -286,6 +306,72 @@ public class RandomTeleportCommand extends BaseCommand {
         }
     }*/
 
+    @Subcommand("atlas build")
+    @CommandCompletion("@worlds")
+    @CommandPermission("rtp.admin.atlas")
+    @Description("Index the safe locations in the region files of a world")
+    public void onAtlasBuild(CommandIssuer sender, RandomWorld world) {
+        if (world.getRegionFolder() == null) {
+            messageHandler.sendMessage(sender, "<red>" + world.getName() + " is not stored in region files.");
+            return;
+        }
+        WorldHandler worldHandler = (WorldHandler) plugin.getWorldHandler();
+        LocationSearcher searcher = worldHandler.getLocationSearcher(world.getEnvironment());
+        if (!(searcher instanceof BaseLocationSearcher)) {
+            messageHandler.sendMessage(sender, "<red>There is no location searcher for " + world.getName() + ".");
+            return;
+        }
+        AtlasStore atlasStore = worldHandler.getAtlasStore();
+        AtlasBuilder atlasBuilder = new AtlasBuilder(plugin, world, (BaseLocationSearcher) searcher);
+        if (!atlasBuilds.add(world.getUUID())) {
+            messageHandler.sendMessage(sender, "<red>The atlas of " + world.getName() + " is already being built.");
+            return;
+        }
+        messageHandler.sendMessage(sender, "<green>Building the atlas of <gold>" + world.getName() + "<green>, only saved chunks are indexed. Save the world first to include recent changes.");
+        long startTime = System.currentTimeMillis();
+        atlasBuilder.build(Math.max(1, Runtime.getRuntime().availableProcessors() / 2)).thenApply(atlas -> {
+            try {
+                atlasStore.save(atlas);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+            return atlas;
+        }).whenCompleteAsync((atlas, throwable) -> {
+            atlasBuilds.remove(world.getUUID());
+            if (throwable != null) {
+                Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+                plugin.getLogger().warn("Could not build the atlas of \"" + world.getName() + "\": " + cause.getMessage());
+                messageHandler.sendMessage(sender, "<red>Could not build the atlas of " + world.getName() + ": " + cause.getMessage());
+                return;
+            }
+            worldHandler.getSearchMemory().registerAtlas(world.getUUID(), atlas);
+            messageHandler.sendMessage(sender, "<green>Built the atlas of <gold>" + world.getName() + "<green> in <yellow>" + (System.currentTimeMillis() - startTime) + "ms<green>: <yellow>"
+                    + atlas.getColumnCount() + "<green> locations in <yellow>" + atlas.getChunkCount() + "<green> of <yellow>" + atlasBuilder.getScannedChunks()
+                    + "<green> chunks, skipped <yellow>" + atlasBuilder.getSkippedChunks() + "<green> chunks.");
+        }, plugin.getScheduler().getMainThreadExecutor());
+    }
+
+    @Subcommand("atlas clear")
+    @CommandCompletion("@worlds")
+    @CommandPermission("rtp.admin.atlas")
+    @Description("Remove the atlas of a world, searches go back to the live world")
+    public void onAtlasClear(CommandIssuer sender, RandomWorld world) {
+        WorldHandler worldHandler = (WorldHandler) plugin.getWorldHandler();
+        LocationAtlas atlas = worldHandler.getSearchMemory().unregisterAtlas(world.getUUID());
+        boolean stored;
+        try {
+            stored = worldHandler.getAtlasStore().delete(world.getUUID());
+        } catch (IOException e) {
+            messageHandler.sendMessage(sender, "<red>Could not delete the stored atlas of " + world.getName() + ": " + e.getMessage());
+            return;
+        }
+        if (atlas != null || stored) {
+            messageHandler.sendMessage(sender, "<green>Removed the atlas of <gold>" + world.getName());
+        } else {
+            messageHandler.sendMessage(sender, "<red>There is no atlas for " + world.getName());
+        }
+    }
+
     @Subcommand("reset cooldown")
     @CommandCompletion("@players")
     @CommandPermission("rtp.admin.resetcooldown")
@@ -5,7 +5,9 @@ import me.darkeyedragon.randomtp.api.config.section.SectionBlacklist;
 import me.darkeyedragon.randomtp.api.config.section.SectionDebug;
 import me.darkeyedragon.randomtp.api.config.section.SectionEconomy;
 import me.darkeyedragon.randomtp.api.config.section.SectionMessage;
+import me.darkeyedragon.randomtp.api.config.section.SectionMetrics;
 import me.darkeyedragon.randomtp.api.config.section.SectionQueue;
+import me.darkeyedragon.randomtp.api.config.section.SectionSearch;
 import me.darkeyedragon.randomtp.api.config.section.SectionTeleport;
 import me.darkeyedragon.randomtp.api.config.section.SectionWorld;
 import me.darkeyedragon.randomtp.common.plugin.RandomTeleportPluginImpl;
@@ -14,12 +16,18 @@ import org.spongepowered.configurate.ConfigurateException;
 import org.spongepowered.configurate.ConfigurationNode;
 import org.spongepowered.configurate.loader.AbstractConfigurationLoader;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.CRC32;
+
 public class CommonConfigHandler implements RandomConfigHandler {
 
     protected final AbstractConfigurationLoader<CommentedConfigurationNode> loader;
     protected final RandomTeleportPluginImpl randomTeleportPlugin;
     protected ConfigurationNode root;
     protected Configuration configuration;
+    protected long configHash;
 
     public CommonConfigHandler(RandomTeleportPluginImpl randomTeleportPlugin, AbstractConfigurationLoader<CommentedConfigurationNode> configurationLoader) {
         this.randomTeleportPlugin = randomTeleportPlugin;
@@ -29,6 +37,18 @@ public class CommonConfigHandler implements RandomConfigHandler {
     public void load() throws ConfigurateException {
         root = loader.load();
         configuration = root.get(Configuration.class);
+        configHash = hashConfig();
+    }
+
+    private long hashConfig() {
+        try {
+            CRC32 crc = new CRC32();
+            crc.update(Files.readAllBytes(randomTeleportPlugin.getConfigPath()));
+            return crc.getValue();
+        } catch (IOException e) {
+            //No hash means nothing stored can be trusted
+            return ThreadLocalRandom.current().nextLong();
+        }
     }
 
     @Override
@@ -66,6 +86,16 @@ public class CommonConfigHandler implements RandomConfigHandler {
         return configuration.getBlacklist();
     }
 
+    @Override
+    public SectionMetrics getSectionMetrics() {
+        return configuration.getMetrics();
+    }
+
+    @Override
+    public SectionSearch getSectionSearch() {
+        return configuration.getSearch();
+    }
+
     @Override
     public void populateWorldConfigSection() {
 
@@ -77,6 +107,11 @@ public class CommonConfigHandler implements RandomConfigHandler {
         //configuration.save();
     }
 
+    @Override
+    public long getConfigHash() {
+        return configHash;
+    }
+
     //TODO implement reload
     @Override
     public boolean reload() {
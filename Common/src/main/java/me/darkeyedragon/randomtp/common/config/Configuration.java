@@ -4,7 +4,9 @@ import me.darkeyedragon.randomtp.common.config.section.CommonSectionBlacklist;
 import me.darkeyedragon.randomtp.common.config.section.CommonSectionDebug;
 import me.darkeyedragon.randomtp.common.config.section.CommonSectionEconomy;
 import me.darkeyedragon.randomtp.common.config.section.CommonSectionMessage;
+import me.darkeyedragon.randomtp.common.config.section.CommonSectionMetrics;
 import me.darkeyedragon.randomtp.common.config.section.CommonSectionQueue;
+import me.darkeyedragon.randomtp.common.config.section.CommonSectionSearch;
 import me.darkeyedragon.randomtp.common.config.section.CommonSectionTeleport;
 import me.darkeyedragon.randomtp.common.config.section.CommonSectionWorld;
 import org.spongepowered.configurate.objectmapping.ConfigSerializable;
@@ -21,6 +23,8 @@ public class Configuration {
     private CommonSectionDebug debug;
     private CommonSectionEconomy economy;
     private CommonSectionBlacklist blacklist;
+    private CommonSectionMetrics metrics = new CommonSectionMetrics();
+    private CommonSectionSearch search = new CommonSectionSearch();
 
     public CommonSectionMessage getMessages() {
         return message;
@@ -49,4 +53,12 @@ public class Configuration {
     public CommonSectionBlacklist getBlacklist() {
         return blacklist;
     }
+
+    public CommonSectionMetrics getMetrics() {
+        return metrics;
+    }
+
+    public CommonSectionSearch getSearch() {
+        return search;
+    }
 }
@@ -1,19 +1,23 @@
 package me.darkeyedragon.randomtp.common.config.datatype;
 
+import me.darkeyedragon.randomtp.api.config.BlacklistMatcher;
 import me.darkeyedragon.randomtp.api.config.Dimension;
 import me.darkeyedragon.randomtp.api.config.RandomBlacklist;
 import me.darkeyedragon.randomtp.api.config.RandomDimensionData;
 import org.spongepowered.configurate.objectmapping.ConfigSerializable;
 
+import java.util.EnumMap;
 import java.util.Map;
 
 @ConfigSerializable
 public class Blacklist implements RandomBlacklist {
 
     private final Map<Dimension, RandomDimensionData> dimensions;
+    private volatile Map<Dimension, BlacklistMatcher> matchers;
 
     public Blacklist(Map<Dimension, RandomDimensionData> dimensions) {
         this.dimensions = dimensions;
+        compileMatchers();
     }
 
     public Map<Dimension, RandomDimensionData> getDimensions() {
@@ -27,5 +31,21 @@ public class Blacklist implements RandomBlacklist {
     @Override
     public void addDimensionData(Dimension dimension, RandomDimensionData dimensionData) {
         dimensions.put(dimension, dimensionData);
+        compileMatchers();
+    }
+
+    @Override
+    public BlacklistMatcher getMatcher(Dimension dimension) {
+        return matchers.get(dimension);
+    }
+
+    /* Compiles the matchers once, so the searchers never have to go through the sets */
+    private void compileMatchers() {
+        Map<Dimension, BlacklistMatcher> compiled = new EnumMap<>(Dimension.class);
+        RandomDimensionData global = dimensions.get(Dimension.GLOBAL);
+        for (Dimension dimension : Dimension.values()) {
+            compiled.put(dimension, BlacklistMatcher.compile(global, dimensions.get(dimension)));
+        }
+        matchers = compiled;
     }
 }
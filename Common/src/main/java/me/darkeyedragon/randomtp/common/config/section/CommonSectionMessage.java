@@ -25,6 +25,7 @@ public class CommonSectionMessage implements SectionMessage {
     private String countdown;
     private String noWorldPermission;
     private String depletedQueue;
+    private String noSafeLocation = "<red>No safe location could be found. Try again later";
     private String invalidDefaultWorld;
 
     private CommonSubSectionEconomy economy;
@@ -68,6 +69,11 @@ public class CommonSectionMessage implements SectionMessage {
         return ComponentUtil.toComponent(depletedQueue);
     }
 
+    @Override
+    public Component getNoSafeLocation() {
+        return ComponentUtil.toComponent(noSafeLocation);
+    }
+
     @Override
     public SubSectionEconomy getSubSectionEconomy() {
         return economy;
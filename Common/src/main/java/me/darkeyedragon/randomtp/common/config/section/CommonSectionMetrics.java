@@ -0,0 +1,38 @@
+package me.darkeyedragon.randomtp.common.config.section;
+
+import me.darkeyedragon.randomtp.api.config.section.SectionMetrics;
+import org.spongepowered.configurate.objectmapping.ConfigSerializable;
+
+@ConfigSerializable
+public class CommonSectionMetrics implements SectionMetrics {
+
+    private int port;
+    private String bindAddress = "127.0.0.1";
+    private String textfile = "";
+    private long interval = 200;
+
+    @Override
+    public int getPort() {
+        return port;
+    }
+
+    @Override
+    public String getBindAddress() {
+        return bindAddress;
+    }
+
+    @Override
+    public String getTextfile() {
+        return textfile == null ? "" : textfile;
+    }
+
+    @Override
+    public long getInterval() {
+        return Math.max(20, interval);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return port > 0 || !getTextfile().isEmpty();
+    }
+}
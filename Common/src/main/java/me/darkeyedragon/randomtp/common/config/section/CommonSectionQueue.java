@@ -8,6 +8,11 @@ public class CommonSectionQueue implements SectionQueue {
 
     private int size;
     private long initDelay;
+    private int maxSearchesPerWorld = 2;
+    private int maxSearches = 8;
+    private int minSize = 1;
+    private int maxSize = 20;
+    private long demandWindow = 600;
 
     @Override
     public int getSize() {
@@ -18,4 +23,29 @@ public class CommonSectionQueue implements SectionQueue {
     public long getInitDelay() {
         return initDelay;
     }
+
+    @Override
+    public int getMaxSearchesPerWorld() {
+        return maxSearchesPerWorld;
+    }
+
+    @Override
+    public int getMaxSearches() {
+        return maxSearches;
+    }
+
+    @Override
+    public int getMinSize() {
+        return Math.min(minSize, size);
+    }
+
+    @Override
+    public int getMaxSize() {
+        return Math.max(maxSize, size);
+    }
+
+    @Override
+    public long getDemandWindow() {
+        return demandWindow;
+    }
 }
@@ -0,0 +1,63 @@
+package me.darkeyedragon.randomtp.common.config.section;
+
+import me.darkeyedragon.randomtp.api.config.section.SectionSearch;
+import org.spongepowered.configurate.objectmapping.ConfigSerializable;
+
+@ConfigSerializable
+public class CommonSectionSearch implements SectionSearch {
+
+    private int rejectedChunks = 65536;
+    private long rejectedChunkExpiry = 3600;
+    private boolean persistRejectedChunks = true;
+    private boolean adaptiveSampling = true;
+    private double explorationRate = 0.05;
+    private int harvestSize = 3;
+    private int harvestSpacing = 8;
+    private int dispersionRadius = 2;
+    private long dispersionTime = 600;
+
+    @Override
+    public int getRejectedChunks() {
+        return Math.max(0, rejectedChunks);
+    }
+
+    @Override
+    public long getRejectedChunkExpiry() {
+        return Math.max(0, rejectedChunkExpiry);
+    }
+
+    @Override
+    public boolean isPersistRejectedChunks() {
+        return persistRejectedChunks;
+    }
+
+    @Override
+    public boolean isAdaptiveSampling() {
+        return adaptiveSampling;
+    }
+
+    @Override
+    public double getExplorationRate() {
+        return Math.max(0.01, Math.min(1, explorationRate));
+    }
+
+    @Override
+    public int getHarvestSize() {
+        return Math.max(1, harvestSize);
+    }
+
+    @Override
+    public int getHarvestSpacing() {
+        return Math.max(0, harvestSpacing);
+    }
+
+    @Override
+    public int getDispersionRadius() {
+        return Math.max(0, dispersionRadius);
+    }
+
+    @Override
+    public long getDispersionTime() {
+        return Math.max(0, dispersionTime);
+    }
+}
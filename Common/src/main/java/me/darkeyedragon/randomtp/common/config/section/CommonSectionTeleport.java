@@ -8,6 +8,7 @@ import org.spongepowered.configurate.objectmapping.ConfigSerializable;
 public class CommonSectionTeleport implements SectionTeleport {
 
     private long cooldown;
+    private boolean persistCooldowns = true;
     private long delay;
     private boolean cancelOnMove;
     private long deathTimer;
@@ -25,6 +26,16 @@ public class CommonSectionTeleport implements SectionTeleport {
         this.cooldown = cooldown;
     }
 
+    @Override
+    public boolean isPersistCooldowns() {
+        return persistCooldowns;
+    }
+
+    @Override
+    public void setPersistCooldowns(boolean persistCooldowns) {
+        this.persistCooldowns = persistCooldowns;
+    }
+
     @Override
     public long getDelay() {
         return delay;
@@ -20,6 +20,7 @@ public class RandomBlacklistSerializer implements TypeSerializer<RandomBlacklist
     public RandomBlacklist deserialize(Type type, ConfigurationNode node) throws SerializationException {
         Map<Dimension, RandomDimensionData> dimensionData = node.get(new TypeToken<Map<Dimension, RandomDimensionData>>() {
         });
+        if (dimensionData == null) throw new SerializationException();
         return new Blacklist(dimensionData);
     }
 
@@ -2,34 +2,94 @@ package me.darkeyedragon.randomtp.common.failsafe;
 
 import me.darkeyedragon.randomtp.api.failsafe.DeathTracker;
 import me.darkeyedragon.randomtp.api.plugin.RandomTeleportPlugin;
-import me.darkeyedragon.randomtp.api.world.player.RandomPlayer;
 
-import java.util.HashMap;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+/**
+ * Tracks the players that recently teleported, so they don't lose anything when they die right after.
+ * The tracking expires after the given time. A sweep removes the expired entries,
+ * it only runs while players are tracked.
+ */
 public class CommonDeathTracker implements DeathTracker {
 
-    RandomTeleportPlugin<?> randomTeleport;
-    Map<RandomPlayer, Long> trackedPlayers;
+    private static final long SWEEP_INTERVAL = 20; //Ticks
+
+    private final RandomTeleportPlugin<?> randomTeleport;
+    private final Map<UUID, Long> trackedPlayers; //Expiry time in milliseconds
+    private final Deque<Tracked> addOrder; //Guarded by itself
+    private final AtomicBoolean sweeping;
 
     public CommonDeathTracker(RandomTeleportPlugin<?> plugin) {
         this.randomTeleport = plugin;
-        trackedPlayers = new HashMap<>();
+        this.trackedPlayers = new ConcurrentHashMap<>();
+        this.addOrder = new ArrayDeque<>();
+        this.sweeping = new AtomicBoolean();
     }
 
-
     @Override
-    public Long add(RandomPlayer player, long time) {
-        return trackedPlayers.put(player, time);
+    public Long add(UUID playerUUID, long ticks) {
+        long expiresAt = randomTeleport.getScheduler().currentTimeMillis() + ticks * 50;
+        Long previous = trackedPlayers.put(playerUUID, expiresAt);
+        synchronized (addOrder) {
+            addOrder.add(new Tracked(playerUUID, expiresAt));
+        }
+        if (sweeping.compareAndSet(false, true)) {
+            randomTeleport.getScheduler().runTaskTimer(task -> {
+                if (sweep()) {
+                    task.cancel();
+                }
+            }, SWEEP_INTERVAL, SWEEP_INTERVAL);
+        }
+        return previous;
     }
 
     @Override
-    public boolean contains(RandomPlayer player) {
-        return trackedPlayers.containsKey(player);
+    public boolean contains(UUID playerUUID) {
+        Long expiresAt = trackedPlayers.get(playerUUID);
+        return expiresAt != null && expiresAt > randomTeleport.getScheduler().currentTimeMillis();
     }
 
     @Override
-    public Long remove(RandomPlayer player) {
-        return trackedPlayers.remove(player);
+    public Long remove(UUID playerUUID) {
+        return trackedPlayers.remove(playerUUID);
+    }
+
+    /**
+     * Removes the expired entries. They mostly expire in the order they were added,
+     * so only the oldest entries have to be looked at.
+     *
+     * @return true if nothing is tracked anymore and the sweep stopped
+     */
+    private boolean sweep() {
+        long now = randomTeleport.getScheduler().currentTimeMillis();
+        synchronized (addOrder) {
+            Tracked oldest;
+            while ((oldest = addOrder.peek()) != null && oldest.expiresAt <= now) {
+                addOrder.poll();
+                //Only if the player wasn't added again since
+                trackedPlayers.remove(oldest.uuid, oldest.expiresAt);
+            }
+            if (addOrder.isEmpty()) {
+                sweeping.set(false);
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private static final class Tracked {
+
+        private final UUID uuid;
+        private final long expiresAt;
+
+        private Tracked(UUID uuid, long expiresAt) {
+            this.uuid = uuid;
+            this.expiresAt = expiresAt;
+        }
     }
 }
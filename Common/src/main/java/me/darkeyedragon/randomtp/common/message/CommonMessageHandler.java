@@ -45,15 +45,22 @@ public class CommonMessageHandler implements MessageHandler {
 
     @Override
     public void sendDebugMessage(String message) {
-        sendDebugMessage(ComponentUtil.miniMessage.deserialize(message));
+        if (isDebugEnabled()) {
+            sendDebugMessage(ComponentUtil.miniMessage.deserialize(message));
+        }
     }
 
     @Override
     public void sendDebugMessage(Component message) {
-        if (plugin.getConfigHandler().getSectionDebug().isShowSearchingMessages()) {
+        if (isDebugEnabled()) {
             Component prefix = Component.text("DEBUG: ");
             prefix = prefix.color(TextColor.color(0xff0000));
             plugin.getAudience().console().sendMessage(prefix.append(message));
         }
     }
+
+    @Override
+    public boolean isDebugEnabled() {
+        return plugin.getConfigHandler().getSectionDebug().isShowSearchingMessages();
+    }
 }
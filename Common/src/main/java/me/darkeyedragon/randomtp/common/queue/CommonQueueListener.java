@@ -7,10 +7,14 @@ import me.darkeyedragon.randomtp.api.queue.LocationQueue;
 import me.darkeyedragon.randomtp.api.queue.QueueListener;
 import me.darkeyedragon.randomtp.api.world.RandomWorld;
 import me.darkeyedragon.randomtp.api.world.location.RandomLocation;
+import me.darkeyedragon.randomtp.common.world.location.search.RecentLocationIndex;
 
 /**
  * The common implementation of the queue listener.
- * When a location is consumed another is automatically searched for and added.
+ * When a location is consumed or the queue was found empty, it is refilled once it drops below the refill threshold.
+ * Every poll counts as demand, so this is also where a growing target size is noticed.
+ * Queued and consumed locations are marked in the {@link RecentLocationIndex},
+ * so new locations are searched elsewhere.
  * It also automatically logs to the console if configured to do so.
  */
 public class CommonQueueListener implements QueueListener<RandomLocation> {
@@ -18,33 +22,52 @@ public class CommonQueueListener implements QueueListener<RandomLocation> {
     private final RandomConfigHandler configHandler;
     private final RandomWorld randomWorld;
     private final LocationQueue locationQueue;
-    private final int size;
     private final RandomTeleportPlugin<?> plugin;
+    private final RecentLocationIndex recentLocations;
 
-    public CommonQueueListener(RandomTeleportPlugin<?> plugin, RandomWorld randomWorld, LocationQueue locationQueue) {
+    public CommonQueueListener(RandomTeleportPlugin<?> plugin, RandomWorld randomWorld, LocationQueue locationQueue, RecentLocationIndex recentLocations) {
         this.plugin = plugin;
         this.configHandler = plugin.getConfigHandler();
         this.randomWorld = randomWorld;
         this.locationQueue = locationQueue;
-        this.size = configHandler.getSectionQueue().getSize();
+        this.recentLocations = recentLocations;
     }
 
     @Override
     public void onAdd(RandomLocation element) {
+        markRecent(element);
         if (configHandler.getSectionDebug().isShowQueuePopulation()) {
-            plugin.getLogger().info("Safe location added for " + element.getWorld().getName() + " (" + locationQueue.size() + "/" + size + ")");
+            plugin.getLogger().info("Safe location added for " + element.getWorld().getName() + " (" + locationQueue.size() + "/" + locationQueue.getTargetSize() + ")");
         }
     }
 
     @Override
     public void onRemove(RandomLocation element) {
-        ConfigWorld configWorld = configHandler.getSectionWorld().getConfigWorld(randomWorld.getName());
-        //TODO find a proper algorithm to determine generation
-        if (locationQueue.size() < size / 2) {
-            plugin.getWorldHandler().generate(configWorld, randomWorld, locationQueue.remainingCapacity());
-        }
+        //Refreshes the chunk, the player is about to arrive there
+        markRecent(element);
+        int targetSize = refill();
         if (configHandler.getSectionDebug().isShowQueuePopulation()) {
-            plugin.getLogger().info("Safe location consumed for " + element.getWorld().getName() + " (" + locationQueue.size() + "/" + size + ")");
+            plugin.getLogger().info("Safe location consumed for " + element.getWorld().getName() + " (" + locationQueue.size() + "/" + targetSize + ")");
         }
     }
+
+    @Override
+    public void onEmpty() {
+        //Searches that are already running count towards the refill, so this does not pile up while the queue stays empty
+        refill();
+    }
+
+    /* The threshold and target follow the demand of the world, which just went up by the poll */
+    private int refill() {
+        int targetSize = locationQueue.getTargetSize();
+        if (locationQueue.size() < locationQueue.getRefillThreshold()) {
+            ConfigWorld configWorld = configHandler.getSectionWorld().getConfigWorld(randomWorld.getName());
+            plugin.getWorldHandler().generate(configWorld, randomWorld, targetSize - locationQueue.size());
+        }
+        return targetSize;
+    }
+
+    private void markRecent(RandomLocation location) {
+        recentLocations.mark(randomWorld.getUUID(), location.getBlockX() >> 4, location.getBlockZ() >> 4);
+    }
 }
@@ -0,0 +1,117 @@
+package me.darkeyedragon.randomtp.common.queue;
+
+import me.darkeyedragon.randomtp.api.queue.LocationQueue;
+import me.darkeyedragon.randomtp.api.world.RandomWorld;
+import me.darkeyedragon.randomtp.api.world.location.PackedLocation;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Stores the queued locations of every world in a small binary file, so they survive restarts and reloads.
+ * The file is tied to the config it was written with. If the config changed in the meantime the stored locations are discarded.
+ * <p>
+ * Layout: magic, version, config hash, world count, then for every world its UUID, the amount of locations and their block coordinates.
+ */
+public class QueueStore {
+
+    private static final int MAGIC = 0x52545051; //RTPQ
+    private static final byte VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 1 + 8 + 4;
+    private static final int WORLD_BYTES = 8 + 8 + 4; //UUID and location count
+    private static final int LOCATION_BYTES = 3 * 4;
+
+    private final Path path;
+
+    /**
+     * @param path the {@link Path} of the file to store the queues in
+     */
+    public QueueStore(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * Writes the locations of all queues to disk, replacing what was stored before.
+     *
+     * @param queues     the {@link LocationQueue} of every world
+     * @param configHash the hash of the config the locations were found with
+     * @throws IOException when the file could not be written
+     */
+    public void save(Map<RandomWorld, LocationQueue> queues, long configHash) throws IOException {
+        Files.createDirectories(path.getParent());
+        Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(configHash);
+            out.writeInt(queues.size());
+            for (Map.Entry<RandomWorld, LocationQueue> entry : queues.entrySet()) {
+                UUID uuid = entry.getKey().getUUID();
+                //Snapshot first, the queue could change while writing
+                long[] locations = entry.getValue().toPackedArray();
+                out.writeLong(uuid.getMostSignificantBits());
+                out.writeLong(uuid.getLeastSignificantBits());
+                out.writeInt(locations.length);
+                for (long location : locations) {
+                    out.writeInt(PackedLocation.getX(location));
+                    out.writeInt(PackedLocation.getY(location));
+                    out.writeInt(PackedLocation.getZ(location));
+                }
+            }
+        }
+        Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads the stored locations and deletes the file, so the same locations are never handed out twice.
+     *
+     * @param configHash the hash of the current config
+     * @return the block coordinates (x, y, z repeated) of every world by UUID.
+     * Empty if nothing is stored or it was written with a different config.
+     * @throws IOException when the file could not be read, or holds more locations than it has room for
+     */
+    public Map<UUID, int[]> load(long configHash) throws IOException {
+        if (!Files.exists(path)) {
+            return Collections.emptyMap();
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            //The counts are checked against what is left of the file before anything is allocated for them
+            long remaining = Files.size(path) - HEADER_BYTES;
+            if (in.readInt() != MAGIC || in.readByte() != VERSION || in.readLong() != configHash) {
+                return Collections.emptyMap();
+            }
+            int worldCount = in.readInt();
+            if (worldCount < 0 || worldCount > remaining / WORLD_BYTES) {
+                throw new IOException("Corrupt queue file, invalid world count " + worldCount);
+            }
+            Map<UUID, int[]> locations = new HashMap<>();
+            for (int i = 0; i < worldCount; i++) {
+                UUID uuid = new UUID(in.readLong(), in.readLong());
+                int count = in.readInt();
+                remaining -= WORLD_BYTES;
+                if (count < 0 || count > remaining / LOCATION_BYTES) {
+                    throw new IOException("Corrupt queue file, invalid location count " + count + " for " + uuid);
+                }
+                remaining -= (long) count * LOCATION_BYTES;
+                int[] coordinates = new int[count * 3];
+                for (int j = 0; j < coordinates.length; j++) {
+                    coordinates[j] = in.readInt();
+                }
+                locations.put(uuid, coordinates);
+            }
+            return locations;
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+}
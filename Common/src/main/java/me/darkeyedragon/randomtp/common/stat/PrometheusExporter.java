@@ -0,0 +1,228 @@
+package me.darkeyedragon.randomtp.common.stat;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import me.darkeyedragon.randomtp.api.config.section.SectionMetrics;
+import me.darkeyedragon.randomtp.api.metric.LatencyHistogram;
+import me.darkeyedragon.randomtp.api.metric.SearchFailure;
+import me.darkeyedragon.randomtp.api.metric.SearchMetrics;
+import me.darkeyedragon.randomtp.api.metric.Stage;
+import me.darkeyedragon.randomtp.api.plugin.RandomTeleportPlugin;
+import me.darkeyedragon.randomtp.api.queue.LocationQueue;
+import me.darkeyedragon.randomtp.api.scheduler.Task;
+import me.darkeyedragon.randomtp.api.world.RandomWorld;
+import me.darkeyedragon.randomtp.common.teleport.CommonCooldownHandler;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Exposes the queue, search, cooldown and teleport metrics in the Prometheus text format.
+ * The queues are only accessed from the main thread, so the metrics are rendered there at a fixed interval.
+ * The latest rendering is served at /metrics and/or written to a file for the node_exporter textfile collector.
+ */
+public class PrometheusExporter {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final String[] BOUNDS = {"0.0001", "0.0005", "0.001", "0.005", "0.01", "0.025", "0.05", "0.1", "0.25", "0.5", "1", "2.5", "5", "10"};
+    private static final long[] BOUND_NANOS = new long[BOUNDS.length];
+
+    static {
+        for (int i = 0; i < BOUNDS.length; i++) {
+            BOUND_NANOS[i] = (long) (Double.parseDouble(BOUNDS[i]) * TimeUnit.SECONDS.toNanos(1));
+        }
+    }
+
+    private final RandomTeleportPlugin<?> plugin;
+    private final CommonCooldownHandler cooldownHandler;
+    private final AtomicBoolean writing;
+    private volatile byte[] snapshot;
+    private HttpServer server;
+    private Path textfile;
+    private Task task;
+
+    /**
+     * @param plugin          the {@link RandomTeleportPlugin} instance
+     * @param cooldownHandler the {@link CommonCooldownHandler} to report the size of
+     */
+    public PrometheusExporter(RandomTeleportPlugin<?> plugin, CommonCooldownHandler cooldownHandler) {
+        this.plugin = plugin;
+        this.cooldownHandler = cooldownHandler;
+        this.writing = new AtomicBoolean();
+        this.snapshot = new byte[0];
+    }
+
+    /**
+     * Starts serving and/or writing the metrics, if enabled in the config. Needs the config and the scheduler to be available.
+     */
+    public void start() {
+        SectionMetrics sectionMetrics = plugin.getConfigHandler().getSectionMetrics();
+        if (!sectionMetrics.isEnabled()) return;
+        if (sectionMetrics.getPort() > 0) {
+            InetSocketAddress address = new InetSocketAddress(sectionMetrics.getBindAddress(), sectionMetrics.getPort());
+            try {
+                server = HttpServer.create(address, 0);
+                server.createContext("/metrics", this::handle);
+                server.start();
+                plugin.getLogger().info("Serving metrics on http://" + sectionMetrics.getBindAddress() + ":" + sectionMetrics.getPort() + "/metrics");
+            } catch (IOException e) {
+                plugin.getLogger().warn("Could not serve the metrics on " + address + ": " + e.getMessage());
+            }
+        }
+        if (!sectionMetrics.getTextfile().isEmpty()) {
+            textfile = plugin.getDataFolder().toPath().resolve(sectionMetrics.getTextfile());
+        }
+        task = plugin.getScheduler().runTaskTimer(this::update, 1, sectionMetrics.getInterval());
+    }
+
+    /**
+     * Stops serving and writing the metrics, to be called on shutdown.
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        if (server != null) {
+            server.stop(0);
+            server = null;
+        }
+    }
+
+    /* Runs on the main thread */
+    private void update() {
+        byte[] rendered = render().getBytes(StandardCharsets.UTF_8);
+        snapshot = rendered;
+        //Skip a write when the previous one is still busy, the next update will have newer numbers anyway
+        if (textfile == null || !writing.compareAndSet(false, true)) return;
+        CompletableFuture.runAsync(() -> {
+            try {
+                write(rendered);
+            } catch (IOException e) {
+                plugin.getLogger().warn("Could not write the metrics to " + textfile + ": " + e.getMessage());
+            } finally {
+                writing.set(false);
+            }
+        });
+    }
+
+    /* The collector could read the file at any time, so it's replaced in one go */
+    private void write(byte[] rendered) throws IOException {
+        Path parent = textfile.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path tempPath = textfile.resolveSibling(textfile.getFileName() + ".tmp");
+        Files.write(tempPath, rendered);
+        Files.move(tempPath, textfile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            if (!method.equals("GET") && !method.equals("HEAD")) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = snapshot;
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            if (method.equals("HEAD")) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private String render() {
+        StringBuilder builder = new StringBuilder(4096);
+        Map<RandomWorld, LocationQueue> queues = plugin.getWorldHandler().getWorldQueue().getWorldQueueMap();
+
+        header(builder, "rtp_queue_size", "gauge", "Locations ready in the queue of a world.");
+        queues.forEach((world, queue) -> sample(builder, "rtp_queue_size", world.getName(), queue.size()));
+        header(builder, "rtp_queue_target_size", "gauge", "Locations the queue of a world currently aims to hold.");
+        queues.forEach((world, queue) -> sample(builder, "rtp_queue_target_size", world.getName(), queue.getTargetSize()));
+        header(builder, "rtp_queue_capacity", "gauge", "Locations the queue of a world can ever hold.");
+        queues.forEach((world, queue) -> sample(builder, "rtp_queue_capacity", world.getName(), queue.getCapacity()));
+        header(builder, "rtp_queue_poll_rate", "gauge", "Locations requested from the queue of a world per second.");
+        queues.forEach((world, queue) -> sample(builder, "rtp_queue_poll_rate", world.getName(), queue.getDemandController().getPollRate()));
+        header(builder, "rtp_searches_in_flight", "gauge", "Location searches that are running in a world.");
+        queues.forEach((world, queue) -> sample(builder, "rtp_searches_in_flight", world.getName(), queue.getSearchesInFlight()));
+        header(builder, "rtp_searches_pending", "gauge", "Location searches that are waiting for a free search slot in a world.");
+        queues.forEach((world, queue) -> sample(builder, "rtp_searches_pending", world.getName(), queue.getPendingSearches()));
+
+        SearchMetrics metrics = plugin.getSearchMetrics();
+        header(builder, "rtp_search_attempts_total", "counter", "Location searches that completed in a world.");
+        for (String worldName : metrics.getWorldNames()) {
+            sample(builder, "rtp_search_attempts_total", worldName, metrics.getAttempts(worldName));
+        }
+        header(builder, "rtp_search_successes_total", "counter", "Location searches that found a location in a world.");
+        for (String worldName : metrics.getWorldNames()) {
+            sample(builder, "rtp_search_successes_total", worldName, metrics.getSuccesses(worldName));
+        }
+        header(builder, "rtp_search_failures_total", "counter", "Location searches that found no location in a world, by reason.");
+        for (String worldName : metrics.getWorldNames()) {
+            for (SearchFailure failure : SearchFailure.values()) {
+                builder.append("rtp_search_failures_total{world=\"").append(escape(worldName))
+                        .append("\",reason=\"").append(failure.name().toLowerCase()).append("\"} ")
+                        .append(metrics.getFailures(worldName, failure)).append('\n');
+            }
+        }
+
+        header(builder, "rtp_cooldowns", "gauge", "Players that are on cooldown.");
+        builder.append("rtp_cooldowns ").append(cooldownHandler.size()).append('\n');
+
+        header(builder, "rtp_stage_duration_seconds", "histogram", "Time spent in every stage of finding a location and teleporting to it.");
+        for (String worldName : metrics.getWorldNames()) {
+            for (Stage stage : Stage.values()) {
+                LatencyHistogram histogram = metrics.getHistogram(stage, worldName);
+                if (histogram.getCount() == 0) continue;
+                histogram(builder, worldName, stage, histogram);
+            }
+        }
+        return builder.toString();
+    }
+
+    private static void histogram(StringBuilder builder, String worldName, Stage stage, LatencyHistogram histogram) {
+        String labels = "world=\"" + escape(worldName) + "\",stage=\"" + stage.name().toLowerCase() + "\"";
+        long[] cumulative = histogram.getCumulativeCounts(BOUND_NANOS);
+        for (int i = 0; i < BOUNDS.length; i++) {
+            builder.append("rtp_stage_duration_seconds_bucket{").append(labels).append(",le=\"").append(BOUNDS[i]).append("\"} ").append(cumulative[i]).append('\n');
+        }
+        long count = cumulative[BOUNDS.length];
+        builder.append("rtp_stage_duration_seconds_bucket{").append(labels).append(",le=\"+Inf\"} ").append(count).append('\n');
+        builder.append("rtp_stage_duration_seconds_sum{").append(labels).append("} ").append(histogram.getSum() / (double) TimeUnit.SECONDS.toNanos(1)).append('\n');
+        builder.append("rtp_stage_duration_seconds_count{").append(labels).append("} ").append(count).append('\n');
+    }
+
+    private static void header(StringBuilder builder, String name, String type, String help) {
+        builder.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        builder.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder builder, String name, String worldName, double value) {
+        builder.append(name).append("{world=\"").append(escape(worldName)).append("\"} ").append(value).append('\n');
+    }
+
+    private static void sample(StringBuilder builder, String name, String worldName, long value) {
+        builder.append(name).append("{world=\"").append(escape(worldName)).append("\"} ").append(value).append('\n');
+    }
+
+    private static String escape(String labelValue) {
+        return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -3,27 +3,31 @@ package me.darkeyedragon.randomtp.common.teleport;
 import me.darkeyedragon.randomtp.api.teleport.RandomCooldown;
 
 import java.util.UUID;
+import java.util.function.LongSupplier;
 
 public class BasicCooldown implements RandomCooldown {
 
     private final long startTime;
     private final long cooldown;
     private final UUID uuid;
+    private final LongSupplier clock;
 
     /**
      * @param uuid      the player's unique id
      * @param startTime the cooldown start time
      * @param cooldown  the duration in milliseconds
+     * @param clock     the current time in milliseconds, the same clock the start time was taken from
      */
-    public BasicCooldown(UUID uuid, long startTime, long cooldown) {
+    public BasicCooldown(UUID uuid, long startTime, long cooldown, LongSupplier clock) {
         this.uuid = uuid;
         this.startTime = startTime;
         this.cooldown = cooldown;
+        this.clock = clock;
     }
 
     @Override
     public boolean isExpired() {
-        long remaining = startTime + cooldown - System.currentTimeMillis();
+        long remaining = startTime + cooldown - clock.getAsLong();
         return remaining < 0;
     }
 
@@ -48,7 +52,7 @@ public class BasicCooldown implements RandomCooldown {
         if (isExpired()) {
             return -1;
         } else {
-            return (startTime + cooldown - System.currentTimeMillis());
+            return (startTime + cooldown - clock.getAsLong());
         }
     }
 
@@ -3,25 +3,29 @@ package me.darkeyedragon.randomtp.common.teleport;
 import me.darkeyedragon.randomtp.api.config.RandomConfigHandler;
 import me.darkeyedragon.randomtp.api.eco.EcoHandler;
 import me.darkeyedragon.randomtp.api.failsafe.DeathTracker;
+import me.darkeyedragon.randomtp.api.metric.Stage;
 import me.darkeyedragon.randomtp.api.plugin.RandomTeleportPlugin;
 import me.darkeyedragon.randomtp.api.scheduler.TaskIdentifier;
 import me.darkeyedragon.randomtp.api.teleport.CooldownHandler;
+import me.darkeyedragon.randomtp.api.teleport.PendingTeleportHandler;
 import me.darkeyedragon.randomtp.api.teleport.RandomCooldown;
 import me.darkeyedragon.randomtp.api.teleport.TeleportHandler;
 import me.darkeyedragon.randomtp.api.teleport.TeleportProperty;
 import me.darkeyedragon.randomtp.api.teleport.TeleportResponse;
 import me.darkeyedragon.randomtp.api.teleport.TeleportType;
+import me.darkeyedragon.randomtp.api.world.RandomChunkSnapshot;
 import me.darkeyedragon.randomtp.api.world.RandomParticle;
 import me.darkeyedragon.randomtp.api.world.location.ChunkLocation;
 import me.darkeyedragon.randomtp.api.world.location.RandomLocation;
 import me.darkeyedragon.randomtp.api.world.location.search.LocationSearcher;
 import me.darkeyedragon.randomtp.api.world.player.RandomPlayer;
-import me.darkeyedragon.randomtp.common.world.WorldHandler;
 
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.CompletableFuture;
 
 public class BasicTeleportHandler implements TeleportHandler {
 
+    private static final int MAX_UNSAFE_RETRIES = 3; //Queued locations that turned unsafe before giving up
+
     private final RandomTeleportPlugin<?> plugin;
     private final RandomConfigHandler configHandler;
     private final EcoHandler ecoHandler;
@@ -36,11 +40,11 @@ public class BasicTeleportHandler implements TeleportHandler {
     }
 
     @Override
-    public TeleportResponse toRandomLocation(TeleportProperty property) {
+    public CompletableFuture<TeleportResponse> toRandomLocation(TeleportProperty property) {
         long cooldown = getCooldown(property);
         if (cooldown > 0) {
             plugin.getMessageHandler().sendMessage(property.getTarget(), configHandler.getSectionMessage().getCountdown(cooldown / 50));
-            return new BasicTeleportResponse(TeleportType.COOLDOWN);
+            return response(TeleportType.COOLDOWN);
         }
         return delayTimer(property);
     }
@@ -55,7 +59,7 @@ public class BasicTeleportHandler implements TeleportHandler {
         }
     }
 
-    private TeleportResponse delayTimer(TeleportProperty property) {
+    private CompletableFuture<TeleportResponse> delayTimer(TeleportProperty property) {
         long delay = property.getDelay();
         boolean cancelOnMove = property.getCancelOnMove();
         RandomPlayer player = property.getTarget();
@@ -65,7 +69,7 @@ public class BasicTeleportHandler implements TeleportHandler {
             if (ecoHandler != null) {
                 if (!ecoHandler.hasEnough(player.getUniqueId(), price)) {
                     plugin.getMessageHandler().sendMessage(player, configHandler.getSectionMessage().getSubSectionEconomy().getInsufficientFunds());
-                    return new BasicTeleportResponse(TeleportType.INSUFFICIENT_FUNDS);
+                    return response(TeleportType.INSUFFICIENT_FUNDS);
                 } else {
                     String currency;
                     if (price > 1) {
@@ -84,36 +88,57 @@ public class BasicTeleportHandler implements TeleportHandler {
         }
         if (delay > 0) {
             plugin.getMessageHandler().sendMessage(player, configHandler.getSectionMessage().getInitTeleportDelay(delay));
-            AtomicBoolean complete = new AtomicBoolean(false);
+            //Reserve the location and load its chunk during the countdown, so there is nothing left to wait for when it ends
+            RandomLocation reserved = plugin.getWorldHandler().getWorldQueue().popLocation(property.getWorld());
+            CompletableFuture<RandomChunkSnapshot> preload = reserved == null ? null : loadChunk(reserved);
+            CompletableFuture<TeleportResponse> result = new CompletableFuture<>();
+            PendingTeleportHandler pendingTeleportHandler = plugin.getPendingTeleportHandler();
             TaskIdentifier<?> taskId = plugin.getScheduler().runTaskLater(() -> {
-                complete.set(true);
-                teleport(property);
+                try {
+                    if (cancelOnMove) {
+                        pendingTeleportHandler.remove(player.getUniqueId());
+                    }
+                    CompletableFuture<TeleportResponse> teleportFuture;
+                    if (reserved == null) {
+                        //The queue was empty when the countdown started, it might have been refilled by now
+                        teleportFuture = teleport(property);
+                    } else {
+                        teleportFuture = preload.thenCompose(chunkSnapshot -> teleportLogic(property, reserved, 0));
+                    }
+                    teleportFuture.whenComplete((response, throwable) -> {
+                        if (throwable != null) {
+                            result.completeExceptionally(throwable);
+                        } else {
+                            result.complete(response);
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    //Whoever waits for the teleport has to hear about it, the scheduler would only log it
+                    result.completeExceptionally(e);
+                }
             }, delay).getTaskId();
-            RandomLocation originalLoc = player.getLocation().clone();
             if (cancelOnMove) {
-                //Cancel the teleport task if the player moves
-                plugin.getScheduler().runTaskTimer(task -> {
-                    RandomLocation currentLoc = player.getLocation();
-                    if (complete.get()) {
-                        task.cancel();
-                    } else if ((originalLoc.getX() != currentLoc.getX() || originalLoc.getY() != currentLoc.getY() || originalLoc.getZ() != currentLoc.getZ())) {
-                        plugin.getScheduler().cancelTask(taskId);
-                        task.cancel();
-                        plugin.getMessageHandler().sendMessage(player, configHandler.getSectionMessage().getTeleportCanceled());
-                    }
-                }, 0, 5L);
+                //Cancel the teleport task once the player leaves the block, the platform reports the moves
+                RandomLocation originalLoc = player.getLocation();
+                pendingTeleportHandler.add(player.getUniqueId(), originalLoc.getBlockX(), originalLoc.getBlockY(), originalLoc.getBlockZ(), () -> {
+                    plugin.getScheduler().cancelTask(taskId);
+                    release(property, reserved);
+                    plugin.getMessageHandler().sendMessage(player, configHandler.getSectionMessage().getTeleportCanceled());
+                    result.complete(new BasicTeleportResponse(TeleportType.CANCELLED));
+                });
             }
-        } else {
-            teleport(property);
-            return new BasicTeleportResponse(TeleportType.SUCCESS);
+            return result;
         }
-        return new BasicTeleportResponse(TeleportType.FAIL);
+        return teleport(property);
+    }
+
+    private static CompletableFuture<TeleportResponse> response(TeleportType teleportType) {
+        return CompletableFuture.completedFuture(new BasicTeleportResponse(teleportType));
     }
 
     private void addToDeathTimer(RandomPlayer player) {
         DeathTracker tracker = plugin.getDeathTracker();
-        tracker.remove(player);
-        plugin.getDeathTracker().add(player, configHandler.getSectionTeleport().getDeathTimer());
+        tracker.add(player.getUniqueId(), configHandler.getSectionTeleport().getDeathTimer());
     }
 
     private void drawWarpParticles(RandomPlayer player, RandomParticle particle) {
@@ -122,41 +147,76 @@ public class BasicTeleportHandler implements TeleportHandler {
         player.getWorld().spawnParticle(particle.getId(), spawnLoc, particle.getAmount());
     }
 
-    private void teleport(TeleportProperty property) {
+    private CompletableFuture<TeleportResponse> teleport(TeleportProperty property) {
 
         if (configHandler.getSectionDebug().isShowExecutionTimes()) {
             plugin.getLogger().info("Debug: teleport setup took " + (System.currentTimeMillis() - property.getInitTime()) + "ms");
         }
+        return teleportNext(property, 0);
+    }
+
+    /**
+     * Takes the next location from the queue and teleports to it once its chunk is loaded.
+     *
+     * @param property the {@link TeleportProperty} of the teleport
+     * @param retries  the amount of queued locations that already turned out to be unsafe
+     * @return the {@link TeleportResponse} once the teleport is done
+     */
+    private CompletableFuture<TeleportResponse> teleportNext(TeleportProperty property, int retries) {
         RandomLocation location = plugin.getWorldHandler().getWorldQueue().popLocation(property.getWorld());
         if (location == null) {
             plugin.getMessageHandler().sendMessage(property.getCommandIssuer(), configHandler.getSectionMessage().getEmptyQueue());
-            return;
+            return response(TeleportType.FAIL);
         }
+        return loadChunk(location).thenCompose(chunkSnapshot -> teleportLogic(property, location, retries));
+    }
+
+    private CompletableFuture<RandomChunkSnapshot> loadChunk(RandomLocation location) {
         ChunkLocation chunkCoords = location.toChunkLocation();
-        location.getWorld().getChunkAtAsync(location.getWorld(), chunkCoords.getX(), chunkCoords.getZ()).thenAccept(chunkSnapshot -> teleportLogic(property, location));
+        return location.getWorld().getChunkAtAsync(location.getWorld(), chunkCoords.getX(), chunkCoords.getZ());
     }
 
-    private void teleportLogic(TeleportProperty property, RandomLocation location) {
+    /* Hands a reserved location back to the queue when its teleport got cancelled */
+    private void release(TeleportProperty property, RandomLocation location) {
+        if (location == null) return;
+        plugin.getWorldHandler().getWorldQueue().pushLocation(property.getWorld(), location);
+    }
+
+    private CompletableFuture<TeleportResponse> teleportLogic(TeleportProperty property, RandomLocation location, int retries) {
         RandomPlayer player = property.getTarget();
         RandomParticle particle = property.getParticle();
 
-        LocationSearcher baseLocationSearcher = WorldHandler.getLocationSearcher(property.getWorld().getEnvironment());
+        LocationSearcher baseLocationSearcher = plugin.getWorldHandler().getLocationSearcher(property.getWorld().getEnvironment());
         if (!baseLocationSearcher.isSafe(location)) {
-            toRandomLocation(property);
-            return;
+            if (retries >= MAX_UNSAFE_RETRIES) {
+                //The queue wasn't empty, the world changed around the queued locations
+                plugin.getLogger().warn((retries + 1) + " queued locations in a row were no longer safe in \"" + property.getWorld().getName() + "\"");
+                plugin.getMessageHandler().sendMessage(property.getCommandIssuer(), configHandler.getSectionMessage().getNoSafeLocation());
+                return response(TeleportType.UNSAFE);
+            }
+            //No longer safe, try the next location without running the countdown or charging again
+            return teleportNext(property, retries + 1);
         }
-        plugin.getCooldownHandler().addCooldown(player, new BasicCooldown(player.getUniqueId(), System.currentTimeMillis(), configHandler.getSectionTeleport().getCooldown() * 50));
         drawWarpParticles(player, particle);
-        player.teleport(location.clone().add(0.5, 1.5, 0.5));
-        drawWarpParticles(player, particle);
-        //If deathtimer is enabled add it to the collection
-        if (configHandler.getSectionTeleport().getDeathTimer() > 0) {
-            addToDeathTimer(player);
-        }
-        plugin.getMessageHandler().sendMessage(player, configHandler.getSectionMessage().getTeleport(location));
-        if (plugin.hasConsent()) {
-            plugin.getStats().addTeleportStat();
-        }
+        //Everything after the teleport only happens once the player actually arrived
+        long startTime = System.nanoTime();
+        return player.teleportAsync(location.clone().add(0.5, 1.5, 0.5)).thenApply(response -> {
+            plugin.getSearchMetrics().record(Stage.TELEPORT, property.getWorld(), System.nanoTime() - startTime);
+            if (response.getTeleportType() != TeleportType.SUCCESS) {
+                return response;
+            }
+            plugin.getCooldownHandler().addCooldown(player, new BasicCooldown(player.getUniqueId(), plugin.getScheduler().currentTimeMillis(), configHandler.getSectionTeleport().getCooldown() * 50, plugin.getScheduler()::currentTimeMillis));
+            drawWarpParticles(player, particle);
+            //If deathtimer is enabled add it to the collection
+            if (configHandler.getSectionTeleport().getDeathTimer() > 0) {
+                addToDeathTimer(player);
+            }
+            plugin.getMessageHandler().sendMessage(player, configHandler.getSectionMessage().getTeleport(location));
+            if (plugin.hasConsent()) {
+                plugin.getStats().addTeleportStat();
+            }
+            return response;
+        });
         //TODO implement event pipeline
             /*RandomTeleportCompletedEvent event = new RandomTeleportCompletedEvent(player, property);
             Bukkit.getServer().getPluginManager().callEvent(event);*/
@@ -1,22 +1,101 @@
 package me.darkeyedragon.randomtp.common.teleport;
 
+import me.darkeyedragon.randomtp.api.plugin.RandomTeleportPlugin;
 import me.darkeyedragon.randomtp.api.teleport.CooldownHandler;
 import me.darkeyedragon.randomtp.api.teleport.RandomCooldown;
 import me.darkeyedragon.randomtp.api.world.player.RandomPlayer;
 
+import java.io.IOException;
 import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
 
+/**
+ * Keeps the cooldowns of all players. Expired cooldowns are removed by a periodic sweep, ordered by when they expire,
+ * so only players that are actually on cooldown take up memory.
+ * When enabled in the config, the cooldowns are written behind to disk after every sweep that saw a change.
+ */
 public class CommonCooldownHandler implements CooldownHandler {
 
-    private final HashMap<UUID, RandomCooldown> cooldowns;
+    private static final long SWEEP_INTERVAL = 1200; //Ticks, once a minute
 
-    public CommonCooldownHandler() {
-        this.cooldowns = new HashMap<>();
+    private final RandomTeleportPlugin<?> plugin;
+    private final LongSupplier clock;
+    private final Map<UUID, RandomCooldown> cooldowns;
+    private final PriorityQueue<Expiry> expiries; //Guarded by itself
+    private final CooldownStore cooldownStore;
+    private final AtomicLong version;
+    private long savedVersion;
+
+    /**
+     * @param plugin the {@link RandomTeleportPlugin} instance
+     */
+    public CommonCooldownHandler(RandomTeleportPlugin<?> plugin) {
+        this.plugin = plugin;
+        this.clock = () -> plugin.getScheduler().currentTimeMillis();
+        this.cooldowns = new ConcurrentHashMap<>();
+        this.expiries = new PriorityQueue<>();
+        this.cooldownStore = new CooldownStore(plugin.getDataFolder().toPath().resolve("cooldowns.dat"), clock);
+        this.version = new AtomicLong();
+    }
+
+    /**
+     * Loads the stored cooldowns and starts the sweep. Needs the config and the scheduler to be available.
+     */
+    public void start() {
+        if (plugin.getConfigHandler().getSectionTeleport().isPersistCooldowns()) {
+            try {
+                cooldownStore.load().forEach(this::put);
+            } catch (IOException e) {
+                plugin.getLogger().warn("Could not read the stored cooldowns: " + e.getMessage());
+            }
+            savedVersion = version.get();
+        }
+        plugin.getScheduler().runTaskTimer(this::sweep, SWEEP_INTERVAL, SWEEP_INTERVAL);
     }
 
-    public CommonCooldownHandler(HashMap<UUID, RandomCooldown> cooldowns) {
-        this.cooldowns = cooldowns;
+    /**
+     * Writes the cooldowns to disk right away, to be called on shutdown.
+     */
+    public void save() {
+        if (!plugin.getConfigHandler().getSectionTeleport().isPersistCooldowns()) return;
+        try {
+            cooldownStore.save(new HashMap<>(cooldowns), version.get());
+        } catch (IOException e) {
+            plugin.getLogger().warn("Could not store the cooldowns: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Removes every expired cooldown and writes the rest to disk in the background when something changed.
+     */
+    public void sweep() {
+        long now = clock.getAsLong();
+        synchronized (expiries) {
+            while (!expiries.isEmpty() && expiries.peek().expiresAt <= now) {
+                Expiry expiry = expiries.poll();
+                //The cooldown might have been replaced since, then it has its own expiry
+                if (cooldowns.remove(expiry.uuid, expiry.cooldown)) {
+                    version.incrementAndGet();
+                }
+            }
+        }
+        long currentVersion = version.get();
+        if (currentVersion == savedVersion || !plugin.getConfigHandler().getSectionTeleport().isPersistCooldowns()) return;
+        savedVersion = currentVersion;
+        Map<UUID, RandomCooldown> snapshot = new HashMap<>(cooldowns);
+        CompletableFuture.runAsync(() -> {
+            try {
+                cooldownStore.save(snapshot, currentVersion);
+            } catch (IOException e) {
+                plugin.getLogger().warn("Could not store the cooldowns: " + e.getMessage());
+            }
+        });
     }
 
     @Override
@@ -26,7 +105,12 @@ public class CommonCooldownHandler implements CooldownHandler {
 
     @Override
     public RandomCooldown getCooldown(UUID playerUUID) {
-        return cooldowns.get(playerUUID);
+        RandomCooldown cooldown = cooldowns.get(playerUUID);
+        if (cooldown != null && cooldown.isExpired()) {
+            //Not swept yet
+            return null;
+        }
+        return cooldown;
     }
 
     @Override
@@ -36,11 +120,49 @@ public class CommonCooldownHandler implements CooldownHandler {
 
     @Override
     public RandomCooldown removeCooldown(UUID playerUUID) {
-        return cooldowns.remove(playerUUID);
+        RandomCooldown cooldown = cooldowns.remove(playerUUID);
+        if (cooldown != null) {
+            version.incrementAndGet();
+        }
+        return cooldown;
     }
 
     @Override
     public RandomCooldown addCooldown(RandomPlayer player, RandomCooldown randomCooldown) {
-        return cooldowns.put(player.getUniqueId(), randomCooldown);
+        return put(player.getUniqueId(), randomCooldown);
+    }
+
+    private RandomCooldown put(UUID playerUUID, RandomCooldown cooldown) {
+        RandomCooldown previous = cooldowns.put(playerUUID, cooldown);
+        synchronized (expiries) {
+            expiries.add(new Expiry(playerUUID, cooldown));
+        }
+        version.incrementAndGet();
+        return previous;
+    }
+
+    /**
+     * @return the amount of cooldowns that are kept, including the expired ones that have not been swept yet
+     */
+    public int size() {
+        return cooldowns.size();
+    }
+
+    private static final class Expiry implements Comparable<Expiry> {
+
+        private final UUID uuid;
+        private final RandomCooldown cooldown;
+        private final long expiresAt;
+
+        private Expiry(UUID uuid, RandomCooldown cooldown) {
+            this.uuid = uuid;
+            this.cooldown = cooldown;
+            this.expiresAt = cooldown.getStartTime() + cooldown.getCooldown();
+        }
+
+        @Override
+        public int compareTo(Expiry other) {
+            return Long.compare(expiresAt, other.expiresAt);
+        }
     }
 }
@@ -0,0 +1,65 @@
+package me.darkeyedragon.randomtp.common.teleport;
+
+import me.darkeyedragon.randomtp.api.teleport.PendingTeleportHandler;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class CommonPendingTeleportHandler implements PendingTeleportHandler {
+
+    private final Map<UUID, PendingTeleport> pendingTeleports;
+
+    public CommonPendingTeleportHandler() {
+        this.pendingTeleports = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void add(UUID playerUUID, int blockX, int blockY, int blockZ, Runnable onCancel) {
+        PendingTeleport previous = pendingTeleports.put(playerUUID, new PendingTeleport(blockX, blockY, blockZ, onCancel));
+        if (previous != null) {
+            previous.onCancel.run();
+        }
+    }
+
+    @Override
+    public boolean remove(UUID playerUUID) {
+        return pendingTeleports.remove(playerUUID) != null;
+    }
+
+    @Override
+    public void onMove(UUID playerUUID, int blockX, int blockY, int blockZ) {
+        PendingTeleport pendingTeleport = pendingTeleports.get(playerUUID);
+        if (pendingTeleport == null || pendingTeleport.isAt(blockX, blockY, blockZ)) {
+            return;
+        }
+        //Only the one that removes it gets to cancel it
+        if (pendingTeleports.remove(playerUUID, pendingTeleport)) {
+            pendingTeleport.onCancel.run();
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return pendingTeleports.isEmpty();
+    }
+
+    private static final class PendingTeleport {
+
+        private final int blockX;
+        private final int blockY;
+        private final int blockZ;
+        private final Runnable onCancel;
+
+        private PendingTeleport(int blockX, int blockY, int blockZ, Runnable onCancel) {
+            this.blockX = blockX;
+            this.blockY = blockY;
+            this.blockZ = blockZ;
+            this.onCancel = onCancel;
+        }
+
+        private boolean isAt(int blockX, int blockY, int blockZ) {
+            return this.blockX == blockX && this.blockY == blockY && this.blockZ == blockZ;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package me.darkeyedragon.randomtp.common.teleport;
+
+import me.darkeyedragon.randomtp.api.teleport.RandomCooldown;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+/**
+ * Stores the running cooldowns in a small binary file, so they survive restarts.
+ * <p>
+ * Layout: magic, version, cooldown count, then for every cooldown the UUID of the player, the start time and the duration in milliseconds.
+ */
+public class CooldownStore {
+
+    private static final int MAGIC = 0x52545043; //RTPC
+    private static final byte VERSION = 1;
+
+    private final Path path;
+    private final LongSupplier clock;
+    private long writtenVersion = -1;
+
+    /**
+     * @param path  the {@link Path} of the file to store the cooldowns in
+     * @param clock the clock the loaded cooldowns are checked against
+     */
+    public CooldownStore(Path path, LongSupplier clock) {
+        this.path = path;
+        this.clock = clock;
+    }
+
+    /**
+     * Writes the cooldowns to disk, replacing what was stored before.
+     * Writes can come from several threads, a snapshot older than the one already on disk is skipped.
+     *
+     * @param cooldowns the cooldowns by player UUID
+     * @param version   increases with every change, so older snapshots can be recognised
+     * @throws IOException when the file could not be written
+     */
+    public synchronized void save(Map<UUID, RandomCooldown> cooldowns, long version) throws IOException {
+        if (version <= writtenVersion) {
+            return;
+        }
+        Files.createDirectories(path.getParent());
+        Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeInt(cooldowns.size());
+            for (Map.Entry<UUID, RandomCooldown> entry : cooldowns.entrySet()) {
+                UUID uuid = entry.getKey();
+                RandomCooldown cooldown = entry.getValue();
+                out.writeLong(uuid.getMostSignificantBits());
+                out.writeLong(uuid.getLeastSignificantBits());
+                out.writeLong(cooldown.getStartTime());
+                out.writeLong(cooldown.getCooldown());
+            }
+        }
+        Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        writtenVersion = version;
+    }
+
+    /**
+     * @return the stored cooldowns that have not expired yet, by player UUID
+     * @throws IOException when the file could not be read
+     */
+    public synchronized Map<UUID, RandomCooldown> load() throws IOException {
+        if (!Files.exists(path)) {
+            return Collections.emptyMap();
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+                return Collections.emptyMap();
+            }
+            int count = in.readInt();
+            if (count < 0) {
+                throw new IOException("Corrupt cooldown file, negative cooldown count");
+            }
+            Map<UUID, RandomCooldown> cooldowns = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                UUID uuid = new UUID(in.readLong(), in.readLong());
+                BasicCooldown cooldown = new BasicCooldown(uuid, in.readLong(), in.readLong(), clock);
+                if (!cooldown.isExpired()) {
+                    cooldowns.put(uuid, cooldown);
+                }
+            }
+            return cooldowns;
+        }
+    }
+}
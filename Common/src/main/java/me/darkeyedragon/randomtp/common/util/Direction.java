@@ -6,7 +6,7 @@ public enum Direction {
     EAST(2, 0, 1),
     SOUTH_EAST(3, 1, 1),
     SOUTH(4, 1, 0),
-    SOUTH_WEST(5, 1, 1),
+    SOUTH_WEST(5, 1, -1),
     WEST(6, 0, -1),
     NORTH_WEST(7, -1, -1);
 
@@ -17,4 +17,9 @@ public class CommonMaterial implements RandomMaterial {
     public boolean isAir() {
         return false;
     }
+
+    @Override
+    public int getId() {
+        return -1;
+    }
 }
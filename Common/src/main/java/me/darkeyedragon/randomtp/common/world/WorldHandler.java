@@ -2,8 +2,10 @@ package me.darkeyedragon.randomtp.common.world;
 
 import me.darkeyedragon.randomtp.api.config.RandomConfigHandler;
 import me.darkeyedragon.randomtp.api.config.datatype.ConfigWorld;
+import me.darkeyedragon.randomtp.api.config.section.SectionSearch;
 import me.darkeyedragon.randomtp.api.plugin.RandomTeleportPlugin;
 import me.darkeyedragon.randomtp.api.queue.LocationQueue;
+import me.darkeyedragon.randomtp.api.queue.LocationSearchEngine;
 import me.darkeyedragon.randomtp.api.queue.WorldQueue;
 import me.darkeyedragon.randomtp.api.world.RandomEnvironment;
 import me.darkeyedragon.randomtp.api.world.RandomWorld;
@@ -15,36 +17,80 @@ import me.darkeyedragon.randomtp.api.world.location.search.LocationDataProvider;
 import me.darkeyedragon.randomtp.api.world.location.search.LocationSearcher;
 import me.darkeyedragon.randomtp.common.config.datatype.Offset;
 import me.darkeyedragon.randomtp.common.queue.CommonQueueListener;
+import me.darkeyedragon.randomtp.common.queue.QueueStore;
+import me.darkeyedragon.randomtp.common.world.atlas.AtlasStore;
+import me.darkeyedragon.randomtp.common.world.atlas.LocationAtlas;
+import me.darkeyedragon.randomtp.common.world.location.CommonLocation;
 import me.darkeyedragon.randomtp.common.world.location.search.CommonLocationDataProvider;
+import me.darkeyedragon.randomtp.common.world.location.search.RejectedChunkStore;
+import me.darkeyedragon.randomtp.common.world.location.search.SearchMemory;
 
+import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 public abstract class WorldHandler implements RandomWorldHandler {
 
     private final WorldQueue worldQueue;
+    private final LocationSearchEngine searchEngine;
     private final RandomTeleportPlugin<?> plugin;
-    private static final Map<RandomEnvironment, LocationSearcher> locationSearcherMap = new HashMap<>();
+    private final QueueStore queueStore;
+    private final AtlasStore atlasStore;
+    private final RejectedChunkStore rejectedChunkStore;
+    private Map<UUID, int[]> storedLocations;
+    private final Map<RandomEnvironment, LocationSearcher> locationSearcherMap;
+    private final SearchMemory searchMemory; //Read by the searchers from any thread
 
 
     public WorldHandler(RandomTeleportPlugin<?> plugin) {
         this.plugin = plugin;
         this.worldQueue = new WorldQueue();
+        this.searchEngine = new LocationSearchEngine(plugin);
+        this.queueStore = new QueueStore(plugin.getDataFolder().toPath().resolve("queue.dat"));
+        this.atlasStore = new AtlasStore(plugin.getDataFolder().toPath());
+        this.rejectedChunkStore = new RejectedChunkStore(plugin.getDataFolder().toPath().resolve("rejected-chunks.dat"));
+        this.searchMemory = new SearchMemory(() -> plugin.getScheduler().currentTimeMillis());
+        this.locationSearcherMap = new EnumMap<>(RandomEnvironment.class);
+        this.storedLocations = Collections.emptyMap();
     }
 
-    public static LocationSearcher registerLocationSearcher(RandomEnvironment environment, LocationSearcher locationSearcher) {
+    /**
+     * @param environment      the {@link RandomEnvironment} the searcher is used for
+     * @param locationSearcher the {@link LocationSearcher}, it should share the {@link #getSearchMemory()} of this world handler
+     * @return the searcher that was registered before, null if there was none
+     */
+    public LocationSearcher registerLocationSearcher(RandomEnvironment environment, LocationSearcher locationSearcher) {
         return locationSearcherMap.put(environment, locationSearcher);
     }
 
-    public static LocationSearcher getLocationSearcher(RandomEnvironment environment) {
+    @Override
+    public LocationSearcher getLocationSearcher(RandomEnvironment environment) {
         return locationSearcherMap.get(environment);
     }
 
+    /**
+     * @return the {@link SearchMemory} to hand to the searchers of this world handler
+     */
+    public SearchMemory getSearchMemory() {
+        return searchMemory;
+    }
+
     @Override
     public final void populateWorldQueue() {
         RandomConfigHandler configHandler = plugin.getConfigHandler();
         plugin.getLogger().info("Populating WorldQueue");
         long startTime = System.currentTimeMillis();
+        try {
+            storedLocations = new HashMap<>(queueStore.load(configHandler.getConfigHash()));
+        } catch (IOException e) {
+            plugin.getLogger().warn("Could not read the stored queue: " + e.getMessage());
+            storedLocations = Collections.emptyMap();
+        }
+        configureSearch();
         for (ConfigWorld configWorld : configHandler.getSectionWorld().getConfigWorlds()) {
             populateWorld(configWorld);
         }
@@ -64,15 +110,75 @@ public abstract class WorldHandler implements RandomWorldHandler {
             return;
         }
         plugin.getLogger().info("Found \"" + world.getName() + "\". Loading...");
-        LocationQueue locationQueue = new LocationQueue(plugin, configHandler.getSectionQueue().getSize(), getLocationSearcher(world.getEnvironment()));
+        LocationQueue locationQueue = new LocationQueue(plugin, world, configHandler.getSectionQueue().getMaxSize(), getLocationSearcher(world.getEnvironment()), searchEngine);
 
         //Subscribe to the locationqueue to be notified of changes
         subscribe(locationQueue, world);
         getWorldQueue().put(world, locationQueue);
+        restoreLocations(world, locationQueue);
+        loadAtlas(world);
         plugin.getLogger().info("Loaded \"" + world.getName() + "\"");
         generate(configWorld, world, configHandler.getSectionQueue().getSize());
     }
 
+    /* Puts the stored locations back in the queue. They are checked again right before a player is teleported to them */
+    private void restoreLocations(RandomWorld world, LocationQueue locationQueue) {
+        int[] coordinates = storedLocations.remove(world.getUUID());
+        if (coordinates == null) return;
+        for (int i = 0; i + 2 < coordinates.length; i += 3) {
+            if (!locationQueue.offer(new CommonLocation(world, coordinates[i], coordinates[i + 1], coordinates[i + 2]))) {
+                break;
+            }
+        }
+        plugin.getLogger().info("Restored " + locationQueue.size() + " locations for \"" + world.getName() + "\"");
+    }
+
+    /* Chunks rejected under another config might be fine now, so what was learned starts over when the config changed */
+    private void configureSearch() {
+        RandomConfigHandler configHandler = plugin.getConfigHandler();
+        SectionSearch sectionSearch = configHandler.getSectionSearch();
+        searchMemory.getRejectedChunkCache().configure(sectionSearch.getRejectedChunks(), TimeUnit.SECONDS.toMillis(sectionSearch.getRejectedChunkExpiry()), configHandler.getConfigHash());
+        searchMemory.getAcceptanceGrid().configure(sectionSearch.isAdaptiveSampling(), sectionSearch.getExplorationRate(), configHandler.getConfigHash());
+        searchMemory.getRecentLocationIndex().configure(sectionSearch.getDispersionRadius(), TimeUnit.SECONDS.toMillis(sectionSearch.getDispersionTime()));
+        if (!sectionSearch.isPersistRejectedChunks() || !searchMemory.getRejectedChunkCache().isEmpty()) return;
+        try {
+            int count = rejectedChunkStore.load(searchMemory.getRejectedChunkCache(), configHandler.getConfigHash());
+            if (count > 0) {
+                plugin.getLogger().info("Restored " + count + " rejected chunks");
+            }
+        } catch (IOException e) {
+            plugin.getLogger().warn("Could not read the stored rejected chunks: " + e.getMessage());
+        }
+    }
+
+    /* The atlas is kept across config changes, every column is checked against the live world before it is used */
+    private void loadAtlas(RandomWorld world) {
+        if (searchMemory.getAtlas(world.getUUID()) != null) return;
+        try {
+            LocationAtlas atlas = atlasStore.load(world.getUUID());
+            if (atlas == null) return;
+            searchMemory.registerAtlas(world.getUUID(), atlas);
+            plugin.getLogger().info("Loaded an atlas of " + atlas.getColumnCount() + " locations for \"" + world.getName() + "\"");
+        } catch (IOException e) {
+            plugin.getLogger().warn("Could not read the stored atlas of \"" + world.getName() + "\": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void saveWorldQueue() {
+        try {
+            queueStore.save(getWorldQueue().getWorldQueueMap(), plugin.getConfigHandler().getConfigHash());
+        } catch (IOException e) {
+            plugin.getLogger().warn("Could not store the queue: " + e.getMessage());
+        }
+        if (!plugin.getConfigHandler().getSectionSearch().isPersistRejectedChunks()) return;
+        try {
+            rejectedChunkStore.save(searchMemory.getRejectedChunkCache(), plugin.getConfigHandler().getConfigHash());
+        } catch (IOException e) {
+            plugin.getLogger().warn("Could not store the rejected chunks: " + e.getMessage());
+        }
+    }
+
     private LocationDataProvider createDataProvider(ConfigWorld configWorld, RandomWorld world) {
         RandomOffset offset;
         int radius;
@@ -90,7 +196,7 @@ public abstract class WorldHandler implements RandomWorldHandler {
     }
 
     public void subscribe(LocationQueue locationQueue, RandomWorld world) {
-        CommonQueueListener queueListener = new CommonQueueListener(plugin, world, locationQueue);
+        CommonQueueListener queueListener = new CommonQueueListener(plugin, world, locationQueue, searchMemory.getRecentLocationIndex());
         locationQueue.subscribe(queueListener);
     }
 
@@ -102,6 +208,11 @@ public abstract class WorldHandler implements RandomWorldHandler {
         getWorldQueue().get(randomWorld).generate(createDataProvider(configWorld, randomWorld), size);
     }
 
+    @Override
+    public RandomLocation createLocation(RandomWorld world, int x, int y, int z) {
+        return new CommonLocation(world, x, y, z);
+    }
+
     @Override
     public abstract RandomWorld getWorld(String worldName);
 
@@ -110,6 +221,14 @@ public abstract class WorldHandler implements RandomWorldHandler {
         return worldQueue;
     }
 
+    public LocationSearchEngine getSearchEngine() {
+        return searchEngine;
+    }
+
+    public AtlasStore getAtlasStore() {
+        return atlasStore;
+    }
+
     public RandomTeleportPlugin<?> getPlugin() {
         return plugin;
     }
@@ -0,0 +1,286 @@
+package me.darkeyedragon.randomtp.common.world.atlas;
+
+import me.darkeyedragon.randomtp.api.world.RandomBiome;
+import me.darkeyedragon.randomtp.api.world.RandomBlockType;
+import me.darkeyedragon.randomtp.api.world.RandomWorld;
+import me.darkeyedragon.randomtp.common.world.CommonChunkSnapshot;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A chunk decoded from the NBT of a region file, in the format used since 1.18.
+ * Every section of 16 blocks high stores its block states and biomes as a palette, with the palette indices packed into longs.
+ */
+final class AnvilChunkSnapshot extends CommonChunkSnapshot {
+
+    static final int MIN_DATA_VERSION = 2844; //21w43a, the first version with the 1.18 chunk format
+    private static final int SECTION_SHIFT = 4;
+    private static final int MIN_BLOCK_BITS = 4;
+    private static final int COLUMNS = 256;
+
+    private final RandomWorld world;
+    private final int x;
+    private final int z;
+    private final int minSection;
+    private final Section[] sections;
+    private final int[] highest;
+    private final RandomBlockType air;
+
+    private AnvilChunkSnapshot(RandomWorld world, int x, int z, int minSection, Section[] sections, RandomBlockType air) {
+        this.world = world;
+        this.x = x;
+        this.z = z;
+        this.minSection = minSection;
+        this.sections = sections;
+        this.air = air;
+        this.highest = new int[COLUMNS];
+    }
+
+    /**
+     * @param world   the {@link RandomWorld} the chunk is in
+     * @param root    the root compound of the chunk
+     * @param palette the {@link AtlasPalette} to resolve block and biome names with
+     * @return the decoded chunk, null if the chunk is not fully generated or stored in an older format
+     */
+    static AnvilChunkSnapshot decode(RandomWorld world, Map<String, Object> root, AtlasPalette palette) {
+        Object dataVersion = root.get("DataVersion");
+        if (!(dataVersion instanceof Integer) || (Integer) dataVersion < MIN_DATA_VERSION) return null;
+        Object status = root.get("Status");
+        if (!"minecraft:full".equals(status) && !"full".equals(status)) return null;
+        Object sectionList = root.get("sections");
+        if (!(sectionList instanceof List) || !(root.get("xPos") instanceof Integer) || !(root.get("zPos") instanceof Integer)) return null;
+
+        //The list also holds light only sections above and below the world, those have no block states
+        int minSection = Integer.MAX_VALUE;
+        int maxSection = Integer.MIN_VALUE;
+        for (Object element : (List<?>) sectionList) {
+            Map<?, ?> section = (Map<?, ?>) element;
+            if (section.get("Y") instanceof Byte && section.get("block_states") instanceof Map) {
+                int sectionY = (Byte) section.get("Y");
+                minSection = Math.min(minSection, sectionY);
+                maxSection = Math.max(maxSection, sectionY);
+            }
+        }
+        if (minSection > maxSection) return null;
+        Object yPos = root.get("yPos");
+        if (yPos instanceof Integer) {
+            minSection = Math.min(minSection, (Integer) yPos);
+        }
+
+        Section[] sections = new Section[maxSection - minSection + 1];
+        for (Object element : (List<?>) sectionList) {
+            Map<?, ?> section = (Map<?, ?>) element;
+            if (section.get("Y") instanceof Byte && section.get("block_states") instanceof Map) {
+                sections[(Byte) section.get("Y") - minSection] = Section.decode(section, palette);
+            }
+        }
+        AnvilChunkSnapshot chunk = new AnvilChunkSnapshot(world, (Integer) root.get("xPos"), (Integer) root.get("zPos"), minSection, sections, palette.getBlockType("minecraft:air"));
+        Object heightmaps = root.get("Heightmaps");
+        Object worldSurface = heightmaps instanceof Map ? ((Map<?, ?>) heightmaps).get("WORLD_SURFACE") : null;
+        if (worldSurface instanceof long[]) {
+            chunk.readHeightmap((long[]) worldSurface);
+        } else {
+            chunk.computeHeightmap();
+        }
+        return chunk;
+    }
+
+    /* The heightmap holds the height of the first air block above the surface, counted from the bottom of the world */
+    private void readHeightmap(long[] heightmap) {
+        int bits = getHeightmapBits(heightmap.length);
+        if (bits == 0) {
+            computeHeightmap();
+            return;
+        }
+        int minY = minSection << SECTION_SHIFT;
+        for (int column = 0; column < COLUMNS; column++) {
+            highest[column] = minY + unpack(heightmap, bits, column) - 1;
+        }
+    }
+
+    private void computeHeightmap() {
+        int minY = minSection << SECTION_SHIFT;
+        int maxY = (minSection + sections.length) << SECTION_SHIFT;
+        for (int column = 0; column < COLUMNS; column++) {
+            int columnX = column & 15;
+            int columnZ = column >> 4;
+            int y = maxY - 1;
+            while (y >= minY && getBlockType(columnX, y, columnZ).getType().isAir()) {
+                y--;
+            }
+            highest[column] = y;
+        }
+    }
+
+    /* Entries never span two longs, so the amount of longs gives away the amount of bits per entry */
+    private static int getHeightmapBits(int length) {
+        for (int bits = 1; bits <= 32; bits++) {
+            int perLong = 64 / bits;
+            if ((COLUMNS + perLong - 1) / perLong == length) {
+                return bits;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public RandomWorld getWorld() {
+        return world;
+    }
+
+    @Override
+    public int getX() {
+        return x;
+    }
+
+    @Override
+    public int getZ() {
+        return z;
+    }
+
+    @Override
+    public int getHighestBlockYAt(int x, int z) {
+        return highest[z << 4 | x];
+    }
+
+    @Override
+    public RandomBiome getBiome(int x, int y, int z) {
+        //Biomes are stored in the sections too, so heights outside the world take the closest section
+        int sectionIndex = Math.max(0, Math.min(sections.length - 1, (y >> SECTION_SHIFT) - minSection));
+        Section section = sections[sectionIndex];
+        for (int i = sectionIndex; section == null && i > 0; i--) {
+            section = sections[i - 1];
+        }
+        if (section == null) {
+            return AtlasPalette.UNKNOWN_BIOME;
+        }
+        return section.getBiome(x >> 2, (y & 15) >> 2, z >> 2);
+    }
+
+    @Override
+    public RandomBlockType getBlockType(int x, int y, int z) {
+        Section section = getSection(y);
+        return section == null ? air : section.blockTypes[section.getBlockIndex(x, y & 15, z)];
+    }
+
+    @Override
+    public boolean isPassable(int x, int y, int z) {
+        return !getBlockType(x, y, z).getType().isSolid();
+    }
+
+    @Override
+    public boolean isLiquid(int x, int y, int z) {
+        Section section = getSection(y);
+        return section != null && section.liquids[section.getBlockIndex(x, y & 15, z)];
+    }
+
+    @Override
+    public boolean isSectionEmpty(int sectionY) {
+        int sectionIndex = sectionY - minSection;
+        if (sectionIndex < 0 || sectionIndex >= sections.length) return true;
+        Section section = sections[sectionIndex];
+        return section == null || section.blockTypes.length == 1 && section.blockTypes[0].getType().isAir();
+    }
+
+    @Override
+    public boolean isSectionSolid(int sectionY) {
+        int sectionIndex = sectionY - minSection;
+        if (sectionIndex < 0 || sectionIndex >= sections.length) return false;
+        Section section = sections[sectionIndex];
+        return section != null && section.solid;
+    }
+
+    private Section getSection(int y) {
+        int sectionIndex = (y >> SECTION_SHIFT) - minSection;
+        if (sectionIndex < 0 || sectionIndex >= sections.length) return null;
+        return sections[sectionIndex];
+    }
+
+    private static int unpack(long[] data, int bits, int index) {
+        if (bits == 0) return 0;
+        int perLong = 64 / bits;
+        int longIndex = index / perLong;
+        if (longIndex >= data.length) return 0;
+        return (int) (data[longIndex] >>> ((index % perLong) * bits)) & ((1 << bits) - 1);
+    }
+
+    private static int ceilLog2(int value) {
+        return value <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(value - 1);
+    }
+
+    private static final class Section {
+
+        private final RandomBlockType[] blockTypes;
+        private final boolean[] liquids;
+        private final boolean solid;
+        private final long[] blockData;
+        private final int blockBits;
+        private final RandomBiome[] biomes;
+        private final long[] biomeData;
+        private final int biomeBits;
+
+        private Section(RandomBlockType[] blockTypes, boolean[] liquids, long[] blockData, RandomBiome[] biomes, long[] biomeData) {
+            this.blockTypes = blockTypes;
+            this.liquids = liquids;
+            //Every index points into the palette, so a palette of solid blocks only makes the whole section solid
+            boolean solid = true;
+            for (RandomBlockType blockType : blockTypes) {
+                solid &= blockType.getType().isSolid();
+            }
+            this.solid = solid;
+            this.blockData = blockData;
+            this.blockBits = blockTypes.length <= 1 ? 0 : Math.max(MIN_BLOCK_BITS, ceilLog2(blockTypes.length));
+            this.biomes = biomes;
+            this.biomeData = biomeData;
+            this.biomeBits = ceilLog2(biomes.length);
+        }
+
+        private static Section decode(Map<?, ?> section, AtlasPalette palette) {
+            Map<?, ?> blockStates = (Map<?, ?>) section.get("block_states");
+            List<?> blockPalette = blockStates.get("palette") instanceof List ? (List<?>) blockStates.get("palette") : null;
+            RandomBlockType[] blockTypes;
+            boolean[] liquids;
+            if (blockPalette == null || blockPalette.isEmpty()) {
+                blockTypes = new RandomBlockType[]{palette.getBlockType("minecraft:air")};
+                liquids = new boolean[1];
+            } else {
+                blockTypes = new RandomBlockType[blockPalette.size()];
+                liquids = new boolean[blockPalette.size()];
+                for (int i = 0; i < blockTypes.length; i++) {
+                    Object name = ((Map<?, ?>) blockPalette.get(i)).get("Name");
+                    String blockName = name instanceof String ? (String) name : "minecraft:air";
+                    blockTypes[i] = palette.getBlockType(blockName);
+                    liquids[i] = AtlasPalette.isLiquid(blockName);
+                }
+            }
+            Object blockData = blockStates.get("data");
+
+            RandomBiome[] biomes;
+            Object biomeData = null;
+            Object biomeCompound = section.get("biomes");
+            List<?> biomePalette = biomeCompound instanceof Map && ((Map<?, ?>) biomeCompound).get("palette") instanceof List ? (List<?>) ((Map<?, ?>) biomeCompound).get("palette") : null;
+            if (biomePalette == null || biomePalette.isEmpty()) {
+                biomes = new RandomBiome[]{AtlasPalette.UNKNOWN_BIOME};
+            } else {
+                biomes = new RandomBiome[biomePalette.size()];
+                for (int i = 0; i < biomes.length; i++) {
+                    biomes[i] = palette.getBiome(String.valueOf(biomePalette.get(i)));
+                }
+                biomeData = ((Map<?, ?>) biomeCompound).get("data");
+            }
+            return new Section(blockTypes, liquids, blockData instanceof long[] ? (long[]) blockData : new long[0],
+                    biomes, biomeData instanceof long[] ? (long[]) biomeData : new long[0]);
+        }
+
+        private int getBlockIndex(int x, int y, int z) {
+            int index = unpack(blockData, blockBits, y << 8 | z << 4 | x);
+            return index < blockTypes.length ? index : 0;
+        }
+
+        private RandomBiome getBiome(int x, int y, int z) {
+            int index = unpack(biomeData, biomeBits, y << 4 | z << 2 | x);
+            return index < biomes.length ? biomes[index] : biomes[0];
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package me.darkeyedragon.randomtp.common.world.atlas;
+
+import me.darkeyedragon.randomtp.api.plugin.RandomTeleportPlugin;
+import me.darkeyedragon.randomtp.api.world.RandomWorld;
+import me.darkeyedragon.randomtp.api.world.location.RandomLocation;
+import me.darkeyedragon.randomtp.common.world.location.search.BaseLocationSearcher;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Builds a {@link LocationAtlas} straight from the region files of a world, without loading a single chunk through the server.
+ * Every region file is memory mapped and scanned on a worker thread. The chunks are judged by the same
+ * {@link BaseLocationSearcher} rules as a live search, addons are only consulted once a column is drawn.
+ * <p>
+ * Only chunks that are fully generated and stored in the 1.18 format or newer are indexed, all others are skipped.
+ * Chunks that are only in memory are not in the region files yet, so the world should be saved first.
+ */
+public class AtlasBuilder {
+
+    private static final int MAX_COLUMNS_PER_CHUNK = 16; //Plenty to choose from, without wasting space on flat chunks
+
+    private final RandomTeleportPlugin<?> plugin;
+    private final RandomWorld world;
+    private final BaseLocationSearcher searcher;
+    private final AtlasPalette palette;
+    private final AtomicInteger scannedChunks;
+    private final AtomicInteger skippedChunks;
+
+    /**
+     * @param plugin   the {@link RandomTeleportPlugin} instance
+     * @param world    the {@link RandomWorld} to build the atlas of
+     * @param searcher the {@link BaseLocationSearcher} of the environment of the world
+     */
+    public AtlasBuilder(RandomTeleportPlugin<?> plugin, RandomWorld world, BaseLocationSearcher searcher) {
+        this.plugin = plugin;
+        this.world = world;
+        this.searcher = searcher;
+        this.palette = new AtlasPalette(plugin.getMaterialHandler(), plugin.getWorldHandler().getBiomeHandler());
+        this.scannedChunks = new AtomicInteger();
+        this.skippedChunks = new AtomicInteger();
+    }
+
+    /**
+     * @param threads the amount of region files to scan at the same time
+     * @return a future holding the {@link LocationAtlas}, completed on a worker thread
+     */
+    public CompletableFuture<LocationAtlas> build(int threads) {
+        List<Path> regionFiles = new ArrayList<>();
+        Path regionFolder = world.getRegionFolder();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(regionFolder, "r.*.mca")) {
+            stream.forEach(regionFiles::add);
+        } catch (IOException | NullPointerException e) {
+            CompletableFuture<LocationAtlas> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new IOException("Could not list the region files of " + world.getName() + " in " + regionFolder, e));
+            return failed;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "RandomTeleport atlas builder");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        List<CompletableFuture<LocationAtlas.Builder>> regions = new ArrayList<>(regionFiles.size());
+        for (Path regionFile : regionFiles) {
+            regions.add(CompletableFuture.supplyAsync(() -> scanRegion(regionFile), executor));
+        }
+        return CompletableFuture.allOf(regions.toArray(new CompletableFuture[0])).thenApply(ignored -> {
+            LocationAtlas.Builder builder = new LocationAtlas.Builder();
+            for (CompletableFuture<LocationAtlas.Builder> region : regions) {
+                builder.addAll(region.join());
+            }
+            return builder.build(world.getUUID());
+        }).whenComplete((atlas, throwable) -> executor.shutdown());
+    }
+
+    private LocationAtlas.Builder scanRegion(Path path) {
+        LocationAtlas.Builder builder = new LocationAtlas.Builder();
+        RegionFile regionFile;
+        try {
+            regionFile = RegionFile.open(path);
+        } catch (IOException e) {
+            plugin.getLogger().warn("Could not read region file " + path.getFileName() + ": " + e.getMessage());
+            return builder;
+        }
+        if (regionFile == null) return builder;
+        int[] columns = new int[MAX_COLUMNS_PER_CHUNK];
+        for (int localZ = 0; localZ < RegionFile.CHUNKS; localZ++) {
+            for (int localX = 0; localX < RegionFile.CHUNKS; localX++) {
+                AnvilChunkSnapshot chunk;
+                try {
+                    Map<String, Object> root = regionFile.readChunk(localX, localZ);
+                    if (root == null) continue;
+                    chunk = AnvilChunkSnapshot.decode(world, root, palette);
+                } catch (IOException | RuntimeException e) {
+                    plugin.getLogger().warn("Skipping corrupt chunk " + localX + "," + localZ + " in " + path.getFileName() + ": " + e.getMessage());
+                    chunk = null;
+                }
+                if (chunk == null) {
+                    skippedChunks.incrementAndGet();
+                    continue;
+                }
+                scannedChunks.incrementAndGet();
+                List<RandomLocation> locations = searcher.getSafeLocations(chunk);
+                if (locations.size() > MAX_COLUMNS_PER_CHUNK) {
+                    Collections.shuffle(locations, ThreadLocalRandom.current());
+                }
+                int count = Math.min(locations.size(), MAX_COLUMNS_PER_CHUNK);
+                for (int i = 0; i < count; i++) {
+                    RandomLocation location = locations.get(i);
+                    columns[i] = LocationAtlas.packColumn(location.getBlockX(), location.getBlockY(), location.getBlockZ());
+                }
+                builder.addChunk(chunk.getX(), chunk.getZ(), columns, count);
+            }
+        }
+        return builder;
+    }
+
+    /**
+     * @return the amount of chunks that were scanned so far
+     */
+    public int getScannedChunks() {
+        return scannedChunks.get();
+    }
+
+    /**
+     * @return the amount of chunks that were skipped so far, because they are not fully generated, too old or corrupt
+     */
+    public int getSkippedChunks() {
+        return skippedChunks.get();
+    }
+}
@@ -0,0 +1,109 @@
+package me.darkeyedragon.randomtp.common.world.atlas;
+
+import me.darkeyedragon.randomtp.api.world.RandomBiome;
+import me.darkeyedragon.randomtp.api.world.RandomBiomeHandler;
+import me.darkeyedragon.randomtp.api.world.RandomBlockType;
+import me.darkeyedragon.randomtp.api.world.RandomMaterial;
+import me.darkeyedragon.randomtp.api.world.RandomMaterialHandler;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the namespaced block and biome names of the region files to the types of the platform.
+ * Every name is only resolved once, so the palettes of all chunks share the same instances.
+ */
+final class AtlasPalette {
+
+    /**
+     * Used for biomes the platform does not know. It is never on a blacklist, the live world is checked again before use.
+     */
+    static final RandomBiome UNKNOWN_BIOME = new RandomBiome() {
+        @Override
+        public String getName() {
+            return "UNKNOWN";
+        }
+
+        @Override
+        public int getId() {
+            return -1;
+        }
+    };
+
+    private final RandomMaterialHandler materialHandler;
+    private final RandomBiomeHandler biomeHandler;
+    private final Map<String, RandomBlockType> blockTypes;
+    private final Map<String, RandomBiome> biomes;
+    private final RandomBlockType air;
+
+    /**
+     * @param materialHandler the {@link RandomMaterialHandler} of the platform
+     * @param biomeHandler    the {@link RandomBiomeHandler} of the platform
+     */
+    AtlasPalette(RandomMaterialHandler materialHandler, RandomBiomeHandler biomeHandler) {
+        this.materialHandler = materialHandler;
+        this.biomeHandler = biomeHandler;
+        this.blockTypes = new ConcurrentHashMap<>();
+        this.biomes = new ConcurrentHashMap<>();
+        RandomMaterial airMaterial = materialHandler.getMaterial("AIR");
+        this.air = () -> airMaterial;
+    }
+
+    /**
+     * @param name the namespaced name of the block, like minecraft:grass_block
+     * @return the {@link RandomBlockType}, air if the platform does not know the block
+     */
+    RandomBlockType getBlockType(String name) {
+        RandomBlockType blockType = blockTypes.get(name);
+        if (blockType == null) {
+            blockType = blockTypes.computeIfAbsent(name, this::resolveBlockType);
+        }
+        return blockType;
+    }
+
+    /**
+     * @param name the namespaced name of the biome, like minecraft:plains
+     * @return the {@link RandomBiome}, {@link #UNKNOWN_BIOME} if the platform does not know the biome
+     */
+    RandomBiome getBiome(String name) {
+        RandomBiome biome = biomes.get(name);
+        if (biome == null) {
+            biome = biomes.computeIfAbsent(name, this::resolveBiome);
+        }
+        return biome;
+    }
+
+    /**
+     * @param name the namespaced name of the block
+     * @return true if the block is a liquid, the same blocks the live check sees as liquid
+     */
+    static boolean isLiquid(String name) {
+        return name.equals("minecraft:water") || name.equals("minecraft:lava");
+    }
+
+    private RandomBlockType resolveBlockType(String name) {
+        try {
+            RandomMaterial material = materialHandler.getMaterial(toPlatformName(name));
+            return material == null ? air : () -> material;
+        } catch (IllegalArgumentException ex) {
+            //Blocks the server does not know can't be judged, so they are not stood on
+            return air;
+        }
+    }
+
+    private RandomBiome resolveBiome(String name) {
+        try {
+            RandomBiome biome = biomeHandler.getBiome(toPlatformName(name));
+            return biome == null ? UNKNOWN_BIOME : biome;
+        } catch (IllegalArgumentException ex) {
+            return UNKNOWN_BIOME;
+        }
+    }
+
+    /* minecraft:grass_block becomes GRASS_BLOCK */
+    private static String toPlatformName(String name) {
+        int separator = name.indexOf(':');
+        return name.substring(separator + 1).toUpperCase(Locale.ROOT);
+    }
+}
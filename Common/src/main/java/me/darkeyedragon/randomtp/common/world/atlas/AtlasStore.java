@@ -0,0 +1,109 @@
+package me.darkeyedragon.randomtp.common.world.atlas;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.UUID;
+
+/**
+ * Stores the {@link LocationAtlas} of every world in its own binary file in the atlas folder.
+ * Unlike the queue the atlas is kept when the config changes, every column is checked against the live world before it is used anyway.
+ * <p>
+ * Layout: magic, version, world UUID, chunk count, then for every chunk its coordinates, the amount of columns and the packed columns.
+ */
+public class AtlasStore {
+
+    private static final int MAGIC = 0x52545041; //RTPA
+    private static final byte VERSION = 1;
+
+    private final Path folder;
+
+    /**
+     * @param dataFolder the data folder of the plugin, the atlases are stored in a folder within it
+     */
+    public AtlasStore(Path dataFolder) {
+        this.folder = dataFolder.resolve("atlas");
+    }
+
+    /**
+     * @param atlas the {@link LocationAtlas} to write to disk, replacing what was stored for its world before
+     * @throws IOException when the file could not be written
+     */
+    public void save(LocationAtlas atlas) throws IOException {
+        Files.createDirectories(folder);
+        Path path = getPath(atlas.getWorldUUID());
+        Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(atlas.getWorldUUID().getMostSignificantBits());
+            out.writeLong(atlas.getWorldUUID().getLeastSignificantBits());
+            out.writeInt(atlas.getChunkCount());
+            for (int chunk = 0; chunk < atlas.getChunkCount(); chunk++) {
+                int start = atlas.getChunkStart(chunk);
+                int end = chunk + 1 < atlas.getChunkCount() ? atlas.getChunkStart(chunk + 1) : atlas.getColumnCount();
+                out.writeInt(atlas.getChunkX(chunk));
+                out.writeInt(atlas.getChunkZ(chunk));
+                out.writeShort(end - start);
+                for (int column = start; column < end; column++) {
+                    out.writeInt(atlas.getColumn(column));
+                }
+            }
+        }
+        Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @param worldUUID the {@link UUID} of the world
+     * @return the stored {@link LocationAtlas}, null if none is stored or it was written by another version
+     * @throws IOException when the file could not be read
+     */
+    public LocationAtlas load(UUID worldUUID) throws IOException {
+        Path path = getPath(worldUUID);
+        if (!Files.exists(path)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readByte() != VERSION || !worldUUID.equals(new UUID(in.readLong(), in.readLong()))) {
+                return null;
+            }
+            int chunkCount = in.readInt();
+            if (chunkCount < 0) {
+                throw new IOException("Corrupt atlas file, negative chunk count for " + worldUUID);
+            }
+            LocationAtlas.Builder builder = new LocationAtlas.Builder();
+            int[] columns = new int[0];
+            for (int chunk = 0; chunk < chunkCount; chunk++) {
+                int x = in.readInt();
+                int z = in.readInt();
+                int count = in.readUnsignedShort();
+                if (columns.length < count) {
+                    columns = new int[count];
+                }
+                for (int column = 0; column < count; column++) {
+                    columns[column] = in.readInt();
+                }
+                builder.addChunk(x, z, columns, count);
+            }
+            return builder.build(worldUUID);
+        }
+    }
+
+    /**
+     * @param worldUUID the {@link UUID} of the world
+     * @return true if an atlas was stored for the world
+     * @throws IOException when the file could not be deleted
+     */
+    public boolean delete(UUID worldUUID) throws IOException {
+        return Files.deleteIfExists(getPath(worldUUID));
+    }
+
+    private Path getPath(UUID worldUUID) {
+        return folder.resolve(worldUUID + ".atlas");
+    }
+}
@@ -0,0 +1,200 @@
+package me.darkeyedragon.randomtp.common.world.atlas;
+
+import me.darkeyedragon.randomtp.api.world.RandomWorld;
+import me.darkeyedragon.randomtp.common.world.location.CommonLocation;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The safe columns found in the region files of a world, grouped per chunk.
+ * A search draws a random chunk and column from it and only has to confirm it against the live world.
+ * Columns that turn out to be unsafe are invalidated, so they are never drawn again.
+ * <p>
+ * Every column is stored in a single int: the X and Z within the chunk in the top byte and the Y in the lower 16 bits.
+ */
+public class LocationAtlas {
+
+    private static final int PICK_ATTEMPTS = 32;
+
+    private final UUID worldUUID;
+    private final int[] chunkX;
+    private final int[] chunkZ;
+    private final int[] chunkStarts; //Index of the first column of every chunk, followed by the total amount of columns
+    private final int[] columns;
+    private final AtomicLongArray invalidated;
+
+    private LocationAtlas(UUID worldUUID, int[] chunkX, int[] chunkZ, int[] chunkStarts, int[] columns) {
+        this.worldUUID = worldUUID;
+        this.chunkX = chunkX;
+        this.chunkZ = chunkZ;
+        this.chunkStarts = chunkStarts;
+        this.columns = columns;
+        this.invalidated = new AtomicLongArray((columns.length + 63) >>> 6);
+    }
+
+    /**
+     * Draws a random column from a random chunk within the search area. Can be called from any thread.
+     *
+     * @param centerX     the X coordinate of the chunk in the center of the search area
+     * @param centerZ     the Z coordinate of the chunk in the center of the search area
+     * @param chunkRadius the radius of the search area in chunks
+     * @return the index of the column, -1 if none was found within the search area
+     */
+    public int pick(int centerX, int centerZ, int chunkRadius) {
+        int chunks = getChunkCount();
+        if (chunks == 0) return -1;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int attempt = 0; attempt < PICK_ATTEMPTS; attempt++) {
+            int chunk = random.nextInt(chunks);
+            //Same square the live search picks its chunks from
+            if (Math.abs(chunkX[chunk] - centerX) > chunkRadius || Math.abs(chunkZ[chunk] - centerZ) > chunkRadius) continue;
+            int start = chunkStarts[chunk];
+            int count = chunkStarts[chunk + 1] - start;
+            int offset = random.nextInt(count);
+            for (int i = 0; i < count; i++) {
+                int column = start + (offset + i) % count;
+                if (!isInvalidated(column)) {
+                    return column;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param world  the {@link RandomWorld} this atlas belongs to
+     * @param column the index of the column
+     * @return the location of the block to stand on
+     */
+    public CommonLocation getLocation(RandomWorld world, int column) {
+        int chunk = getChunkOf(column);
+        int packed = columns[column];
+        int x = (chunkX[chunk] << 4) + (packed >>> 28);
+        int z = (chunkZ[chunk] << 4) + ((packed >>> 24) & 15);
+        return new CommonLocation(world, x, (short) packed, z);
+    }
+
+    /**
+     * Makes sure the column is never drawn again, because the live world no longer matches the region files.
+     *
+     * @param column the index of the column
+     */
+    public void invalidate(int column) {
+        long bit = 1L << column;
+        invalidated.getAndUpdate(column >>> 6, bits -> bits | bit);
+    }
+
+    private boolean isInvalidated(int column) {
+        return (invalidated.get(column >>> 6) & 1L << column) != 0;
+    }
+
+    /* The chunk holding the column, the last chunk that starts at or before it */
+    private int getChunkOf(int column) {
+        int index = Arrays.binarySearch(chunkStarts, 0, getChunkCount(), column);
+        if (index < 0) {
+            return -index - 2;
+        }
+        //Chunks always hold at least one column, so starts are unique
+        return index;
+    }
+
+    public UUID getWorldUUID() {
+        return worldUUID;
+    }
+
+    public int getChunkCount() {
+        return chunkX.length;
+    }
+
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    /**
+     * @param chunk the index of the chunk, below {@link #getChunkCount()}
+     * @return the X coordinate of the chunk
+     */
+    public int getChunkX(int chunk) {
+        return chunkX[chunk];
+    }
+
+    /**
+     * @param chunk the index of the chunk, below {@link #getChunkCount()}
+     * @return the Z coordinate of the chunk
+     */
+    public int getChunkZ(int chunk) {
+        return chunkZ[chunk];
+    }
+
+    int getChunkStart(int chunk) {
+        return chunkStarts[chunk];
+    }
+
+    int getColumn(int column) {
+        return columns[column];
+    }
+
+    /**
+     * @param x the X coordinate within the chunk (0-15)
+     * @param y the Y coordinate
+     * @param z the Z coordinate within the chunk (0-15)
+     * @return the column packed into an int
+     */
+    static int packColumn(int x, int y, int z) {
+        return (x & 15) << 28 | (z & 15) << 24 | (y & 0xFFFF);
+    }
+
+    /**
+     * Collects the columns chunk by chunk. Not thread safe, every thread fills its own builder and they are merged afterwards.
+     */
+    static final class Builder {
+
+        private int[] chunkX = new int[64];
+        private int[] chunkZ = new int[64];
+        private int[] chunkStarts = new int[64];
+        private int[] columns = new int[256];
+        private int chunks;
+        private int columnCount;
+
+        /**
+         * @param x             the X coordinate of the chunk
+         * @param z             the Z coordinate of the chunk
+         * @param packedColumns the columns, packed by {@link #packColumn(int, int, int)}
+         * @param count         the amount of columns to take from the array, chunks without columns are not added
+         */
+        void addChunk(int x, int z, int[] packedColumns, int count) {
+            if (count <= 0) return;
+            if (chunks == chunkX.length) {
+                chunkX = Arrays.copyOf(chunkX, chunks * 2);
+                chunkZ = Arrays.copyOf(chunkZ, chunks * 2);
+                chunkStarts = Arrays.copyOf(chunkStarts, chunks * 2);
+            }
+            if (columnCount + count > columns.length) {
+                columns = Arrays.copyOf(columns, Math.max(columns.length * 2, columnCount + count));
+            }
+            chunkX[chunks] = x;
+            chunkZ[chunks] = z;
+            chunkStarts[chunks] = columnCount;
+            chunks++;
+            System.arraycopy(packedColumns, 0, columns, columnCount, count);
+            columnCount += count;
+        }
+
+        void addAll(Builder other) {
+            for (int chunk = 0; chunk < other.chunks; chunk++) {
+                int start = other.chunkStarts[chunk];
+                int end = chunk + 1 < other.chunks ? other.chunkStarts[chunk + 1] : other.columnCount;
+                addChunk(other.chunkX[chunk], other.chunkZ[chunk], Arrays.copyOfRange(other.columns, start, end), end - start);
+            }
+        }
+
+        LocationAtlas build(UUID worldUUID) {
+            int[] starts = Arrays.copyOf(chunkStarts, chunks + 1);
+            starts[chunks] = columnCount;
+            return new LocationAtlas(worldUUID, Arrays.copyOf(chunkX, chunks), Arrays.copyOf(chunkZ, chunks), starts, Arrays.copyOf(columns, columnCount));
+        }
+    }
+}
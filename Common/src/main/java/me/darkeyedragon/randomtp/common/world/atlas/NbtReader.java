@@ -0,0 +1,119 @@
+package me.darkeyedragon.randomtp.common.world.atlas;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the NBT format used by the region files.
+ * Compounds become a {@link Map}, lists a {@link List} and arrays their primitive array.
+ */
+final class NbtReader {
+
+    private static final int TAG_END = 0;
+    private static final int TAG_BYTE = 1;
+    private static final int TAG_SHORT = 2;
+    private static final int TAG_INT = 3;
+    private static final int TAG_LONG = 4;
+    private static final int TAG_FLOAT = 5;
+    private static final int TAG_DOUBLE = 6;
+    private static final int TAG_BYTE_ARRAY = 7;
+    private static final int TAG_STRING = 8;
+    private static final int TAG_LIST = 9;
+    private static final int TAG_COMPOUND = 10;
+    private static final int TAG_INT_ARRAY = 11;
+    private static final int TAG_LONG_ARRAY = 12;
+    private static final int MAX_DEPTH = 512; //Same limit as the game
+
+    private NbtReader() {
+    }
+
+    /**
+     * @param in the {@link DataInput} positioned at the root tag
+     * @return the root compound
+     * @throws IOException when the data is not valid NBT
+     */
+    static Map<String, Object> read(DataInput in) throws IOException {
+        int type = in.readUnsignedByte();
+        if (type != TAG_COMPOUND) {
+            throw new IOException("Root tag is not a compound but " + type);
+        }
+        in.readUTF();
+        return readCompound(in, 0);
+    }
+
+    private static Map<String, Object> readCompound(DataInput in, int depth) throws IOException {
+        Map<String, Object> compound = new HashMap<>();
+        int type;
+        while ((type = in.readUnsignedByte()) != TAG_END) {
+            String name = in.readUTF();
+            compound.put(name, readPayload(in, type, depth + 1));
+        }
+        return compound;
+    }
+
+    private static Object readPayload(DataInput in, int type, int depth) throws IOException {
+        if (depth > MAX_DEPTH) {
+            throw new IOException("NBT is nested too deep");
+        }
+        switch (type) {
+            case TAG_BYTE:
+                return in.readByte();
+            case TAG_SHORT:
+                return in.readShort();
+            case TAG_INT:
+                return in.readInt();
+            case TAG_LONG:
+                return in.readLong();
+            case TAG_FLOAT:
+                return in.readFloat();
+            case TAG_DOUBLE:
+                return in.readDouble();
+            case TAG_BYTE_ARRAY: {
+                byte[] array = new byte[readLength(in)];
+                in.readFully(array);
+                return array;
+            }
+            case TAG_STRING:
+                return in.readUTF();
+            case TAG_LIST: {
+                int elementType = in.readUnsignedByte();
+                int length = readLength(in);
+                List<Object> list = new ArrayList<>(Math.min(length, 1024));
+                for (int i = 0; i < length; i++) {
+                    list.add(readPayload(in, elementType, depth + 1));
+                }
+                return list;
+            }
+            case TAG_COMPOUND:
+                return readCompound(in, depth);
+            case TAG_INT_ARRAY: {
+                int[] array = new int[readLength(in)];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = in.readInt();
+                }
+                return array;
+            }
+            case TAG_LONG_ARRAY: {
+                long[] array = new long[readLength(in)];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = in.readLong();
+                }
+                return array;
+            }
+            default:
+                throw new IOException("Unknown tag type " + type);
+        }
+    }
+
+    private static int readLength(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Negative length " + length);
+        }
+        return length;
+    }
+}
@@ -0,0 +1,112 @@
+package me.darkeyedragon.randomtp.common.world.atlas;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * A memory mapped Anvil region file, holding 32x32 chunks.
+ * <p>
+ * Layout: a header of 1024 entries holding the sector offset and sector count of every chunk, followed by the timestamps.
+ * Every chunk starts with its length and compression type, followed by the compressed NBT.
+ */
+final class RegionFile {
+
+    static final int CHUNKS = 32; //Per axis
+    private static final int SECTOR_SIZE = 4096;
+    private static final int HEADER_SIZE = 2 * SECTOR_SIZE;
+    private static final int COMPRESSION_GZIP = 1;
+    private static final int COMPRESSION_ZLIB = 2;
+    private static final int COMPRESSION_NONE = 3;
+    private static final int EXTERNAL_FLAG = 0x80; //Oversized chunks are stored in a separate .mcc file
+    private static final Pattern NAME = Pattern.compile("r\\.(-?\\d+)\\.(-?\\d+)\\.mca");
+
+    private final MappedByteBuffer buffer;
+    private final int regionX;
+    private final int regionZ;
+
+    private RegionFile(MappedByteBuffer buffer, int regionX, int regionZ) {
+        this.buffer = buffer;
+        this.regionX = regionX;
+        this.regionZ = regionZ;
+    }
+
+    /**
+     * @param path the {@link Path} of the region file
+     * @return the mapped {@link RegionFile}, null if the file is not a region file or too small to hold its header
+     * @throws IOException when the file could not be mapped
+     */
+    static RegionFile open(Path path) throws IOException {
+        Matcher matcher = NAME.matcher(path.getFileName().toString());
+        if (!matcher.matches()) return null;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) return null;
+            //The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new RegionFile(buffer, Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+        }
+    }
+
+    /**
+     * @param localX the X coordinate of the chunk within the region (0-31)
+     * @param localZ the Z coordinate of the chunk within the region (0-31)
+     * @return the NBT of the chunk, null if the chunk was never generated or can't be read from this file
+     * @throws IOException when the chunk data is corrupt
+     */
+    Map<String, Object> readChunk(int localX, int localZ) throws IOException {
+        int location = buffer.getInt((localX + localZ * CHUNKS) * 4);
+        int sector = location >>> 8;
+        if (sector == 0) return null;
+        int start = sector * SECTOR_SIZE;
+        if (start + 5 > buffer.capacity()) {
+            throw new IOException("Chunk " + localX + "," + localZ + " starts past the end of the file");
+        }
+        int length = buffer.getInt(start);
+        int compression = buffer.get(start + 4) & 0xFF;
+        if ((compression & EXTERNAL_FLAG) != 0) return null;
+        if (length <= 1 || start + 4 + length > buffer.capacity()) {
+            throw new IOException("Chunk " + localX + "," + localZ + " has an invalid length " + length);
+        }
+        byte[] data = new byte[length - 1];
+        //A duplicate has its own position, so the buffer can be shared between threads
+        ByteBuffer chunkBuffer = buffer.duplicate();
+        chunkBuffer.position(start + 5);
+        chunkBuffer.get(data);
+        InputStream in = new ByteArrayInputStream(data);
+        switch (compression) {
+            case COMPRESSION_GZIP:
+                in = new GZIPInputStream(in);
+                break;
+            case COMPRESSION_ZLIB:
+                in = new InflaterInputStream(in);
+                break;
+            case COMPRESSION_NONE:
+                break;
+            default:
+                //LZ4 and custom compression are not supported
+                return null;
+        }
+        try (DataInputStream dataIn = new DataInputStream(in)) {
+            return NbtReader.read(dataIn);
+        }
+    }
+
+    int getRegionX() {
+        return regionX;
+    }
+
+    int getRegionZ() {
+        return regionZ;
+    }
+}
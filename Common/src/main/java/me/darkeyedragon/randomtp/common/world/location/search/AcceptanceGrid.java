@@ -0,0 +1,144 @@
+package me.darkeyedragon.randomtp.common.world.location.search;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Learns which parts of a world tend to hold safe locations, so the searchers can favour them.
+ * The world is divided in cells of 32 by 32 chunks, every cell counts how many of its loaded chunks held a safe location.
+ * <p>
+ * A random pick is kept with a probability equal to the acceptance rate of its cell, which samples the cells in proportion to
+ * their rate without ever enumerating them. Cells that were never visited take the rate of the whole world, and no cell drops
+ * below the exploration rate, so parts of the world that changed are found again. The counts are halved once they grow large,
+ * so recent results weigh the most. All methods can be called from any thread.
+ */
+public class AcceptanceGrid {
+
+    private static final int CELL_SHIFT = 5; //32 by 32 chunks
+    private static final int PRIOR_WEIGHT = 2; //How many chunks the rate of the world counts for in a cell
+    private static final int CELLS = 1 << 14; //The amount of cells remembered per world
+
+    private final Map<UUID, WorldGrid> worlds;
+    private volatile boolean enabled;
+    private volatile double explorationRate;
+    private long configHash;
+
+    public AcceptanceGrid() {
+        this.worlds = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Applies the settings of the config. What was learned is forgotten when the config changed, another blacklist gives other rates.
+     *
+     * @param enabled         true if picks should be weighed by their acceptance rate
+     * @param explorationRate the minimum probability a pick is kept with, between 0 and 1
+     * @param configHash      the hash of the current config
+     */
+    public synchronized void configure(boolean enabled, double explorationRate, long configHash) {
+        if (!enabled || this.configHash != configHash) {
+            worlds.clear();
+        }
+        this.enabled = enabled;
+        this.explorationRate = Math.max(0.01, Math.min(1, explorationRate));
+        this.configHash = configHash;
+    }
+
+    /**
+     * @param worldUUID the {@link UUID} of the world
+     * @param x         the X coordinate of the chunk
+     * @param z         the Z coordinate of the chunk
+     * @param random    the {@link Random} to decide with
+     * @return true if the picked chunk should be loaded, false to pick another one
+     */
+    public boolean sample(UUID worldUUID, int x, int z, Random random) {
+        if (!enabled) return true;
+        WorldGrid grid = worlds.get(worldUUID);
+        if (grid == null) return true;
+        return random.nextDouble() < Math.max(explorationRate, grid.getRate(x >> CELL_SHIFT, z >> CELL_SHIFT));
+    }
+
+    /**
+     * @param worldUUID the {@link UUID} of the world
+     * @param x         the X coordinate of the loaded chunk
+     * @param z         the Z coordinate of the loaded chunk
+     * @param accepted  true if the chunk held a safe location
+     */
+    public void record(UUID worldUUID, int x, int z, boolean accepted) {
+        if (!enabled) return;
+        worlds.computeIfAbsent(worldUUID, uuid -> new WorldGrid()).record(x >> CELL_SHIFT, z >> CELL_SHIFT, accepted);
+    }
+
+    /**
+     * The cells of a single world in a direct mapped table. A cell that hashes to a taken slot replaces it,
+     * it is likely closer to where the world is searched now.
+     */
+    private static final class WorldGrid {
+
+        private static final int MAX_CELL_ATTEMPTS = 256;
+        private static final int MAX_WORLD_ATTEMPTS = 1 << 14;
+
+        private final long[] keys;
+        private final int[] counts; //Accepted in the upper, attempts in the lower 16 bits. 0 marks an empty slot
+        private int worldAccepted;
+        private int worldAttempts;
+
+        private WorldGrid() {
+            this.keys = new long[CELLS];
+            this.counts = new int[CELLS];
+        }
+
+        private synchronized double getRate(int cellX, int cellZ) {
+            double worldRate = getWorldRate();
+            long key = pack(cellX, cellZ);
+            int slot = slot(key);
+            if (counts[slot] == 0 || keys[slot] != key) {
+                return worldRate;
+            }
+            int accepted = counts[slot] >>> 16;
+            int attempts = counts[slot] & 0xFFFF;
+            return (accepted + PRIOR_WEIGHT * worldRate) / (attempts + PRIOR_WEIGHT);
+        }
+
+        private synchronized void record(int cellX, int cellZ, boolean accepted) {
+            long key = pack(cellX, cellZ);
+            int slot = slot(key);
+            int cellAccepted = 0;
+            int cellAttempts = 0;
+            if (counts[slot] != 0 && keys[slot] == key) {
+                cellAccepted = counts[slot] >>> 16;
+                cellAttempts = counts[slot] & 0xFFFF;
+            }
+            if (cellAttempts >= MAX_CELL_ATTEMPTS) {
+                cellAccepted >>>= 1;
+                cellAttempts >>>= 1;
+            }
+            cellAttempts++;
+            if (accepted) cellAccepted++;
+            keys[slot] = key;
+            counts[slot] = cellAccepted << 16 | cellAttempts;
+
+            if (worldAttempts >= MAX_WORLD_ATTEMPTS) {
+                worldAccepted >>>= 1;
+                worldAttempts >>>= 1;
+            }
+            worldAttempts++;
+            if (accepted) worldAccepted++;
+        }
+
+        private synchronized double getWorldRate() {
+            //Starts out optimistic, so the first cells are not skipped before anything is known
+            return (worldAccepted + 1.0) / (worldAttempts + 1.0);
+        }
+
+        private static long pack(int cellX, int cellZ) {
+            return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+        }
+
+        private static int slot(long key) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            return (int) (hash ^ (hash >>> 32)) & (CELLS - 1);
+        }
+    }
+}
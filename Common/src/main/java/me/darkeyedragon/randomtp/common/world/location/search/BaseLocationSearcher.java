@@ -1,9 +1,11 @@
 package me.darkeyedragon.randomtp.common.world.location.search;
 
 import me.darkeyedragon.randomtp.api.addon.RandomLocationValidator;
+import me.darkeyedragon.randomtp.api.config.BlacklistMatcher;
 import me.darkeyedragon.randomtp.api.config.Dimension;
 import me.darkeyedragon.randomtp.api.config.RandomBlacklist;
-import me.darkeyedragon.randomtp.api.config.RandomDimensionData;
+import me.darkeyedragon.randomtp.api.metric.SearchFailure;
+import me.darkeyedragon.randomtp.api.metric.Stage;
 import me.darkeyedragon.randomtp.api.plugin.RandomTeleportPlugin;
 import me.darkeyedragon.randomtp.api.world.RandomBiome;
 import me.darkeyedragon.randomtp.api.world.RandomBlockType;
@@ -11,37 +13,64 @@ import me.darkeyedragon.randomtp.api.world.RandomChunkSnapshot;
 import me.darkeyedragon.randomtp.api.world.RandomWorld;
 import me.darkeyedragon.randomtp.api.world.block.BlockFace;
 import me.darkeyedragon.randomtp.api.world.block.RandomBlock;
+import me.darkeyedragon.randomtp.api.world.location.ChunkLocation;
 import me.darkeyedragon.randomtp.api.world.location.RandomLocation;
 import me.darkeyedragon.randomtp.api.world.location.RandomOffset;
 import me.darkeyedragon.randomtp.api.world.location.search.LocationDataProvider;
 import me.darkeyedragon.randomtp.api.world.location.search.LocationSearcher;
+import me.darkeyedragon.randomtp.common.util.Direction;
+import me.darkeyedragon.randomtp.common.world.atlas.LocationAtlas;
 import me.darkeyedragon.randomtp.common.world.location.CommonLocation;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.TextColor;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadLocalRandom;
 
 public abstract class BaseLocationSearcher implements LocationSearcher {
 
     protected final Map<String, ? extends RandomLocationValidator> validatorMap;
+    protected final SearchMemory searchMemory;
     private final Dimension dimension;
     private final RandomTeleportPlugin<?> plugin;
-    private final RandomBlacklist blacklist;
+    private final BlacklistMatcher globalMatcher;
+    private final BlacklistMatcher blacklistMatcher;
 
     protected final byte CHUNK_SIZE = 16; //The size (in blocks) of a chunk in all directions
     protected final byte CHUNK_SHIFT = 4; //The amount of bits needed to translate between locations and chunks
     protected int count = 1;
     protected int max = 50;
+    protected int neighbourParallelism = 2; //The amount of neighbouring chunks to load at the same time when a chunk is rejected
+    protected int pickAttempts = 32; //The amount of chunks to pick before loading one that was skipped anyway, picking is cheap compared to loading
 
+    private static final BlockFace[] SURROUNDING_FACES = {
+            BlockFace.NORTH, BlockFace.EAST, BlockFace.SOUTH, BlockFace.WEST,
+            BlockFace.NORTH_EAST, BlockFace.NORTH_WEST, BlockFace.SOUTH_EAST, BlockFace.SOUTH_WEST
+    };
     private static final Component PASS = Component.text("PASS").color(TextColor.color(0x00ff00));
     private static final Component FAIL = Component.text("FAIL").color(TextColor.color(0xff0000));
+    private static final Component WORLD_CHECK = Component.text("3.1 world not null? ");
+    private static final Component ADDONS_CHECK = Component.text("3.8 block is safe for addons? ");
+    private static final Component AIR_CHECK = Component.text("3.2 block not air? ");
+    private static final Component GLOBAL_BLACKLIST_CHECK = Component.text("3.3 block not on global blacklist? ");
+    private static final Component DIMENSION_BLACKLIST_CHECK = Component.text("3.4 block not on dimension blacklist? ");
+    private static final Component PASSABLE_CHECK = Component.text("3.5 block not passable? ");
+    private static final Component LIQUID_CHECK = Component.text("3.6 block not a liquid? ");
+    private static final Component ABOVE_CHECK = Component.text("3.7 block above safe? ");
+    private static final Component SURROUNDING_CHECK = Component.text("3.9 Block surroundings safe? ");
 
-    public BaseLocationSearcher(RandomTeleportPlugin<?> plugin, Map<String, ? extends RandomLocationValidator> validatorMap, RandomBlacklist blacklist, Dimension dimension) {
+    public BaseLocationSearcher(RandomTeleportPlugin<?> plugin, SearchMemory searchMemory, Map<String, ? extends RandomLocationValidator> validatorMap, RandomBlacklist blacklist, Dimension dimension) {
         this.plugin = plugin;
-        this.blacklist = blacklist;
+        this.searchMemory = searchMemory;
+        this.globalMatcher = blacklist.getMatcher(Dimension.GLOBAL);
+        this.blacklistMatcher = blacklist.getMatcher(dimension);
         this.dimension = dimension;
         this.validatorMap = validatorMap;
     }
@@ -54,155 +83,512 @@ public abstract class BaseLocationSearcher implements LocationSearcher {
      */
     @Override
     public CompletableFuture<RandomLocation> getRandom(LocationDataProvider dataProvider) {
-        return pickRandomLocation(dataProvider);
+        return pickRandomLocations(dataProvider, 1, 0).thenApply(locations -> locations.isEmpty() ? null : locations.get(0));
     }
 
-    /*Pick a random location based on chunks*/
-    private CompletableFuture<RandomLocation> pickRandomLocation(LocationDataProvider dataProvider) {
-        CompletableFuture<RandomChunkSnapshot> chunk = getRandomChunk(dataProvider);
-        return chunk.thenApply(this::getRandomLocationFromChunk);
+    /**
+     * Harvests up to the given amount of locations from a single random chunk.
+     *
+     * @param dataProvider the data required to find a random location
+     * @param amount       the maximum amount of locations to find
+     * @param spacing      the minimum horizontal distance in blocks between the locations
+     * @return a future holding the locations, empty if none were found
+     */
+    @Override
+    public CompletableFuture<List<RandomLocation>> getRandom(LocationDataProvider dataProvider, int amount, int spacing) {
+        return pickRandomLocations(dataProvider, Math.max(1, amount), Math.max(0, spacing));
+    }
+
+    /*Pick random locations based on chunks*/
+    private CompletableFuture<List<RandomLocation>> pickRandomLocations(LocationDataProvider dataProvider, int amount, int spacing) {
+        RandomWorld world = dataProvider.getWorld();
+        LocationAtlas atlas = world == null ? null : searchMemory.getAtlas(world.getUUID());
+        if (atlas != null) {
+            RandomOffset offset = dataProvider.getOffset();
+            int column = atlas.pick(offset.getX() >> CHUNK_SHIFT, offset.getZ() >> CHUNK_SHIFT, dataProvider.getRadius() >> CHUNK_SHIFT);
+            if (column >= 0) {
+                return pickAtlasLocation(world, atlas, column).thenApply(location -> location == null ? Collections.<RandomLocation>emptyList() : Collections.singletonList(location));
+            }
+            //Nothing left in the atlas for this area, search the live world instead
+        }
+        CompletableFuture<List<RandomLocation>> search = searchRandomChunk(dataProvider, amount == 1 ? getCandidateLimit() : Integer.MAX_VALUE);
+        //Addons only see the candidates that are left
+        CompletableFuture<List<RandomLocation>> harvest = search.thenApplyAsync(locations -> {
+            if (locations.isEmpty()) return Collections.<RandomLocation>emptyList();
+            if (amount > 1) {
+                //Spread the harvest over the chunk instead of taking the first columns
+                Collections.shuffle(locations, ThreadLocalRandom.current());
+            }
+            List<RandomLocation> harvested = validateForPlugins(locations, amount, spacing);
+            if (harvested.isEmpty()) {
+                plugin.getSearchMetrics().recordFailure(world, SearchFailure.REJECTED_BY_ADDON);
+            }
+            return harvested;
+        }, getValidatorExecutor());
+        //Cancelling the harvest stops the chunk search as well
+        harvest.whenComplete((locations, throwable) -> {
+            if (harvest.isCancelled()) {
+                search.cancel(false);
+            }
+        });
+        return harvest;
+    }
+
+    /* The region files can be outdated, so the column is checked against the live world. Columns that fail are never drawn again */
+    private CompletableFuture<RandomLocation> pickAtlasLocation(RandomWorld world, LocationAtlas atlas, int column) {
+        RandomLocation candidate = atlas.getLocation(world, column);
+        int x = candidate.getBlockX() & (CHUNK_SIZE - 1);
+        int y = candidate.getBlockY();
+        int z = candidate.getBlockZ() & (CHUNK_SIZE - 1);
+        if (plugin.getMessageHandler().isDebugEnabled()) {
+            plugin.getMessageHandler().sendDebugMessage("1. Confirming atlas location " + candidate + "...");
+        }
+        return loadChunk(world, candidate.getBlockX() >> CHUNK_SHIFT, candidate.getBlockZ() >> CHUNK_SHIFT).thenApplyAsync(chunkSnapshot -> {
+            if (chunkSnapshot == null) {
+                plugin.getSearchMetrics().recordFailure(world, SearchFailure.NO_SAFE_CHUNK);
+                return null;
+            }
+            long startTime = System.nanoTime();
+            boolean safe = !isBlacklistedBiome(chunkSnapshot.getBiome(x, y, z)) && isSafe(chunkSnapshot, x, y, z);
+            plugin.getSearchMetrics().record(Stage.COLUMN_SCAN, world, System.nanoTime() - startTime);
+            if (!safe) {
+                atlas.invalidate(column);
+                plugin.getSearchMetrics().recordFailure(world, SearchFailure.NO_SAFE_LOCATION);
+                return null;
+            }
+            return candidate;
+        }).thenApplyAsync(location -> {
+            if (location == null) return null;
+            RandomLocation validated = validateForPlugins(Collections.singletonList(location));
+            if (validated == null) {
+                plugin.getSearchMetrics().recordFailure(world, SearchFailure.REJECTED_BY_ADDON);
+            }
+            return validated;
+        }, getValidatorExecutor());
+    }
+
+    /**
+     * Collects every safe location in the chunk, skipping chunks with a blacklisted biome.
+     * Only the captured chunk data is used, so this can be called from any thread.
+     *
+     * @param chunk the {@link RandomChunkSnapshot} to search through
+     * @return the safe locations in the chunk, addons have not been consulted yet
+     */
+    public List<RandomLocation> getSafeLocations(RandomChunkSnapshot chunk) {
+        if (!isSafeChunk(chunk)) return Collections.emptyList();
+        return getSafeLocationsFromChunk(chunk, Integer.MAX_VALUE);
     }
 
     /* Will search through the chunk to find a location that is safe, returning null if none is found. */
     public RandomLocation getRandomLocationFromChunk(RandomChunkSnapshot chunk) {
+        return validateForPlugins(scanChunk(chunk, getCandidateLimit()));
+    }
+
+    /* Times the column scan, subclasses decide how the columns are scanned */
+    private List<RandomLocation> scanChunk(RandomChunkSnapshot chunk, int limit) {
+        if (chunk == null) return Collections.emptyList();
+        long startTime = System.nanoTime();
+        List<RandomLocation> locations = getSafeLocationsFromChunk(chunk, limit);
+        plugin.getSearchMetrics().record(Stage.COLUMN_SCAN, chunk.getWorld(), System.nanoTime() - startTime);
+        return locations;
+    }
+
+    private RandomLocation validateForPlugins(List<RandomLocation> locations) {
+        List<RandomLocation> valid = validateForPlugins(locations, 1, 0);
+        return valid.isEmpty() ? null : valid.get(0);
+    }
+
+    /* Times the addon validation, without addons there is nothing worth timing */
+    private List<RandomLocation> validateForPlugins(List<RandomLocation> locations, int amount, int spacing) {
+        if (validatorMap.isEmpty() || locations.isEmpty()) {
+            return getSafeForPlugins(locations, amount, spacing);
+        }
+        long startTime = System.nanoTime();
+        List<RandomLocation> valid = getSafeForPlugins(locations, amount, spacing);
+        plugin.getSearchMetrics().record(Stage.ADDON_VALIDATION, locations.get(0).getWorld(), System.nanoTime() - startTime);
+        return valid;
+    }
+
+    /**
+     * Searches the captured chunk data for safe locations. The live world is never accessed,
+     * so this can safely be called from any thread.
+     *
+     * @param chunk the {@link RandomChunkSnapshot} to search through
+     * @param limit the maximum amount of locations to collect
+     * @return the safe locations in the chunk, addons have not been consulted yet
+     */
+    protected List<RandomLocation> getSafeLocationsFromChunk(RandomChunkSnapshot chunk, int limit) {
+        if (chunk == null) return Collections.emptyList();
         plugin.getMessageHandler().sendDebugMessage("2. Looking for location from chunk...");
+        List<RandomLocation> locations = new ArrayList<>(Math.min(limit, 8));
+        RandomWorld world = null;
         for (int x = 2; x < CHUNK_SIZE - 2; x++) {
             for (int z = 2; z < CHUNK_SIZE - 2; z++) {
-                //RandomBlock block = chunk.get((chunk.getX() << CHUNK_SHIFT) + x, (chunk.getZ() << CHUNK_SHIFT) + z);
-                int xLoc = (chunk.getX() << CHUNK_SHIFT) + x;
-                int zLoc = (chunk.getZ() << CHUNK_SHIFT) + z;
                 int y = chunk.getHighestBlockYAt(x, z);
-                RandomLocation randomLocation = new CommonLocation(chunk.getWorld(), xLoc, y, zLoc);
-                if (isSafe(randomLocation)) {
-                    return randomLocation;
+                if (isSafe(chunk, x, y, z)) {
+                    if (world == null) world = chunk.getWorld();
+                    int xLoc = (chunk.getX() << CHUNK_SHIFT) + x;
+                    int zLoc = (chunk.getZ() << CHUNK_SHIFT) + z;
+                    locations.add(new CommonLocation(world, xLoc, y, zLoc));
+                    if (locations.size() >= limit) {
+                        return locations;
+                    }
                 }
             }
         }
-        plugin.getMessageHandler().sendDebugMessage("No safe location found in chunk: {x:" + chunk.getX() + " z:" + chunk.getZ() + " world: " + chunk.getWorld() + "}");
+        if (locations.isEmpty()) {
+            if (plugin.getMessageHandler().isDebugEnabled()) {
+                plugin.getMessageHandler().sendDebugMessage("No safe location found in chunk: {x:" + chunk.getX() + " z:" + chunk.getZ() + " world: " + chunk.getWorld() + "}");
+            }
+        }
+        return locations;
+    }
+
+    /**
+     * @param locations the locations that passed the chunk checks
+     * @return the first location that all addons deem safe, null if there is none
+     */
+    protected RandomLocation getFirstSafeForPlugins(List<RandomLocation> locations) {
+        for (RandomLocation location : locations) {
+            if (isSafeForPlugins(location)) {
+                return location;
+            }
+        }
         return null;
     }
 
-    CompletableFuture<RandomChunkSnapshot> getRandomChunk(LocationDataProvider dataProvider) {
-        CompletableFuture<RandomChunkSnapshot> chunkFuture = getRandomChunkAsync(dataProvider);
-        return chunkFuture.thenCompose((chunk) -> {
-            if (!isSafeChunk(chunk)) {
-                for (CompletableFuture<RandomChunkSnapshot> neighborChunkSnapshot : chunk) {
-                    neighborChunkSnapshot.thenApply(newChunkSnapshot -> {
-                        int x = newChunkSnapshot.getX() << CHUNK_SHIFT;
-                        int z = newChunkSnapshot.getZ() << CHUNK_SHIFT;
-                        RandomOffset offset = dataProvider.getOffset();
-                        int radius = dataProvider.getRadius();
-                        boolean withinBounds = (x < radius + offset.getX() && z < radius + offset.getZ()) || (x > radius - offset.getX() && z > radius - offset.getZ());
-                        if (withinBounds && isSafeChunk(newChunkSnapshot)) {
-                            plugin.getMessageHandler().sendDebugMessage("1. Found safe chunk...");
-                            return CompletableFuture.completedFuture(newChunkSnapshot);
-                        }
-                        return CompletableFuture.completedFuture(null);
-                    });
-                }
-                plugin.getMessageHandler().sendDebugMessage("1. Not a safe chunk...");
-                return CompletableFuture.completedFuture(null);
-            } else {
-                plugin.getMessageHandler().sendDebugMessage("1. Not a safe chunk...");
-                return CompletableFuture.completedFuture(chunk);
+    /**
+     * @param locations the locations that passed the chunk checks
+     * @param amount    the maximum amount of locations to return
+     * @param spacing   the minimum horizontal distance in blocks between the returned locations
+     * @return the locations that all addons deem safe, in the order they were given
+     */
+    protected List<RandomLocation> getSafeForPlugins(List<RandomLocation> locations, int amount, int spacing) {
+        if (amount == 1) {
+            RandomLocation location = getFirstSafeForPlugins(locations);
+            return location == null ? Collections.emptyList() : Collections.singletonList(location);
+        }
+        List<RandomLocation> harvested = new ArrayList<>(Math.min(amount, locations.size()));
+        long spacingSquared = (long) spacing * spacing;
+        for (RandomLocation location : locations) {
+            //Addons are only asked about locations that are far enough from the ones already taken
+            if (isSpacedFrom(harvested, location, spacingSquared) && isSafeForPlugins(location)) {
+                harvested.add(location);
+                if (harvested.size() >= amount) break;
             }
+        }
+        return harvested;
+    }
+
+    private static boolean isSpacedFrom(List<RandomLocation> locations, RandomLocation location, long spacingSquared) {
+        for (RandomLocation other : locations) {
+            long dx = location.getBlockX() - other.getBlockX();
+            long dz = location.getBlockZ() - other.getBlockZ();
+            if (dx * dx + dz * dz < spacingSquared) return false;
+        }
+        return true;
+    }
+
+    /* Without addons the first safe location is good enough. Otherwise collect them all, the addons might reject some */
+    protected int getCandidateLimit() {
+        return validatorMap.isEmpty() ? 1 : Integer.MAX_VALUE;
+    }
+
+    /* Addons might access the world, so they have to be consulted on the main thread */
+    private Executor getValidatorExecutor() {
+        if (validatorMap.isEmpty()) {
+            return Runnable::run;
+        }
+        return plugin.getScheduler().getMainThreadExecutor();
+    }
+
+    /**
+     * Loads a random chunk and scans it off the main thread. When it holds no safe location, its neighbours are searched.
+     * Cancelling the returned future stops the search, no further chunks are loaded or scanned.
+     *
+     * @param dataProvider the data required to find a random location
+     * @param limit        the maximum amount of locations to collect from the chunk
+     * @return a future holding the safe locations of the first chunk that has any, empty if none of the chunks had one
+     */
+    CompletableFuture<List<RandomLocation>> searchRandomChunk(LocationDataProvider dataProvider, int limit) {
+        RandomWorld world = dataProvider.getWorld();
+        CompletableFuture<List<RandomLocation>> search = new CompletableFuture<>();
+        getRandomChunkAsync(dataProvider).thenAcceptAsync(chunk -> {
+            if (search.isDone()) return; //Cancelled while the chunk was loading
+            if (chunk == null) {
+                recordSearchFailure(world, false);
+                search.complete(Collections.emptyList());
+                return;
+            }
+            List<RandomLocation> locations = scanCandidate(chunk, limit);
+            if (locations != null && !locations.isEmpty()) {
+                plugin.getMessageHandler().sendDebugMessage("1. Found safe chunk...");
+                search.complete(locations);
+                return;
+            }
+            plugin.getMessageHandler().sendDebugMessage("1. Not a safe chunk, trying its neighbours...");
+            new NeighbourChunkSearch(this, world, getNeighbourChunks(chunk, dataProvider), neighbourParallelism, limit, locations != null, search).start();
+        }).exceptionally(throwable -> {
+            search.completeExceptionally(throwable);
+            return null;
         });
+        return search;
+    }
+
+    /**
+     * Checks the biomes of a loaded chunk and scans its columns, remembering how the chunk turned out.
+     * Only the captured chunk data is used, so this can be called from any thread.
+     *
+     * @param chunk the loaded {@link RandomChunkSnapshot}
+     * @param limit the maximum amount of locations to collect
+     * @return the safe locations in the chunk, addons have not been consulted yet. Null if the chunk failed the biome check
+     */
+    List<RandomLocation> scanCandidate(RandomChunkSnapshot chunk, int limit) {
+        if (!checkChunk(chunk)) return null;
+        List<RandomLocation> locations = scanChunk(chunk, limit);
+        recordChunk(chunk, !locations.isEmpty());
+        return locations;
+    }
+
+    /**
+     * @param world          the {@link RandomWorld} that was searched
+     * @param safeChunkFound true if any of the chunks passed the biome check
+     */
+    void recordSearchFailure(RandomWorld world, boolean safeChunkFound) {
+        plugin.getSearchMetrics().recordFailure(world, safeChunkFound ? SearchFailure.NO_SAFE_LOCATION : SearchFailure.NO_SAFE_CHUNK);
+    }
+
+    /**
+     * @param chunk        the {@link RandomChunkSnapshot} to get the neighbours of
+     * @param dataProvider the {@link LocationDataProvider} holding the search area
+     * @return the adjacent chunks that are within the search area, in random order
+     */
+    List<ChunkLocation> getNeighbourChunks(RandomChunkSnapshot chunk, LocationDataProvider dataProvider) {
+        RandomOffset offset = dataProvider.getOffset();
+        int chunkRadius = dataProvider.getRadius() >> CHUNK_SHIFT;
+        int chunkOffsetX = offset.getX() >> CHUNK_SHIFT;
+        int chunkOffsetZ = offset.getZ() >> CHUNK_SHIFT;
+        RejectedChunkCache rejectedChunks = searchMemory.getRejectedChunkCache();
+        RecentLocationIndex recentLocations = searchMemory.getRecentLocationIndex();
+        UUID worldUUID = chunk.getWorld().getUUID();
+        List<ChunkLocation> neighbours = new ArrayList<>(Direction.values().length);
+        for (Direction direction : Direction.values()) {
+            int x = chunk.getX() + direction.getX();
+            int z = chunk.getZ() + direction.getZ();
+            //Same square getRandomChunkAsync picks from
+            if (Math.abs(x - chunkOffsetX) <= chunkRadius && Math.abs(z - chunkOffsetZ) <= chunkRadius && !rejectedChunks.isRejected(worldUUID, x, z)
+                    && !recentLocations.isNearRecent(worldUUID, x, z) && isCandidateChunk(chunk.getWorld(), x, z)) {
+                neighbours.add(new ChunkLocation(x, z));
+            }
+        }
+        Collections.shuffle(neighbours, ThreadLocalRandom.current());
+        return neighbours;
+    }
+
+    /**
+     * Times {@link #isSafeChunk(RandomChunkSnapshot)} as the biome check. Unsafe chunks are remembered, so they are not loaded again.
+     *
+     * @param chunk the {@link RandomChunkSnapshot} to check
+     * @return true if the chunk is safe
+     */
+    boolean checkChunk(RandomChunkSnapshot chunk) {
+        long startTime = System.nanoTime();
+        boolean safe = isSafeChunk(chunk);
+        plugin.getSearchMetrics().record(Stage.BIOME_CHECK, chunk.getWorld(), System.nanoTime() - startTime);
+        if (!safe) {
+            recordChunk(chunk, false);
+        }
+        return safe;
+    }
+
+    /**
+     * Remembers how a loaded chunk turned out, so later picks can skip it and favour the parts of the world that hold safe locations.
+     * Can be called from any thread.
+     *
+     * @param chunk    the {@link RandomChunkSnapshot} that was checked
+     * @param accepted true if the chunk held a safe location
+     */
+    protected void recordChunk(RandomChunkSnapshot chunk, boolean accepted) {
+        UUID worldUUID = chunk.getWorld().getUUID();
+        if (!accepted) {
+            searchMemory.getRejectedChunkCache().reject(worldUUID, chunk.getX(), chunk.getZ());
+        }
+        searchMemory.getAcceptanceGrid().record(worldUUID, chunk.getX(), chunk.getZ(), accepted);
+    }
+
+    /**
+     * Loads a chunk and times how long it takes until the snapshot is available.
+     *
+     * @param world the {@link RandomWorld} the chunk is in
+     * @param x     the X coordinate of the chunk
+     * @param z     the Z coordinate of the chunk
+     * @return a future holding the {@link RandomChunkSnapshot}
+     */
+    CompletableFuture<RandomChunkSnapshot> loadChunk(RandomWorld world, int x, int z) {
+        long startTime = System.nanoTime();
+        CompletableFuture<RandomChunkSnapshot> chunkFuture = world.getChunkAtAsync(world, x, z);
+        chunkFuture.whenComplete((chunk, throwable) -> plugin.getSearchMetrics().record(Stage.CHUNK_LOAD, world, System.nanoTime() - startTime));
+        return chunkFuture;
     }
 
     CompletableFuture<RandomChunkSnapshot> getRandomChunkAsync(LocationDataProvider dataProvider) {
+        long startTime = System.nanoTime();
         plugin.getMessageHandler().sendDebugMessage("1. Getting random chunk async...");
-        ThreadLocalRandom rnd = ThreadLocalRandom.current();
         RandomOffset offset = dataProvider.getOffset();
         int radius = dataProvider.getRadius();
         int chunkRadius = radius >> CHUNK_SHIFT;
         int chunkOffsetX = offset.getX() >> CHUNK_SHIFT;
         int chunkOffsetZ = offset.getZ() >> CHUNK_SHIFT;
-        int x = rnd.nextInt(-chunkRadius, chunkRadius + 1);
-        int z = rnd.nextInt(-chunkRadius, chunkRadius + 1);
         RandomWorld world = dataProvider.getWorld();
         if (world == null) {
             plugin.getMessageHandler().sendDebugMessage("1.1 World is null...");
             return CompletableFuture.completedFuture(null);
         }
-        plugin.getMessageHandler().sendDebugMessage("1.1 Found random chunk in \"" + world.getName() + "\"");
-        return world.getChunkAtAsync(world, x + chunkOffsetX, z + chunkOffsetZ);
+        ChunkLocation chunk = pickChunk(world, chunkOffsetX, chunkOffsetZ, chunkRadius);
+        if (plugin.getMessageHandler().isDebugEnabled()) {
+            plugin.getMessageHandler().sendDebugMessage("1.1 Found random chunk in \"" + world.getName() + "\"");
+        }
+        plugin.getSearchMetrics().record(Stage.CHUNK_PICK, world, System.nanoTime() - startTime);
+        return loadChunk(world, chunk.getX(), chunk.getZ());
+    }
+
+    /**
+     * Picks a random chunk within the search area. Chunks that are known to hold nothing or are close to recently used
+     * locations are skipped, and the parts of the world where safe locations were found are favoured.
+     * If every pick was skipped, the last one is used anyway.
+     *
+     * @param world       the {@link RandomWorld} to pick a chunk in
+     * @param centerX     the X coordinate of the chunk in the center of the search area
+     * @param centerZ     the Z coordinate of the chunk in the center of the search area
+     * @param chunkRadius the radius of the search area in chunks
+     * @return the {@link ChunkLocation} of the chunk to load
+     */
+    protected ChunkLocation pickChunk(RandomWorld world, int centerX, int centerZ, int chunkRadius) {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        RejectedChunkCache rejectedChunks = searchMemory.getRejectedChunkCache();
+        AcceptanceGrid acceptanceGrid = searchMemory.getAcceptanceGrid();
+        RecentLocationIndex recentLocations = searchMemory.getRecentLocationIndex();
+        UUID worldUUID = world.getUUID();
+        int x;
+        int z;
+        int attempt = 0;
+        do {
+            x = rnd.nextInt(-chunkRadius, chunkRadius + 1) + centerX;
+            z = rnd.nextInt(-chunkRadius, chunkRadius + 1) + centerZ;
+        } while (++attempt < pickAttempts && (!isCandidateChunk(world, x, z) || rejectedChunks.isRejected(worldUUID, x, z)
+                || recentLocations.isNearRecent(worldUUID, x, z) || !acceptanceGrid.sample(worldUUID, x, z, rnd)));
+        return new ChunkLocation(x, z);
+    }
+
+    /**
+     * Lets a searcher rule out chunks before they are loaded, based on what it knows about the world.
+     *
+     * @param world the {@link RandomWorld} the chunk is in
+     * @param x     the X coordinate of the chunk
+     * @param z     the Z coordinate of the chunk
+     * @return true if the chunk could hold a safe location
+     */
+    protected boolean isCandidateChunk(RandomWorld world, int x, int z) {
+        return true;
     }
 
     @Override
     public boolean isSafe(RandomLocation loc) {
         plugin.getMessageHandler().sendDebugMessage("3. Checking if safe...");
-        Component worldDebug = Component.text("3.1 world not null? ");
         RandomWorld world = loc.getWorld();
         if (world == null) {
-            plugin.getMessageHandler().sendDebugMessage(worldDebug.append(FAIL));
+            debugCheck(WORLD_CHECK, false);
             return false;
         }
-        plugin.getMessageHandler().sendDebugMessage(worldDebug.append(PASS));
-        Component pluginsDebug = Component.text("3.8 block is safe for addons? ");
+        debugCheck(WORLD_CHECK, true);
         if (!isSafeForPlugins(loc)) {
-            plugin.getMessageHandler().sendDebugMessage(pluginsDebug.append(FAIL));
+            debugCheck(ADDONS_CHECK, false);
             return false;
         }
-        plugin.getMessageHandler().sendDebugMessage(pluginsDebug.append(PASS));
+        debugCheck(ADDONS_CHECK, true);
 
         RandomBlock block = loc.getBlock();
         RandomBlockType blockType = block.getBlockType();
-        Component airDebug = Component.text("3.2 block not air? ");
         if (blockType.getType().isAir()) {
-            plugin.getMessageHandler().sendDebugMessage(airDebug.append(FAIL));
+            debugCheck(AIR_CHECK, false);
             return false;
         }
-        plugin.getMessageHandler().sendDebugMessage(airDebug.append(PASS));
+        debugCheck(AIR_CHECK, true);
         //Check if it passes the global blacklist
-        Component blacklistDebug = Component.text("3.3 block not on global blacklist? ");
         if (!isValidGlobalBlockType(loc)) {
-            plugin.getMessageHandler().sendDebugMessage(blacklistDebug.append(FAIL));
+            debugCheck(GLOBAL_BLACKLIST_CHECK, false);
             return false;
         }
-        plugin.getMessageHandler().sendDebugMessage(blacklistDebug.append(PASS));
-        RandomDimensionData dimensionData = blacklist.getDimensionData(dimension);
+        debugCheck(GLOBAL_BLACKLIST_CHECK, true);
         //Check if it passes the dimension blacklist
-        Component dimDebug = Component.text("3.4 block not on dimension blacklist? ");
-        if (dimensionData.getBlockTypes().contains(blockType)) {
-            plugin.getMessageHandler().sendDebugMessage(dimDebug.append(FAIL));
+        if (blacklistMatcher.isBlacklistedInDimension(blockType)) {
+            debugCheck(DIMENSION_BLACKLIST_CHECK, false);
             return false;
         }
-        plugin.getMessageHandler().sendDebugMessage(dimDebug.append(PASS));
-        Component passableDebug = Component.text("3.5 block not passable? ");
+        debugCheck(DIMENSION_BLACKLIST_CHECK, true);
         if (block.isPassable()) {
-            plugin.getMessageHandler().sendDebugMessage(passableDebug.append(FAIL));
+            debugCheck(PASSABLE_CHECK, false);
             return false;
         }
-        plugin.getMessageHandler().sendDebugMessage(passableDebug.append(PASS));
-        Component liquidDebug = Component.text("3.6 block not a liquid? ");
+        debugCheck(PASSABLE_CHECK, true);
         if (block.isLiquid()) {
-            plugin.getMessageHandler().sendDebugMessage(liquidDebug.append(FAIL));
+            debugCheck(LIQUID_CHECK, false);
             return false;
         }
-        plugin.getMessageHandler().sendDebugMessage(liquidDebug.append(PASS));
+        debugCheck(LIQUID_CHECK, true);
 
-        Component safeAboveDebug = Component.text("3.7 block above safe? ");
         if (!isSafeAbove(loc)) {
-            plugin.getMessageHandler().sendDebugMessage(safeAboveDebug.append(FAIL));
+            debugCheck(ABOVE_CHECK, false);
             return false;
         }
-        plugin.getMessageHandler().sendDebugMessage(safeAboveDebug.append(PASS));
+        debugCheck(ABOVE_CHECK, true);
 
-        Component surDebug = Component.text("3.9 Block surroundings safe? ");
         if (!isSafeSurrounding(loc)) {
-            plugin.getMessageHandler().sendDebugMessage(surDebug.append(FAIL));
+            debugCheck(SURROUNDING_CHECK, false);
             return false;
         }
-        plugin.getMessageHandler().sendDebugMessage(surDebug.append(PASS));
-        plugin.getMessageHandler().sendDebugMessage("3.10 Safe location found: " + loc);
+        debugCheck(SURROUNDING_CHECK, true);
+        if (plugin.getMessageHandler().isDebugEnabled()) {
+            plugin.getMessageHandler().sendDebugMessage("3.10 Safe location found: " + loc);
+        }
         return true;
     }
 
+    /**
+     * Checks if the block at the given chunk coordinates is safe to stand on.
+     * Unlike {@link #isSafe(RandomLocation)} this only uses the captured chunk data and never accesses the live world.
+     * Addons are not consulted, use {@link #isSafeForPlugins(RandomLocation)} for that.
+     *
+     * @param chunk the {@link RandomChunkSnapshot} holding the block
+     * @param x     X-coordinate of the block (1-14)
+     * @param y     Y-coordinate of the block
+     * @param z     Z-coordinate of the block (1-14)
+     * @return true if the block, the blocks above it and its surroundings are safe
+     */
+    public boolean isSafe(RandomChunkSnapshot chunk, int x, int y, int z) {
+        RandomBlockType blockType = chunk.getBlockType(x, y, z);
+        if (blockType.getType().isAir()) return false;
+        if (blacklistMatcher.isBlacklisted(blockType)) return false;
+        if (chunk.isPassable(x, y, z)) return false;
+        if (chunk.isLiquid(x, y, z)) return false;
+        if (!isSafeAbove(chunk, x, y, z)) return false;
+        return isSafeSurrounding(chunk, x, y, z);
+    }
+
+    /* Reports the outcome of a single check, the message is only built when debugging */
+    private void debugCheck(Component check, boolean passed) {
+        if (plugin.getMessageHandler().isDebugEnabled()) {
+            plugin.getMessageHandler().sendDebugMessage(check.append(passed ? PASS : FAIL));
+        }
+    }
+
     @Override
     public boolean isSafeForPlugins(RandomLocation location) {
         for (RandomLocationValidator validator : validatorMap.values()) {
             if (!validator.isValid(location)) {
-                plugin.getMessageHandler().sendDebugMessage("3.1 Deemed unsafe for addon: " + validator.getIdentifier());
+                if (plugin.getMessageHandler().isDebugEnabled()) {
+                    plugin.getMessageHandler().sendDebugMessage("3.1 Deemed unsafe for addon: " + validator.getIdentifier());
+                }
                 return false;
             }
         }
@@ -219,13 +605,26 @@ public abstract class BaseLocationSearcher implements LocationSearcher {
         return (blockAbove.isPassable() && blockAboveAbove.isPassable() && !blockAbove.isLiquid());
     }
 
+    /**
+     * @param chunk the {@link RandomChunkSnapshot} holding the block
+     * @param x     X-coordinate of the block (0-15)
+     * @param y     Y-coordinate of the block
+     * @param z     Z-coordinate of the block (0-15)
+     * @return true if the 2 blocks above are safe
+     */
+    protected boolean isSafeAbove(RandomChunkSnapshot chunk, int x, int y, int z) {
+        return chunk.isPassable(x, y + 1, z) && chunk.isPassable(x, y + 2, z) && !chunk.isLiquid(x, y + 1, z);
+    }
+
     public boolean isSafeChunk(RandomChunkSnapshot chunk) {
         for (int x = 0; x < CHUNK_SIZE; x += 4) {
             for (int z = 0; z < CHUNK_SIZE; z += 4) {
                 int y = chunk.getHighestBlockYAt(x, z);
                 RandomBiome randomBiome = chunk.getBiome(x, y, z);
                 if (isBlacklistedBiome(randomBiome)) {
-                    plugin.getMessageHandler().sendDebugMessage("1.3 Biome at x" + x + "y " + y + "z" + z + " is a blacklisted biome");
+                    if (plugin.getMessageHandler().isDebugEnabled()) {
+                        plugin.getMessageHandler().sendDebugMessage("1.3 Biome at x" + x + "y " + y + "z" + z + " is a blacklisted biome");
+                    }
                     return false;
                 }
             }
@@ -253,8 +652,28 @@ public abstract class BaseLocationSearcher implements LocationSearcher {
             }
             if (relativeBlock.isEmpty()) return false;
             if (!relativeBlock.getBlockType().getType().isSolid()) return false;
-            if (blacklist.getDimensionData(dimension).getBlockTypes().contains(relativeBlock.getBlockType()))
-                return false;
+            if (blacklistMatcher.isBlacklistedInDimension(relativeBlock.getBlockType())) return false;
+        }
+        return true;
+    }
+
+    /**
+     * @param chunk the {@link RandomChunkSnapshot} holding the block
+     * @param x     X-coordinate of the block (1-14)
+     * @param y     Y-coordinate of the block
+     * @param z     Z-coordinate of the block (1-14)
+     * @return true if the surroundings are safe
+     */
+    protected boolean isSafeSurrounding(RandomChunkSnapshot chunk, int x, int y, int z) {
+        for (BlockFace blockFace : SURROUNDING_FACES) {
+            int relativeX = x + blockFace.getModX();
+            int relativeZ = z + blockFace.getModZ();
+            //Blocks outside of the snapshot are unknown, so we can't call them safe
+            if (relativeX < 0 || relativeX >= CHUNK_SIZE || relativeZ < 0 || relativeZ >= CHUNK_SIZE) return false;
+            RandomBlockType relativeType = chunk.getBlockType(relativeX, y, relativeZ);
+            if (relativeType.getType().isAir()) return false;
+            if (!relativeType.getType().isSolid()) return false;
+            if (blacklistMatcher.isBlacklistedInDimension(relativeType)) return false;
         }
         return true;
     }
@@ -265,13 +684,10 @@ public abstract class BaseLocationSearcher implements LocationSearcher {
      */
     protected boolean isValidGlobalBlockType(RandomLocation location) {
         RandomBlock randomBlock = location.getBlock();
-        RandomDimensionData dimensionData = blacklist.getDimensionData(Dimension.GLOBAL);
-        return !dimensionData.getBlockTypes().contains(randomBlock.getBlockType());
+        return !globalMatcher.isBlacklisted(randomBlock.getBlockType());
     }
 
     protected boolean isBlacklistedBiome(RandomBiome randomBiome) {
-        RandomDimensionData globalData = blacklist.getDimensionData(Dimension.GLOBAL);
-        RandomDimensionData dimensionData = blacklist.getDimensionData(dimension);
-        return globalData.getBiomes().contains(randomBiome) || dimensionData.getBiomes().contains(randomBiome);
+        return blacklistMatcher.isBlacklisted(randomBiome);
     }
 }
@@ -0,0 +1,121 @@
+package me.darkeyedragon.randomtp.common.world.location.search;
+
+import me.darkeyedragon.randomtp.api.world.location.ChunkLocation;
+import me.darkeyedragon.randomtp.common.world.atlas.LocationAtlas;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The parts of an End world that are known to hold land, in cells of 4 by 4 chunks.
+ * The cells are kept in a primitive hash set for lookups and in a list to draw them from at random.
+ * Islands don't disappear, so cells are never removed. Once the maximum is reached no new cells are added.
+ * All methods can be called from any thread.
+ */
+final class EndIslandMask {
+
+    static final int CELL_SHIFT = 2; //4 by 4 chunks
+    private static final int CELL_SIZE = 1 << CELL_SHIFT;
+    private static final int MAX_CELLS = 1 << 16;
+
+    private long[] keys;
+    private boolean[] used;
+    private long[] landCells;
+    private int landCount;
+
+    EndIslandMask() {
+        this.keys = new long[256];
+        this.used = new boolean[256];
+        this.landCells = new long[64];
+    }
+
+    /**
+     * @param chunkX the X coordinate of a chunk that holds land
+     * @param chunkZ the Z coordinate of a chunk that holds land
+     */
+    synchronized void addLand(int chunkX, int chunkZ) {
+        long key = pack(chunkX >> CELL_SHIFT, chunkZ >> CELL_SHIFT);
+        if (contains(key) || landCount >= MAX_CELLS) return;
+        if ((landCount + 1) * 2 > keys.length) {
+            resize(keys.length * 2);
+        }
+        insert(key);
+        if (landCount == landCells.length) {
+            landCells = Arrays.copyOf(landCells, landCount * 2);
+        }
+        landCells[landCount++] = key;
+    }
+
+    /**
+     * Every chunk of an atlas holds a safe location, so all of them hold land.
+     *
+     * @param atlas the {@link LocationAtlas} of the world
+     */
+    synchronized void addLand(LocationAtlas atlas) {
+        for (int chunk = 0; chunk < atlas.getChunkCount(); chunk++) {
+            addLand(atlas.getChunkX(chunk), atlas.getChunkZ(chunk));
+        }
+    }
+
+    synchronized boolean isEmpty() {
+        return landCount == 0;
+    }
+
+    /**
+     * Draws a random chunk from a random land cell that overlaps the search area.
+     *
+     * @param random      the {@link Random} to draw with
+     * @param centerX     the X coordinate of the chunk in the center of the search area
+     * @param centerZ     the Z coordinate of the chunk in the center of the search area
+     * @param chunkRadius the radius of the search area in chunks
+     * @return the {@link ChunkLocation} of the chunk, null if the drawn cell lies outside the search area
+     */
+    synchronized ChunkLocation pickLand(Random random, int centerX, int centerZ, int chunkRadius) {
+        if (landCount == 0) return null;
+        long key = landCells[random.nextInt(landCount)];
+        int cellX = (int) (key >> 32);
+        int cellZ = (int) key;
+        //Clamp the cell to the search area, nothing is left if they don't overlap
+        int minX = Math.max(cellX << CELL_SHIFT, centerX - chunkRadius);
+        int maxX = Math.min((cellX << CELL_SHIFT) + CELL_SIZE - 1, centerX + chunkRadius);
+        int minZ = Math.max(cellZ << CELL_SHIFT, centerZ - chunkRadius);
+        int maxZ = Math.min((cellZ << CELL_SHIFT) + CELL_SIZE - 1, centerZ + chunkRadius);
+        if (minX > maxX || minZ > maxZ) return null;
+        return new ChunkLocation(minX + random.nextInt(maxX - minX + 1), minZ + random.nextInt(maxZ - minZ + 1));
+    }
+
+    private boolean contains(long key) {
+        int mask = keys.length - 1;
+        for (int slot = hash(key) & mask; used[slot]; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) return true;
+        }
+        return false;
+    }
+
+    private void insert(long key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (used[slot]) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        used[slot] = true;
+    }
+
+    private void resize(int capacity) {
+        keys = new long[capacity];
+        used = new boolean[capacity];
+        for (int i = 0; i < landCount; i++) {
+            insert(landCells[i]);
+        }
+    }
+
+    private static long pack(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+
+    private static int hash(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
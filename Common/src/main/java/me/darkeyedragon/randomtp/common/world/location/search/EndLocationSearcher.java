@@ -2,37 +2,73 @@ package me.darkeyedragon.randomtp.common.world.location.search;
 
 import me.darkeyedragon.randomtp.api.config.Dimension;
 import me.darkeyedragon.randomtp.api.plugin.RandomTeleportPlugin;
+import me.darkeyedragon.randomtp.api.world.RandomChunkSnapshot;
+import me.darkeyedragon.randomtp.api.world.RandomWorld;
+import me.darkeyedragon.randomtp.api.world.location.ChunkLocation;
+
+import java.util.concurrent.ThreadLocalRandom;
 
 public class EndLocationSearcher extends BaseLocationSearcher {
 
-    protected final int MIN_DISTANCE = 150;
-    protected final int MAX_DISTANCE = 150;
+    protected final int MIN_DISTANCE = 150; //Radius of the central island
+    protected final int MAX_DISTANCE = 1024; //Where the outer islands start, everything in between is void
+    protected final double EXPLORATION_RATE = 0.1; //Share of the picks that look for islands that are not known yet
 
     /**
      * The End location searcher
      *
-     * @param plugin The plugin instance
+     * @param plugin       The plugin instance
+     * @param searchMemory the {@link SearchMemory} of the world handler
      */
-    public EndLocationSearcher(RandomTeleportPlugin<?> plugin) {
-        super(plugin, plugin.getAddonManager().getAddons(), plugin.getConfigHandler().getSectionBlacklist().getBlacklist(), Dimension.END);
+    public EndLocationSearcher(RandomTeleportPlugin<?> plugin, SearchMemory searchMemory) {
+        super(plugin, searchMemory, plugin.getAddonManager().getAddons(), plugin.getConfigHandler().getSectionBlacklist().getBlacklist(), Dimension.END);
     }
 
-    /*@Override
-    public boolean isSafeChunk(RandomChunkSnapshot chunk) {
-        for (int x = 0; x < CHUNK_SIZE; x++) {
-            for (int z = 0; z < CHUNK_SIZE; z++) {
-                RandomBlock block = chunk.getWorld().getHighestBlockAt((chunk.getX() << CHUNK_SHIFT) + x, (chunk.getZ() << CHUNK_SHIFT) + z);
-                RandomBiome randomBiome = chunk.getBiome(x, block.getLocation().getBlockY(), z);
-                if (block.getBiome() == Biome.THE_END) {
-                    if ((Math.abs(block.getX()) > MIN_DISTANCE || Math.abs(block.getZ()) > MIN_DISTANCE) && (Math.abs(block.getX()) < MAX_DISTANCE || Math.abs(block.getZ()) < MAX_DISTANCE)) {
-                        return false;
-                    }
+    /* Most of the End is void, so known islands are picked most of the time */
+    @Override
+    protected ChunkLocation pickChunk(RandomWorld world, int centerX, int centerZ, int chunkRadius) {
+        EndIslandMask islandMask = searchMemory.getIslandMask(world.getUUID());
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        if (!islandMask.isEmpty() && rnd.nextDouble() >= EXPLORATION_RATE) {
+            RejectedChunkCache rejectedChunks = searchMemory.getRejectedChunkCache();
+            RecentLocationIndex recentLocations = searchMemory.getRecentLocationIndex();
+            for (int attempt = 0; attempt < pickAttempts; attempt++) {
+                ChunkLocation chunk = islandMask.pickLand(rnd, centerX, centerZ, chunkRadius);
+                if (chunk != null && !rejectedChunks.isRejected(world.getUUID(), chunk.getX(), chunk.getZ())
+                        && !recentLocations.isNearRecent(world.getUUID(), chunk.getX(), chunk.getZ())) {
+                    return chunk;
                 }
-                if (blacklistBiome.contains(block.getBiome())) {
-                    return false;
+            }
+        }
+        return super.pickChunk(world, centerX, centerZ, chunkRadius);
+    }
+
+    /* The ring between the central island and the outer islands never holds land */
+    @Override
+    protected boolean isCandidateChunk(RandomWorld world, int x, int z) {
+        long blockX = ((long) x << CHUNK_SHIFT) + (CHUNK_SIZE >> 1);
+        long blockZ = ((long) z << CHUNK_SHIFT) + (CHUNK_SIZE >> 1);
+        long distanceSquared = blockX * blockX + blockZ * blockZ;
+        return distanceSquared <= (long) MIN_DISTANCE * MIN_DISTANCE || distanceSquared >= (long) MAX_DISTANCE * MAX_DISTANCE;
+    }
+
+    @Override
+    protected void recordChunk(RandomChunkSnapshot chunk, boolean accepted) {
+        super.recordChunk(chunk, accepted);
+        if (accepted || hasLand(chunk)) {
+            searchMemory.getIslandMask(chunk.getWorld().getUUID()).addLand(chunk.getX(), chunk.getZ());
+        }
+    }
+
+    /* Islands without a safe spot in this chunk likely have one in the chunks around it */
+    private boolean hasLand(RandomChunkSnapshot chunk) {
+        for (int x = 0; x < CHUNK_SIZE; x += 4) {
+            for (int z = 0; z < CHUNK_SIZE; z += 4) {
+                if (chunk.getHighestBlockYAt(x, z) > 0) {
+                    return true;
                 }
             }
         }
-        return true;
-    }*/
+        return false;
+    }
 }
@@ -0,0 +1,190 @@
+package me.darkeyedragon.randomtp.common.world.location.search;
+
+import java.util.Arrays;
+
+/**
+ * A set of chunk coordinates packed by {@link #pack(int, int)}, with an expiry time for each.
+ * Linear probing, deletes shift the following entries back. When the set is full, the expired chunks are dropped first,
+ * only when none have expired a pseudo random chunk is forgotten.
+ */
+final class ExpiringChunkSet {
+
+    private static final int MIN_CAPACITY = 256;
+
+    private final int maxSize;
+    private long[] keys;
+    private long[] expiries; //0 marks an empty slot
+    private int size;
+    private int evictionIndex;
+    private long nextExpiry = Long.MAX_VALUE; //No entry expires before this, so there is nothing to sweep until then
+
+    ExpiringChunkSet(int maxSize) {
+        this.maxSize = maxSize;
+        this.keys = new long[MIN_CAPACITY];
+        this.expiries = new long[MIN_CAPACITY];
+    }
+
+    synchronized boolean contains(long key, long now) {
+        int slot = find(key);
+        if (slot < 0) return false;
+        if (expiries[slot] > now) return true;
+        removeSlot(slot);
+        return false;
+    }
+
+    /**
+     * @return true if any chunk in the square between the given corners (inclusive) has not expired yet
+     */
+    synchronized boolean containsWithin(int minX, int minZ, int maxX, int maxZ, long now) {
+        if (size == 0) return false;
+        long width = (long) maxX - minX + 1;
+        long depth = (long) maxZ - minZ + 1;
+        //Both sides are checked first, so the area can't overflow
+        if (width > keys.length || depth > keys.length || width * depth > keys.length) {
+            //Cheaper to walk the entries than to look up every chunk of the square
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (expiries[slot] <= now) continue;
+                int x = (int) (keys[slot] >> 32);
+                int z = (int) keys[slot];
+                if (x >= minX && x <= maxX && z >= minZ && z <= maxZ) return true;
+            }
+            return false;
+        }
+        for (long x = minX; x <= maxX; x++) {
+            for (long z = minZ; z <= maxZ; z++) {
+                int slot = find(pack((int) x, (int) z));
+                if (slot >= 0 && expiries[slot] > now) return true;
+            }
+        }
+        return false;
+    }
+
+    synchronized void add(long key, long expiresAt, long now) {
+        int slot = find(key);
+        if (slot >= 0) {
+            expiries[slot] = Math.max(expiries[slot], expiresAt);
+            return;
+        }
+        if (size >= maxSize) {
+            evict(now);
+        }
+        if ((size + 1) * 4L > keys.length * 3L) {
+            resize(keys.length * 2);
+        }
+        insert(key, expiresAt);
+        nextExpiry = Math.min(nextExpiry, expiresAt);
+    }
+
+    synchronized long[] toArray(long now) {
+        long[] entries = new long[size * 2];
+        int count = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (expiries[slot] > now) {
+                entries[count++] = keys[slot];
+                entries[count++] = expiries[slot];
+            }
+        }
+        return count == entries.length ? entries : Arrays.copyOf(entries, count);
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    private int find(long key) {
+        int mask = keys.length - 1;
+        for (int slot = hash(key) & mask; expiries[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) return slot;
+        }
+        return -1;
+    }
+
+    private void insert(long key, long expiresAt) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (expiries[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        expiries[slot] = expiresAt;
+        size++;
+    }
+
+    /* The slots are ordered by hash, so walking them forgets chunks from all over the world */
+    private void evict(long now) {
+        if (now >= nextExpiry && removeExpired(now) > 0) return;
+        int mask = keys.length - 1;
+        while (expiries[evictionIndex & mask] == 0) {
+            evictionIndex++;
+        }
+        removeSlot(evictionIndex & mask);
+        evictionIndex++;
+    }
+
+    /* Drops every expired entry and finds the next expiry among the rest */
+    private int removeExpired(long now) {
+        int removed = 0;
+        long next = Long.MAX_VALUE;
+        int slot = 0;
+        while (slot < keys.length) {
+            long expiresAt = expiries[slot];
+            if (expiresAt != 0 && expiresAt <= now) {
+                //The following entries shift back, so this slot is looked at again
+                removeSlot(slot);
+                removed++;
+            } else {
+                if (expiresAt != 0) {
+                    next = Math.min(next, expiresAt);
+                }
+                slot++;
+            }
+        }
+        nextExpiry = next;
+        return removed;
+    }
+
+    private void removeSlot(int slot) {
+        int mask = keys.length - 1;
+        int hole = slot;
+        int next = (slot + 1) & mask;
+        while (expiries[next] != 0) {
+            int home = hash(keys[next]) & mask;
+            //Move the entry back if the hole lies between its home slot and where it is now
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                expiries[hole] = expiries[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        expiries[hole] = 0;
+        size--;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldExpiries = expiries;
+        keys = new long[capacity];
+        expiries = new long[capacity];
+        size = 0;
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldExpiries[slot] != 0) {
+                insert(oldKeys[slot], oldExpiries[slot]);
+            }
+        }
+    }
+
+    /**
+     * @param x the X coordinate of the chunk
+     * @param z the Z coordinate of the chunk
+     * @return the coordinates packed into a long, X in the upper half
+     */
+    static long pack(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    private static int hash(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
@@ -0,0 +1,96 @@
+package me.darkeyedragon.randomtp.common.world.location.search;
+
+import me.darkeyedragon.randomtp.api.world.RandomChunkSnapshot;
+import me.darkeyedragon.randomtp.api.world.RandomWorld;
+import me.darkeyedragon.randomtp.api.world.location.ChunkLocation;
+import me.darkeyedragon.randomtp.api.world.location.RandomLocation;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Searches a bounded set of chunks for the first one that holds a safe location.
+ * Every loaded chunk is scanned off the main thread by {@link BaseLocationSearcher#scanCandidate(RandomChunkSnapshot, int)}.
+ * Only a limited amount of chunks is loaded at the same time. Once the result is completed, by a chunk that gave a location
+ * or by someone cancelling it, no further chunks are loaded and the chunks that are still loading are not scanned.
+ */
+class NeighbourChunkSearch {
+
+    private final BaseLocationSearcher searcher;
+    private final RandomWorld world;
+    private final Deque<ChunkLocation> candidates;
+    private final int parallelism;
+    private final int limit;
+    private final CompletableFuture<List<RandomLocation>> result;
+    private volatile boolean cancelled;
+    private boolean safeChunkFound;
+    private int running;
+
+    /**
+     * @param searcher       the {@link BaseLocationSearcher} that scans the chunks
+     * @param world          the {@link RandomWorld} the chunks are in
+     * @param candidates     the chunks to try, in order
+     * @param parallelism    the maximum amount of chunks to load at the same time
+     * @param limit          the maximum amount of locations to collect from a chunk
+     * @param safeChunkFound true if a chunk that was searched before passed the biome check
+     * @param result         the future to complete with the locations of the first chunk that has any, empty if none of them do
+     */
+    NeighbourChunkSearch(BaseLocationSearcher searcher, RandomWorld world, Collection<ChunkLocation> candidates, int parallelism, int limit, boolean safeChunkFound,
+                         CompletableFuture<List<RandomLocation>> result) {
+        this.searcher = searcher;
+        this.world = world;
+        this.candidates = new ArrayDeque<>(candidates);
+        this.parallelism = Math.max(1, parallelism);
+        this.limit = limit;
+        this.safeChunkFound = safeChunkFound;
+        this.result = result;
+        result.whenComplete((locations, throwable) -> cancel());
+    }
+
+    synchronized void start() {
+        for (int i = 0; i < parallelism; i++) {
+            loadNext();
+        }
+    }
+
+    /**
+     * Stops the search, called once the result is completed or cancelled.
+     */
+    synchronized void cancel() {
+        cancelled = true;
+        candidates.clear();
+    }
+
+    private synchronized void loadNext() {
+        if (cancelled) return;
+        ChunkLocation next = candidates.poll();
+        if (next == null) {
+            if (running == 0) {
+                searcher.recordSearchFailure(world, safeChunkFound);
+                result.complete(Collections.emptyList());
+            }
+            return;
+        }
+        running++;
+        searcher.loadChunk(world, next.getX(), next.getZ())
+                .thenApplyAsync(chunk -> chunk == null || cancelled ? null : searcher.scanCandidate(chunk, limit))
+                .whenComplete(this::onScanned);
+    }
+
+    private synchronized void onScanned(List<RandomLocation> locations, Throwable throwable) {
+        running--;
+        if (cancelled) return;
+        if (throwable == null && locations != null) {
+            if (!locations.isEmpty()) {
+                result.complete(locations);
+                return;
+            }
+            safeChunkFound = true;
+        }
+        loadNext();
+    }
+}
@@ -3,36 +3,79 @@ package me.darkeyedragon.randomtp.common.world.location.search;
 import me.darkeyedragon.randomtp.api.config.Dimension;
 import me.darkeyedragon.randomtp.api.plugin.RandomTeleportPlugin;
 import me.darkeyedragon.randomtp.api.world.RandomChunkSnapshot;
+import me.darkeyedragon.randomtp.api.world.RandomWorld;
 import me.darkeyedragon.randomtp.api.world.location.RandomLocation;
 import me.darkeyedragon.randomtp.common.world.location.CommonLocation;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 public class NetherLocationSearcher extends BaseLocationSearcher {
 
     private final int MAX_HEIGHT = 120; //Everything above this is nether ceiling
 
     /**
-     * @param plugin the {@link RandomTeleportPlugin} instance
+     * @param plugin       the {@link RandomTeleportPlugin} instance
+     * @param searchMemory the {@link SearchMemory} of the world handler
      */
-    public NetherLocationSearcher(RandomTeleportPlugin<?> plugin) {
-        super(plugin, plugin.getAddonManager().getAddons(), plugin.getConfigHandler().getSectionBlacklist().getBlacklist(), Dimension.NETHER);
+    public NetherLocationSearcher(RandomTeleportPlugin<?> plugin, SearchMemory searchMemory) {
+        super(plugin, searchMemory, plugin.getAddonManager().getAddons(), plugin.getConfigHandler().getSectionBlacklist().getBlacklist(), Dimension.NETHER);
     }
 
-    /* Will search through the chunk to find a location that is safe, returning null if none is found. */
+    /*
+     * Will search through the chunk to find locations that are safe, returning an empty list if none are found.
+     * Every column is read once from the bottom up, skipping the sections that are empty or solid. Only a solid floor with two
+     * passable blocks above it is handed to the full check, which also looks at the surroundings and the blacklists.
+     */
     @Override
-    public RandomLocation getRandomLocationFromChunk(RandomChunkSnapshot chunk) {
+    protected List<RandomLocation> getSafeLocationsFromChunk(RandomChunkSnapshot chunk, int limit) {
+        if (chunk == null) return Collections.emptyList();
+        List<RandomLocation> locations = new ArrayList<>(Math.min(limit, 8));
+        RandomWorld world = null;
+        //The floor can be at most MAX_HEIGHT - 1, the blocks above it are checked too
+        int height = MAX_HEIGHT + 2;
+        int sections = ((height - 1) >> CHUNK_SHIFT) + 1;
+        boolean[] emptySections = new boolean[sections];
+        boolean[] solidSections = new boolean[sections];
+        for (int section = 0; section < sections; section++) {
+            emptySections[section] = chunk.isSectionEmpty(section);
+            solidSections[section] = !emptySections[section] && chunk.isSectionSolid(section);
+        }
+        //A floor needs a solid block with two passable blocks above it, those are at most one section higher
+        boolean[] floorSections = new boolean[sections];
+        for (int section = 0; section < sections; section++) {
+            floorSections[section] = !emptySections[section] && !(solidSections[section] && (section + 1 == sections || solidSections[section + 1]));
+        }
+        boolean[] passable = new boolean[height];
         for (int x = 2; x < CHUNK_SIZE - 2; x++) {
             for (int z = 2; z < CHUNK_SIZE - 2; z++) {
+                for (int y = 0; y < height; y++) {
+                    int section = y >> CHUNK_SHIFT;
+                    passable[y] = emptySections[section] || !solidSections[section] && chunk.isPassable(x, y, z);
+                }
                 for (int y = 0; y < MAX_HEIGHT; y++) {
-                    int xLoc = (chunk.getX() << CHUNK_SHIFT) + x;
-                    int zLoc = (chunk.getZ() << CHUNK_SHIFT) + z;
-                    RandomLocation randomLocation = new CommonLocation(chunk.getWorld(), xLoc, y, zLoc);
-                    if (isSafe(randomLocation)) {
-                        return randomLocation;
+                    if (!floorSections[y >> CHUNK_SHIFT]) {
+                        //Jump to the top of the section
+                        y |= CHUNK_SIZE - 1;
+                        continue;
+                    }
+                    if (passable[y] || !passable[y + 1] || !passable[y + 2]) continue;
+                    if (chunk.isLiquid(x, y, z) || chunk.isLiquid(x, y + 1, z)) continue;
+                    if (isSafe(chunk, x, y, z)) {
+                        if (world == null) world = chunk.getWorld();
+                        int xLoc = (chunk.getX() << CHUNK_SHIFT) + x;
+                        int zLoc = (chunk.getZ() << CHUNK_SHIFT) + z;
+                        locations.add(new CommonLocation(world, xLoc, y, zLoc));
+                        if (locations.size() >= limit) {
+                            return locations;
+                        }
+                        //One location per column is plenty
+                        break;
                     }
                 }
-
             }
         }
-        return null;
+        return locations;
     }
 }
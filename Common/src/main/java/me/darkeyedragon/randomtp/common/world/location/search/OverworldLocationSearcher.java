@@ -7,9 +7,10 @@ public class OverworldLocationSearcher extends BaseLocationSearcher {
     /**
      * Overworld location implementation of {@link BaseLocationSearcher}
      *
-     * @param plugin the {@link RandomTeleportPlugin} instance
+     * @param plugin       the {@link RandomTeleportPlugin} instance
+     * @param searchMemory the {@link SearchMemory} of the world handler
      */
-    public OverworldLocationSearcher(RandomTeleportPlugin<?> plugin) {
-        super(plugin, plugin.getAddonManager().getAddons(), plugin.getConfigHandler().getSectionBlacklist().getBlacklist(), Dimension.OVERWORLD);
+    public OverworldLocationSearcher(RandomTeleportPlugin<?> plugin, SearchMemory searchMemory) {
+        super(plugin, searchMemory, plugin.getAddonManager().getAddons(), plugin.getConfigHandler().getSectionBlacklist().getBlacklist(), Dimension.OVERWORLD);
     }
 }
@@ -0,0 +1,73 @@
+package me.darkeyedragon.randomtp.common.world.location.search;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers the chunks of every world that hold a queued location or were teleported to recently,
+ * so the searchers can keep new locations away from them. Players are spread over the world instead of ending up
+ * next to each other, which would concentrate the entities and ticking chunks in one place.
+ * <p>
+ * The chunks are kept in a primitive open addressing set per world, keyed by their coordinates packed into a long.
+ * Every chunk is forgotten once it was not used for a while. All methods can be called from any thread.
+ */
+public class RecentLocationIndex {
+
+    private static final int MAX_CHUNKS = 4096; //Per world, far more than the queues ever hold
+    private static final int MAX_RADIUS = 32;
+
+    private final Map<UUID, ExpiringChunkSet> worlds;
+    private final LongSupplier clock;
+    private volatile int radius; //0 means disabled
+    private volatile long decay;
+
+    /**
+     * @param clock the current time in milliseconds
+     */
+    public RecentLocationIndex(LongSupplier clock) {
+        this.worlds = new ConcurrentHashMap<>();
+        this.clock = clock;
+    }
+
+    /**
+     * Applies the settings of the config.
+     *
+     * @param radius the distance in chunks new locations are kept away from recent ones, 0 to disable
+     * @param decay  the time in milliseconds a chunk is remembered after it was last used
+     */
+    public synchronized void configure(int radius, long decay) {
+        this.radius = Math.max(0, Math.min(MAX_RADIUS, radius));
+        this.decay = Math.max(0, decay);
+        if (this.radius == 0 || this.decay == 0) {
+            worlds.clear();
+        }
+    }
+
+    /**
+     * Marks the chunk as used, or refreshes it when it already was.
+     *
+     * @param worldUUID the {@link UUID} of the world
+     * @param x         the X coordinate of the chunk
+     * @param z         the Z coordinate of the chunk
+     */
+    public void mark(UUID worldUUID, int x, int z) {
+        if (radius == 0 || decay == 0) return;
+        long now = clock.getAsLong();
+        worlds.computeIfAbsent(worldUUID, uuid -> new ExpiringChunkSet(MAX_CHUNKS)).add(ExpiringChunkSet.pack(x, z), now + decay, now);
+    }
+
+    /**
+     * @param worldUUID the {@link UUID} of the world
+     * @param x         the X coordinate of the chunk
+     * @param z         the Z coordinate of the chunk
+     * @return true if the chunk is within the radius of a chunk that was used recently
+     */
+    public boolean isNearRecent(UUID worldUUID, int x, int z) {
+        int r = radius;
+        if (r == 0) return false;
+        ExpiringChunkSet chunks = worlds.get(worldUUID);
+        return chunks != null && chunks.containsWithin(x - r, z - r, x + r, z + r, clock.getAsLong());
+    }
+}
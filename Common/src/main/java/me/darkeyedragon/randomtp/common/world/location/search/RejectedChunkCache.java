@@ -0,0 +1,118 @@
+package me.darkeyedragon.randomtp.common.world.location.search;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers the chunks of every world that were loaded but turned out to hold no safe location,
+ * so the searchers don't load them again. Every chunk is forgotten after a while, since the world can change.
+ * <p>
+ * The chunks are kept in a primitive open addressing set per world, keyed by their coordinates packed into a long.
+ * When a world reaches the maximum size, the expired chunks are dropped to make room, or a pseudo random chunk when none have expired.
+ * All methods can be called from any thread.
+ */
+public class RejectedChunkCache {
+
+    private final Map<UUID, ExpiringChunkSet> worlds;
+    private final LongSupplier clock;
+    private volatile int maxSize; //0 means disabled
+    private volatile long expiry;
+    private long configHash;
+
+    /**
+     * @param clock the current time in milliseconds since the epoch
+     */
+    public RejectedChunkCache(LongSupplier clock) {
+        this.worlds = new ConcurrentHashMap<>();
+        this.clock = clock;
+    }
+
+    /**
+     * Applies the settings of the config. The remembered chunks are forgotten when they were rejected under another config.
+     *
+     * @param maxSize    the maximum amount of chunks to remember per world, 0 to disable
+     * @param expiry     the time in milliseconds a chunk is remembered
+     * @param configHash the hash of the current config
+     */
+    public synchronized void configure(int maxSize, long expiry, long configHash) {
+        if (this.maxSize != maxSize || this.configHash != configHash) {
+            worlds.clear();
+        }
+        this.maxSize = Math.max(0, maxSize);
+        this.expiry = Math.max(0, expiry);
+        this.configHash = configHash;
+    }
+
+    /**
+     * @param worldUUID the {@link UUID} of the world
+     * @param x         the X coordinate of the chunk
+     * @param z         the Z coordinate of the chunk
+     * @return true if the chunk is known to hold no safe location
+     */
+    public boolean isRejected(UUID worldUUID, int x, int z) {
+        if (maxSize == 0) return false;
+        ExpiringChunkSet chunks = worlds.get(worldUUID);
+        return chunks != null && chunks.contains(ExpiringChunkSet.pack(x, z), clock.getAsLong());
+    }
+
+    /**
+     * @param worldUUID the {@link UUID} of the world
+     * @param x         the X coordinate of the chunk
+     * @param z         the Z coordinate of the chunk
+     */
+    public void reject(UUID worldUUID, int x, int z) {
+        int size = maxSize;
+        if (size == 0 || expiry == 0) return;
+        long now = clock.getAsLong();
+        worlds.computeIfAbsent(worldUUID, uuid -> new ExpiringChunkSet(size)).add(ExpiringChunkSet.pack(x, z), now + expiry, now);
+    }
+
+    /**
+     * Adds a chunk that was rejected before, for example in a previous run.
+     *
+     * @param worldUUID the {@link UUID} of the world
+     * @param chunk     the coordinates of the chunk packed into a long, X in the upper half
+     * @param expiresAt the time in milliseconds since the epoch at which the chunk is forgotten
+     */
+    public void restore(UUID worldUUID, long chunk, long expiresAt) {
+        int size = maxSize;
+        long now = clock.getAsLong();
+        if (size == 0 || expiresAt <= now) return;
+        worlds.computeIfAbsent(worldUUID, uuid -> new ExpiringChunkSet(size)).add(chunk, expiresAt, now);
+    }
+
+    /**
+     * @return the worlds that have rejected chunks, with their chunks and expiry times (chunk, expiry repeated)
+     */
+    public Map<UUID, long[]> snapshot() {
+        Map<UUID, long[]> snapshot = new HashMap<>();
+        long now = clock.getAsLong();
+        worlds.forEach((uuid, chunks) -> {
+            long[] entries = chunks.toArray(now);
+            if (entries.length > 0) {
+                snapshot.put(uuid, entries);
+            }
+        });
+        return snapshot;
+    }
+
+    /**
+     * @param worldUUID the {@link UUID} of the world
+     * @return the amount of chunks remembered for the world, including the ones that expired but were not cleaned up yet
+     */
+    public int size(UUID worldUUID) {
+        ExpiringChunkSet chunks = worlds.get(worldUUID);
+        return chunks == null ? 0 : chunks.size();
+    }
+
+    public boolean isEmpty() {
+        return worlds.isEmpty();
+    }
+
+    public void clear() {
+        worlds.clear();
+    }
+}
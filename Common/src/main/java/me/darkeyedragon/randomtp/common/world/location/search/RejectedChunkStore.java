@@ -0,0 +1,98 @@
+package me.darkeyedragon.randomtp.common.world.location.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Stores the {@link RejectedChunkCache} in a small binary file, so the rejected chunks survive restarts.
+ * The file is tied to the config it was written with. If the config changed in the meantime the chunks are given another chance.
+ * <p>
+ * Layout: magic, version, config hash, world count, then for every world its UUID, the amount of chunks and every packed chunk with its expiry time.
+ */
+public class RejectedChunkStore {
+
+    private static final int MAGIC = 0x52545052; //RTPR
+    private static final byte VERSION = 1;
+
+    private final Path path;
+
+    /**
+     * @param path the {@link Path} of the file to store the rejected chunks in
+     */
+    public RejectedChunkStore(Path path) {
+        this.path = path;
+    }
+
+    /**
+     * @param cache      the {@link RejectedChunkCache} to write to disk, replacing what was stored before
+     * @param configHash the hash of the config the chunks were rejected with
+     * @throws IOException when the file could not be written
+     */
+    public void save(RejectedChunkCache cache, long configHash) throws IOException {
+        Map<UUID, long[]> worlds = cache.snapshot();
+        if (worlds.isEmpty()) {
+            Files.deleteIfExists(path);
+            return;
+        }
+        Files.createDirectories(path.getParent());
+        Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(configHash);
+            out.writeInt(worlds.size());
+            for (Map.Entry<UUID, long[]> entry : worlds.entrySet()) {
+                UUID uuid = entry.getKey();
+                long[] chunks = entry.getValue();
+                out.writeLong(uuid.getMostSignificantBits());
+                out.writeLong(uuid.getLeastSignificantBits());
+                out.writeInt(chunks.length / 2);
+                for (long value : chunks) {
+                    out.writeLong(value);
+                }
+            }
+        }
+        Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Puts the stored chunks back in the cache. Chunks that expired while the server was down are skipped.
+     *
+     * @param cache      the {@link RejectedChunkCache} to fill
+     * @param configHash the hash of the current config
+     * @return the amount of chunks that were read, 0 if nothing is stored or it was written with a different config
+     * @throws IOException when the file could not be read
+     */
+    public int load(RejectedChunkCache cache, long configHash) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != MAGIC || in.readByte() != VERSION || in.readLong() != configHash) {
+                return 0;
+            }
+            int worldCount = in.readInt();
+            int total = 0;
+            for (int i = 0; i < worldCount; i++) {
+                UUID uuid = new UUID(in.readLong(), in.readLong());
+                int count = in.readInt();
+                if (count < 0) {
+                    throw new IOException("Corrupt rejected chunk file, negative chunk count for " + uuid);
+                }
+                for (int j = 0; j < count; j++) {
+                    cache.restore(uuid, in.readLong(), in.readLong());
+                }
+                total += count;
+            }
+            return total;
+        }
+    }
+}
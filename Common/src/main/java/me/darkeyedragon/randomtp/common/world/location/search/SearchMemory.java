@@ -0,0 +1,79 @@
+package me.darkeyedragon.randomtp.common.world.location.search;
+
+import me.darkeyedragon.randomtp.common.world.atlas.LocationAtlas;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Everything the searchers remember about the worlds between searches: the atlases, the rejected chunks, the acceptance rates,
+ * the recently used locations and the islands of End worlds. Every {@link me.darkeyedragon.randomtp.common.world.WorldHandler} owns one and hands it to its
+ * searchers, so nothing is shared between plugin instances. A new instance remembers nothing and is disabled until configured.
+ * All methods can be called from any thread.
+ */
+public class SearchMemory {
+
+    private final Map<UUID, LocationAtlas> atlases;
+    private final RejectedChunkCache rejectedChunkCache;
+    private final AcceptanceGrid acceptanceGrid;
+    private final RecentLocationIndex recentLocationIndex;
+    private final Map<UUID, EndIslandMask> islandMasks;
+
+    /**
+     * @param clock the current time in milliseconds, the remembered chunks expire by it
+     */
+    public SearchMemory(LongSupplier clock) {
+        this.atlases = new ConcurrentHashMap<>();
+        this.rejectedChunkCache = new RejectedChunkCache(clock);
+        this.acceptanceGrid = new AcceptanceGrid();
+        this.recentLocationIndex = new RecentLocationIndex(clock);
+        this.islandMasks = new ConcurrentHashMap<>();
+    }
+
+    public LocationAtlas registerAtlas(UUID worldUUID, LocationAtlas atlas) {
+        LocationAtlas previous = atlases.put(worldUUID, atlas);
+        //A mask created before the atlas was there still has to learn its islands
+        EndIslandMask islandMask = islandMasks.get(worldUUID);
+        if (islandMask != null) {
+            islandMask.addLand(atlas);
+        }
+        return previous;
+    }
+
+    public LocationAtlas getAtlas(UUID worldUUID) {
+        return atlases.get(worldUUID);
+    }
+
+    public LocationAtlas unregisterAtlas(UUID worldUUID) {
+        return atlases.remove(worldUUID);
+    }
+
+    public RejectedChunkCache getRejectedChunkCache() {
+        return rejectedChunkCache;
+    }
+
+    public AcceptanceGrid getAcceptanceGrid() {
+        return acceptanceGrid;
+    }
+
+    public RecentLocationIndex getRecentLocationIndex() {
+        return recentLocationIndex;
+    }
+
+    /**
+     * @param worldUUID the {@link UUID} of an End world
+     * @return the islands known in the world, created on first use and seeded with the chunks of its atlas
+     */
+    EndIslandMask getIslandMask(UUID worldUUID) {
+        return islandMasks.computeIfAbsent(worldUUID, uuid -> {
+            EndIslandMask islandMask = new EndIslandMask();
+            LocationAtlas atlas = atlases.get(uuid);
+            if (atlas != null) {
+                islandMask.addLand(atlas);
+            }
+            return islandMask;
+        });
+    }
+}
@@ -0,0 +1,121 @@
+package me.darkeyedragon.randomtp.common.world.atlas;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AnvilChunkSnapshotTest {
+
+    private static final String[] PALETTE = {"minecraft:air", "minecraft:stone", "minecraft:grass_block", "minecraft:water", "minecraft:unknown_block"};
+
+    /* A stone section at the bottom of the world, then a section with a layer of stone, a layer of grass with a pool and an unknown block */
+    private static Map<String, Object> surfaceChunk() {
+        int[] blocks = new int[4096];
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                blocks[AnvilFixtures.blockIndex(x, 0, z)] = 1;
+                blocks[AnvilFixtures.blockIndex(x, 1, z)] = 2;
+            }
+        }
+        blocks[AnvilFixtures.blockIndex(2, 1, 3)] = 3;
+        blocks[AnvilFixtures.blockIndex(5, 2, 5)] = 4;
+        return AnvilFixtures.chunk(6, -9, Arrays.asList(
+                AnvilFixtures.section(-4, new String[]{"minecraft:stone"}, null, "minecraft:plains"),
+                AnvilFixtures.section(-3, PALETTE, blocks, "minecraft:plains")));
+    }
+
+    @Test
+    void decodesTheBlocksOfEverySection() {
+        AnvilChunkSnapshot chunk = AnvilChunkSnapshot.decode(null, surfaceChunk(), AnvilFixtures.palette());
+        assertNotNull(chunk);
+        assertEquals(6, chunk.getX());
+        assertEquals(-9, chunk.getZ());
+        assertEquals("STONE", chunk.getBlockType(0, -64, 0).getType().getName());
+        assertEquals("STONE", chunk.getBlockType(15, -49, 15).getType().getName());
+        assertEquals("STONE", chunk.getBlockType(7, -48, 9).getType().getName());
+        assertEquals("GRASS_BLOCK", chunk.getBlockType(15, -47, 0).getType().getName());
+        assertEquals("WATER", chunk.getBlockType(2, -47, 3).getType().getName());
+        assertTrue(chunk.isLiquid(2, -47, 3));
+        assertTrue(chunk.isPassable(2, -47, 3));
+        assertFalse(chunk.isLiquid(3, -47, 2));
+        assertFalse(chunk.isPassable(3, -47, 2));
+        //Blocks the platform does not know and blocks above the stored sections are air
+        assertTrue(chunk.getBlockType(5, -46, 5).getType().isAir());
+        assertTrue(chunk.getBlockType(0, 100, 0).getType().isAir());
+        assertSame(AnvilFixtures.TestBiomeHandler.PLAINS, chunk.getBiome(0, -47, 0));
+        assertSame(AnvilFixtures.TestBiomeHandler.PLAINS, chunk.getBiome(0, 300, 0));
+    }
+
+    @Test
+    void tellsEmptyAndSolidSectionsApart() {
+        AnvilChunkSnapshot chunk = AnvilChunkSnapshot.decode(null, surfaceChunk(), AnvilFixtures.palette());
+        assertNotNull(chunk);
+        assertTrue(chunk.isSectionSolid(-4));
+        assertFalse(chunk.isSectionEmpty(-4));
+        assertFalse(chunk.isSectionSolid(-3));
+        assertFalse(chunk.isSectionEmpty(-3));
+        assertTrue(chunk.isSectionEmpty(-2));
+        assertFalse(chunk.isSectionSolid(-2));
+        assertTrue(chunk.isSectionEmpty(-5));
+        assertFalse(chunk.isSectionSolid(-5));
+    }
+
+    @Test
+    void computesTheHeightsWithoutAHeightmap() {
+        AnvilChunkSnapshot chunk = AnvilChunkSnapshot.decode(null, surfaceChunk(), AnvilFixtures.palette());
+        assertNotNull(chunk);
+        assertEquals(-47, chunk.getHighestBlockYAt(0, 0));
+        assertEquals(-47, chunk.getHighestBlockYAt(2, 3));
+        //The unknown block resolves to air, so it is not the surface
+        assertEquals(-47, chunk.getHighestBlockYAt(5, 5));
+    }
+
+    @Test
+    void readsTheHeightsFromTheHeightmap() {
+        Map<String, Object> root = surfaceChunk();
+        int[] heights = new int[256];
+        Arrays.fill(heights, 20);
+        heights[15 << 4 | 1] = 384;
+        root.put("Heightmaps", Collections.singletonMap("WORLD_SURFACE", AnvilFixtures.pack(heights, 9)));
+        AnvilChunkSnapshot chunk = AnvilChunkSnapshot.decode(null, root, AnvilFixtures.palette());
+        assertNotNull(chunk);
+        assertEquals(-45, chunk.getHighestBlockYAt(0, 0));
+        assertEquals(319, chunk.getHighestBlockYAt(1, 15));
+    }
+
+    @Test
+    void skipsChunksInAnOlderFormat() {
+        Map<String, Object> root = surfaceChunk();
+        root.put("DataVersion", AnvilChunkSnapshot.MIN_DATA_VERSION - 1);
+        assertNull(AnvilChunkSnapshot.decode(null, root, AnvilFixtures.palette()));
+        root.remove("DataVersion");
+        assertNull(AnvilChunkSnapshot.decode(null, root, AnvilFixtures.palette()));
+    }
+
+    @Test
+    void skipsChunksThatAreNotFullyGenerated() {
+        Map<String, Object> root = surfaceChunk();
+        root.put("Status", "minecraft:features");
+        assertNull(AnvilChunkSnapshot.decode(null, root, AnvilFixtures.palette()));
+        root.put("Status", "full");
+        assertNotNull(AnvilChunkSnapshot.decode(null, root, AnvilFixtures.palette()));
+    }
+
+    @Test
+    void skipsChunksWithoutBlocks() {
+        Map<String, Object> root = surfaceChunk();
+        root.put("sections", Collections.singletonList(Collections.singletonMap("Y", (byte) -5)));
+        assertNull(AnvilChunkSnapshot.decode(null, root, AnvilFixtures.palette()));
+        root.remove("sections");
+        assertNull(AnvilChunkSnapshot.decode(null, root, AnvilFixtures.palette()));
+    }
+}
@@ -0,0 +1,317 @@
+package me.darkeyedragon.randomtp.common.world.atlas;
+
+import me.darkeyedragon.randomtp.api.world.RandomBiome;
+import me.darkeyedragon.randomtp.api.world.RandomBiomeHandler;
+import me.darkeyedragon.randomtp.api.world.RandomMaterial;
+import me.darkeyedragon.randomtp.api.world.RandomMaterialHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes synthetic chunks and region files, so the tests don't depend on a world saved by a server.
+ */
+final class AnvilFixtures {
+
+    static final int GZIP = 1;
+    static final int ZLIB = 2;
+    static final int NONE = 3;
+    static final int EXTERNAL = 0x82;
+
+    private static final int SECTOR_SIZE = 4096;
+
+    private AnvilFixtures() {
+    }
+
+    static AtlasPalette palette() {
+        return new AtlasPalette(new TestMaterialHandler(), new TestBiomeHandler());
+    }
+
+    /**
+     * @param x        the X coordinate of the chunk
+     * @param z        the Z coordinate of the chunk
+     * @param sections the section compounds, made by {@link #section(int, String[], int[], String)}
+     * @return the root compound of a fully generated chunk
+     */
+    static Map<String, Object> chunk(int x, int z, List<Map<String, Object>> sections) {
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("DataVersion", AnvilChunkSnapshot.MIN_DATA_VERSION);
+        root.put("Status", "minecraft:full");
+        root.put("xPos", x);
+        root.put("zPos", z);
+        root.put("yPos", -4);
+        root.put("sections", new ArrayList<>(sections));
+        return root;
+    }
+
+    /**
+     * @param y       the section Y
+     * @param palette the namespaced block names
+     * @param blocks  the palette index of all 4096 blocks, ordered by y, z then x. Ignored for a single entry palette
+     * @param biome   the namespaced name of the only biome of the section
+     * @return the section compound
+     */
+    static Map<String, Object> section(int y, String[] palette, int[] blocks, String biome) {
+        List<Map<String, Object>> paletteList = new ArrayList<>();
+        for (String name : palette) {
+            paletteList.add(Collections.singletonMap("Name", name));
+        }
+        Map<String, Object> blockStates = new LinkedHashMap<>();
+        blockStates.put("palette", paletteList);
+        if (palette.length > 1) {
+            blockStates.put("data", pack(blocks, Math.max(4, 32 - Integer.numberOfLeadingZeros(palette.length - 1))));
+        }
+        Map<String, Object> section = new LinkedHashMap<>();
+        section.put("Y", (byte) y);
+        section.put("block_states", blockStates);
+        section.put("biomes", Collections.singletonMap("palette", Collections.singletonList(biome)));
+        return section;
+    }
+
+    /* Entries never span two longs, the same packing the game uses since 1.16 */
+    static long[] pack(int[] values, int bits) {
+        int perLong = 64 / bits;
+        long[] data = new long[(values.length + perLong - 1) / perLong];
+        for (int i = 0; i < values.length; i++) {
+            data[i / perLong] |= (long) values[i] << (i % perLong) * bits;
+        }
+        return data;
+    }
+
+    static int blockIndex(int x, int y, int z) {
+        return y << 8 | z << 4 | x;
+    }
+
+    static byte[] writeNbt(Map<String, Object> root) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(10);
+            out.writeUTF("");
+            writePayload(out, root);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @param path        the region file to write, named like r.x.z.mca
+     * @param chunks      the root compound of every chunk, keyed by its index within the region (x + z * 32)
+     * @param compression the compression type of every chunk
+     */
+    static void writeRegion(Path path, Map<Integer, Map<String, Object>> chunks, int compression) throws IOException {
+        ByteArrayOutputStream sectors = new ByteArrayOutputStream();
+        int[] locations = new int[RegionFile.CHUNKS * RegionFile.CHUNKS];
+        int sector = 2;
+        for (Map.Entry<Integer, Map<String, Object>> entry : chunks.entrySet()) {
+            byte[] data = compress(writeNbt(entry.getValue()), compression);
+            ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(chunk);
+            out.writeInt(data.length + 1);
+            out.writeByte(compression);
+            out.write(data);
+            int count = (chunk.size() + SECTOR_SIZE - 1) / SECTOR_SIZE;
+            chunk.write(new byte[count * SECTOR_SIZE - chunk.size()]);
+            chunk.writeTo(sectors);
+            locations[entry.getKey()] = sector << 8 | count;
+            sector += count;
+        }
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(path))) {
+            for (int location : locations) {
+                out.writeInt(location);
+            }
+            out.write(new byte[SECTOR_SIZE]); //Timestamps
+            sectors.writeTo(out);
+        }
+    }
+
+    private static byte[] compress(byte[] data, int compression) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        OutputStream out;
+        switch (compression) {
+            case GZIP:
+                out = new GZIPOutputStream(bytes);
+                break;
+            case ZLIB:
+                out = new DeflaterOutputStream(bytes);
+                break;
+            default:
+                out = bytes;
+        }
+        out.write(data);
+        out.close();
+        return bytes.toByteArray();
+    }
+
+    private static void writePayload(DataOutput out, Object value) throws IOException {
+        if (value instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                out.writeByte(typeOf(entry.getValue()));
+                out.writeUTF((String) entry.getKey());
+                writePayload(out, entry.getValue());
+            }
+            out.writeByte(0);
+        } else if (value instanceof List) {
+            List<?> list = (List<?>) value;
+            out.writeByte(list.isEmpty() ? 0 : typeOf(list.get(0)));
+            out.writeInt(list.size());
+            for (Object element : list) {
+                writePayload(out, element);
+            }
+        } else if (value instanceof Byte) {
+            out.writeByte((Byte) value);
+        } else if (value instanceof Short) {
+            out.writeShort((Short) value);
+        } else if (value instanceof Integer) {
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeLong((Long) value);
+        } else if (value instanceof Float) {
+            out.writeFloat((Float) value);
+        } else if (value instanceof Double) {
+            out.writeDouble((Double) value);
+        } else if (value instanceof byte[]) {
+            out.writeInt(((byte[]) value).length);
+            out.write((byte[]) value);
+        } else if (value instanceof String) {
+            out.writeUTF((String) value);
+        } else if (value instanceof int[]) {
+            out.writeInt(((int[]) value).length);
+            for (int element : (int[]) value) {
+                out.writeInt(element);
+            }
+        } else if (value instanceof long[]) {
+            out.writeInt(((long[]) value).length);
+            for (long element : (long[]) value) {
+                out.writeLong(element);
+            }
+        } else {
+            throw new IllegalArgumentException("No tag for " + value);
+        }
+    }
+
+    private static int typeOf(Object value) {
+        if (value instanceof Byte) return 1;
+        if (value instanceof Short) return 2;
+        if (value instanceof Integer) return 3;
+        if (value instanceof Long) return 4;
+        if (value instanceof Float) return 5;
+        if (value instanceof Double) return 6;
+        if (value instanceof byte[]) return 7;
+        if (value instanceof String) return 8;
+        if (value instanceof List) return 9;
+        if (value instanceof Map) return 10;
+        if (value instanceof int[]) return 11;
+        if (value instanceof long[]) return 12;
+        throw new IllegalArgumentException("No tag for " + value);
+    }
+
+    static final class TestMaterial implements RandomMaterial {
+
+        private final String name;
+        private final boolean solid;
+        private final int id;
+
+        TestMaterial(String name, boolean solid, int id) {
+            this.name = name;
+            this.solid = solid;
+            this.id = id;
+        }
+
+        @Override
+        public boolean isSolid() {
+            return solid;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public boolean isAir() {
+            return name.equals("AIR");
+        }
+
+        @Override
+        public int getId() {
+            return id;
+        }
+    }
+
+    /* Knows a handful of blocks and throws for the rest, like the platforms do */
+    static final class TestMaterialHandler implements RandomMaterialHandler {
+
+        private final Map<String, RandomMaterial> materials = new LinkedHashMap<>();
+
+        TestMaterialHandler() {
+            add("AIR", false);
+            add("STONE", true);
+            add("GRASS_BLOCK", true);
+            add("WATER", false);
+        }
+
+        private void add(String name, boolean solid) {
+            materials.put(name, new TestMaterial(name, solid, materials.size()));
+        }
+
+        @Override
+        public RandomMaterial getMaterial(String materialName) {
+            RandomMaterial material = materials.get(materialName);
+            if (material == null) {
+                throw new IllegalArgumentException("Unknown material " + materialName);
+            }
+            return material;
+        }
+
+        @Override
+        public Set<RandomMaterial> getMaterials(Pattern pattern) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Set<RandomMaterial> getFromTag(String tagName) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    static final class TestBiomeHandler implements RandomBiomeHandler {
+
+        static final RandomBiome PLAINS = new RandomBiome() {
+            @Override
+            public String getName() {
+                return "PLAINS";
+            }
+
+            @Override
+            public int getId() {
+                return 0;
+            }
+        };
+
+        @Override
+        public RandomBiome getBiome(String biomeName) {
+            if (biomeName.equals("PLAINS")) {
+                return PLAINS;
+            }
+            throw new IllegalArgumentException("Unknown biome " + biomeName);
+        }
+
+        @Override
+        public Set<RandomBiome> getBiomes(Pattern pattern) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package me.darkeyedragon.randomtp.common.world.atlas;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AtlasStoreTest {
+
+    private static final UUID WORLD = UUID.fromString("6a1b3c5d-0000-4000-8000-000000000002");
+
+    @TempDir
+    Path folder;
+
+    private static LocationAtlas atlas(UUID worldUUID) {
+        LocationAtlas.Builder builder = new LocationAtlas.Builder();
+        builder.addChunk(-1875000, 1875000, new int[]{LocationAtlas.packColumn(0, -64, 15), LocationAtlas.packColumn(15, 319, 0)}, 2);
+        int[] columns = new int[256];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = LocationAtlas.packColumn(i, i - 64, i >> 4);
+        }
+        builder.addChunk(0, 0, columns, columns.length);
+        return builder.build(worldUUID);
+    }
+
+    @Test
+    void loadsWhatWasSaved() throws IOException {
+        AtlasStore store = new AtlasStore(folder);
+        LocationAtlas saved = atlas(WORLD);
+        store.save(saved);
+        assertTrue(Files.exists(folder.resolve("atlas").resolve(WORLD + ".atlas")));
+
+        LocationAtlas loaded = store.load(WORLD);
+        assertNotNull(loaded);
+        assertEquals(WORLD, loaded.getWorldUUID());
+        assertEquals(saved.getChunkCount(), loaded.getChunkCount());
+        assertEquals(saved.getColumnCount(), loaded.getColumnCount());
+        for (int chunk = 0; chunk < saved.getChunkCount(); chunk++) {
+            assertEquals(saved.getChunkX(chunk), loaded.getChunkX(chunk));
+            assertEquals(saved.getChunkZ(chunk), loaded.getChunkZ(chunk));
+            assertEquals(saved.getChunkStart(chunk), loaded.getChunkStart(chunk));
+        }
+        for (int column = 0; column < saved.getColumnCount(); column++) {
+            assertEquals(saved.getColumn(column), loaded.getColumn(column));
+        }
+    }
+
+    @Test
+    void replacesTheStoredAtlas() throws IOException {
+        AtlasStore store = new AtlasStore(folder);
+        store.save(atlas(WORLD));
+        LocationAtlas.Builder builder = new LocationAtlas.Builder();
+        builder.addChunk(7, 8, new int[]{LocationAtlas.packColumn(1, 2, 3)}, 1);
+        store.save(builder.build(WORLD));
+
+        LocationAtlas loaded = store.load(WORLD);
+        assertNotNull(loaded);
+        assertEquals(1, loaded.getChunkCount());
+        assertEquals(7, loaded.getChunkX(0));
+        assertFalse(Files.exists(folder.resolve("atlas").resolve(WORLD + ".atlas.tmp")));
+    }
+
+    @Test
+    void loadsNothingForOtherWorlds() throws IOException {
+        AtlasStore store = new AtlasStore(folder);
+        assertNull(store.load(WORLD));
+        store.save(atlas(WORLD));
+        UUID other = UUID.randomUUID();
+        assertNull(store.load(other));
+        //A file copied to the name of another world still holds the UUID of the first
+        Files.copy(folder.resolve("atlas").resolve(WORLD + ".atlas"), folder.resolve("atlas").resolve(other + ".atlas"));
+        assertNull(store.load(other));
+    }
+
+    @Test
+    void ignoresFilesOfAnotherFormat() throws IOException {
+        AtlasStore store = new AtlasStore(folder);
+        Files.createDirectories(folder.resolve("atlas"));
+        Files.write(folder.resolve("atlas").resolve(WORLD + ".atlas"), new byte[]{'R', 'T', 'P', 'Q', 1});
+        assertNull(store.load(WORLD));
+    }
+
+    @Test
+    void deletesTheStoredAtlas() throws IOException {
+        AtlasStore store = new AtlasStore(folder);
+        assertFalse(store.delete(WORLD));
+        store.save(atlas(WORLD));
+        assertTrue(store.delete(WORLD));
+        assertNull(store.load(WORLD));
+    }
+}
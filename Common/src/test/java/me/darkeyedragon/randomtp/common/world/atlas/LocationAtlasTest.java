@@ -0,0 +1,107 @@
+package me.darkeyedragon.randomtp.common.world.atlas;
+
+import me.darkeyedragon.randomtp.common.world.location.CommonLocation;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocationAtlasTest {
+
+    private static final UUID WORLD = UUID.fromString("6a1b3c5d-0000-4000-8000-000000000001");
+
+    /* Chunk 0,0 holds columns 0 and 1, chunk 10,-10 holds column 2 */
+    private static LocationAtlas atlas() {
+        LocationAtlas.Builder builder = new LocationAtlas.Builder();
+        builder.addChunk(0, 0, new int[]{LocationAtlas.packColumn(1, 64, 2), LocationAtlas.packColumn(15, -10, 15), 0}, 2);
+        builder.addChunk(5, 5, new int[0], 0);
+        builder.addChunk(10, -10, new int[]{LocationAtlas.packColumn(0, 319, 0)}, 1);
+        return builder.build(WORLD);
+    }
+
+    @Test
+    void keepsTheChunksThatHoldColumns() {
+        LocationAtlas atlas = atlas();
+        assertEquals(WORLD, atlas.getWorldUUID());
+        assertEquals(2, atlas.getChunkCount());
+        assertEquals(3, atlas.getColumnCount());
+        assertEquals(10, atlas.getChunkX(1));
+        assertEquals(-10, atlas.getChunkZ(1));
+    }
+
+    @Test
+    void unpacksTheLocationOfAColumn() {
+        LocationAtlas atlas = atlas();
+        assertLocation(1, 64, 2, atlas.getLocation(null, 0));
+        assertLocation(15, -10, 15, atlas.getLocation(null, 1));
+        assertLocation(160, 319, -160, atlas.getLocation(null, 2));
+    }
+
+    @Test
+    void picksOnlyWithinTheSearchArea() {
+        LocationAtlas atlas = atlas();
+        for (int i = 0; i < 100; i++) {
+            assertEquals(2, atlas.pick(10, -10, 0));
+            int column = atlas.pick(1, 1, 1);
+            assertTrue(column == 0 || column == 1, "Picked column " + column);
+        }
+        assertEquals(-1, atlas.pick(100, 100, 50));
+        assertEquals(-1, new LocationAtlas.Builder().build(WORLD).pick(0, 0, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void neverPicksAnInvalidatedColumn() {
+        LocationAtlas atlas = atlas();
+        atlas.invalidate(0);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(1, atlas.pick(0, 0, 0));
+        }
+        atlas.invalidate(1);
+        assertEquals(-1, atlas.pick(0, 0, 0));
+        assertEquals(2, atlas.pick(10, -10, 0));
+    }
+
+    @Test
+    void invalidatesColumnsPastTheFirstWord() {
+        int[] columns = new int[200];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = LocationAtlas.packColumn(i & 15, i, i >> 4);
+        }
+        LocationAtlas.Builder builder = new LocationAtlas.Builder();
+        builder.addChunk(0, 0, columns, columns.length);
+        LocationAtlas atlas = builder.build(WORLD);
+        for (int column = 0; column < columns.length; column++) {
+            if (column != 130) {
+                atlas.invalidate(column);
+            }
+        }
+        assertEquals(130, atlas.pick(0, 0, 0));
+        atlas.invalidate(130);
+        assertEquals(-1, atlas.pick(0, 0, 0));
+    }
+
+    @Test
+    void mergesBuilders() {
+        LocationAtlas.Builder first = new LocationAtlas.Builder();
+        first.addChunk(1, 2, new int[]{LocationAtlas.packColumn(3, 4, 5)}, 1);
+        LocationAtlas.Builder second = new LocationAtlas.Builder();
+        for (int chunk = 0; chunk < 100; chunk++) {
+            second.addChunk(chunk, -chunk, new int[]{LocationAtlas.packColumn(chunk, chunk, chunk), 1}, 2);
+        }
+        first.addAll(second);
+        LocationAtlas atlas = first.build(WORLD);
+        assertEquals(101, atlas.getChunkCount());
+        assertEquals(201, atlas.getColumnCount());
+        assertEquals(99, atlas.getChunkX(100));
+        assertEquals(-99, atlas.getChunkZ(100));
+        assertLocation(99 * 16 + 3, 99, -99 * 16 + 3, atlas.getLocation(null, 199));
+    }
+
+    private static void assertLocation(int x, int y, int z, CommonLocation location) {
+        assertEquals(x, location.getBlockX());
+        assertEquals(y, location.getBlockY());
+        assertEquals(z, location.getBlockZ());
+    }
+}
@@ -0,0 +1,120 @@
+package me.darkeyedragon.randomtp.common.world.atlas;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NbtReaderTest {
+
+    private static Map<String, Object> read(byte[] bytes) throws IOException {
+        return NbtReader.read(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+
+    @Test
+    void readsEveryTagType() throws IOException {
+        Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("Name", "minecraft:stone");
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("byte", (byte) -1);
+        root.put("short", Short.MIN_VALUE);
+        root.put("int", Integer.MAX_VALUE);
+        root.put("long", Long.MIN_VALUE);
+        root.put("float", 1.5f);
+        root.put("double", -2.25d);
+        root.put("bytes", new byte[]{1, 2, 3});
+        root.put("string", "héllo");
+        root.put("compounds", Arrays.asList(nested, Collections.emptyMap()));
+        root.put("empty", Collections.emptyList());
+        root.put("compound", nested);
+        root.put("ints", new int[]{-1, 0, 1});
+        root.put("longs", new long[]{Long.MAX_VALUE, 0L});
+
+        Map<String, Object> read = read(AnvilFixtures.writeNbt(root));
+
+        assertEquals((byte) -1, read.get("byte"));
+        assertEquals(Short.MIN_VALUE, read.get("short"));
+        assertEquals(Integer.MAX_VALUE, read.get("int"));
+        assertEquals(Long.MIN_VALUE, read.get("long"));
+        assertEquals(1.5f, read.get("float"));
+        assertEquals(-2.25d, read.get("double"));
+        assertArrayEquals(new byte[]{1, 2, 3}, (byte[]) read.get("bytes"));
+        assertEquals("héllo", read.get("string"));
+        List<?> compounds = (List<?>) read.get("compounds");
+        assertEquals(2, compounds.size());
+        assertEquals(nested, compounds.get(0));
+        assertEquals(Collections.emptyMap(), compounds.get(1));
+        assertEquals(Collections.emptyList(), read.get("empty"));
+        assertEquals(nested, read.get("compound"));
+        assertArrayEquals(new int[]{-1, 0, 1}, (int[]) read.get("ints"));
+        assertArrayEquals(new long[]{Long.MAX_VALUE, 0L}, (long[]) read.get("longs"));
+        assertEquals(root.size(), read.size());
+    }
+
+    @Test
+    void readsAnEmptyRoot() throws IOException {
+        assertTrue(read(AnvilFixtures.writeNbt(Collections.emptyMap())).isEmpty());
+    }
+
+    @Test
+    void rejectsARootThatIsNotACompound() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(8);
+        out.writeUTF("");
+        out.writeUTF("string");
+        assertThrows(IOException.class, () -> read(bytes.toByteArray()));
+    }
+
+    @Test
+    void rejectsANegativeLength() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(10);
+        out.writeUTF("");
+        out.writeByte(12);
+        out.writeUTF("longs");
+        out.writeInt(-1);
+        assertThrows(IOException.class, () -> read(bytes.toByteArray()));
+    }
+
+    @Test
+    void rejectsAnUnknownTag() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(10);
+        out.writeUTF("");
+        out.writeByte(13);
+        out.writeUTF("unknown");
+        assertThrows(IOException.class, () -> read(bytes.toByteArray()));
+    }
+
+    @Test
+    void rejectsTruncatedData() throws IOException {
+        byte[] bytes = AnvilFixtures.writeNbt(Collections.singletonMap("longs", new long[]{1, 2, 3}));
+        assertThrows(IOException.class, () -> read(Arrays.copyOf(bytes, bytes.length - 9)));
+    }
+
+    @Test
+    void rejectsNestingDeeperThanTheGame() throws IOException {
+        Map<String, Object> root = Collections.emptyMap();
+        for (int depth = 0; depth < 600; depth++) {
+            root = Collections.singletonMap("child", root);
+        }
+        byte[] bytes = AnvilFixtures.writeNbt(root);
+        assertThrows(IOException.class, () -> read(bytes));
+    }
+}
@@ -0,0 +1,115 @@
+package me.darkeyedragon.randomtp.common.world.atlas;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RegionFileTest {
+
+    @TempDir
+    Path folder;
+
+    private static int index(int localX, int localZ) {
+        return localX + localZ * RegionFile.CHUNKS;
+    }
+
+    private static Map<String, Object> chunk(int x, int z) {
+        return AnvilFixtures.chunk(x, z, Collections.singletonList(
+                AnvilFixtures.section(-4, new String[]{"minecraft:stone"}, null, "minecraft:plains")));
+    }
+
+    private void readsChunksWith(int compression) throws IOException {
+        Path path = folder.resolve("r.-1.2.mca");
+        Map<Integer, Map<String, Object>> chunks = new LinkedHashMap<>();
+        chunks.put(index(0, 0), chunk(-32, 64));
+        chunks.put(index(31, 31), chunk(-1, 95));
+        AnvilFixtures.writeRegion(path, chunks, compression);
+
+        RegionFile region = RegionFile.open(path);
+        assertNotNull(region);
+        assertEquals(-1, region.getRegionX());
+        assertEquals(2, region.getRegionZ());
+        assertEquals(-32, region.readChunk(0, 0).get("xPos"));
+        assertEquals(95, region.readChunk(31, 31).get("zPos"));
+        assertNull(region.readChunk(1, 0));
+        assertNull(region.readChunk(0, 31));
+    }
+
+    @Test
+    void readsZlibChunks() throws IOException {
+        readsChunksWith(AnvilFixtures.ZLIB);
+    }
+
+    @Test
+    void readsGzipChunks() throws IOException {
+        readsChunksWith(AnvilFixtures.GZIP);
+    }
+
+    @Test
+    void readsUncompressedChunks() throws IOException {
+        readsChunksWith(AnvilFixtures.NONE);
+    }
+
+    @Test
+    void skipsExternalChunks() throws IOException {
+        Path path = folder.resolve("r.0.0.mca");
+        AnvilFixtures.writeRegion(path, Collections.singletonMap(index(4, 5), chunk(4, 5)), AnvilFixtures.EXTERNAL);
+        assertNull(RegionFile.open(path).readChunk(4, 5));
+    }
+
+    @Test
+    void decodesTheChunksItReads() throws IOException {
+        Path path = folder.resolve("r.0.0.mca");
+        AnvilFixtures.writeRegion(path, Collections.singletonMap(index(3, 7), chunk(3, 7)), AnvilFixtures.ZLIB);
+        AnvilChunkSnapshot chunk = AnvilChunkSnapshot.decode(null, RegionFile.open(path).readChunk(3, 7), AnvilFixtures.palette());
+        assertNotNull(chunk);
+        assertEquals(3, chunk.getX());
+        assertEquals(7, chunk.getZ());
+        assertEquals("STONE", chunk.getBlockType(15, -64, 15).getType().getName());
+    }
+
+    @Test
+    void ignoresFilesThatAreNotRegions() throws IOException {
+        Path level = folder.resolve("level.dat");
+        Files.write(level, new byte[8192]);
+        assertNull(RegionFile.open(level));
+        Path tooSmall = folder.resolve("r.0.0.mca");
+        Files.write(tooSmall, new byte[8191]);
+        assertNull(RegionFile.open(tooSmall));
+    }
+
+    @Test
+    void rejectsChunksPastTheEndOfTheFile() throws IOException {
+        Path path = folder.resolve("r.0.0.mca");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(path))) {
+            out.writeInt(5 << 8 | 1);
+            out.write(new byte[8192 - 4]);
+        }
+        assertThrows(IOException.class, () -> RegionFile.open(path).readChunk(0, 0));
+    }
+
+    @Test
+    void rejectsAnInvalidLength() throws IOException {
+        Path path = folder.resolve("r.0.0.mca");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(path))) {
+            out.writeInt(2 << 8 | 1);
+            out.write(new byte[8192 - 4]);
+            out.writeInt(4096);
+            out.writeByte(AnvilFixtures.ZLIB);
+            out.write(new byte[4096 - 5]);
+        }
+        assertThrows(IOException.class, () -> RegionFile.open(path).readChunk(0, 0));
+    }
+}
@@ -0,0 +1,154 @@
+package me.darkeyedragon.randomtp.common.world.location.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExpiringChunkSetTest {
+
+    @Test
+    void packsNegativeCoordinatesWithoutOverlap() {
+        assertEquals(0xFFFFFFFFL, ExpiringChunkSet.pack(0, -1));
+        assertEquals(-1L, ExpiringChunkSet.pack(-1, -1));
+        assertEquals(0xFFFFFFFF00000000L, ExpiringChunkSet.pack(-1, 0));
+        Set<Long> keys = new HashSet<>();
+        int[] coordinates = {Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE};
+        for (int x : coordinates) {
+            for (int z : coordinates) {
+                assertTrue(keys.add(ExpiringChunkSet.pack(x, z)));
+            }
+        }
+    }
+
+    @Test
+    void containsAChunkUntilItExpires() {
+        ExpiringChunkSet chunks = new ExpiringChunkSet(10);
+        long key = ExpiringChunkSet.pack(3, -4);
+        chunks.add(key, 100, 0);
+        assertTrue(chunks.contains(key, 0));
+        assertTrue(chunks.contains(key, 99));
+        assertFalse(chunks.contains(ExpiringChunkSet.pack(-4, 3), 0));
+        assertFalse(chunks.contains(key, 100));
+        //The expired chunk was dropped by the lookup
+        assertEquals(0, chunks.size());
+    }
+
+    @Test
+    void keepsTheLatestExpiry() {
+        ExpiringChunkSet chunks = new ExpiringChunkSet(10);
+        long key = ExpiringChunkSet.pack(1, 1);
+        chunks.add(key, 100, 0);
+        chunks.add(key, 50, 10);
+        assertEquals(1, chunks.size());
+        assertTrue(chunks.contains(key, 75));
+        chunks.add(key, 200, 20);
+        assertTrue(chunks.contains(key, 150));
+    }
+
+    @Test
+    void dropsExpiredChunksBeforeLiveOnes() {
+        ExpiringChunkSet chunks = new ExpiringChunkSet(4);
+        chunks.add(ExpiringChunkSet.pack(0, 0), 10, 0);
+        chunks.add(ExpiringChunkSet.pack(0, 1), 10, 0);
+        chunks.add(ExpiringChunkSet.pack(0, 2), 100, 0);
+        chunks.add(ExpiringChunkSet.pack(0, 3), 100, 0);
+        chunks.add(ExpiringChunkSet.pack(0, 4), 100, 20);
+        assertEquals(3, chunks.size());
+        for (int z = 2; z <= 4; z++) {
+            assertTrue(chunks.contains(ExpiringChunkSet.pack(0, z), 20));
+        }
+    }
+
+    @Test
+    void forgetsALiveChunkWhenNoneExpired() {
+        ExpiringChunkSet chunks = new ExpiringChunkSet(4);
+        for (int z = 0; z < 4; z++) {
+            chunks.add(ExpiringChunkSet.pack(0, z), 100, 0);
+        }
+        chunks.add(ExpiringChunkSet.pack(0, 4), 100, 0);
+        assertEquals(4, chunks.size());
+        assertTrue(chunks.contains(ExpiringChunkSet.pack(0, 4), 0));
+        int kept = 0;
+        for (int z = 0; z < 4; z++) {
+            if (chunks.contains(ExpiringChunkSet.pack(0, z), 0)) {
+                kept++;
+            }
+        }
+        assertEquals(3, kept);
+    }
+
+    @Test
+    void neverGrowsPastTheMaximum() {
+        ExpiringChunkSet chunks = new ExpiringChunkSet(500);
+        for (int i = 0; i < 10000; i++) {
+            chunks.add(ExpiringChunkSet.pack(i, -i), Long.MAX_VALUE, i);
+            assertTrue(chunks.size() <= 500);
+        }
+        assertEquals(500, chunks.size());
+        assertTrue(chunks.contains(ExpiringChunkSet.pack(9999, -9999), 0));
+    }
+
+    @Test
+    void findsEveryChunkAfterRemovals() {
+        ExpiringChunkSet chunks = new ExpiringChunkSet(10000);
+        for (int x = -20; x < 20; x++) {
+            for (int z = -20; z < 20; z++) {
+                chunks.add(ExpiringChunkSet.pack(x, z), (x + z & 1) == 0 ? 10 : 1000, 0);
+            }
+        }
+        assertEquals(1600, chunks.size());
+        //Every lookup of an expired chunk removes it and shifts the chunks after it back
+        for (int x = -20; x < 20; x++) {
+            for (int z = -20; z < 20; z++) {
+                assertEquals((x + z & 1) != 0, chunks.contains(ExpiringChunkSet.pack(x, z), 10));
+            }
+        }
+        assertEquals(800, chunks.size());
+        for (int x = -20; x < 20; x++) {
+            for (int z = -20; z < 20; z++) {
+                assertEquals((x + z & 1) != 0, chunks.contains(ExpiringChunkSet.pack(x, z), 10), "Chunk " + x + "," + z);
+            }
+        }
+    }
+
+    @Test
+    void looksWithinSquares() {
+        ExpiringChunkSet chunks = new ExpiringChunkSet(100);
+        assertFalse(chunks.containsWithin(-10, -10, 10, 10, 0));
+        chunks.add(ExpiringChunkSet.pack(5, -5), 100, 0);
+        assertTrue(chunks.containsWithin(5, -5, 5, -5, 0));
+        assertTrue(chunks.containsWithin(4, -6, 6, -4, 0));
+        assertFalse(chunks.containsWithin(6, -4, 10, 0, 0));
+        //Squares larger than the table walk the entries instead
+        assertTrue(chunks.containsWithin(-1000, -1000, 1000, 1000, 0));
+        assertFalse(chunks.containsWithin(-1000, 0, 1000, 1000, 0));
+        assertTrue(chunks.containsWithin(Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, 0));
+        assertFalse(chunks.containsWithin(4, -6, 6, -4, 100));
+        assertFalse(chunks.containsWithin(-1000, -1000, 1000, 1000, 100));
+    }
+
+    @Test
+    void looksWithinSquaresAtTheEdgeOfTheCoordinates() {
+        ExpiringChunkSet chunks = new ExpiringChunkSet(100);
+        chunks.add(ExpiringChunkSet.pack(Integer.MAX_VALUE, Integer.MIN_VALUE), 100, 0);
+        assertTrue(chunks.containsWithin(Integer.MAX_VALUE - 1, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE + 1, 0));
+        assertFalse(chunks.containsWithin(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, 0));
+        assertTrue(chunks.containsWithin(0, Integer.MIN_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, 0));
+    }
+
+    @Test
+    void copiesTheLiveChunksWithTheirExpiry() {
+        ExpiringChunkSet chunks = new ExpiringChunkSet(10);
+        assertArrayEquals(new long[0], chunks.toArray(0));
+        chunks.add(ExpiringChunkSet.pack(1, 2), 50, 0);
+        chunks.add(ExpiringChunkSet.pack(3, 4), 150, 0);
+        assertArrayEquals(new long[]{ExpiringChunkSet.pack(3, 4), 150}, chunks.toArray(100));
+        assertEquals(4, chunks.toArray(0).length);
+    }
+}
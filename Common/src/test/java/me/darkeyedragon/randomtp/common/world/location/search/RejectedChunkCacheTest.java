@@ -0,0 +1,122 @@
+package me.darkeyedragon.randomtp.common.world.location.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RejectedChunkCacheTest {
+
+    private static final UUID WORLD = UUID.fromString("6a1b3c5d-0000-4000-8000-000000000003");
+    private static final UUID OTHER_WORLD = UUID.fromString("6a1b3c5d-0000-4000-8000-000000000004");
+
+    private final AtomicLong time = new AtomicLong(1_000_000);
+
+    private RejectedChunkCache cache(int maxSize, long expiry) {
+        RejectedChunkCache cache = new RejectedChunkCache(time::get);
+        cache.configure(maxSize, expiry, 1);
+        return cache;
+    }
+
+    @Test
+    void remembersNothingUntilConfigured() {
+        RejectedChunkCache cache = new RejectedChunkCache(time::get);
+        cache.reject(WORLD, 1, 2);
+        assertFalse(cache.isRejected(WORLD, 1, 2));
+        assertTrue(cache.isEmpty());
+    }
+
+    @Test
+    void remembersNothingWithoutAnExpiry() {
+        RejectedChunkCache cache = cache(100, 0);
+        cache.reject(WORLD, 1, 2);
+        assertFalse(cache.isRejected(WORLD, 1, 2));
+        assertTrue(cache.isEmpty());
+    }
+
+    @Test
+    void remembersChunksPerWorldUntilTheyExpire() {
+        RejectedChunkCache cache = cache(100, 1000);
+        cache.reject(WORLD, 1, -2);
+        assertTrue(cache.isRejected(WORLD, 1, -2));
+        assertFalse(cache.isRejected(WORLD, -2, 1));
+        assertFalse(cache.isRejected(OTHER_WORLD, 1, -2));
+        assertEquals(1, cache.size(WORLD));
+        assertEquals(0, cache.size(OTHER_WORLD));
+        time.addAndGet(999);
+        assertTrue(cache.isRejected(WORLD, 1, -2));
+        time.addAndGet(1);
+        assertFalse(cache.isRejected(WORLD, 1, -2));
+    }
+
+    @Test
+    void keepsAtMostTheMaximumPerWorld() {
+        RejectedChunkCache cache = cache(10, 1000);
+        for (int x = 0; x < 100; x++) {
+            cache.reject(WORLD, x, 0);
+            cache.reject(OTHER_WORLD, x, 0);
+        }
+        assertEquals(10, cache.size(WORLD));
+        assertEquals(10, cache.size(OTHER_WORLD));
+        assertTrue(cache.isRejected(WORLD, 99, 0));
+    }
+
+    @Test
+    void forgetsChunksRejectedUnderAnotherConfig() {
+        RejectedChunkCache cache = cache(100, 1000);
+        cache.reject(WORLD, 1, 2);
+        cache.configure(100, 5000, 1);
+        assertTrue(cache.isRejected(WORLD, 1, 2));
+        cache.configure(100, 5000, 2);
+        assertFalse(cache.isRejected(WORLD, 1, 2));
+        cache.reject(WORLD, 1, 2);
+        cache.configure(50, 5000, 2);
+        assertFalse(cache.isRejected(WORLD, 1, 2));
+        cache.reject(WORLD, 1, 2);
+        cache.configure(0, 5000, 2);
+        assertFalse(cache.isRejected(WORLD, 1, 2));
+        assertTrue(cache.isEmpty());
+    }
+
+    @Test
+    void restoresWhatWasStored() {
+        RejectedChunkCache cache = cache(100, 1000);
+        cache.reject(WORLD, 1, 2);
+        time.addAndGet(500);
+        cache.reject(WORLD, -3, 4);
+        cache.reject(OTHER_WORLD, 5, 6);
+        Map<UUID, long[]> snapshot = cache.snapshot();
+        assertEquals(2, snapshot.size());
+        assertEquals(4, snapshot.get(WORLD).length);
+        assertArrayEquals(new long[]{ExpiringChunkSet.pack(5, 6), time.get() + 1000}, snapshot.get(OTHER_WORLD));
+
+        RejectedChunkCache restored = cache(100, 1000);
+        time.addAndGet(600);
+        snapshot.forEach((uuid, entries) -> {
+            for (int i = 0; i < entries.length; i += 2) {
+                restored.restore(uuid, entries[i], entries[i + 1]);
+            }
+        });
+        //The chunk rejected first expired while the server was down
+        assertFalse(restored.isRejected(WORLD, 1, 2));
+        assertEquals(1, restored.size(WORLD));
+        assertTrue(restored.isRejected(WORLD, -3, 4));
+        assertTrue(restored.isRejected(OTHER_WORLD, 5, 6));
+    }
+
+    @Test
+    void leavesExpiredWorldsOutOfTheSnapshot() {
+        RejectedChunkCache cache = cache(100, 1000);
+        cache.reject(WORLD, 1, 2);
+        time.addAndGet(1000);
+        assertTrue(cache.snapshot().isEmpty());
+        cache.clear();
+        assertTrue(cache.isEmpty());
+    }
+}
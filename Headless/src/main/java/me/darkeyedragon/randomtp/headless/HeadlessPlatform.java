@@ -0,0 +1,307 @@
+package me.darkeyedragon.randomtp.headless;
+
+import me.darkeyedragon.randomtp.api.addon.AddonPlugin;
+import me.darkeyedragon.randomtp.api.config.RandomConfigHandler;
+import me.darkeyedragon.randomtp.api.config.section.SectionBlacklist;
+import me.darkeyedragon.randomtp.api.eco.EcoHandler;
+import me.darkeyedragon.randomtp.api.failsafe.DeathTracker;
+import me.darkeyedragon.randomtp.api.metric.Metric;
+import me.darkeyedragon.randomtp.api.metric.SearchMetrics;
+import me.darkeyedragon.randomtp.api.plugin.Platform;
+import me.darkeyedragon.randomtp.api.teleport.PendingTeleportHandler;
+import me.darkeyedragon.randomtp.api.world.RandomEnvironment;
+import me.darkeyedragon.randomtp.api.world.RandomMaterialHandler;
+import me.darkeyedragon.randomtp.common.addon.AddonManager;
+import me.darkeyedragon.randomtp.common.command.RandomTeleportCommand;
+import me.darkeyedragon.randomtp.common.config.CommonConfigHandler;
+import me.darkeyedragon.randomtp.common.config.datatype.Blacklist;
+import me.darkeyedragon.randomtp.common.config.section.CommonSectionBlacklist;
+import me.darkeyedragon.randomtp.common.config.serializer.ConfigTypeSerializerCollection;
+import me.darkeyedragon.randomtp.common.failsafe.CommonDeathTracker;
+import me.darkeyedragon.randomtp.common.plugin.RandomTeleportPluginImpl;
+import me.darkeyedragon.randomtp.common.stat.BStats;
+import me.darkeyedragon.randomtp.common.stat.PrometheusExporter;
+import me.darkeyedragon.randomtp.common.teleport.CommonCooldownHandler;
+import me.darkeyedragon.randomtp.common.teleport.CommonPendingTeleportHandler;
+import me.darkeyedragon.randomtp.common.world.location.search.EndLocationSearcher;
+import me.darkeyedragon.randomtp.common.world.location.search.NetherLocationSearcher;
+import me.darkeyedragon.randomtp.common.world.location.search.OverworldLocationSearcher;
+import me.darkeyedragon.randomtp.headless.log.HeadlessLogger;
+import me.darkeyedragon.randomtp.headless.message.HeadlessMessageHandler;
+import me.darkeyedragon.randomtp.headless.player.HeadlessPlayerHandler;
+import me.darkeyedragon.randomtp.headless.scheduler.HeadlessScheduler;
+import me.darkeyedragon.randomtp.headless.world.HeadlessBiomeHandler;
+import me.darkeyedragon.randomtp.headless.world.HeadlessMaterialHandler;
+import me.darkeyedragon.randomtp.headless.world.HeadlessWorld;
+import me.darkeyedragon.randomtp.headless.world.HeadlessWorldHandler;
+import net.kyori.adventure.platform.AudienceProvider;
+import org.spongepowered.configurate.yaml.YamlConfigurationLoader;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Runs the common code without a Minecraft server.
+ * Time only moves when {@link HeadlessScheduler#tick()} is called, chunks come from {@link HeadlessWorld}s
+ * and players are simulated by the {@link HeadlessPlayerHandler}. There is no economy and there are no addons.
+ * <p>
+ * Call {@link #init()} to set everything up, add players and then {@link #start()} to populate the queues like a server does once it has loaded.
+ */
+public class HeadlessPlatform extends RandomTeleportPluginImpl {
+
+    public static final String OVERWORLD = "world";
+    public static final String NETHER = "world_nether";
+    public static final String END = "world_the_end";
+
+    private final File dataFolder;
+    private final long seed;
+    private final int minChunkLatency;
+    private final int maxChunkLatency;
+    private final SectionBlacklist sectionBlacklist;
+
+    private HeadlessLogger logger;
+    private Platform platform;
+    private AddonManager addonManager;
+    private RandomMaterialHandler materialHandler;
+    private HeadlessWorldHandler worldHandler;
+    private RandomConfigHandler configHandler;
+    private HeadlessScheduler scheduler;
+    private HeadlessPlayerHandler playerHandler;
+    private HeadlessMessageHandler messageHandler;
+    private DeathTracker deathTracker;
+    private CommonCooldownHandler cooldownHandler;
+    private PrometheusExporter prometheusExporter;
+    private PendingTeleportHandler pendingTeleportHandler;
+    private Metric metric;
+    private SearchMetrics searchMetrics;
+    private RandomTeleportCommand command;
+
+    /**
+     * @param dataFolder      the folder to keep the config and queue in
+     * @param seed            the seed of the worlds
+     * @param minChunkLatency the minimum time a chunk load takes in ticks
+     * @param maxChunkLatency the maximum time a chunk load takes in ticks
+     */
+    public HeadlessPlatform(File dataFolder, long seed, int minChunkLatency, int maxChunkLatency) {
+        this(dataFolder, seed, minChunkLatency, maxChunkLatency, null);
+    }
+
+    /**
+     * @param dataFolder      the folder to keep the config and queue in
+     * @param seed            the seed of the worlds
+     * @param minChunkLatency the minimum time a chunk load takes in ticks
+     * @param maxChunkLatency the maximum time a chunk load takes in ticks
+     * @param blacklist       the {@link Blacklist} to use instead of the one in the config, null to use the config
+     */
+    public HeadlessPlatform(File dataFolder, long seed, int minChunkLatency, int maxChunkLatency, Blacklist blacklist) {
+        this.dataFolder = dataFolder;
+        this.seed = seed;
+        this.minChunkLatency = minChunkLatency;
+        this.maxChunkLatency = maxChunkLatency;
+        this.sectionBlacklist = blacklist == null ? null : new CommonSectionBlacklist(blacklist);
+    }
+
+    public void init() {
+        logger = new HeadlessLogger();
+        platform = Platform.of("headless", "none", "Headless", "none");
+        logger.info(platform.toString());
+        addonManager = new AddonManager(this, logger);
+        materialHandler = new HeadlessMaterialHandler();
+        scheduler = new HeadlessScheduler();
+        worldHandler = new HeadlessWorldHandler(this, new HeadlessBiomeHandler());
+        worldHandler.addWorld(new HeadlessWorld(OVERWORLD, RandomEnvironment.OVERWORLD, seed, scheduler, minChunkLatency, maxChunkLatency));
+        worldHandler.addWorld(new HeadlessWorld(NETHER, RandomEnvironment.NETHER, seed, scheduler, minChunkLatency, maxChunkLatency));
+        worldHandler.addWorld(new HeadlessWorld(END, RandomEnvironment.THE_END, seed, scheduler, minChunkLatency, maxChunkLatency));
+        saveDefaultConfig();
+        YamlConfigurationLoader configLoader = YamlConfigurationLoader
+                .builder()
+                .path(getConfigPath())
+                .defaultOptions(
+                        configurationOptions -> configurationOptions.serializers(new ConfigTypeSerializerCollection(this).build())
+                )
+                .build();
+        configHandler = new CommonConfigHandler(this, configLoader) {
+            @Override
+            public SectionBlacklist getSectionBlacklist() {
+                return sectionBlacklist == null ? super.getSectionBlacklist() : sectionBlacklist;
+            }
+        };
+        configHandler.reload();
+        pendingTeleportHandler = new CommonPendingTeleportHandler();
+        playerHandler = new HeadlessPlayerHandler(pendingTeleportHandler);
+        messageHandler = new HeadlessMessageHandler(this);
+        deathTracker = new CommonDeathTracker(this);
+        cooldownHandler = new CommonCooldownHandler(this);
+        metric = new BStats();
+        searchMetrics = new SearchMetrics();
+        prometheusExporter = new PrometheusExporter(this, cooldownHandler);
+        worldHandler.registerLocationSearcher(RandomEnvironment.OVERWORLD, new OverworldLocationSearcher(this, worldHandler.getSearchMemory()));
+        worldHandler.registerLocationSearcher(RandomEnvironment.NETHER, new NetherLocationSearcher(this, worldHandler.getSearchMemory()));
+        worldHandler.registerLocationSearcher(RandomEnvironment.THE_END, new EndLocationSearcher(this, worldHandler.getSearchMemory()));
+        command = new RandomTeleportCommand(this);
+    }
+
+    /**
+     * Populates the queues of all worlds, loads the cooldowns and starts the metrics, what a server does once it finished loading.
+     */
+    public void start() {
+        cooldownHandler.start();
+        prometheusExporter.start();
+        worldHandler.populateWorldQueue();
+    }
+
+    /**
+     * Stores the queues and the cooldowns and stops the metrics, what a server does when it shuts down.
+     */
+    public void stop() {
+        worldHandler.saveWorldQueue();
+        cooldownHandler.save();
+        prometheusExporter.stop();
+    }
+
+    /* Copies the bundled config to the data folder, unless there already is one */
+    private void saveDefaultConfig() {
+        Path configPath = getConfigPath();
+        if (Files.exists(configPath)) return;
+        try (InputStream in = HeadlessPlatform.class.getResourceAsStream("/config.yml")) {
+            if (in == null) {
+                throw new IllegalStateException("The bundled config.yml is missing");
+            }
+            Files.createDirectories(configPath.getParent());
+            Files.copy(in, configPath);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not save the default config", e);
+        }
+    }
+
+    /**
+     * @return the /rtp command, call its methods to run it
+     */
+    public RandomTeleportCommand getCommand() {
+        return command;
+    }
+
+    @Override
+    public AddonPlugin getPlugin(String name) {
+        return null;
+    }
+
+    @Override
+    public HeadlessLogger getLogger() {
+        return logger;
+    }
+
+    @Override
+    public EcoHandler getEcoHandler() {
+        return null;
+    }
+
+    @Override
+    public boolean setupEconomy() {
+        return false;
+    }
+
+    @Override
+    public RandomConfigHandler getConfigHandler() {
+        return configHandler;
+    }
+
+    @Override
+    public HeadlessWorldHandler getWorldHandler() {
+        return worldHandler;
+    }
+
+    @Override
+    public DeathTracker getDeathTracker() {
+        return deathTracker;
+    }
+
+    @Override
+    public HeadlessPlatform getInstance() {
+        return this;
+    }
+
+    @Override
+    public File getDataFolder() {
+        return dataFolder;
+    }
+
+    @Override
+    public Path getConfigPath() {
+        return dataFolder.toPath().resolve("config.yml");
+    }
+
+    @Override
+    public boolean isPluginLoaded(String name) {
+        return false;
+    }
+
+    @Override
+    public AudienceProvider getAudience() {
+        throw new UnsupportedOperationException("There is no audience without a server, use the message handler");
+    }
+
+    @Override
+    public HeadlessMessageHandler getMessageHandler() {
+        return messageHandler;
+    }
+
+    @Override
+    public void reloadConfig() {
+        getConfigHandler().reload();
+    }
+
+    @Override
+    public HeadlessPlayerHandler getPlayerHandler() {
+        return playerHandler;
+    }
+
+    @Override
+    public Metric getStats() {
+        return metric;
+    }
+
+    @Override
+    public SearchMetrics getSearchMetrics() {
+        return searchMetrics;
+    }
+
+    @Override
+    public CommonCooldownHandler getCooldownHandler() {
+        return cooldownHandler;
+    }
+
+    @Override
+    public PendingTeleportHandler getPendingTeleportHandler() {
+        return pendingTeleportHandler;
+    }
+
+    @Override
+    public HeadlessScheduler getScheduler() {
+        return scheduler;
+    }
+
+    @Override
+    public AddonManager getAddonManager() {
+        return addonManager;
+    }
+
+    @Override
+    public RandomMaterialHandler getMaterialHandler() {
+        return materialHandler;
+    }
+
+    @Override
+    public boolean hasConsent() {
+        return false;
+    }
+
+    @Override
+    public Platform getPlatform() {
+        return platform;
+    }
+}
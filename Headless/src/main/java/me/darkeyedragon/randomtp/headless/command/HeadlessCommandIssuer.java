@@ -0,0 +1,67 @@
+package me.darkeyedragon.randomtp.headless.command;
+
+import co.aikar.commands.CommandIssuer;
+import co.aikar.commands.CommandManager;
+import me.darkeyedragon.randomtp.headless.player.HeadlessPlayer;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+
+/**
+ * Issues commands on behalf of a {@link HeadlessPlayer} or the console, without a command manager.
+ * Messages are sent through the message handler of the plugin, so anything sent here directly is dropped.
+ */
+public class HeadlessCommandIssuer implements CommandIssuer {
+
+    public static final HeadlessCommandIssuer CONSOLE = new HeadlessCommandIssuer(null);
+    private static final UUID CONSOLE_UUID = new UUID(0, 0);
+
+    private final HeadlessPlayer player;
+
+    private HeadlessCommandIssuer(HeadlessPlayer player) {
+        this.player = player;
+    }
+
+    /**
+     * @param player the {@link HeadlessPlayer} that issues the command
+     * @return a {@link HeadlessCommandIssuer} for the player
+     */
+    public static HeadlessCommandIssuer of(HeadlessPlayer player) {
+        return new HeadlessCommandIssuer(player);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T getIssuer() {
+        return (T) player;
+    }
+
+    @Override
+    public CommandManager getManager() {
+        return null;
+    }
+
+    @Override
+    public boolean isPlayer() {
+        return player != null;
+    }
+
+    @Override
+    public void sendMessage(String message) {
+        sendMessageInternal(message);
+    }
+
+    @Override
+    public @NotNull UUID getUniqueId() {
+        return player == null ? CONSOLE_UUID : player.getUniqueId();
+    }
+
+    @Override
+    public boolean hasPermission(String permission) {
+        return player == null || player.hasPermission(permission);
+    }
+
+    @Override
+    public void sendMessageInternal(String message) {
+    }
+}
@@ -0,0 +1,43 @@
+package me.darkeyedragon.randomtp.headless.log;
+
+import me.darkeyedragon.randomtp.api.logging.PluginLogger;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+
+import java.util.logging.Logger;
+
+public class HeadlessLogger implements PluginLogger {
+
+    private final Logger logger;
+
+    public HeadlessLogger() {
+        this.logger = Logger.getLogger("RandomTeleport");
+    }
+
+    @Override
+    public void info(String s) {
+        logger.info(PREFIX + s);
+    }
+
+    @Override
+    public void info(Component component) {
+        logger.info(PREFIX + PlainTextComponentSerializer.plainText().serialize(component));
+    }
+
+    @Override
+    public void warn(String s) {
+        logger.warning(PREFIX + s);
+    }
+
+    @Override
+    public void severe(String s) {
+        logger.severe(PREFIX + s);
+    }
+
+    /**
+     * @return the underlying {@link Logger}, to change the level of what is shown
+     */
+    public Logger getLogger() {
+        return logger;
+    }
+}
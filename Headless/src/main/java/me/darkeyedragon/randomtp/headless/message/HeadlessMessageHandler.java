@@ -0,0 +1,74 @@
+package me.darkeyedragon.randomtp.headless.message;
+
+import co.aikar.commands.CommandIssuer;
+import me.darkeyedragon.randomtp.api.message.MessageHandler;
+import me.darkeyedragon.randomtp.api.plugin.RandomTeleportPlugin;
+import me.darkeyedragon.randomtp.api.world.player.RandomPlayer;
+import me.darkeyedragon.randomtp.common.util.ComponentUtil;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.TextColor;
+
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+/**
+ * Hands every message to a listener instead of an audience, so a simulation can see what players would have been told.
+ * Debug messages go to the log.
+ */
+public class HeadlessMessageHandler implements MessageHandler {
+
+    private final RandomTeleportPlugin<?> plugin;
+    private volatile BiConsumer<UUID, Component> listener;
+
+    public HeadlessMessageHandler(RandomTeleportPlugin<?> plugin) {
+        this.plugin = plugin;
+        this.listener = (uuid, component) -> {
+        };
+    }
+
+    /**
+     * @param listener receives the UUID of the receiver, null for the console, and the message
+     */
+    public void setListener(BiConsumer<UUID, Component> listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void sendMessage(RandomPlayer randomPlayer, Component component) {
+        listener.accept(randomPlayer.getUniqueId(), component);
+    }
+
+    @Override
+    public void sendMessage(RandomPlayer randomPlayer, String message) {
+        sendMessage(randomPlayer, ComponentUtil.miniMessage.deserialize(message));
+    }
+
+    @Override
+    public void sendMessage(CommandIssuer commandIssuer, Component component) {
+        listener.accept(commandIssuer.isPlayer() ? commandIssuer.getUniqueId() : null, component);
+    }
+
+    @Override
+    public void sendMessage(CommandIssuer commandIssuer, String message) {
+        sendMessage(commandIssuer, ComponentUtil.miniMessage.deserialize(message));
+    }
+
+    @Override
+    public void sendDebugMessage(String message) {
+        if (isDebugEnabled()) {
+            sendDebugMessage(ComponentUtil.miniMessage.deserialize(message));
+        }
+    }
+
+    @Override
+    public void sendDebugMessage(Component message) {
+        if (isDebugEnabled()) {
+            plugin.getLogger().info(Component.text("DEBUG: ").color(TextColor.color(0xff0000)).append(message));
+        }
+    }
+
+    @Override
+    public boolean isDebugEnabled() {
+        return plugin.getConfigHandler().getSectionDebug().isShowSearchingMessages();
+    }
+}
@@ -0,0 +1,133 @@
+package me.darkeyedragon.randomtp.headless.player;
+
+import me.darkeyedragon.randomtp.api.teleport.RandomCooldown;
+import me.darkeyedragon.randomtp.api.teleport.TeleportResponse;
+import me.darkeyedragon.randomtp.api.teleport.TeleportType;
+import me.darkeyedragon.randomtp.api.world.RandomWorld;
+import me.darkeyedragon.randomtp.api.world.location.RandomLocation;
+import me.darkeyedragon.randomtp.api.world.player.RandomPlayer;
+import me.darkeyedragon.randomtp.common.teleport.BasicTeleportResponse;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A simulated player. It stands where it was last teleported to, unless it is moved with {@link #move(double, double, double)}.
+ */
+public class HeadlessPlayer implements RandomPlayer {
+
+    private static final double EYE_HEIGHT = 1.62;
+
+    private final HeadlessPlayerHandler playerHandler;
+    private final UUID uuid;
+    private final String name;
+    private final Set<String> permissions;
+    private volatile RandomLocation location;
+    private RandomCooldown cooldown;
+
+    HeadlessPlayer(HeadlessPlayerHandler playerHandler, UUID uuid, String name, RandomLocation location) {
+        this.playerHandler = playerHandler;
+        this.uuid = uuid;
+        this.name = name;
+        this.location = location;
+        this.permissions = Collections.synchronizedSet(new HashSet<>());
+    }
+
+    @Override
+    public UUID getUniqueId() {
+        return uuid;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public RandomLocation getLocation() {
+        return location.clone();
+    }
+
+    @Override
+    public RandomWorld getWorld() {
+        return location.getWorld();
+    }
+
+    @Override
+    public RandomLocation getEyeLocation() {
+        return location.add(0, EYE_HEIGHT, 0);
+    }
+
+    @Override
+    public CompletableFuture<TeleportResponse> teleportAsync(RandomLocation location) {
+        teleport(location);
+        return CompletableFuture.completedFuture(new BasicTeleportResponse(TeleportType.SUCCESS));
+    }
+
+    @Override
+    public void teleport(RandomLocation location) {
+        this.location = location.clone();
+        playerHandler.onTeleport(this, location);
+    }
+
+    /**
+     * Moves the player relative to where it stands, like walking would.
+     *
+     * @param x the distance to move along the X-axis
+     * @param y the distance to move along the Y-axis
+     * @param z the distance to move along the Z-axis
+     */
+    public void move(double x, double y, double z) {
+        location = location.add(x, y, z);
+        playerHandler.onMove(this, location);
+    }
+
+    @Override
+    public RandomCooldown getCooldown() {
+        return cooldown;
+    }
+
+    @Override
+    public void setCooldown(RandomCooldown cooldown) {
+        this.cooldown = cooldown;
+    }
+
+    /**
+     * @param permission the permission to grant, * grants all of them
+     */
+    public void addPermission(String permission) {
+        permissions.add(permission);
+    }
+
+    public void removePermission(String permission) {
+        permissions.remove(permission);
+    }
+
+    @Override
+    public boolean hasPermission(String permission) {
+        return permissions.contains(permission) || permissions.contains("*");
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) return true;
+        if (!(object instanceof HeadlessPlayer)) return false;
+        return uuid.equals(((HeadlessPlayer) object).uuid);
+    }
+
+    @Override
+    public int hashCode() {
+        return uuid.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "HeadlessPlayer{" +
+                "name=" + name +
+                ", location=" + location +
+                '}';
+    }
+}
@@ -0,0 +1,89 @@
+package me.darkeyedragon.randomtp.headless.player;
+
+import me.darkeyedragon.randomtp.api.teleport.PendingTeleportHandler;
+import me.darkeyedragon.randomtp.api.world.PlayerHandler;
+import me.darkeyedragon.randomtp.api.world.location.RandomLocation;
+import me.darkeyedragon.randomtp.api.world.player.RandomPlayer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Keeps track of the simulated players that are online.
+ */
+public class HeadlessPlayerHandler implements PlayerHandler {
+
+    private final Map<UUID, HeadlessPlayer> players;
+    private final Map<String, HeadlessPlayer> playersByName;
+    private final PendingTeleportHandler pendingTeleportHandler;
+    private volatile BiConsumer<HeadlessPlayer, RandomLocation> teleportListener;
+
+    /**
+     * @param pendingTeleportHandler the {@link PendingTeleportHandler} to report the moves of the players to
+     */
+    public HeadlessPlayerHandler(PendingTeleportHandler pendingTeleportHandler) {
+        this.players = new ConcurrentHashMap<>();
+        this.playersByName = new ConcurrentHashMap<>();
+        this.pendingTeleportHandler = pendingTeleportHandler;
+        this.teleportListener = (player, location) -> {
+        };
+    }
+
+    /**
+     * Lets a new player join. The UUID is derived from the name, so the same name always gets the same UUID.
+     *
+     * @param name     the name of the player
+     * @param location the {@link RandomLocation} the player spawns at
+     * @return the new {@link HeadlessPlayer}
+     */
+    public HeadlessPlayer join(String name, RandomLocation location) {
+        UUID uuid = UUID.nameUUIDFromBytes(("OfflinePlayer:" + name).getBytes(StandardCharsets.UTF_8));
+        HeadlessPlayer player = new HeadlessPlayer(this, uuid, name, location);
+        players.put(uuid, player);
+        playersByName.put(name.toLowerCase(), player);
+        return player;
+    }
+
+    /**
+     * @param player the {@link HeadlessPlayer} that leaves
+     */
+    public void quit(HeadlessPlayer player) {
+        players.remove(player.getUniqueId());
+        playersByName.remove(player.getName().toLowerCase());
+    }
+
+    public Collection<HeadlessPlayer> getPlayers() {
+        return Collections.unmodifiableCollection(players.values());
+    }
+
+    /**
+     * @param teleportListener is told about every completed teleport
+     */
+    public void setTeleportListener(BiConsumer<HeadlessPlayer, RandomLocation> teleportListener) {
+        this.teleportListener = teleportListener;
+    }
+
+    void onTeleport(HeadlessPlayer player, RandomLocation location) {
+        teleportListener.accept(player, location);
+    }
+
+    void onMove(HeadlessPlayer player, RandomLocation location) {
+        if (pendingTeleportHandler.isEmpty()) return;
+        pendingTeleportHandler.onMove(player.getUniqueId(), location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
+
+    @Override
+    public RandomPlayer getPlayer(UUID uuid) {
+        return players.get(uuid);
+    }
+
+    @Override
+    public RandomPlayer getPlayer(String name) {
+        return playersByName.get(name.toLowerCase());
+    }
+}
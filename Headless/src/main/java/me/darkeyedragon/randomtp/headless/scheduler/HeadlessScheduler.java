@@ -0,0 +1,125 @@
+package me.darkeyedragon.randomtp.headless.scheduler;
+
+import me.darkeyedragon.randomtp.api.scheduler.Scheduler;
+import me.darkeyedragon.randomtp.api.scheduler.Task;
+import me.darkeyedragon.randomtp.api.scheduler.TaskIdentifier;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Scheduler} driven by simulated ticks instead of a server.
+ * Whoever calls {@link #tick()} is the main thread. Like on Bukkit, a task with a delay of 0 runs on the next tick.
+ * Tasks can be scheduled from any thread, they always run on the main thread.
+ * The clock follows the ticks, so cooldowns and the queue demand see the simulated time instead of the time it took to run.
+ */
+public class HeadlessScheduler implements Scheduler {
+
+    private static final long MILLIS_PER_TICK = 50;
+
+    private final PriorityQueue<HeadlessTask> tasks;
+    private final Map<Integer, HeadlessTask> tasksById;
+    private final Queue<Runnable> mainThreadQueue;
+    private final Executor mainThreadExecutor;
+    private int nextId;
+    private volatile long currentTick;
+
+    public HeadlessScheduler() {
+        this.tasks = new PriorityQueue<>(Comparator.comparingLong(HeadlessTask::getNextRun).thenComparingInt(HeadlessTask::getId));
+        this.tasksById = new HashMap<>();
+        this.mainThreadQueue = new ConcurrentLinkedQueue<>();
+        this.mainThreadExecutor = mainThreadQueue::add;
+    }
+
+    /**
+     * Advances the simulation by a single tick.
+     * First everything that was handed to the main thread executor runs, then all tasks that are due.
+     */
+    public void tick() {
+        long tick = ++currentTick;
+        //Only run what is queued now, anything queued while running waits for the next tick
+        for (int i = mainThreadQueue.size(); i > 0; i--) {
+            Runnable runnable = mainThreadQueue.poll();
+            if (runnable == null) break;
+            runnable.run();
+        }
+        while (true) {
+            HeadlessTask task;
+            synchronized (this) {
+                task = tasks.peek();
+                if (task == null || task.getNextRun() > tick) break;
+                tasks.poll();
+            }
+            if (!task.isCancelled()) {
+                task.run();
+            }
+            synchronized (this) {
+                if (task.reschedule()) {
+                    tasks.add(task);
+                } else {
+                    tasksById.remove(task.getId());
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the amount of ticks that have passed since the scheduler was created
+     */
+    public long getCurrentTick() {
+        return currentTick;
+    }
+
+    /**
+     * @return the amount of tasks that are waiting to run
+     */
+    public synchronized int getPendingTasks() {
+        return tasks.size() + mainThreadQueue.size();
+    }
+
+    private synchronized Task schedule(Consumer<Task> consumer, long delay, long interval) {
+        HeadlessTask task = new HeadlessTask(++nextId, consumer, currentTick + Math.max(1, delay), interval);
+        tasks.add(task);
+        tasksById.put(task.getId(), task);
+        return task;
+    }
+
+    @Override
+    public Task runTaskTimer(Runnable runnable, long delay, long interval) {
+        return schedule(task -> runnable.run(), delay, Math.max(1, interval));
+    }
+
+    @Override
+    public Task runTaskLater(Runnable runnable, long delay) {
+        return schedule(task -> runnable.run(), delay, 0);
+    }
+
+    @Override
+    public void runTaskTimer(Consumer<Task> taskConsumer, long delay, long interval) {
+        schedule(taskConsumer, delay, Math.max(1, interval));
+    }
+
+    @Override
+    public synchronized void cancelTask(TaskIdentifier<?> taskIdentifier) {
+        HeadlessTask task = tasksById.get((Integer) taskIdentifier.getIdentifier());
+        if (task != null) {
+            task.cancel();
+        }
+    }
+
+    @Override
+    public Executor getMainThreadExecutor() {
+        return mainThreadExecutor;
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return currentTick * MILLIS_PER_TICK;
+    }
+}
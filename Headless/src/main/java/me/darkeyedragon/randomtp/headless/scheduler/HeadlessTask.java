@@ -0,0 +1,63 @@
+package me.darkeyedragon.randomtp.headless.scheduler;
+
+import me.darkeyedragon.randomtp.api.scheduler.Task;
+import me.darkeyedragon.randomtp.api.scheduler.TaskIdentifier;
+
+import java.util.function.Consumer;
+
+/**
+ * A task of the {@link HeadlessScheduler}, run once or repeatedly on the simulated main thread.
+ */
+public class HeadlessTask implements Task {
+
+    private final int id;
+    private final Consumer<Task> consumer;
+    private final long interval;
+    private long nextRun;
+    private volatile boolean cancelled;
+
+    HeadlessTask(int id, Consumer<Task> consumer, long nextRun, long interval) {
+        this.id = id;
+        this.consumer = consumer;
+        this.nextRun = nextRun;
+        this.interval = interval;
+    }
+
+    void run() {
+        consumer.accept(this);
+    }
+
+    int getId() {
+        return id;
+    }
+
+    long getNextRun() {
+        return nextRun;
+    }
+
+    /**
+     * @return true if the task has to run again after its interval
+     */
+    boolean reschedule() {
+        if (interval <= 0 || cancelled) {
+            return false;
+        }
+        nextRun += interval;
+        return true;
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+    }
+
+    @Override
+    public TaskIdentifier<Integer> getTaskId() {
+        return new HeadlessTaskIdentifier(id);
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,17 @@
+package me.darkeyedragon.randomtp.headless.scheduler;
+
+import me.darkeyedragon.randomtp.api.scheduler.TaskIdentifier;
+
+public class HeadlessTaskIdentifier implements TaskIdentifier<Integer> {
+
+    private final int id;
+
+    public HeadlessTaskIdentifier(int id) {
+        this.id = id;
+    }
+
+    @Override
+    public Integer getIdentifier() {
+        return id;
+    }
+}
@@ -0,0 +1,147 @@
+package me.darkeyedragon.randomtp.headless.simulation;
+
+import me.darkeyedragon.randomtp.api.queue.LocationQueue;
+import me.darkeyedragon.randomtp.api.world.RandomWorld;
+import me.darkeyedragon.randomtp.api.world.location.RandomLocation;
+import me.darkeyedragon.randomtp.common.world.location.CommonLocation;
+import me.darkeyedragon.randomtp.headless.HeadlessPlatform;
+import me.darkeyedragon.randomtp.headless.command.HeadlessCommandIssuer;
+import me.darkeyedragon.randomtp.headless.player.HeadlessPlayer;
+import me.darkeyedragon.randomtp.headless.scheduler.HeadlessScheduler;
+import net.kyori.adventure.text.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lets simulated players run /rtp at a fixed rate and reports every simulated minute how the queues keep up.
+ * Requests go through {@link me.darkeyedragon.randomtp.common.command.RandomTeleportCommand}, so the whole path from command to teleport is exercised.
+ * The players bypass the cooldown, otherwise each of them could only teleport once.
+ * <p>
+ * Usage: {@code java -jar headless.jar --players=200 --rate=1000 --minutes=5 --latency=1-5 --tick-millis=50 --world=world --seed=0}
+ */
+public class LoadSimulation {
+
+    private static final int TICKS_PER_MINUTE = 1200;
+
+    private final HeadlessPlatform platform;
+    private final HeadlessScheduler scheduler;
+    private final SimulationOptions options;
+    private final List<HeadlessPlayer> players;
+    private final Map<UUID, Long> requestTicks;
+    private final Random random;
+
+    //Counters of the current minute, only touched on the main thread
+    private long requests;
+    private long teleports;
+    private long emptyQueue;
+    private long latencyTicks;
+    private long maxLatencyTicks;
+    private long tickNanos;
+    private long maxTickNanos;
+
+    public LoadSimulation(HeadlessPlatform platform, SimulationOptions options) {
+        this.platform = platform;
+        this.scheduler = platform.getScheduler();
+        this.options = options;
+        this.players = new ArrayList<>(options.getPlayers());
+        this.requestTicks = new HashMap<>();
+        this.random = new Random(options.getSeed());
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        SimulationOptions options = SimulationOptions.parse(args);
+        HeadlessPlatform platform = new HeadlessPlatform(Files.createTempDirectory("randomtp-headless").toFile(), options.getSeed(), options.getMinChunkLatency(), options.getMaxChunkLatency());
+        platform.init();
+        new LoadSimulation(platform, options).run();
+    }
+
+    public void run() throws InterruptedException {
+        RandomWorld world = platform.getWorldHandler().getWorld(options.getWorld());
+        if (world == null) {
+            throw new IllegalArgumentException("World " + options.getWorld() + " does not exist");
+        }
+        Component emptyQueueMessage = platform.getConfigHandler().getSectionMessage().getEmptyQueue();
+        platform.getMessageHandler().setListener((uuid, message) -> {
+            if (message.equals(emptyQueueMessage)) {
+                emptyQueue++;
+                requestTicks.remove(uuid);
+            }
+        });
+        platform.getPlayerHandler().setTeleportListener(this::onTeleport);
+        RandomLocation spawn = new CommonLocation(world, 0, world.getHighestBlockAt(0, 0).getLocation().getBlockY() + 1, 0);
+        for (int i = 0; i < options.getPlayers(); i++) {
+            HeadlessPlayer player = platform.getPlayerHandler().join("player" + i, spawn);
+            player.addPermission("rtp.teleport.bypass");
+            players.add(player);
+        }
+        platform.start();
+
+        double requestsPerTick = options.getRequestsPerMinute() / (double) TICKS_PER_MINUTE;
+        double owedRequests = 0;
+        long totalTicks = (long) options.getMinutes() * TICKS_PER_MINUTE;
+        for (long tick = 1; tick <= totalTicks; tick++) {
+            long startTime = System.nanoTime();
+            scheduler.tick();
+            owedRequests += requestsPerTick;
+            while (owedRequests >= 1) {
+                owedRequests--;
+                request(players.get(random.nextInt(players.size())));
+            }
+            long elapsed = System.nanoTime() - startTime;
+            tickNanos += elapsed;
+            maxTickNanos = Math.max(maxTickNanos, elapsed);
+            if (tick % TICKS_PER_MINUTE == 0) {
+                report(tick / TICKS_PER_MINUTE);
+            }
+            long sleepMillis = options.getTickMillis() - TimeUnit.NANOSECONDS.toMillis(elapsed);
+            if (sleepMillis > 0) {
+                Thread.sleep(sleepMillis);
+            }
+        }
+        platform.stop();
+    }
+
+    private void request(HeadlessPlayer player) {
+        requests++;
+        requestTicks.putIfAbsent(player.getUniqueId(), scheduler.getCurrentTick());
+        platform.getCommand().onTeleport(HeadlessCommandIssuer.of(player), null, null);
+    }
+
+    private void onTeleport(HeadlessPlayer player, RandomLocation location) {
+        teleports++;
+        Long requestTick = requestTicks.remove(player.getUniqueId());
+        if (requestTick != null) {
+            long latency = scheduler.getCurrentTick() - requestTick;
+            latencyTicks += latency;
+            maxLatencyTicks = Math.max(maxLatencyTicks, latency);
+        }
+    }
+
+    private void report(long minute) {
+        platform.getLogger().info(String.format("Minute %d: %d requests, %d teleports, %d empty queue, latency avg %.1f max %d ticks, tick avg %.2f max %.2f ms",
+                minute, requests, teleports, emptyQueue,
+                teleports == 0 ? 0.0 : latencyTicks / (double) teleports, maxLatencyTicks,
+                tickNanos / (double) TICKS_PER_MINUTE / 1_000_000, maxTickNanos / 1_000_000.0));
+        for (Map.Entry<RandomWorld, LocationQueue> entry : platform.getWorldHandler().getWorldQueue().getWorldQueueMap().entrySet()) {
+            LocationQueue locationQueue = entry.getValue();
+            platform.getLogger().info(String.format("  %s: %d/%d queued, refill below %d, %d searching, %d pending, %.2f polls/s",
+                    entry.getKey().getName(), locationQueue.size(), locationQueue.getTargetSize(), locationQueue.getRefillThreshold(),
+                    locationQueue.getSearchesInFlight(), locationQueue.getPendingSearches(), locationQueue.getDemandController().getPollRate()));
+        }
+        requests = 0;
+        teleports = 0;
+        emptyQueue = 0;
+        latencyTicks = 0;
+        maxLatencyTicks = 0;
+        tickNanos = 0;
+        maxTickNanos = 0;
+    }
+}
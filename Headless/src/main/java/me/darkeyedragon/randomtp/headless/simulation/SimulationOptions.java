@@ -0,0 +1,104 @@
+package me.darkeyedragon.randomtp.headless.simulation;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The settings of a {@link LoadSimulation}, parsed from {@code --key=value} arguments.
+ */
+public class SimulationOptions {
+
+    private final int players;
+    private final int requestsPerMinute;
+    private final int minutes;
+    private final int minChunkLatency;
+    private final int maxChunkLatency;
+    private final long tickMillis;
+    private final String world;
+    private final long seed;
+
+    private SimulationOptions(Map<String, String> values) {
+        this.players = Integer.parseInt(values.getOrDefault("players", "200"));
+        this.requestsPerMinute = Integer.parseInt(values.getOrDefault("rate", "1000"));
+        this.minutes = Integer.parseInt(values.getOrDefault("minutes", "5"));
+        String[] latency = values.getOrDefault("latency", "1-5").split("-");
+        this.minChunkLatency = Integer.parseInt(latency[0]);
+        this.maxChunkLatency = Integer.parseInt(latency[latency.length - 1]);
+        this.tickMillis = Long.parseLong(values.getOrDefault("tick-millis", "50"));
+        this.world = values.getOrDefault("world", "world");
+        this.seed = Long.parseLong(values.getOrDefault("seed", "0"));
+    }
+
+    /**
+     * @param args the arguments, like {@code --players=500 --rate=3000 --latency=2-10}
+     * @return the parsed {@link SimulationOptions}, defaults for everything that is missing
+     * @throws IllegalArgumentException when an argument is not of the form {@code --key=value}
+     */
+    public static SimulationOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --key=value but got " + arg);
+            }
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return new SimulationOptions(values);
+    }
+
+    /**
+     * @return the amount of players that are online
+     */
+    public int getPlayers() {
+        return players;
+    }
+
+    /**
+     * @return the amount of /rtp commands per simulated minute, spread evenly over the ticks
+     */
+    public int getRequestsPerMinute() {
+        return requestsPerMinute;
+    }
+
+    /**
+     * @return the amount of simulated minutes to run for
+     */
+    public int getMinutes() {
+        return minutes;
+    }
+
+    /**
+     * @return the minimum time a chunk load takes in ticks
+     */
+    public int getMinChunkLatency() {
+        return minChunkLatency;
+    }
+
+    /**
+     * @return the maximum time a chunk load takes in ticks
+     */
+    public int getMaxChunkLatency() {
+        return maxChunkLatency;
+    }
+
+    /**
+     * @return the real time a tick lasts in milliseconds, 0 to run as fast as possible
+     */
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    /**
+     * @return the name of the world the players are in
+     */
+    public String getWorld() {
+        return world;
+    }
+
+    /**
+     * @return the seed of the worlds
+     */
+    public long getSeed() {
+        return seed;
+    }
+}
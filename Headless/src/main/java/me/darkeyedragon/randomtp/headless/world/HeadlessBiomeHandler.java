@@ -0,0 +1,27 @@
+package me.darkeyedragon.randomtp.headless.world;
+
+import me.darkeyedragon.randomtp.api.world.RandomBiome;
+import me.darkeyedragon.randomtp.api.world.RandomBiomeHandler;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+public class HeadlessBiomeHandler implements RandomBiomeHandler {
+
+    @Override
+    public RandomBiome getBiome(String biomeName) {
+        return SyntheticBiome.valueOf(biomeName.toUpperCase());
+    }
+
+    @Override
+    public Set<RandomBiome> getBiomes(Pattern pattern) {
+        Set<RandomBiome> biomes = new HashSet<>();
+        for (SyntheticBiome biome : SyntheticBiome.values()) {
+            if (pattern.matcher(biome.name()).matches()) {
+                biomes.add(biome);
+            }
+        }
+        return biomes;
+    }
+}
@@ -0,0 +1,36 @@
+package me.darkeyedragon.randomtp.headless.world;
+
+import me.darkeyedragon.randomtp.api.world.RandomMaterial;
+import me.darkeyedragon.randomtp.api.world.RandomMaterialHandler;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves the materials of the synthetic worlds. There are no tags, those always resolve to nothing.
+ */
+public class HeadlessMaterialHandler implements RandomMaterialHandler {
+
+    @Override
+    public RandomMaterial getMaterial(String materialName) {
+        return SyntheticMaterial.valueOf(materialName.toUpperCase());
+    }
+
+    @Override
+    public Set<RandomMaterial> getMaterials(Pattern pattern) {
+        Set<RandomMaterial> materials = new HashSet<>();
+        for (SyntheticMaterial material : SyntheticMaterial.values()) {
+            if (pattern.matcher(material.name()).matches()) {
+                materials.add(material);
+            }
+        }
+        return materials;
+    }
+
+    @Override
+    public Set<RandomMaterial> getFromTag(String tagName) {
+        return Collections.emptySet();
+    }
+}
@@ -0,0 +1,50 @@
+package me.darkeyedragon.randomtp.headless.world;
+
+import me.darkeyedragon.randomtp.api.world.RandomChunkSnapshot;
+import me.darkeyedragon.randomtp.api.world.RandomEnvironment;
+import me.darkeyedragon.randomtp.api.world.RandomWorld;
+import me.darkeyedragon.randomtp.headless.scheduler.HeadlessScheduler;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A {@link SyntheticWorld} that loads its chunks like a server does.
+ * The chunk is read on the calling thread, but the future only completes on the main thread after a random latency,
+ * which stands in for the disk and generator time of a real chunk load.
+ */
+public class HeadlessWorld extends SyntheticWorld {
+
+    public static final int CACHE_SIZE = 4096;
+
+    private final HeadlessScheduler scheduler;
+    private final int minLatency;
+    private final int maxLatency;
+
+    /**
+     * @param name        the name of the world
+     * @param environment the {@link RandomEnvironment} to generate terrain for
+     * @param seed        the seed of the terrain
+     * @param scheduler   the {@link HeadlessScheduler} to complete chunk loads on
+     * @param minLatency  the minimum time a chunk load takes in ticks
+     * @param maxLatency  the maximum time a chunk load takes in ticks
+     */
+    public HeadlessWorld(String name, RandomEnvironment environment, long seed, HeadlessScheduler scheduler, int minLatency, int maxLatency) {
+        super(name, environment, seed, CACHE_SIZE);
+        this.scheduler = scheduler;
+        this.minLatency = Math.max(0, minLatency);
+        this.maxLatency = Math.max(this.minLatency, maxLatency);
+    }
+
+    @Override
+    public CompletableFuture<RandomChunkSnapshot> getChunkAtAsync(RandomWorld world, int x, int z) {
+        if (maxLatency == 0) {
+            return super.getChunkAtAsync(world, x, z);
+        }
+        RandomChunkSnapshot chunk = getChunk(x, z);
+        CompletableFuture<RandomChunkSnapshot> future = new CompletableFuture<>();
+        int latency = ThreadLocalRandom.current().nextInt(minLatency, maxLatency + 1);
+        scheduler.runTaskLater(() -> future.complete(chunk), latency);
+        return future;
+    }
+}
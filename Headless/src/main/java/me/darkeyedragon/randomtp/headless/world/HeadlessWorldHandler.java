@@ -0,0 +1,44 @@
+package me.darkeyedragon.randomtp.headless.world;
+
+import me.darkeyedragon.randomtp.api.plugin.RandomTeleportPlugin;
+import me.darkeyedragon.randomtp.api.world.RandomBiomeHandler;
+import me.darkeyedragon.randomtp.api.world.RandomWorld;
+import me.darkeyedragon.randomtp.common.world.WorldHandler;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class HeadlessWorldHandler extends WorldHandler {
+
+    private final RandomBiomeHandler biomeHandler;
+    private final Map<String, HeadlessWorld> worlds;
+
+    public HeadlessWorldHandler(RandomTeleportPlugin<?> plugin, RandomBiomeHandler biomeHandler) {
+        super(plugin);
+        this.biomeHandler = biomeHandler;
+        this.worlds = new LinkedHashMap<>();
+    }
+
+    /**
+     * @param world the {@link HeadlessWorld} to make available
+     */
+    public void addWorld(HeadlessWorld world) {
+        worlds.put(world.getName(), world);
+    }
+
+    public Collection<HeadlessWorld> getWorlds() {
+        return Collections.unmodifiableCollection(worlds.values());
+    }
+
+    @Override
+    public RandomWorld getWorld(String worldName) {
+        return worlds.get(worldName);
+    }
+
+    @Override
+    public RandomBiomeHandler getBiomeHandler() {
+        return biomeHandler;
+    }
+}
@@ -0,0 +1,38 @@
+package me.darkeyedragon.randomtp.headless.world;
+
+import me.darkeyedragon.randomtp.api.world.RandomBiome;
+
+/**
+ * The biomes a synthetic world is made of.
+ */
+public enum SyntheticBiome implements RandomBiome {
+    PLAINS,
+    DESERT,
+    FOREST,
+    OCEAN,
+    NETHER_WASTES,
+    SOUL_SAND_VALLEY,
+    THE_END,
+    END_HIGHLANDS,
+    SMALL_END_ISLANDS;
+
+    private static final SyntheticBiome[] VALUES = values();
+
+    /**
+     * @param id the id of the biome
+     * @return the {@link SyntheticBiome} with the given id
+     */
+    public static SyntheticBiome byId(int id) {
+        return VALUES[id];
+    }
+
+    @Override
+    public String getName() {
+        return name();
+    }
+
+    @Override
+    public int getId() {
+        return ordinal();
+    }
+}
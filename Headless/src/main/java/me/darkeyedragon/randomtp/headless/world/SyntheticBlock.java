@@ -0,0 +1,90 @@
+package me.darkeyedragon.randomtp.headless.world;
+
+import me.darkeyedragon.randomtp.api.world.RandomBiome;
+import me.darkeyedragon.randomtp.api.world.RandomBlockType;
+import me.darkeyedragon.randomtp.api.world.block.BlockFace;
+import me.darkeyedragon.randomtp.api.world.block.RandomBlock;
+import me.darkeyedragon.randomtp.api.world.location.RandomLocation;
+import me.darkeyedragon.randomtp.common.world.location.CommonLocation;
+
+import java.util.Objects;
+
+/**
+ * A block of a {@link SyntheticWorld}, read from the chunk it is in.
+ */
+public class SyntheticBlock implements RandomBlock {
+
+    private final SyntheticWorld world;
+    private final int x;
+    private final int y;
+    private final int z;
+
+    public SyntheticBlock(SyntheticWorld world, int x, int y, int z) {
+        this.world = world;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    private SyntheticMaterial getMaterial() {
+        return world.getChunk(x >> 4, z >> 4).getMaterial(x & 15, y, z & 15);
+    }
+
+    @Override
+    public RandomLocation getLocation() {
+        return new CommonLocation(world, x, y, z);
+    }
+
+    @Override
+    public boolean isPassable() {
+        return getMaterial().isPassable();
+    }
+
+    @Override
+    public boolean isLiquid() {
+        return getMaterial().isLiquid();
+    }
+
+    @Override
+    public RandomBlock getRelative(BlockFace blockFace) {
+        return new SyntheticBlock(world, x + blockFace.getModX(), y + blockFace.getModY(), z + blockFace.getModZ());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return getMaterial().isAir();
+    }
+
+    @Override
+    public RandomBiome getBiome() {
+        return world.getChunk(x >> 4, z >> 4).getBiome(x & 15, y, z & 15);
+    }
+
+    @Override
+    public RandomBlockType getBlockType() {
+        return getMaterial().getBlockType();
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) return true;
+        if (!(object instanceof SyntheticBlock)) return false;
+        SyntheticBlock other = (SyntheticBlock) object;
+        return x == other.x && y == other.y && z == other.z && world.equals(other.world);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(world, x, y, z);
+    }
+
+    @Override
+    public String toString() {
+        return "SyntheticBlock{" +
+                "world=" + world.getName() +
+                ", x=" + x +
+                ", y=" + y +
+                ", z=" + z +
+                '}';
+    }
+}
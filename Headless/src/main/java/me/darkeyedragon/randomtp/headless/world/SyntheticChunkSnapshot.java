@@ -0,0 +1,123 @@
+package me.darkeyedragon.randomtp.headless.world;
+
+import me.darkeyedragon.randomtp.api.world.RandomBiome;
+import me.darkeyedragon.randomtp.api.world.RandomBlockType;
+import me.darkeyedragon.randomtp.api.world.RandomWorld;
+import me.darkeyedragon.randomtp.common.world.CommonChunkSnapshot;
+
+/**
+ * An immutable chunk of a {@link SyntheticWorld}. Blocks are stored as material ids, one byte per block.
+ */
+public class SyntheticChunkSnapshot extends CommonChunkSnapshot {
+
+    public static final int HEIGHT = 128;
+
+    private final SyntheticWorld world;
+    private final int x;
+    private final int z;
+    private final byte[] blocks;
+    private final byte[] biomes;
+    private final byte[] heights;
+    private final boolean[] emptySections;
+    private final boolean[] solidSections;
+
+    /**
+     * @param world  the {@link SyntheticWorld} the chunk belongs to
+     * @param x      the chunk X-coordinate
+     * @param z      the chunk Z-coordinate
+     * @param blocks the material ids of all blocks, indexed by {@link #index(int, int, int)}
+     * @param biomes the biome ids of all columns, indexed by {@code z << 4 | x}
+     */
+    SyntheticChunkSnapshot(SyntheticWorld world, int x, int z, byte[] blocks, byte[] biomes) {
+        this.world = world;
+        this.x = x;
+        this.z = z;
+        this.blocks = blocks;
+        this.biomes = biomes;
+        this.heights = new byte[256];
+        for (int column = 0; column < 256; column++) {
+            int y = HEIGHT - 1;
+            while (y > 0 && blocks[(y << 8) | column] == SyntheticMaterial.AIR.getId()) {
+                y--;
+            }
+            heights[column] = (byte) y;
+        }
+        this.emptySections = new boolean[HEIGHT >> CHUNK_SHIFT];
+        this.solidSections = new boolean[HEIGHT >> CHUNK_SHIFT];
+        for (int section = 0; section < emptySections.length; section++) {
+            emptySections[section] = true;
+            solidSections[section] = true;
+            for (int i = section << 12; i < (section + 1) << 12 && (emptySections[section] || solidSections[section]); i++) {
+                emptySections[section] &= blocks[i] == SyntheticMaterial.AIR.getId();
+                solidSections[section] &= !SyntheticMaterial.byId(blocks[i]).isPassable();
+            }
+        }
+    }
+
+    static int index(int x, int y, int z) {
+        return (y << 8) | (z << 4) | x;
+    }
+
+    /**
+     * @param x X-coordinate of the block (0-15)
+     * @param y Y-coordinate of the block
+     * @param z Z-coordinate of the block (0-15)
+     * @return the {@link SyntheticMaterial} at the given coordinates, air outside the world height
+     */
+    public SyntheticMaterial getMaterial(int x, int y, int z) {
+        if (y < 0 || y >= HEIGHT) {
+            return SyntheticMaterial.AIR;
+        }
+        return SyntheticMaterial.byId(blocks[index(x, y, z)]);
+    }
+
+    @Override
+    public RandomWorld getWorld() {
+        return world;
+    }
+
+    @Override
+    public int getX() {
+        return x;
+    }
+
+    @Override
+    public int getZ() {
+        return z;
+    }
+
+    @Override
+    public int getHighestBlockYAt(int x, int z) {
+        return heights[(z << 4) | x];
+    }
+
+    @Override
+    public RandomBiome getBiome(int x, int y, int z) {
+        return SyntheticBiome.byId(biomes[(z << 4) | x]);
+    }
+
+    @Override
+    public RandomBlockType getBlockType(int x, int y, int z) {
+        return getMaterial(x, y, z).getBlockType();
+    }
+
+    @Override
+    public boolean isPassable(int x, int y, int z) {
+        return getMaterial(x, y, z).isPassable();
+    }
+
+    @Override
+    public boolean isLiquid(int x, int y, int z) {
+        return getMaterial(x, y, z).isLiquid();
+    }
+
+    @Override
+    public boolean isSectionEmpty(int sectionY) {
+        return sectionY < 0 || sectionY >= emptySections.length || emptySections[sectionY];
+    }
+
+    @Override
+    public boolean isSectionSolid(int sectionY) {
+        return sectionY >= 0 && sectionY < solidSections.length && solidSections[sectionY];
+    }
+}
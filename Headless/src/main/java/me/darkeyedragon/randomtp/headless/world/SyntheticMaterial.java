@@ -0,0 +1,86 @@
+package me.darkeyedragon.randomtp.headless.world;
+
+import me.darkeyedragon.randomtp.api.world.RandomBlockType;
+import me.darkeyedragon.randomtp.api.world.RandomMaterial;
+import me.darkeyedragon.randomtp.common.world.CommonBlockType;
+
+/**
+ * The materials a synthetic world is made of. Only the properties the searchers look at are modelled.
+ */
+public enum SyntheticMaterial implements RandomMaterial {
+    AIR(false, true, false),
+    BEDROCK(true, false, false),
+    STONE(true, false, false),
+    DIRT(true, false, false),
+    GRASS_BLOCK(true, false, false),
+    SAND(true, false, false),
+    CACTUS(true, false, false),
+    OAK_LOG(true, false, false),
+    OAK_LEAVES(true, false, false),
+    WATER(false, false, true),
+    LAVA(false, false, true),
+    NETHERRACK(true, false, false),
+    SOUL_SAND(true, false, false),
+    MAGMA_BLOCK(true, false, false),
+    END_STONE(true, false, false);
+
+    private static final SyntheticMaterial[] VALUES = values();
+
+    private final boolean solid;
+    private final boolean air;
+    private final boolean liquid;
+    private final RandomBlockType blockType;
+
+    SyntheticMaterial(boolean solid, boolean air, boolean liquid) {
+        this.solid = solid;
+        this.air = air;
+        this.liquid = liquid;
+        this.blockType = new CommonBlockType(this);
+    }
+
+    /**
+     * @param id the id of the material
+     * @return the {@link SyntheticMaterial} with the given id
+     */
+    public static SyntheticMaterial byId(int id) {
+        return VALUES[id];
+    }
+
+    @Override
+    public boolean isSolid() {
+        return solid;
+    }
+
+    @Override
+    public String getName() {
+        return name();
+    }
+
+    @Override
+    public boolean isAir() {
+        return air;
+    }
+
+    @Override
+    public int getId() {
+        return ordinal();
+    }
+
+    public boolean isLiquid() {
+        return liquid;
+    }
+
+    /**
+     * @return true if an entity can move through this material
+     */
+    public boolean isPassable() {
+        return !solid;
+    }
+
+    /**
+     * @return the shared {@link RandomBlockType} of this material
+     */
+    public RandomBlockType getBlockType() {
+        return blockType;
+    }
+}
@@ -0,0 +1,160 @@
+package me.darkeyedragon.randomtp.headless.world;
+
+import me.darkeyedragon.randomtp.api.world.RandomChunkSnapshot;
+import me.darkeyedragon.randomtp.api.world.RandomEnvironment;
+import me.darkeyedragon.randomtp.api.world.RandomWorld;
+import me.darkeyedragon.randomtp.api.world.RandomWorldBorder;
+import me.darkeyedragon.randomtp.api.world.block.RandomBlock;
+import me.darkeyedragon.randomtp.api.world.location.RandomLocation;
+import me.darkeyedragon.randomtp.common.world.location.CommonLocation;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A {@link RandomWorld} that only exists in memory. Chunks are generated by a {@link TerrainGenerator} on first access
+ * and kept in a bounded cache, so the chunk data stays warm without growing without limit.
+ * Chunks are always available, so {@link #getChunkAtAsync(RandomWorld, int, int)} completes immediately.
+ */
+public class SyntheticWorld implements RandomWorld {
+
+    private final String name;
+    private final UUID uuid;
+    private final RandomEnvironment environment;
+    private final TerrainGenerator generator;
+    private final Map<Long, SyntheticChunkSnapshot> chunks;
+    private final RandomWorldBorder worldBorder;
+
+    /**
+     * @param name        the name of the world
+     * @param environment the {@link RandomEnvironment} to generate terrain for
+     * @param seed        the seed of the terrain
+     * @param cacheSize   the maximum amount of chunks to keep in memory
+     */
+    public SyntheticWorld(String name, RandomEnvironment environment, long seed, int cacheSize) {
+        this.name = name;
+        this.uuid = UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8));
+        this.environment = environment;
+        this.generator = new TerrainGenerator(seed);
+        this.chunks = new LinkedHashMap<Long, SyntheticChunkSnapshot>(cacheSize, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, SyntheticChunkSnapshot> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        this.worldBorder = new RandomWorldBorder() {
+            @Override
+            public RandomLocation getCenter() {
+                return new CommonLocation(SyntheticWorld.this, 0, 0, 0);
+            }
+
+            @Override
+            public double getSize() {
+                return 60_000_000;
+            }
+
+            @Override
+            public int getWarningDistance() {
+                return 5;
+            }
+        };
+    }
+
+    /**
+     * @param x the chunk X-coordinate
+     * @param z the chunk Z-coordinate
+     * @return the chunk at the given coordinates, generated if it isn't cached
+     */
+    public SyntheticChunkSnapshot getChunk(int x, int z) {
+        long key = ((long) x << 32) | (z & 0xFFFFFFFFL);
+        synchronized (chunks) {
+            SyntheticChunkSnapshot chunk = chunks.get(key);
+            if (chunk == null) {
+                chunk = generator.generate(this, x, z);
+                chunks.put(key, chunk);
+            }
+            return chunk;
+        }
+    }
+
+    @Override
+    public UUID getUUID() {
+        return uuid;
+    }
+
+    @Override
+    public RandomBlock getHighestBlockAt(int x, int z) {
+        int y = getChunk(x >> 4, z >> 4).getHighestBlockYAt(x & 15, z & 15);
+        return new SyntheticBlock(this, x, y, z);
+    }
+
+    @Override
+    public CompletableFuture<RandomChunkSnapshot> getChunkAtAsync(RandomWorld world, int x, int z) {
+        return CompletableFuture.completedFuture(getChunk(x, z));
+    }
+
+    @Override
+    public RandomBlock getBlockAt(RandomLocation location) {
+        return getBlockAt(location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public RandomBlock getBlockAt(int x, int y, int z) {
+        return new SyntheticBlock(this, x, y, z);
+    }
+
+    @Override
+    public RandomWorldBorder getWorldBorder() {
+        return worldBorder;
+    }
+
+    @Override
+    public RandomEnvironment getEnvironment() {
+        return environment;
+    }
+
+    @Override
+    public boolean isChunkLoaded(int x, int z) {
+        return true;
+    }
+
+    @Override
+    public Path getRegionFolder() {
+        //Generated on the fly, nothing is stored
+        return null;
+    }
+
+    @Override
+    public void spawnParticle(String particleId, RandomLocation spawnLoc, int amount) {
+        //There is nobody to see them
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) return true;
+        if (!(object instanceof SyntheticWorld)) return false;
+        return uuid.equals(((SyntheticWorld) object).uuid);
+    }
+
+    @Override
+    public int hashCode() {
+        return uuid.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "SyntheticWorld{" +
+                "name=" + name +
+                ", environment=" + environment +
+                '}';
+    }
+}
@@ -0,0 +1,159 @@
+package me.darkeyedragon.randomtp.headless.world;
+
+import me.darkeyedragon.randomtp.api.world.RandomEnvironment;
+
+/**
+ * Generates deterministic terrain that roughly resembles the vanilla dimensions, so the searchers meet the same kind of obstacles.
+ * The overworld has oceans, deserts with cactus, forests and the odd lava pool.
+ * The nether has a lava sea below caves of varying height, with soul sand valleys and magma.
+ * The end has a central island, an empty ring around it and scattered outer islands beyond.
+ * All values are derived from hashes of the seed and the coordinates, so the same chunk always looks the same.
+ */
+public final class TerrainGenerator {
+
+    public static final int SEA_LEVEL = 62;
+    public static final int LAVA_LEVEL = 31;
+    public static final int CENTRAL_ISLAND_RADIUS = 160;
+    public static final int OUTER_ISLANDS_DISTANCE = 400;
+
+    private final long seed;
+
+    public TerrainGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    /**
+     * @param world  the {@link SyntheticWorld} to generate the chunk for
+     * @param chunkX the chunk X-coordinate
+     * @param chunkZ the chunk Z-coordinate
+     * @return the generated {@link SyntheticChunkSnapshot}
+     */
+    public SyntheticChunkSnapshot generate(SyntheticWorld world, int chunkX, int chunkZ) {
+        byte[] blocks = new byte[256 * SyntheticChunkSnapshot.HEIGHT];
+        byte[] biomes = new byte[256];
+        RandomEnvironment environment = world.getEnvironment();
+        for (int x = 0; x < 16; x++) {
+            for (int z = 0; z < 16; z++) {
+                int worldX = (chunkX << 4) + x;
+                int worldZ = (chunkZ << 4) + z;
+                SyntheticBiome biome;
+                switch (environment) {
+                    case NETHER:
+                        biome = generateNetherColumn(blocks, x, z, worldX, worldZ);
+                        break;
+                    case THE_END:
+                        biome = generateEndColumn(blocks, x, z, worldX, worldZ);
+                        break;
+                    default:
+                        biome = generateOverworldColumn(blocks, x, z, worldX, worldZ);
+                        break;
+                }
+                biomes[(z << 4) | x] = (byte) biome.getId();
+            }
+        }
+        return new SyntheticChunkSnapshot(world, chunkX, chunkZ, blocks, biomes);
+    }
+
+    private SyntheticBiome generateOverworldColumn(byte[] blocks, int x, int z, int worldX, int worldZ) {
+        int height = 48 + (int) ((noise(worldX, worldZ, 64, 0) * 0.7 + noise(worldX, worldZ, 16, 1) * 0.3) * 40);
+        SyntheticBiome biome;
+        if (height < SEA_LEVEL) {
+            biome = SyntheticBiome.OCEAN;
+        } else {
+            double biomeNoise = noise(worldX, worldZ, 128, 2);
+            biome = biomeNoise < 0.35 ? SyntheticBiome.DESERT : biomeNoise < 0.65 ? SyntheticBiome.PLAINS : SyntheticBiome.FOREST;
+        }
+        boolean sandy = biome == SyntheticBiome.DESERT || biome == SyntheticBiome.OCEAN;
+        set(blocks, x, 0, z, SyntheticMaterial.BEDROCK);
+        fill(blocks, x, 1, height - 4, z, SyntheticMaterial.STONE);
+        fill(blocks, x, height - 3, height - 1, z, sandy ? SyntheticMaterial.SAND : SyntheticMaterial.DIRT);
+        set(blocks, x, height, z, sandy ? SyntheticMaterial.SAND : SyntheticMaterial.GRASS_BLOCK);
+        fill(blocks, x, height + 1, SEA_LEVEL, z, SyntheticMaterial.WATER);
+        double feature = random(worldX, worldZ, 3);
+        if (biome == SyntheticBiome.DESERT && feature < 0.03) {
+            fill(blocks, x, height + 1, height + 2, z, SyntheticMaterial.CACTUS);
+        } else if (biome == SyntheticBiome.FOREST && feature < 0.08) {
+            fill(blocks, x, height + 1, height + 3, z, SyntheticMaterial.OAK_LOG);
+            fill(blocks, x, height + 4, height + 5, z, SyntheticMaterial.OAK_LEAVES);
+        } else if (biome == SyntheticBiome.PLAINS && feature < 0.01) {
+            set(blocks, x, height, z, SyntheticMaterial.LAVA);
+        }
+        return biome;
+    }
+
+    private SyntheticBiome generateNetherColumn(byte[] blocks, int x, int z, int worldX, int worldZ) {
+        int floor = 28 + (int) (noise(worldX, worldZ, 64, 4) * 36);
+        int ceiling = Math.min(SyntheticChunkSnapshot.HEIGHT - 8, floor + 3 + (int) (noise(worldX, worldZ, 32, 5) * 40));
+        boolean soulSand = noise(worldX, worldZ, 96, 6) > 0.7;
+        set(blocks, x, 0, z, SyntheticMaterial.BEDROCK);
+        fill(blocks, x, 1, floor, z, SyntheticMaterial.NETHERRACK);
+        if (random(worldX, worldZ, 7) < 0.04) {
+            set(blocks, x, floor, z, SyntheticMaterial.MAGMA_BLOCK);
+        } else if (soulSand) {
+            set(blocks, x, floor, z, SyntheticMaterial.SOUL_SAND);
+        }
+        fill(blocks, x, floor + 1, Math.min(LAVA_LEVEL, ceiling - 1), z, SyntheticMaterial.LAVA);
+        fill(blocks, x, ceiling, SyntheticChunkSnapshot.HEIGHT - 2, z, SyntheticMaterial.NETHERRACK);
+        set(blocks, x, SyntheticChunkSnapshot.HEIGHT - 1, z, SyntheticMaterial.BEDROCK);
+        return soulSand ? SyntheticBiome.SOUL_SAND_VALLEY : SyntheticBiome.NETHER_WASTES;
+    }
+
+    private SyntheticBiome generateEndColumn(byte[] blocks, int x, int z, int worldX, int worldZ) {
+        double distance = Math.sqrt((double) worldX * worldX + (double) worldZ * worldZ);
+        int top = 56 + (int) (noise(worldX, worldZ, 16, 8) * 8);
+        if (distance < CENTRAL_ISLAND_RADIUS) {
+            int thickness = 1 + (int) ((1 - distance / CENTRAL_ISLAND_RADIUS) * 30);
+            fill(blocks, x, top - thickness, top, z, SyntheticMaterial.END_STONE);
+            return SyntheticBiome.THE_END;
+        }
+        if (distance > OUTER_ISLANDS_DISTANCE) {
+            double island = noise(worldX, worldZ, 48, 9);
+            if (island > 0.55) {
+                int thickness = 1 + (int) ((island - 0.55) * 60);
+                fill(blocks, x, top - thickness, top, z, SyntheticMaterial.END_STONE);
+                return SyntheticBiome.END_HIGHLANDS;
+            }
+        }
+        return SyntheticBiome.SMALL_END_ISLANDS;
+    }
+
+    private static void set(byte[] blocks, int x, int y, int z, SyntheticMaterial material) {
+        blocks[SyntheticChunkSnapshot.index(x, y, z)] = (byte) material.getId();
+    }
+
+    /* Fills from fromY up to and including toY, clamped to the world height */
+    private static void fill(byte[] blocks, int x, int fromY, int toY, int z, SyntheticMaterial material) {
+        int to = Math.min(toY, SyntheticChunkSnapshot.HEIGHT - 1);
+        for (int y = Math.max(0, fromY); y <= to; y++) {
+            set(blocks, x, y, z, material);
+        }
+    }
+
+    /* Smoothly interpolated value noise in the range [0, 1) */
+    private double noise(int x, int z, int scale, int salt) {
+        int cellX = Math.floorDiv(x, scale);
+        int cellZ = Math.floorDiv(z, scale);
+        double fx = smooth((x - cellX * scale) / (double) scale);
+        double fz = smooth((z - cellZ * scale) / (double) scale);
+        double top = lerp(random(cellX, cellZ, salt), random(cellX + 1, cellZ, salt), fx);
+        double bottom = lerp(random(cellX, cellZ + 1, salt), random(cellX + 1, cellZ + 1, salt), fx);
+        return lerp(top, bottom, fz);
+    }
+
+    /* A uniformly distributed value in the range [0, 1) */
+    private double random(int x, int z, int salt) {
+        long hash = seed ^ x * 0x9E3779B97F4A7C15L ^ z * 0xC2B2AE3D27D4EB4FL ^ salt * 0x165667B19E3779F9L;
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        hash = hash ^ (hash >>> 31);
+        return (hash >>> 11) * 0x1.0p-53;
+    }
+
+    private static double smooth(double t) {
+        return t * t * (3 - 2 * t);
+    }
+
+    private static double lerp(double a, double b, double t) {
+        return a + (b - a) * t;
+    }
+}
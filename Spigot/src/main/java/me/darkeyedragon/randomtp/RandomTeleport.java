@@ -9,9 +9,10 @@ import me.darkeyedragon.randomtp.api.failsafe.DeathTracker;
 import me.darkeyedragon.randomtp.api.logging.PluginLogger;
 import me.darkeyedragon.randomtp.api.message.MessageHandler;
 import me.darkeyedragon.randomtp.api.metric.Metric;
+import me.darkeyedragon.randomtp.api.metric.SearchMetrics;
 import me.darkeyedragon.randomtp.api.plugin.Platform;
 import me.darkeyedragon.randomtp.api.scheduler.Scheduler;
-import me.darkeyedragon.randomtp.api.teleport.CooldownHandler;
+import me.darkeyedragon.randomtp.api.teleport.PendingTeleportHandler;
 import me.darkeyedragon.randomtp.api.world.PlayerHandler;
 import me.darkeyedragon.randomtp.api.world.RandomEnvironment;
 import me.darkeyedragon.randomtp.api.world.RandomMaterialHandler;
@@ -26,13 +27,15 @@ import me.darkeyedragon.randomtp.common.failsafe.CommonDeathTracker;
 import me.darkeyedragon.randomtp.common.message.CommonMessageHandler;
 import me.darkeyedragon.randomtp.common.plugin.RandomTeleportPluginImpl;
 import me.darkeyedragon.randomtp.common.stat.BStats;
+import me.darkeyedragon.randomtp.common.stat.PrometheusExporter;
 import me.darkeyedragon.randomtp.common.teleport.CommonCooldownHandler;
-import me.darkeyedragon.randomtp.common.world.WorldHandler;
+import me.darkeyedragon.randomtp.common.teleport.CommonPendingTeleportHandler;
 import me.darkeyedragon.randomtp.common.world.location.search.EndLocationSearcher;
 import me.darkeyedragon.randomtp.common.world.location.search.NetherLocationSearcher;
 import me.darkeyedragon.randomtp.common.world.location.search.OverworldLocationSearcher;
 import me.darkeyedragon.randomtp.eco.BukkitEcoHandler;
 import me.darkeyedragon.randomtp.listener.PlayerDeathListener;
+import me.darkeyedragon.randomtp.listener.PlayerMoveListener;
 import me.darkeyedragon.randomtp.listener.ServerLoadListener;
 import me.darkeyedragon.randomtp.listener.WorldBorderChangeListener;
 import me.darkeyedragon.randomtp.listener.WorldListener;
@@ -61,11 +64,14 @@ public final class RandomTeleport extends RandomTeleportPluginImpl {
     private RandomConfigHandler configHandler;
     private DeathTracker deathTracker;
     private BukkitAudiences bukkitAudience;
-    private RandomWorldHandler worldHandler;
+    private SpigotWorldHandler worldHandler;
     private RandomMaterialHandler materialHandler;
     private PlayerHandler playerHandler;
     private Metric metric;
-    private CooldownHandler cooldownHandler;
+    private SearchMetrics searchMetrics;
+    private CommonCooldownHandler cooldownHandler;
+    private PrometheusExporter prometheusExporter;
+    private PendingTeleportHandler pendingTeleportHandler;
     private static Scheduler scheduler;
 
     private static EcoHandler ecoHandler;
@@ -139,11 +145,16 @@ public final class RandomTeleport extends RandomTeleportPluginImpl {
             plugin.getLogger().warning("Vault not found. Currency based options are disabled.");
         }
         pluginManager = Bukkit.getPluginManager();
-        cooldownHandler = new CommonCooldownHandler();
+        cooldownHandler = new CommonCooldownHandler(this);
+        cooldownHandler.start();
+        pendingTeleportHandler = new CommonPendingTeleportHandler();
         metric = new BStats();
-        WorldHandler.registerLocationSearcher(RandomEnvironment.OVERWORLD, new OverworldLocationSearcher(this));
-        WorldHandler.registerLocationSearcher(RandomEnvironment.NETHER, new NetherLocationSearcher(this));
-        WorldHandler.registerLocationSearcher(RandomEnvironment.THE_END, new EndLocationSearcher(this));
+        searchMetrics = new SearchMetrics();
+        prometheusExporter = new PrometheusExporter(this, cooldownHandler);
+        prometheusExporter.start();
+        worldHandler.registerLocationSearcher(RandomEnvironment.OVERWORLD, new OverworldLocationSearcher(this, worldHandler.getSearchMemory()));
+        worldHandler.registerLocationSearcher(RandomEnvironment.NETHER, new NetherLocationSearcher(this, worldHandler.getSearchMemory()));
+        worldHandler.registerLocationSearcher(RandomEnvironment.THE_END, new EndLocationSearcher(this, worldHandler.getSearchMemory()));
         registerListeners();
     }
 
@@ -151,6 +162,7 @@ public final class RandomTeleport extends RandomTeleportPluginImpl {
         PluginManager pluginManager = plugin.getServer().getPluginManager();
         pluginManager.registerEvents(new WorldListener(this), plugin);
         pluginManager.registerEvents(new PlayerDeathListener(this), plugin);
+        pluginManager.registerEvents(new PlayerMoveListener(this), plugin);
         pluginManager.registerEvents(new ServerLoadListener(this), plugin);
         pluginManager.registerEvents(new WorldBorderChangeListener(this), plugin);
     }
@@ -252,10 +264,24 @@ public final class RandomTeleport extends RandomTeleportPluginImpl {
     }
 
     @Override
-    public CooldownHandler getCooldownHandler() {
+    public SearchMetrics getSearchMetrics() {
+        return searchMetrics;
+    }
+
+    @Override
+    public CommonCooldownHandler getCooldownHandler() {
         return cooldownHandler;
     }
 
+    public PrometheusExporter getPrometheusExporter() {
+        return prometheusExporter;
+    }
+
+    @Override
+    public PendingTeleportHandler getPendingTeleportHandler() {
+        return pendingTeleportHandler;
+    }
+
     @Override
     public Scheduler getScheduler() {
         return scheduler;
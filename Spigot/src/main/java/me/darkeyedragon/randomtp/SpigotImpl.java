@@ -26,7 +26,15 @@ public class SpigotImpl extends JavaPlugin {
 
     @Override
     public void onDisable() {
-
+        if (randomTeleport != null && randomTeleport.getWorldHandler() != null) {
+            randomTeleport.getWorldHandler().saveWorldQueue();
+        }
+        if (randomTeleport != null && randomTeleport.getCooldownHandler() != null) {
+            randomTeleport.getCooldownHandler().save();
+        }
+        if (randomTeleport != null && randomTeleport.getPrometheusExporter() != null) {
+            randomTeleport.getPrometheusExporter().stop();
+        }
     }
 
     public Metrics getMetrics() {
@@ -1,13 +1,14 @@
 package me.darkeyedragon.randomtp.listener;
 
 import me.darkeyedragon.randomtp.RandomTeleport;
-import me.darkeyedragon.randomtp.api.world.player.RandomPlayer;
-import me.darkeyedragon.randomtp.common.failsafe.CommonDeathTracker;
+import me.darkeyedragon.randomtp.api.failsafe.DeathTracker;
 import org.bukkit.ChatColor;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.PlayerDeathEvent;
 
+import java.util.UUID;
+
 public class PlayerDeathListener implements Listener {
 
     private final RandomTeleport randomTeleport;
@@ -18,15 +19,15 @@ public class PlayerDeathListener implements Listener {
 
     @EventHandler
     public void onPlayerDeath(PlayerDeathEvent event) {
-        CommonDeathTracker deathTracker = (CommonDeathTracker) randomTeleport.getDeathTracker();
-        RandomPlayer player = randomTeleport.getPlayerHandler().getPlayer(event.getEntity().getUniqueId());
-        if (deathTracker.contains(player)) {
+        DeathTracker deathTracker = randomTeleport.getDeathTracker();
+        UUID uuid = event.getEntity().getUniqueId();
+        if (deathTracker.contains(uuid)) {
             event.setKeepInventory(true);
             event.setKeepLevel(true);
             event.getDrops().clear();
-            deathTracker.remove(player);
+            deathTracker.remove(uuid);
             event.getEntity().sendMessage(ChatColor.GOLD + "Whoops. Looks like you died while random teleporting. This is a fail safe and should not occur. Please report this.");
-            randomTeleport.getCooldownHandler().removeCooldown(event.getEntity().getUniqueId());
+            randomTeleport.getCooldownHandler().removeCooldown(uuid);
         }
     }
 }
@@ -0,0 +1,31 @@
+package me.darkeyedragon.randomtp.listener;
+
+import me.darkeyedragon.randomtp.RandomTeleport;
+import me.darkeyedragon.randomtp.api.teleport.PendingTeleportHandler;
+import org.bukkit.Location;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerMoveEvent;
+
+public class PlayerMoveListener implements Listener {
+
+    private final RandomTeleport randomTeleport;
+
+    public PlayerMoveListener(RandomTeleport randomTeleport) {
+        this.randomTeleport = randomTeleport;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerMove(PlayerMoveEvent event) {
+        PendingTeleportHandler pendingTeleportHandler = randomTeleport.getPendingTeleportHandler();
+        //Called for every head rotation too, so bail out as cheap as possible
+        if (pendingTeleportHandler.isEmpty()) return;
+        Location from = event.getFrom();
+        Location to = event.getTo();
+        if (to == null || (from.getBlockX() == to.getBlockX() && from.getBlockY() == to.getBlockY() && from.getBlockZ() == to.getBlockZ())) {
+            return;
+        }
+        pendingTeleportHandler.onMove(event.getPlayer().getUniqueId(), to.getBlockX(), to.getBlockY(), to.getBlockZ());
+    }
+}
@@ -6,6 +6,7 @@ import me.darkeyedragon.randomtp.api.config.datatype.ConfigWorld;
 import me.darkeyedragon.randomtp.api.queue.LocationQueue;
 import me.darkeyedragon.randomtp.api.world.RandomWorld;
 import me.darkeyedragon.randomtp.util.WorldUtil;
+import me.darkeyedragon.randomtp.world.SpigotWorld;
 import org.bukkit.ChatColor;
 import org.bukkit.World;
 import org.bukkit.event.EventHandler;
@@ -42,5 +43,6 @@ public class WorldListener implements Listener {
         if (locationQueue != null) {
             plugin.getLogger().info(ChatColor.GOLD + "World unload detected for " + world.getName() + "! Removed it from the world queue");
         }
+        SpigotWorld.invalidate(world);
     }
 }
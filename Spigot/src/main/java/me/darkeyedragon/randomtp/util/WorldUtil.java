@@ -30,7 +30,7 @@ public class WorldUtil {
     }
 
     public static RandomWorld toRandomWorld(World world) {
-        return new SpigotWorld(world);
+        return SpigotWorld.of(world);
     }
 
     public static RandomBlock toRandomBlock(Block block) {
@@ -57,7 +57,7 @@ public class WorldUtil {
     }
 
     public static RandomBiome toRandomBiome(Biome biome){
-        return new SpigotBiome(biome);
+        return SpigotBiome.of(biome);
     }
 
     public static RandomLocation toRandomLocation(Location location){
@@ -7,17 +7,33 @@ import org.spongepowered.configurate.objectmapping.ConfigSerializable;
 @ConfigSerializable
 public class SpigotBiome implements RandomBiome {
 
+    private static final SpigotBiome[] BIOMES = new SpigotBiome[Biome.values().length];
+
     protected final Biome biome;
 
-    public SpigotBiome(Biome biome) {
+    private SpigotBiome(Biome biome) {
         this.biome = biome;
     }
 
+    /**
+     * @param biome the {@link Biome} to wrap
+     * @return the shared {@link SpigotBiome} of the biome
+     */
+    public static SpigotBiome of(Biome biome) {
+        SpigotBiome spigotBiome = BIOMES[biome.ordinal()];
+        if (spigotBiome == null) {
+            //Racing threads might both create one, which is harmless since they are immutable
+            spigotBiome = new SpigotBiome(biome);
+            BIOMES[biome.ordinal()] = spigotBiome;
+        }
+        return spigotBiome;
+    }
+
     @Override
     public boolean equals(Object obj) {
-        if(biome == obj) return true;
-        if (obj instanceof Biome) {
-            return biome.name().equals(((Biome) obj).name());
+        if (this == obj) return true;
+        if (obj instanceof SpigotBiome spigotBiome) {
+            return biome == spigotBiome.biome;
         }
         return false;
     }
@@ -31,4 +47,9 @@ public class SpigotBiome implements RandomBiome {
     public String getName() {
         return biome.name();
     }
+
+    @Override
+    public int getId() {
+        return biome.ordinal();
+    }
 }
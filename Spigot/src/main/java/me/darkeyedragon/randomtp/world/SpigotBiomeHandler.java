@@ -14,7 +14,7 @@ public class SpigotBiomeHandler implements RandomBiomeHandler {
     @Override
     public RandomBiome getBiome(String biomeName) {
         biomeName = biomeName.toUpperCase();
-        return new SpigotBiome(Biome.valueOf(biomeName));
+        return SpigotBiome.of(Biome.valueOf(biomeName));
     }
 
     @Override
@@ -23,7 +23,7 @@ public class SpigotBiomeHandler implements RandomBiomeHandler {
         for (Biome biome : Biome.values()) {
             Matcher matcher = pattern.matcher(biome.name());
             if (matcher.matches()) {
-                biomes.add(getBiome(matcher.group(0)));
+                biomes.add(SpigotBiome.of(biome));
             }
         }
         return biomes;
@@ -8,13 +8,29 @@ import org.spongepowered.configurate.objectmapping.ConfigSerializable;
 @ConfigSerializable
 public class SpigotBlockType extends CommonBlockType {
 
+    private static final SpigotBlockType[] BLOCK_TYPES = new SpigotBlockType[Material.values().length];
+
     private final Material material;
 
-    public SpigotBlockType(Material material) {
-        super(new SpigotMaterial(material));
+    private SpigotBlockType(Material material) {
+        super(SpigotMaterial.of(material));
         this.material = material;
     }
 
+    /**
+     * @param material the {@link Material} of the block
+     * @return the shared {@link SpigotBlockType} of the material
+     */
+    public static SpigotBlockType of(Material material) {
+        SpigotBlockType blockType = BLOCK_TYPES[material.ordinal()];
+        if (blockType == null) {
+            //Racing threads might both create one, which is harmless since they are immutable
+            blockType = new SpigotBlockType(material);
+            BLOCK_TYPES[material.ordinal()] = blockType;
+        }
+        return blockType;
+    }
+
     @Override
     public int hashCode() {
         return material.hashCode();
@@ -2,25 +2,44 @@ package me.darkeyedragon.randomtp.world;
 
 import io.papermc.lib.PaperLib;
 import me.darkeyedragon.randomtp.api.world.RandomBiome;
+import me.darkeyedragon.randomtp.api.world.RandomBlockType;
 import me.darkeyedragon.randomtp.api.world.RandomWorld;
 import me.darkeyedragon.randomtp.common.world.CommonChunkSnapshot;
 import me.darkeyedragon.randomtp.util.WorldUtil;
 import org.bukkit.Bukkit;
 import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.World;
 
 public class SpigotChunkSnapshot extends CommonChunkSnapshot {
 
     private final ChunkSnapshot chunk;
+    private final RandomWorld world;
     private final boolean useNew;
+    private final int minHeight;
+    private final int maxHeight;
 
     public SpigotChunkSnapshot(ChunkSnapshot chunk) {
+        this(chunk, Bukkit.getWorld(chunk.getWorldName()));
+    }
+
+    public SpigotChunkSnapshot(ChunkSnapshot chunk, World world) {
         useNew = PaperLib.isVersion(18, 2);
         this.chunk = chunk;
+        this.world = SpigotWorld.of(world);
+        //World heights are only variable since 1.17
+        if (world != null && PaperLib.isVersion(17)) {
+            this.minHeight = world.getMinHeight();
+            this.maxHeight = world.getMaxHeight();
+        } else {
+            this.minHeight = 0;
+            this.maxHeight = 256;
+        }
     }
 
     @Override
     public RandomWorld getWorld() {
-        return new SpigotWorld(Bukkit.getWorld(chunk.getWorldName()));
+        return world;
     }
 
     @Override
@@ -52,4 +71,38 @@ public class SpigotChunkSnapshot extends CommonChunkSnapshot {
     public RandomBiome getBiome(int x, int y, int z) {
         return WorldUtil.toRandomBiome(chunk.getBiome(x, y, z));
     }
+
+    @Override
+    public RandomBlockType getBlockType(int x, int y, int z) {
+        return SpigotBlockType.of(getMaterial(x, y, z));
+    }
+
+    @Override
+    public boolean isPassable(int x, int y, int z) {
+        return !getMaterial(x, y, z).isSolid();
+    }
+
+    @Override
+    public boolean isLiquid(int x, int y, int z) {
+        //Same check as CraftBlock#isLiquid
+        Material material = getMaterial(x, y, z);
+        return material == Material.WATER || material == Material.LAVA;
+    }
+
+    @Override
+    public boolean isSectionEmpty(int sectionY) {
+        int minSection = minHeight >> CHUNK_SHIFT;
+        if (sectionY < minSection || sectionY >= maxHeight >> CHUNK_SHIFT) {
+            return true;
+        }
+        //Bukkit counts the sections from the bottom of the world, not from Y 0
+        return chunk.isSectionEmpty(sectionY - minSection);
+    }
+
+    private Material getMaterial(int x, int y, int z) {
+        if (y < minHeight || y >= maxHeight) {
+            return Material.AIR;
+        }
+        return chunk.getBlockType(x, y, z);
+    }
 }
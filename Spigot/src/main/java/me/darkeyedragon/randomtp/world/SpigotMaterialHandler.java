@@ -22,7 +22,7 @@ public class SpigotMaterialHandler implements RandomMaterialHandler {
         for (Tag<Material> tag : tags) {
             if (tag.getKey().getKey().equalsIgnoreCase(tagName)) {
                 for (Material value : tag.getValues()) {
-                    randomMaterials.add(new SpigotMaterial(value));
+                    randomMaterials.add(SpigotMaterial.of(value));
                 }
                 break;
             }
@@ -33,7 +33,7 @@ public class SpigotMaterialHandler implements RandomMaterialHandler {
     @Override
     public RandomMaterial getMaterial(String materialName) {
         materialName = materialName.toUpperCase();
-        return new SpigotMaterial(Material.valueOf(materialName));
+        return SpigotMaterial.of(Material.valueOf(materialName));
     }
 
     @Override
@@ -42,7 +42,7 @@ public class SpigotMaterialHandler implements RandomMaterialHandler {
         for (Material material : Material.values()) {
             Matcher matcher = pattern.matcher(material.name());
             if (matcher.matches()) {
-                randomMaterials.add(new SpigotMaterial(material));
+                randomMaterials.add(SpigotMaterial.of(material));
             }
         }
         return randomMaterials;
@@ -12,17 +12,46 @@ import me.darkeyedragon.randomtp.world.block.SpigotBlock;
 import org.bukkit.Particle;
 import org.bukkit.World;
 
+import java.nio.file.Path;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class SpigotWorld implements RandomWorld {
 
+    private static final Map<UUID, SpigotWorld> WORLDS = new ConcurrentHashMap<>();
+
     private final World world;
 
-    public SpigotWorld(World world) {
+    private SpigotWorld(World world) {
         this.world = world;
     }
 
+    /**
+     * @param world the {@link World} to wrap
+     * @return the shared {@link SpigotWorld} of the world, null if the world is null
+     */
+    public static SpigotWorld of(World world) {
+        if (world == null) return null;
+        SpigotWorld spigotWorld = WORLDS.get(world.getUID());
+        //A world that got loaded again is a new World instance, so the old wrapper has to go
+        if (spigotWorld == null || spigotWorld.world != world) {
+            spigotWorld = new SpigotWorld(world);
+            WORLDS.put(world.getUID(), spigotWorld);
+        }
+        return spigotWorld;
+    }
+
+    /**
+     * Removes the shared {@link SpigotWorld} of an unloaded world.
+     *
+     * @param world the {@link World} that got unloaded
+     */
+    public static void invalidate(World world) {
+        WORLDS.remove(world.getUID());
+    }
+
     @Override
     public UUID getUUID() {
         return world.getUID();
@@ -35,8 +64,8 @@ public class SpigotWorld implements RandomWorld {
 
     @Override
     public CompletableFuture<RandomChunkSnapshot> getChunkAtAsync(RandomWorld world, int x, int z) {
-        World regWorld = WorldUtil.toWorld(world);
-        return PaperLib.getChunkAtAsync(regWorld, x, z, true, true).thenApply(chunk -> new SpigotChunkSnapshot(chunk.getChunkSnapshot(true, true, false)));
+        World regWorld = world == this ? this.world : WorldUtil.toWorld(world);
+        return PaperLib.getChunkAtAsync(regWorld, x, z, true, true).thenApply(chunk -> new SpigotChunkSnapshot(chunk.getChunkSnapshot(true, true, false), regWorld));
     }
 
     @Override
@@ -72,7 +101,7 @@ public class SpigotWorld implements RandomWorld {
     @Override
     public boolean equals(Object obj) {
         if (obj == null) return false;
-        if (world == obj) return true;
+        if (this == obj) return true;
         if (obj instanceof RandomWorld world) {
             return this.getUUID().equals(world.getUUID());
         }
@@ -84,6 +113,16 @@ public class SpigotWorld implements RandomWorld {
         return world.isChunkLoaded(x, z);
     }
 
+    @Override
+    public Path getRegionFolder() {
+        Path worldFolder = world.getWorldFolder().toPath();
+        return switch (world.getEnvironment()) {
+            case NETHER -> worldFolder.resolve("DIM-1").resolve("region");
+            case THE_END -> worldFolder.resolve("DIM1").resolve("region");
+            default -> worldFolder.resolve("region");
+        };
+    }
+
     @Override
     public void spawnParticle(String particleId, RandomLocation spawnLoc, int amount) {
         world.spawnParticle(Particle.valueOf(particleId), WorldUtil.toLocation(spawnLoc), amount);
@@ -16,7 +16,7 @@ public class SpigotWorldBorder implements RandomWorldBorder {
 
     @Override
     public RandomLocation getCenter() {
-        SpigotWorld spigotWorld = new SpigotWorld(worldBorder.getCenter().getWorld());
+        SpigotWorld spigotWorld = SpigotWorld.of(worldBorder.getCenter().getWorld());
         Location location = worldBorder.getCenter();
         return new CommonLocation(spigotWorld, location.getBlockX(), location.getBlockY(), location.getBlockZ());
     }
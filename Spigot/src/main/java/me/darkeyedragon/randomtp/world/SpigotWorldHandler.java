@@ -20,7 +20,7 @@ public class SpigotWorldHandler extends WorldHandler {
     public RandomWorld getWorld(String worldName) {
         World world = Bukkit.getWorld(worldName);
         if (world != null) {
-            return new SpigotWorld(world);
+            return SpigotWorld.of(world);
         }
         return null;
     }
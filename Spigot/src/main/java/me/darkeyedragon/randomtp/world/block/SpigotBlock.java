@@ -15,6 +15,14 @@ import org.spongepowered.configurate.objectmapping.ConfigSerializable;
 @ConfigSerializable
 public class SpigotBlock implements RandomBlock {
 
+    private static final org.bukkit.block.BlockFace[] BLOCK_FACES = new org.bukkit.block.BlockFace[BlockFace.values().length];
+
+    static {
+        for (BlockFace blockFace : BlockFace.values()) {
+            BLOCK_FACES[blockFace.ordinal()] = org.bukkit.block.BlockFace.valueOf(blockFace.name());
+        }
+    }
+
     final Block block;
 
     public SpigotBlock(Block block) {
@@ -23,7 +31,7 @@ public class SpigotBlock implements RandomBlock {
 
     @Override
     public RandomLocation getLocation() {
-        return new CommonLocation(new SpigotWorld(block.getWorld()), block.getX(), block.getY(), block.getZ());
+        return new CommonLocation(SpigotWorld.of(block.getWorld()), block.getX(), block.getY(), block.getZ());
     }
 
     @Override
@@ -38,7 +46,7 @@ public class SpigotBlock implements RandomBlock {
 
     @Override
     public RandomBlock getRelative(BlockFace blockFace) {
-        return new SpigotBlock(block.getRelative(org.bukkit.block.BlockFace.valueOf(blockFace.name())));
+        return new SpigotBlock(block.getRelative(BLOCK_FACES[blockFace.ordinal()]));
     }
 
     @Override
@@ -48,12 +56,12 @@ public class SpigotBlock implements RandomBlock {
 
     @Override
     public RandomBiome getBiome() {
-        return new SpigotBiome(block.getBiome());
+        return SpigotBiome.of(block.getBiome());
     }
 
     @Override
     public RandomBlockType getBlockType() {
-        return new SpigotBlockType(block.getType());
+        return SpigotBlockType.of(block.getType());
     }
 
     @Override
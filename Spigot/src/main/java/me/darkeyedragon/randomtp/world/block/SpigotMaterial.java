@@ -7,12 +7,28 @@ import org.spongepowered.configurate.objectmapping.ConfigSerializable;
 @ConfigSerializable
 public class SpigotMaterial implements RandomMaterial {
 
-    protected Material material;
+    private static final SpigotMaterial[] MATERIALS = new SpigotMaterial[Material.values().length];
 
-    public SpigotMaterial(Material material) {
+    protected final Material material;
+
+    private SpigotMaterial(Material material) {
         this.material = material;
     }
 
+    /**
+     * @param material the {@link Material} to wrap
+     * @return the shared {@link SpigotMaterial} of the material
+     */
+    public static SpigotMaterial of(Material material) {
+        SpigotMaterial spigotMaterial = MATERIALS[material.ordinal()];
+        if (spigotMaterial == null) {
+            //Racing threads might both create one, which is harmless since they are immutable
+            spigotMaterial = new SpigotMaterial(material);
+            MATERIALS[material.ordinal()] = spigotMaterial;
+        }
+        return spigotMaterial;
+    }
+
     @Override
     public boolean isSolid() {
         return material.isSolid();
@@ -28,4 +44,23 @@ public class SpigotMaterial implements RandomMaterial {
         return material.isAir();
     }
 
+    @Override
+    public int getId() {
+        return material.ordinal();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj instanceof SpigotMaterial spigotMaterial) {
+            return material == spigotMaterial.material;
+        }
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return material.hashCode();
+    }
+
 }
@@ -9,9 +9,10 @@ import me.darkeyedragon.randomtp.api.failsafe.DeathTracker;
 import me.darkeyedragon.randomtp.api.logging.PluginLogger;
 import me.darkeyedragon.randomtp.api.message.MessageHandler;
 import me.darkeyedragon.randomtp.api.metric.Metric;
+import me.darkeyedragon.randomtp.api.metric.SearchMetrics;
 import me.darkeyedragon.randomtp.api.plugin.Platform;
 import me.darkeyedragon.randomtp.api.scheduler.Scheduler;
-import me.darkeyedragon.randomtp.api.teleport.CooldownHandler;
+import me.darkeyedragon.randomtp.api.teleport.PendingTeleportHandler;
 import me.darkeyedragon.randomtp.api.world.PlayerHandler;
 import me.darkeyedragon.randomtp.api.world.RandomEnvironment;
 import me.darkeyedragon.randomtp.api.world.RandomMaterialHandler;
@@ -24,14 +25,16 @@ import me.darkeyedragon.randomtp.common.failsafe.CommonDeathTracker;
 import me.darkeyedragon.randomtp.common.message.CommonMessageHandler;
 import me.darkeyedragon.randomtp.common.plugin.RandomTeleportPluginImpl;
 import me.darkeyedragon.randomtp.common.stat.BStats;
+import me.darkeyedragon.randomtp.common.stat.PrometheusExporter;
 import me.darkeyedragon.randomtp.common.stat.NoConsentException;
 import me.darkeyedragon.randomtp.common.teleport.CommonCooldownHandler;
-import me.darkeyedragon.randomtp.common.world.WorldHandler;
+import me.darkeyedragon.randomtp.common.teleport.CommonPendingTeleportHandler;
 import me.darkeyedragon.randomtp.sponge.addon.SpongeAddonPlugin;
 import me.darkeyedragon.randomtp.sponge.command.completion.Registrar;
 import me.darkeyedragon.randomtp.sponge.config.SpongeConfigHandler;
 import me.darkeyedragon.randomtp.sponge.eco.SpongeEcoHandler;
 import me.darkeyedragon.randomtp.sponge.listener.PlayerDeathListener;
+import me.darkeyedragon.randomtp.sponge.listener.PlayerMoveListener;
 import me.darkeyedragon.randomtp.sponge.logging.SpongeLogger;
 import me.darkeyedragon.randomtp.sponge.scheduler.SpongeScheduler;
 import me.darkeyedragon.randomtp.sponge.world.SpongeBiomeHandler;
@@ -53,6 +56,7 @@ import org.spongepowered.api.config.DefaultConfig;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.game.state.GameInitializationEvent;
 import org.spongepowered.api.event.game.state.GameStartedServerEvent;
+import org.spongepowered.api.event.game.state.GameStoppingServerEvent;
 import org.spongepowered.api.plugin.Plugin;
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.service.economy.EconomyService;
@@ -99,10 +103,13 @@ public class SpongeRandomTeleport extends RandomTeleportPluginImpl {
     private AudienceProvider audience;
     private MessageHandler messageHandler;
     private Metric metric;
-    private CooldownHandler cooldownHandler;
+    private SearchMetrics searchMetrics;
+    private CommonCooldownHandler cooldownHandler;
+    private PrometheusExporter prometheusExporter;
+    private PendingTeleportHandler pendingTeleportHandler;
     private AddonManager addonManager;
     private RandomMaterialHandler materialHandler;
-    private RandomWorldHandler worldHandler;
+    private SpongeWorldHandler worldHandler;
     private PlayerHandler playerHandler;
     private SpongeCommandManager commandManager;
     private Scheduler scheduler;
@@ -142,7 +149,12 @@ public class SpongeRandomTeleport extends RandomTeleportPluginImpl {
         } else {
             logger.warn("Please run \"/sponge metrics randomteleport enable\" to allow stat collection! It helps me keep track of important metrics.");
         }
-        cooldownHandler = new CommonCooldownHandler();
+        searchMetrics = new SearchMetrics();
+        cooldownHandler = new CommonCooldownHandler(this);
+        cooldownHandler.start();
+        prometheusExporter = new PrometheusExporter(this, cooldownHandler);
+        prometheusExporter.start();
+        pendingTeleportHandler = new CommonPendingTeleportHandler();
         messageHandler = new CommonMessageHandler(this);
         playerHandler = new SpongePlayerHandler();
         deathTracker = new CommonDeathTracker(this);
@@ -159,9 +171,9 @@ public class SpongeRandomTeleport extends RandomTeleportPluginImpl {
 
     @Listener
     public void onGameLoadComplete(GameStartedServerEvent event) {
-        WorldHandler.registerLocationSearcher(RandomEnvironment.OVERWORLD, new SpongeOverworldLocationSearcher(this));
-        WorldHandler.registerLocationSearcher(RandomEnvironment.NETHER, new SpongeNetherLocationSearcher(this));
-        WorldHandler.registerLocationSearcher(RandomEnvironment.THE_END, new SpongeEndLocationSearcher(this));
+        worldHandler.registerLocationSearcher(RandomEnvironment.OVERWORLD, new SpongeOverworldLocationSearcher(this, worldHandler.getSearchMemory()));
+        worldHandler.registerLocationSearcher(RandomEnvironment.NETHER, new SpongeNetherLocationSearcher(this, worldHandler.getSearchMemory()));
+        worldHandler.registerLocationSearcher(RandomEnvironment.THE_END, new SpongeEndLocationSearcher(this, worldHandler.getSearchMemory()));
         getLogger().info(Component.text("======== [Loading validators] ========").color(TextColor.color(Color.CYAN.getRgb())));
         try {
             getAddonManager().instantiateAllLocal();
@@ -172,8 +184,22 @@ public class SpongeRandomTeleport extends RandomTeleportPluginImpl {
         getWorldHandler().populateWorldQueue();
     }
 
+    @Listener
+    public void onServerStopping(GameStoppingServerEvent event) {
+        if (worldHandler != null) {
+            worldHandler.saveWorldQueue();
+        }
+        if (cooldownHandler != null) {
+            cooldownHandler.save();
+        }
+        if (prometheusExporter != null) {
+            prometheusExporter.stop();
+        }
+    }
+
     private void registerEvents() {
         Sponge.getEventManager().registerListeners(this, new PlayerDeathListener(this));
+        Sponge.getEventManager().registerListeners(this, new PlayerMoveListener(this));
     }
 
     @Override
@@ -268,10 +294,20 @@ public class SpongeRandomTeleport extends RandomTeleportPluginImpl {
     }
 
     @Override
-    public CooldownHandler getCooldownHandler() {
+    public SearchMetrics getSearchMetrics() {
+        return searchMetrics;
+    }
+
+    @Override
+    public CommonCooldownHandler getCooldownHandler() {
         return cooldownHandler;
     }
 
+    @Override
+    public PendingTeleportHandler getPendingTeleportHandler() {
+        return pendingTeleportHandler;
+    }
+
     @Override
     public Scheduler getScheduler() {
         return scheduler;
@@ -1,8 +1,8 @@
 package me.darkeyedragon.randomtp.sponge.listener;
 
+import me.darkeyedragon.randomtp.api.failsafe.DeathTracker;
 import me.darkeyedragon.randomtp.api.plugin.RandomTeleportPlugin;
 import me.darkeyedragon.randomtp.api.world.player.RandomPlayer;
-import me.darkeyedragon.randomtp.common.failsafe.CommonDeathTracker;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.entity.DestructEntityEvent;
@@ -18,11 +18,11 @@ public class PlayerDeathListener {
 
     @Listener
     public void onPlayerDeath(DestructEntityEvent.Death event, @Getter("getTargetEntity") Player p) {
-        CommonDeathTracker deathTracker = (CommonDeathTracker) randomTeleport.getDeathTracker();
-        RandomPlayer player = randomTeleport.getPlayerHandler().getPlayer(p.getUniqueId());
-        if (deathTracker.contains(player)) {
+        DeathTracker deathTracker = randomTeleport.getDeathTracker();
+        if (deathTracker.contains(p.getUniqueId())) {
             event.setKeepInventory(true);
-            deathTracker.remove(player);
+            deathTracker.remove(p.getUniqueId());
+            RandomPlayer player = randomTeleport.getPlayerHandler().getPlayer(p.getUniqueId());
             randomTeleport.getMessageHandler().sendMessage(player, "<gold>Whoops. Looks like you died while random teleporting. This is a fail safe and should not occur. Please report this.");
             randomTeleport.getCooldownHandler().removeCooldown(p.getUniqueId());
         }
@@ -0,0 +1,32 @@
+package me.darkeyedragon.randomtp.sponge.listener;
+
+import me.darkeyedragon.randomtp.api.plugin.RandomTeleportPlugin;
+import me.darkeyedragon.randomtp.api.teleport.PendingTeleportHandler;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.entity.MoveEntityEvent;
+import org.spongepowered.api.event.filter.Getter;
+import org.spongepowered.api.world.Location;
+import org.spongepowered.api.world.World;
+
+public class PlayerMoveListener {
+
+    private final RandomTeleportPlugin<?> randomTeleport;
+
+    public PlayerMoveListener(RandomTeleportPlugin<?> randomTeleport) {
+        this.randomTeleport = randomTeleport;
+    }
+
+    @Listener
+    public void onPlayerMove(MoveEntityEvent event, @Getter("getTargetEntity") Player player) {
+        PendingTeleportHandler pendingTeleportHandler = randomTeleport.getPendingTeleportHandler();
+        //Called for every head rotation too, so bail out as cheap as possible
+        if (pendingTeleportHandler.isEmpty()) return;
+        Location<World> from = event.getFromTransform().getLocation();
+        Location<World> to = event.getToTransform().getLocation();
+        if (from.getBlockX() == to.getBlockX() && from.getBlockY() == to.getBlockY() && from.getBlockZ() == to.getBlockZ()) {
+            return;
+        }
+        pendingTeleportHandler.onMove(player.getUniqueId(), to.getBlockX(), to.getBlockY(), to.getBlockZ());
+    }
+}
@@ -1,20 +1,40 @@
 package me.darkeyedragon.randomtp.sponge.world;
 
 import me.darkeyedragon.randomtp.api.world.RandomBiome;
+import me.darkeyedragon.randomtp.sponge.world.util.CatalogIds;
 import org.spongepowered.api.world.biome.BiomeType;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class SpongeBiome implements RandomBiome {
+
+    private static final CatalogIds IDS = new CatalogIds();
+    private static final Map<String, SpongeBiome> BIOMES = new ConcurrentHashMap<>();
+
     private final BiomeType biome;
 
-    public SpongeBiome(BiomeType biome) {
+    private SpongeBiome(BiomeType biome) {
         this.biome = biome;
     }
 
+    /**
+     * @param biome the {@link BiomeType} to wrap
+     * @return the shared {@link SpongeBiome} of the biome
+     */
+    public static SpongeBiome of(BiomeType biome) {
+        SpongeBiome spongeBiome = BIOMES.get(biome.getId());
+        if (spongeBiome == null) {
+            spongeBiome = BIOMES.computeIfAbsent(biome.getId(), id -> new SpongeBiome(biome));
+        }
+        return spongeBiome;
+    }
+
     @Override
     public boolean equals(Object obj) {
-        if (biome == obj) return true;
-        if (obj instanceof BiomeType) {
-            return biome.getName().equals(((BiomeType) obj).getName());
+        if (this == obj) return true;
+        if (obj instanceof SpongeBiome) {
+            return biome.getId().equals(((SpongeBiome) obj).biome.getId());
         }
         return false;
     }
@@ -28,4 +48,9 @@ public class SpongeBiome implements RandomBiome {
     public String getName() {
         return biome.getName();
     }
+
+    @Override
+    public int getId() {
+        return IDS.getId(biome);
+    }
 }
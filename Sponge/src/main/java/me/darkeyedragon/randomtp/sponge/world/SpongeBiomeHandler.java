@@ -27,7 +27,7 @@ public class SpongeBiomeHandler implements RandomBiomeHandler {
     public RandomBiome getBiome(String biomeName) {
         for (BiomeType biomeType : getBiomeTypes()) {
             if (biomeType.getName().equalsIgnoreCase(biomeName)) {
-                new SpongeBiome(biomeType);
+                return SpongeBiome.of(biomeType);
             }
         }
         return null;
@@ -39,7 +39,7 @@ public class SpongeBiomeHandler implements RandomBiomeHandler {
         for (BiomeType blockType : getBiomeTypes()) {
             Matcher matcher = pattern.matcher(blockType.getName());
             if (matcher.matches()) {
-                materialHashSet.add(new SpongeBiome(blockType));
+                materialHashSet.add(SpongeBiome.of(blockType));
             }
         }
         return materialHashSet;
@@ -0,0 +1,45 @@
+package me.darkeyedragon.randomtp.sponge.world;
+
+import me.darkeyedragon.randomtp.common.world.CommonBlockType;
+import me.darkeyedragon.randomtp.sponge.world.block.SpongeMaterial;
+import org.spongepowered.api.block.BlockType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class SpongeBlockType extends CommonBlockType {
+
+    private static final Map<String, SpongeBlockType> BLOCK_TYPES = new ConcurrentHashMap<>();
+
+    private final BlockType blockType;
+
+    private SpongeBlockType(BlockType blockType) {
+        super(SpongeMaterial.of(blockType));
+        this.blockType = blockType;
+    }
+
+    /**
+     * @param blockType the {@link BlockType} of the block
+     * @return the shared {@link SpongeBlockType} of the block type
+     */
+    public static SpongeBlockType of(BlockType blockType) {
+        SpongeBlockType spongeBlockType = BLOCK_TYPES.get(blockType.getId());
+        if (spongeBlockType == null) {
+            spongeBlockType = BLOCK_TYPES.computeIfAbsent(blockType.getId(), id -> new SpongeBlockType(blockType));
+        }
+        return spongeBlockType;
+    }
+
+    @Override
+    public int hashCode() {
+        return blockType.getId().hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj instanceof SpongeBlockType) {
+            return ((SpongeBlockType) obj).blockType.getId().equals(blockType.getId());
+        }
+        return false;
+    }
+}
@@ -2,43 +2,129 @@ package me.darkeyedragon.randomtp.sponge.world;
 
 import com.flowpowered.math.vector.Vector3i;
 import me.darkeyedragon.randomtp.api.world.RandomBiome;
+import me.darkeyedragon.randomtp.api.world.RandomBlockType;
 import me.darkeyedragon.randomtp.api.world.RandomWorld;
 import me.darkeyedragon.randomtp.common.world.CommonChunkSnapshot;
+import org.spongepowered.api.block.BlockState;
+import org.spongepowered.api.block.BlockTypes;
+import org.spongepowered.api.data.property.block.MatterProperty;
+import org.spongepowered.api.data.property.block.PassableProperty;
 import org.spongepowered.api.world.Chunk;
-import org.spongepowered.api.world.Location;
+import org.spongepowered.api.world.extent.ImmutableBiomeVolume;
+import org.spongepowered.api.world.extent.ImmutableBlockVolume;
 
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An immutable copy of a loaded {@link Chunk}. The copy is taken on the main thread, after which it can be read from any thread.
+ */
 public class SpongeChunk extends CommonChunkSnapshot {
-    private final Chunk chunk;
-    private final Location<Chunk> location;
 
-    public SpongeChunk(Location<Chunk> location) {
-        this.location = location;
-        chunk = location.getExtent();
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final byte PASSABLE = 1;
+    private static final byte LIQUID = 2;
+    private static final Map<BlockState, Byte> FLAGS = new ConcurrentHashMap<>();
+
+    private final RandomWorld world;
+    private final int x;
+    private final int z;
+    private final Vector3i blockMin;
+    private final Vector3i blockMax;
+    private final Vector3i biomeMin;
+    private final ImmutableBlockVolume blocks;
+    private final ImmutableBiomeVolume biomes;
+    private final int[] heights;
+
+    private SpongeChunk(Chunk chunk) {
+        this.world = SpongeWorld.of(chunk.getWorld());
+        this.x = chunk.getPosition().getX();
+        this.z = chunk.getPosition().getZ();
+        this.blockMin = chunk.getBlockMin();
+        this.blockMax = chunk.getBlockMax();
+        this.biomeMin = chunk.getBiomeMin();
+        this.blocks = chunk.getImmutableBlockCopy();
+        this.biomes = chunk.getImmutableBiomeCopy();
+        this.heights = new int[CHUNK_SIZE * CHUNK_SIZE];
+        for (int localX = 0; localX < CHUNK_SIZE; localX++) {
+            for (int localZ = 0; localZ < CHUNK_SIZE; localZ++) {
+                heights[localX << CHUNK_SHIFT | localZ] = chunk.getHighestYAt(blockMin.getX() + localX, blockMin.getZ() + localZ);
+            }
+        }
+    }
+
+    /**
+     * Copies the blocks, biomes and heights of the chunk. Has to be called from the main thread.
+     *
+     * @param chunk the loaded {@link Chunk}
+     * @return the {@link SpongeChunk} holding the copy
+     */
+    public static SpongeChunk capture(Chunk chunk) {
+        return new SpongeChunk(chunk);
     }
 
     @Override
     public RandomWorld getWorld() {
-        return new SpongeWorld(chunk.getWorld());
+        return world;
     }
 
     @Override
     public int getX() {
-        return location.getChunkPosition().getX();
+        return x;
     }
 
     @Override
     public int getZ() {
-        return location.getChunkPosition().getZ();
+        return z;
     }
 
     @Override
     public int getHighestBlockYAt(int x, int z) {
-        return chunk.getHighestYAt(x, z);
+        return heights[x << CHUNK_SHIFT | z];
     }
 
     @Override
     public RandomBiome getBiome(int x, int y, int z) {
-        Vector3i biomeMin = chunk.getBiomeMin();
-        return new SpongeBiome(chunk.getBiome(biomeMin.getX() + x, biomeMin.getY() + y, biomeMin.getZ() + z));
+        return SpongeBiome.of(biomes.getBiome(biomeMin.getX() + x, biomeMin.getY(), biomeMin.getZ() + z));
+    }
+
+    @Override
+    public RandomBlockType getBlockType(int x, int y, int z) {
+        if (isOutOfHeight(y)) return SpongeBlockType.of(BlockTypes.AIR);
+        return SpongeBlockType.of(blocks.getBlockType(blockMin.getX() + x, y, blockMin.getZ() + z));
+    }
+
+    @Override
+    public boolean isPassable(int x, int y, int z) {
+        if (isOutOfHeight(y)) return true;
+        return (getFlags(blocks.getBlock(blockMin.getX() + x, y, blockMin.getZ() + z)) & PASSABLE) != 0;
+    }
+
+    @Override
+    public boolean isLiquid(int x, int y, int z) {
+        if (isOutOfHeight(y)) return false;
+        return (getFlags(blocks.getBlock(blockMin.getX() + x, y, blockMin.getZ() + z)) & LIQUID) != 0;
+    }
+
+    private boolean isOutOfHeight(int y) {
+        return y < blockMin.getY() || y > blockMax.getY();
+    }
+
+    /* The properties only depend on the block state, so they are looked up once per state */
+    private static byte getFlags(BlockState state) {
+        Byte flags = FLAGS.get(state);
+        if (flags == null) {
+            byte computed = 0;
+            if (state.getProperty(PassableProperty.class).map(property -> Boolean.TRUE.equals(property.getValue())).orElse(false)) {
+                computed |= PASSABLE;
+            }
+            if (state.getProperty(MatterProperty.class).map(property -> Objects.equals(property.getValue(), MatterProperty.Matter.LIQUID)).orElse(false)) {
+                computed |= LIQUID;
+            }
+            flags = computed;
+            FLAGS.put(state, flags);
+        }
+        return flags;
     }
 }
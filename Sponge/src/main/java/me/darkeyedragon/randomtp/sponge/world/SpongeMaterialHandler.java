@@ -29,7 +29,7 @@ public class SpongeMaterialHandler implements RandomMaterialHandler {
         for (BlockType blockType : blockTypes) {
             Matcher matcher = pattern.matcher(blockType.getName());
             if (matcher.matches()) {
-                randomMaterials.add(new SpongeMaterial(blockType));
+                randomMaterials.add(SpongeMaterial.of(blockType));
             }
         }
         return randomMaterials;
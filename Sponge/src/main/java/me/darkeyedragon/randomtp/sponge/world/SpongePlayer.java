@@ -2,16 +2,18 @@ package me.darkeyedragon.randomtp.sponge.world;
 
 import me.darkeyedragon.randomtp.api.teleport.RandomCooldown;
 import me.darkeyedragon.randomtp.api.teleport.TeleportResponse;
+import me.darkeyedragon.randomtp.api.teleport.TeleportType;
 import me.darkeyedragon.randomtp.api.world.RandomWorld;
 import me.darkeyedragon.randomtp.api.world.location.RandomLocation;
 import me.darkeyedragon.randomtp.api.world.player.RandomPlayer;
+import me.darkeyedragon.randomtp.common.teleport.BasicTeleportResponse;
 import me.darkeyedragon.randomtp.sponge.world.util.WorldUtil;
 import org.spongepowered.api.data.property.entity.EyeLocationProperty;
 import org.spongepowered.api.entity.living.player.Player;
 
 import java.util.Optional;
 import java.util.UUID;
-import java.util.concurrent.Future;
+import java.util.concurrent.CompletableFuture;
 
 public class SpongePlayer implements RandomPlayer {
 
@@ -55,8 +57,10 @@ public class SpongePlayer implements RandomPlayer {
     }
 
     @Override
-    public Future<TeleportResponse> teleportAsync(RandomLocation location) {
-        return null;
+    public CompletableFuture<TeleportResponse> teleportAsync(RandomLocation location) {
+        //Sponge has no async teleport, the chunk is already loaded by the time this gets called
+        boolean success = player.setLocation(WorldUtil.toLocation(location));
+        return CompletableFuture.completedFuture(new BasicTeleportResponse(success ? TeleportType.SUCCESS : TeleportType.FAIL));
     }
 
     @Override
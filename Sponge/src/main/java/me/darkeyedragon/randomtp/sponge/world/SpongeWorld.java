@@ -10,25 +10,49 @@ import me.darkeyedragon.randomtp.sponge.world.util.WorldUtil;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.effect.particle.ParticleEffect;
 import org.spongepowered.api.effect.particle.ParticleType;
+import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.api.world.Chunk;
 import org.spongepowered.api.world.DimensionType;
 import org.spongepowered.api.world.Location;
 import org.spongepowered.api.world.World;
 import org.spongepowered.api.world.extent.Extent;
 
+import java.nio.file.Path;
 import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
 public class SpongeWorld implements RandomWorld {
 
-    private final World world;
+    private static final Map<UUID, SpongeWorld> WORLDS = new ConcurrentHashMap<>();
     private static Collection<ParticleType> particleTypes;
-    public SpongeWorld(World world) {
+    private static Executor mainThreadExecutor;
+
+    private final World world;
+
+    private SpongeWorld(World world) {
         this.world = world;
     }
 
+    /**
+     * @param world the {@link World} to wrap
+     * @return the shared {@link SpongeWorld} of the world, null if the world is null
+     */
+    public static SpongeWorld of(World world) {
+        if (world == null) return null;
+        SpongeWorld spongeWorld = WORLDS.get(world.getUniqueId());
+        //A world that got loaded again is a new World instance, so the old wrapper has to go
+        if (spongeWorld == null || spongeWorld.world != world) {
+            spongeWorld = new SpongeWorld(world);
+            WORLDS.put(world.getUniqueId(), spongeWorld);
+        }
+        return spongeWorld;
+    }
+
     @Override
     public UUID getUUID() {
         return world.getUniqueId();
@@ -42,10 +66,17 @@ public class SpongeWorld implements RandomWorld {
 
     @Override
     public CompletableFuture<RandomChunkSnapshot> getChunkAtAsync(RandomWorld world, int x, int z) {
-        return this.world.loadChunkAsync(x, 0, z, true).thenApply(chunk -> {
-            final Chunk finalChunk = chunk.get();
-            return new SpongeChunk(new Location<>(finalChunk, x, 0, z));
-        });
+        //The blocks are copied on the main thread, the search reads the copy from other threads
+        return this.world.loadChunkAsync(x, 0, z, true).thenApplyAsync(chunk -> chunk.map(SpongeChunk::capture).orElse(null), getMainThreadExecutor());
+    }
+
+    private static Executor getMainThreadExecutor() {
+        if (mainThreadExecutor == null) {
+            PluginContainer plugin = Sponge.getPluginManager().getPlugin("randomteleport")
+                    .orElseThrow(() -> new IllegalStateException("RandomTeleport is not loaded"));
+            mainThreadExecutor = Sponge.getScheduler().createSyncExecutor(plugin);
+        }
+        return mainThreadExecutor;
     }
 
     @Override
@@ -85,6 +116,12 @@ public class SpongeWorld implements RandomWorld {
         return chunk.map(Extent::isLoaded).orElse(false);
     }
 
+    @Override
+    public Path getRegionFolder() {
+        //Every dimension has its own directory
+        return world.getDirectory().resolve("region");
+    }
+
     @Override
     public void spawnParticle(String particleId, RandomLocation spawnLoc, int amount) {
         ParticleEffect.Builder builder = ParticleEffect.builder();
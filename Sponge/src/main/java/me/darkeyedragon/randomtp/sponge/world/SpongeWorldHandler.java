@@ -26,6 +26,6 @@ public class SpongeWorldHandler extends WorldHandler {
     @Override
     public RandomWorld getWorld(String worldName) {
         Optional<World> optionalWorld = Sponge.getServer().getWorld(worldName);
-        return optionalWorld.map(SpongeWorld::new).orElse(null);
+        return optionalWorld.map(SpongeWorld::of).orElse(null);
     }
 }
@@ -5,7 +5,7 @@ import me.darkeyedragon.randomtp.api.world.RandomBlockType;
 import me.darkeyedragon.randomtp.api.world.block.BlockFace;
 import me.darkeyedragon.randomtp.api.world.block.RandomBlock;
 import me.darkeyedragon.randomtp.api.world.location.RandomLocation;
-import me.darkeyedragon.randomtp.common.world.CommonBlockType;
+import me.darkeyedragon.randomtp.sponge.world.SpongeBlockType;
 import me.darkeyedragon.randomtp.common.world.location.CommonLocation;
 import me.darkeyedragon.randomtp.sponge.world.SpongeBiome;
 import me.darkeyedragon.randomtp.sponge.world.SpongeWorld;
@@ -31,7 +31,7 @@ public class SpongeBlock implements RandomBlock {
 
     @Override
     public RandomLocation getLocation() {
-        return new CommonLocation(new SpongeWorld(world), location.getX(), location.getY(), location.getZ());
+        return new CommonLocation(SpongeWorld.of(world), location.getX(), location.getY(), location.getZ());
     }
 
     @Override
@@ -58,11 +58,11 @@ public class SpongeBlock implements RandomBlock {
 
     @Override
     public RandomBiome getBiome() {
-        return new SpongeBiome(location.getBiome());
+        return SpongeBiome.of(location.getBiome());
     }
 
     @Override
     public RandomBlockType getBlockType() {
-        return new CommonBlockType(new SpongeMaterial(world.getBlockType(location.getBlockPosition())));
+        return SpongeBlockType.of(world.getBlockType(location.getBlockPosition()));
     }
 }
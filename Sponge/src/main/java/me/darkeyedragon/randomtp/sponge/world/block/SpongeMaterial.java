@@ -1,19 +1,38 @@
 package me.darkeyedragon.randomtp.sponge.world.block;
 
 import me.darkeyedragon.randomtp.api.world.RandomMaterial;
+import me.darkeyedragon.randomtp.sponge.world.util.CatalogIds;
 import org.spongepowered.api.block.BlockType;
 import org.spongepowered.api.block.BlockTypes;
 import org.spongepowered.api.data.property.AbstractProperty;
 import org.spongepowered.api.data.property.block.PassableProperty;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class SpongeMaterial implements RandomMaterial {
 
+    private static final CatalogIds IDS = new CatalogIds();
+    private static final Map<String, SpongeMaterial> MATERIALS = new ConcurrentHashMap<>();
+
     private final BlockType blockType;
 
     public SpongeMaterial(BlockType blockType) {
         this.blockType = blockType;
     }
 
+    /**
+     * @param blockType the {@link BlockType} to wrap
+     * @return the shared {@link SpongeMaterial} of the block type
+     */
+    public static SpongeMaterial of(BlockType blockType) {
+        SpongeMaterial material = MATERIALS.get(blockType.getId());
+        if (material == null) {
+            material = MATERIALS.computeIfAbsent(blockType.getId(), id -> new SpongeMaterial(blockType));
+        }
+        return material;
+    }
+
     @Override
     public boolean isSolid() {
         return !blockType.getProperty(PassableProperty.class).map(AbstractProperty::getValue).orElse(true);
@@ -28,4 +47,9 @@ public class SpongeMaterial implements RandomMaterial {
     public boolean isAir() {
         return blockType == BlockTypes.AIR;
     }
+
+    @Override
+    public int getId() {
+        return IDS.getId(blockType);
+    }
 }
@@ -4,13 +4,15 @@ import me.darkeyedragon.randomtp.api.plugin.RandomTeleportPlugin;
 import me.darkeyedragon.randomtp.api.world.RandomBiome;
 import me.darkeyedragon.randomtp.api.world.RandomChunkSnapshot;
 import me.darkeyedragon.randomtp.common.world.location.search.EndLocationSearcher;
+import me.darkeyedragon.randomtp.common.world.location.search.SearchMemory;
 
 public class SpongeEndLocationSearcher extends EndLocationSearcher {
     /**
-     * @param plugin the {@link RandomTeleportPlugin} instance
+     * @param plugin       the {@link RandomTeleportPlugin} instance
+     * @param searchMemory the {@link SearchMemory} of the world handler
      */
-    public SpongeEndLocationSearcher(RandomTeleportPlugin<?> plugin) {
-        super(plugin);
+    public SpongeEndLocationSearcher(RandomTeleportPlugin<?> plugin, SearchMemory searchMemory) {
+        super(plugin, searchMemory);
     }
 
     @Override
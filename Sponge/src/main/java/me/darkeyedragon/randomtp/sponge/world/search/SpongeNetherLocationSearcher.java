@@ -4,13 +4,15 @@ import me.darkeyedragon.randomtp.api.plugin.RandomTeleportPlugin;
 import me.darkeyedragon.randomtp.api.world.RandomBiome;
 import me.darkeyedragon.randomtp.api.world.RandomChunkSnapshot;
 import me.darkeyedragon.randomtp.common.world.location.search.NetherLocationSearcher;
+import me.darkeyedragon.randomtp.common.world.location.search.SearchMemory;
 
 public class SpongeNetherLocationSearcher extends NetherLocationSearcher {
     /**
-     * @param plugin the {@link RandomTeleportPlugin} instance
+     * @param plugin       the {@link RandomTeleportPlugin} instance
+     * @param searchMemory the {@link SearchMemory} of the world handler
      */
-    public SpongeNetherLocationSearcher(RandomTeleportPlugin<?> plugin) {
-        super(plugin);
+    public SpongeNetherLocationSearcher(RandomTeleportPlugin<?> plugin, SearchMemory searchMemory) {
+        super(plugin, searchMemory);
     }
 
     @Override
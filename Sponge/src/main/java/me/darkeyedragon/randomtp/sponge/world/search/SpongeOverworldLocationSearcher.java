@@ -5,16 +5,18 @@ import me.darkeyedragon.randomtp.api.world.RandomBiome;
 import me.darkeyedragon.randomtp.api.world.RandomChunkSnapshot;
 import me.darkeyedragon.randomtp.common.world.location.search.BaseLocationSearcher;
 import me.darkeyedragon.randomtp.common.world.location.search.OverworldLocationSearcher;
+import me.darkeyedragon.randomtp.common.world.location.search.SearchMemory;
 
 public class SpongeOverworldLocationSearcher extends OverworldLocationSearcher {
 
     /**
      * Overworld location implementation of {@link BaseLocationSearcher}
      *
-     * @param plugin the {@link RandomTeleportPlugin} instance
+     * @param plugin       the {@link RandomTeleportPlugin} instance
+     * @param searchMemory the {@link SearchMemory} of the world handler
      */
-    public SpongeOverworldLocationSearcher(RandomTeleportPlugin<?> plugin) {
-        super(plugin);
+    public SpongeOverworldLocationSearcher(RandomTeleportPlugin<?> plugin, SearchMemory searchMemory) {
+        super(plugin, searchMemory);
     }
 
     public boolean isSafeChunk(RandomChunkSnapshot chunk) {
@@ -0,0 +1,30 @@
+package me.darkeyedragon.randomtp.sponge.world.util;
+
+import org.spongepowered.api.CatalogType;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out small sequential ids for {@link CatalogType}s, since Sponge has no ordinals for them.
+ * The ids are only stable while the server is running.
+ */
+public class CatalogIds {
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+
+    /**
+     * @param catalogType the {@link CatalogType} to get the id of
+     * @return the id of the catalog type, assigned on first use
+     */
+    public int getId(CatalogType catalogType) {
+        String key = catalogType.getId();
+        Integer id = ids.get(key);
+        if (id != null) {
+            return id;
+        }
+        return ids.computeIfAbsent(key, k -> nextId.getAndIncrement());
+    }
+}
@@ -26,7 +26,7 @@ public class WorldUtil {
     }
 
     public static RandomWorld toRandomWorld(World world) {
-        return new SpongeWorld(world);
+        return SpongeWorld.of(world);
     }
 
     public static RandomBlock toRandomBlock(Location<World> location) {
@@ -41,8 +41,8 @@ public class WorldUtil {
         return new SpongeWorldBorder(world);
     }
 
-    public static RandomChunkSnapshot toRandomChunk(Location<Chunk> location) {
-        return new SpongeChunk(location);
+    public static RandomChunkSnapshot toRandomChunk(Chunk chunk) {
+        return SpongeChunk.capture(chunk);
     }
 
     /*public static RandomEnvironment toRandomEnvironment(World.Environment environment) {
@@ -50,7 +50,7 @@ public class WorldUtil {
     }*/
 
     public static RandomBiome toRandomBiome(BiomeType biome) {
-        return new SpongeBiome(biome);
+        return SpongeBiome.of(biome);
     }
 
     public static RandomLocation toRandomLocation(Location<World> location) {